@@ -2,6 +2,7 @@ package ch.idsia.mario.engine;
 
 import ch.idsia.mario.engine.level.BgLevelGenerator;
 import ch.idsia.mario.engine.level.Level;
+import ch.idsia.mario.engine.level.LevelCache;
 import ch.idsia.mario.engine.level.LevelGenerator;
 import ch.idsia.mario.engine.level.SpriteTemplate;
 import ch.idsia.mario.engine.sprites.*;
@@ -25,7 +26,6 @@ public class LevelScene extends Scene implements SpriteContext
     public Level level;
     public Mario mario;
     public float xCam, yCam, xCamO, yCamO;
-    public static Image tmpImage;
     private int tick;
 
     private LevelRenderer layer;
@@ -41,6 +41,8 @@ public class LevelScene extends Scene implements SpriteContext
 
     public void setTotalTime(int totalTime) {  this.totalTime = totalTime; }
 
+    public void setLevelCache(LevelCache levelCache) {  this.levelCache = levelCache; }
+
     private int totalTime = 200;
 
     //    private Recorder recorder = new Recorder();
@@ -51,16 +53,27 @@ public class LevelScene extends Scene implements SpriteContext
     private int levelType;
     private int levelDifficulty;
     private int levelLength;
-    public static int killedCreaturesTotal;
-    public static int killedCreaturesByFireBall;
-    public static int killedCreaturesByStomp;
-    public static int killedCreaturesByShell;
+    private int marioMode;
+    // Levels are copied from here instead of generated, when set
+    private LevelCache levelCache = null;
+    public int killedCreaturesTotal;
+    public int killedCreaturesByFireBall;
+    public int killedCreaturesByStomp;
+    public int killedCreaturesByShell;
+
+    // Tile behaviors are shared by all levels, and only need to be read once
+    private static boolean behaviorsLoaded = false;
 
     private static String[] LEVEL_TYPES = {"Overground(0)",
                                            "Underground(1)",
                                            "Castle(2)"};
 
-    public LevelScene(GraphicsConfiguration graphicsConfiguration, MarioComponent renderer, long seed, int levelDifficulty, int type, int levelLength, int timeLimit)
+    /**
+     * A level that is played without being drawn when renderer is null. All the
+     * state of a game is kept in the scene and its sprites, so several levels
+     * can be played at once on different threads.
+     */
+    public LevelScene(GraphicsConfiguration graphicsConfiguration, MarioComponent renderer, long seed, int levelDifficulty, int type, int levelLength, int timeLimit, int marioMode)
     {
         this.graphicsConfiguration = graphicsConfiguration;
         this.levelSeed = seed;
@@ -68,6 +81,7 @@ public class LevelScene extends Scene implements SpriteContext
         this.levelDifficulty = levelDifficulty;
         this.levelType = type;
         this.levelLength = levelLength;
+        this.marioMode = marioMode;
         this.setTotalTime(timeLimit);
         killedCreaturesTotal = 0;
         killedCreaturesByFireBall = 0;
@@ -592,8 +606,10 @@ public class LevelScene extends Scene implements SpriteContext
         return ret;
     }
 
-    public void init()
+    private static synchronized void loadBehaviors()
     {
+        if (behaviorsLoaded)
+            return;
         try
         {
             Level.loadBehaviors(new DataInputStream(LevelScene.class.getResourceAsStream("resources/tiles.dat")));
@@ -603,6 +619,12 @@ public class LevelScene extends Scene implements SpriteContext
             e.printStackTrace();
             System.exit(0);
         }
+        behaviorsLoaded = true;
+    }
+
+    public void init()
+    {
+        loadBehaviors();
         /*        if (replayer!=null)
          {
          level = LevelGenerator.createLevel(2048, 15, replayer.nextLong());
@@ -610,7 +632,10 @@ public class LevelScene extends Scene implements SpriteContext
          else
          {*/
 //        level = LevelGenerator.createLevel(320, 15, levelSeed);
-        level = LevelGenerator.createLevel(levelLength, 15, levelSeed, levelDifficulty, levelType);
+        if (levelCache != null)
+            level = levelCache.getLevel(levelLength, 15, levelSeed, levelDifficulty, levelType);
+        else
+            level = LevelGenerator.createLevel(levelLength, 15, levelSeed, levelDifficulty, levelType);
         //        }
 
         /*        if (recorder != null)
@@ -620,18 +645,21 @@ public class LevelScene extends Scene implements SpriteContext
 
 
         paused = false;
-        Sprite.spriteContext = this;
         sprites.clear();
-        layer = new LevelRenderer(level, graphicsConfiguration, 320, 240);
-        for (int i = 0; i < 2; i++)
+        if (renderer != null)
         {
-            int scrollSpeed = 4 >> i;
-            int w = ((level.width * 16) - 320) / scrollSpeed + 320;
-            int h = ((level.height * 16) - 240) / scrollSpeed + 240;
-            Level bgLevel = BgLevelGenerator.createLevel(w / 32 + 1, h / 32 + 1, i == 0, levelType);
-            bgLayer[i] = new BgRenderer(bgLevel, graphicsConfiguration, 320, 240, scrollSpeed);
+            layer = new LevelRenderer(level, graphicsConfiguration, 320, 240);
+            for (int i = 0; i < 2; i++)
+            {
+                int scrollSpeed = 4 >> i;
+                int w = ((level.width * 16) - 320) / scrollSpeed + 320;
+                int h = ((level.height * 16) - 240) / scrollSpeed + 240;
+                Level bgLevel = BgLevelGenerator.createLevel(w / 32 + 1, h / 32 + 1, i == 0, levelType);
+                bgLayer[i] = new BgRenderer(bgLevel, graphicsConfiguration, 320, 240, scrollSpeed);
+            }
         }
-        mario = new Mario(this);
+        mario = new Mario(this, marioMode);
+        mario.spriteContext = this;
         sprites.add(mario);
         startTime = 1;
 
@@ -734,8 +762,8 @@ public class LevelScene extends Scene implements SpriteContext
             boolean hasShotCannon = false;
             int xCannon = 0;
 
-            for (int x = (int) xCam / 16 - 1; x <= (int) (xCam + layer.width) / 16 + 1; x++)
-                for (int y = (int) yCam / 16 - 1; y <= (int) (yCam + layer.height) / 16 + 1; y++)
+            for (int x = (int) xCam / 16 - 1; x <= (int) (xCam + 320) / 16 + 1; x++)
+                for (int y = (int) yCam / 16 - 1; y <= (int) (yCam + 240) / 16 + 1; y++)
                 {
                     int dir = 0;
 
@@ -801,7 +829,7 @@ public class LevelScene extends Scene implements SpriteContext
                             {
                                 mario.carried = null;
                                 shell.die();
-                                ++LevelScene.killedCreaturesTotal;
+                                ++killedCreaturesTotal;
                             }
                         }
                     }
@@ -901,9 +929,9 @@ public class LevelScene extends Scene implements SpriteContext
         drawStringDropShadow(g, "SEED:" + this.levelSeed, 0, 1, 7);
         drawStringDropShadow(g, "TYPE:" + LEVEL_TYPES[this.levelType], 0, 2, 7);                  drawStringDropShadow(g, "ALL KILLS: " + killedCreaturesTotal, 19, 1, 1);
         drawStringDropShadow(g, "LENGTH:" + (int)mario.x/16 + " of " + this.levelLength, 0, 3, 7); drawStringDropShadow(g, "by Fire  : " + killedCreaturesByFireBall, 19, 2, 1);
-        drawStringDropShadow(g,"COINS    : " + df.format(Mario.coins), 0, 4, 4);                      drawStringDropShadow(g, "by Shell : " + killedCreaturesByShell, 19, 3, 1);
-        drawStringDropShadow(g, "MUSHROOMS: " + df.format(Mario.gainedMushrooms), 0, 5, 4);                  drawStringDropShadow(g, "by Stomp : " + killedCreaturesByStomp, 19, 4, 1);
-        drawStringDropShadow(g, "FLOWERS  : " + df.format(Mario.gainedFlowers), 0, 6, 4);
+        drawStringDropShadow(g,"COINS    : " + df.format(mario.coins), 0, 4, 4);                      drawStringDropShadow(g, "by Shell : " + killedCreaturesByShell, 19, 3, 1);
+        drawStringDropShadow(g, "MUSHROOMS: " + df.format(mario.gainedMushrooms), 0, 5, 4);                  drawStringDropShadow(g, "by Stomp : " + killedCreaturesByStomp, 19, 4, 1);
+        drawStringDropShadow(g, "FLOWERS  : " + df.format(mario.gainedFlowers), 0, 6, 4);
 
 
         drawStringDropShadow(g, "TIME", 33, 0, 7);
@@ -1031,6 +1059,7 @@ public class LevelScene extends Scene implements SpriteContext
 
     public void addSprite(Sprite sprite)
     {
+        sprite.spriteContext = this;
         spritesToAdd.add(sprite);
         sprite.tick();
     }
@@ -1069,7 +1098,7 @@ public class LevelScene extends Scene implements SpriteContext
 
             if (((Level.TILE_BEHAVIORS[block & 0xff]) & Level.BIT_SPECIAL) > 0)
             {
-                if (!Mario.large)
+                if (!mario.large)
                 {
                     addSprite(new Mushroom(this, x * 16 + 8, y * 16 + 8));
                 }
@@ -1080,7 +1109,7 @@ public class LevelScene extends Scene implements SpriteContext
             }
             else
             {
-                Mario.getCoin();
+                mario.getCoin();
                 addSprite(new CoinAnim(x, y));
             }
         }
@@ -1107,7 +1136,7 @@ public class LevelScene extends Scene implements SpriteContext
         byte block = level.getBlock(x, y);
         if (((Level.TILE_BEHAVIORS[block & 0xff]) & Level.BIT_PICKUPABLE) > 0)
         {
-            Mario.getCoin();
+            mario.getCoin();
             level.setBlock(x, y, (byte) 0);
             addSprite(new CoinAnim(x, y + 1));
         }
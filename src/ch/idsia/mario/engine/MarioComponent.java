@@ -137,8 +137,6 @@ public class MarioComponent extends JComponent implements Runnable, /*KeyListene
 
         mario = ((LevelScene) scene).mario;
         int totalActionsPerfomed = 0;
-// TODO: Manage better place for this:
-        Mario.resetCoins();
 
         while (/*Thread.currentThread() == animator*/ running) {
             // Display the next frame of animation.
@@ -245,7 +243,7 @@ public class MarioComponent extends JComponent implements Runnable, /*KeyListene
         evaluationInfo.agentType = agent.getClass().getSimpleName();
         evaluationInfo.agentName = agent.getName();
         evaluationInfo.marioStatus = mario.getStatus();
-        evaluationInfo.livesLeft = Mario.lives;
+        evaluationInfo.livesLeft = mario.lives;
         evaluationInfo.lengthOfLevelPassedPhys = mario.x;
         evaluationInfo.lengthOfLevelPassedCells = mario.mapX;
         evaluationInfo.totalLengthOfLevelCells = levelScene.level.getWidthCells();
@@ -253,12 +251,12 @@ public class MarioComponent extends JComponent implements Runnable, /*KeyListene
         evaluationInfo.timeSpentOnLevel = levelScene.getStartTime();
         evaluationInfo.timeLeft = levelScene.getTimeLeft();
         evaluationInfo.totalTimeGiven = levelScene.getTotalTime();
-        evaluationInfo.numberOfGainedCoins = Mario.coins;
+        evaluationInfo.numberOfGainedCoins = mario.coins;
 //        evaluationInfo.totalNumberOfCoins   = -1 ; // TODO: total Number of coins.
         evaluationInfo.totalActionsPerfomed = totalActionsPerfomed; // Counted during the play/simulation process
         evaluationInfo.totalFramesPerfomed = frame;
         evaluationInfo.marioMode = mario.getMode();
-        evaluationInfo.killsTotal = LevelScene.killedCreaturesTotal;
+        evaluationInfo.killsTotal = levelScene.killedCreaturesTotal;
 //        evaluationInfo.Memo = "Number of attempt: " + Mario.numberOfAttempts;
         if (agent instanceof ServerAgent && mario.keys != null /*this will happen if client quits unexpectedly in case of Server mode*/)
             ((ServerAgent)agent).integrateEvaluationInfo(evaluationInfo);
@@ -272,15 +270,15 @@ public class MarioComponent extends JComponent implements Runnable, /*KeyListene
         }
     }
 
-    public void startLevel(long seed, int difficulty, int type, int levelLength, int timeLimit) {
-        scene = new LevelScene(graphicsConfiguration, this, seed, difficulty, type, levelLength, timeLimit);
+    public void startLevel(long seed, int difficulty, int type, int levelLength, int timeLimit, int marioMode) {
+        scene = new LevelScene(graphicsConfiguration, this, seed, difficulty, type, levelLength, timeLimit, marioMode);
         levelScene = ((LevelScene) scene);
         scene.init();
     }
 
     public void levelFailed() {
 //        scene = mapScene;
-        Mario.lives--;
+        levelScene.mario.lives--;
         stop();
     }
 
@@ -352,19 +350,19 @@ public class MarioComponent extends JComponent implements Runnable, /*KeyListene
     }
 
     public int getKillsTotal() {
-        return LevelScene.killedCreaturesTotal;
+        return levelScene.killedCreaturesTotal;
     }
 
     public int getKillsByFire() {
-        return LevelScene.killedCreaturesByFireBall;
+        return levelScene.killedCreaturesByFireBall;
     }
 
     public int getKillsByStomp() {
-        return LevelScene.killedCreaturesByStomp;
+        return levelScene.killedCreaturesByStomp;
     }
 
     public int getKillsByShell() {
-        return LevelScene.killedCreaturesByShell;
+        return levelScene.killedCreaturesByShell;
     }
 
     public byte[][] getCompleteObservation() {
@@ -405,7 +403,7 @@ public class MarioComponent extends JComponent implements Runnable, /*KeyListene
 
     public void setMarioInvulnerable(boolean invulnerable)
     {
-        Mario.isMarioInvulnerable = invulnerable;
+        levelScene.mario.isMarioInvulnerable = invulnerable;
     }
 
     public void setPaused(boolean paused) {
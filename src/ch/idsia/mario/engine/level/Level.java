@@ -157,6 +157,29 @@ public class Level
         }
     }
 
+    /**
+     * Copies the layout of the level, so it can be played without changing the
+     * original. Sprite templates are copied as they were before any enemy spawned.
+     * @return a copy of the level
+     */
+    public Level copy()
+    {
+        Level level = new Level(width, height);
+        level.xExit = xExit;
+        level.yExit = yExit;
+        for (int x = 0; x < width; x++)
+        {
+            System.arraycopy(map[x], 0, level.map[x], 0, height);
+            System.arraycopy(data[x], 0, level.data[x], 0, height);
+            for (int y = 0; y < height; y++)
+            {
+                if (spriteTemplates[x][y] != null)
+                    level.spriteTemplates[x][y] = spriteTemplates[x][y].copy();
+            }
+        }
+        return level;
+    }
+
     public void tick()
     {
         for (int x = 0; x < width; x++)
@@ -0,0 +1,86 @@
+package ch.idsia.mario.engine.level;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps generated levels so that each distinct configuration (seed, difficulty,
+ * type and size) is only generated once. The cached levels are never played:
+ * every request gets its own copy, which the game is free to change. Copying
+ * a level is much cheaper than generating it again.
+ *
+ * The least recently used levels are dropped once the cache is full. The cache
+ * may be shared by several threads.
+ */
+public class LevelCache
+{
+    private final Map<String, Level> levels;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * @param capacity maximum number of distinct levels kept
+     */
+    public LevelCache(final int capacity)
+    {
+        levels = new LinkedHashMap<String, Level>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Level> eldest)
+            {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Same arguments as LevelGenerator.createLevel.
+     * @return a fresh copy of the level, to be played once
+     */
+    public Level getLevel(int width, int height, long seed, int difficulty, int type)
+    {
+        String key = seed + "/" + difficulty + "/" + type + "/" + width + "/" + height;
+        Level level;
+        synchronized (levels)
+        {
+            level = levels.get(key);
+        }
+        if (level == null)
+        {
+            misses.incrementAndGet();
+            // Generated outside the lock, so other levels can be fetched meanwhile.
+            // If two threads generate the same level, they generate identical levels.
+            level = LevelGenerator.createLevel(width, height, seed, difficulty, type);
+            synchronized (levels)
+            {
+                levels.put(key, level);
+            }
+        }
+        else
+        {
+            hits.incrementAndGet();
+        }
+        return level.copy();
+    }
+
+    /**
+     * Returns the number of cache hits and misses since the last call,
+     * and starts counting again from zero.
+     * @return {hits, misses}
+     */
+    public int[] takeStatistics()
+    {
+        return new int[]{hits.getAndSet(0), misses.getAndSet(0)};
+    }
+
+    public int size()
+    {
+        synchronized (levels)
+        {
+            return levels.size();
+        }
+    }
+}
@@ -3,7 +3,6 @@ package ch.idsia.mario.engine.level;
 import java.util.Random;
 
 import ch.idsia.mario.engine.sprites.Enemy;
-import edu.utexas.cs.nn.util.random.RandomNumbers;
 
 public class LevelGenerator
 {
@@ -12,7 +11,6 @@ public class LevelGenerator
     public static final int TYPE_CASTLE = 2;
 
     //private static Random levelSeedRandom = new Random();
-    public static long lastSeed;
     public static final int LevelLengthMinThreshold = 50;
 
     public static Level createLevel(int width, int height, long seed, int difficulty, int type)
@@ -64,9 +62,8 @@ public class LevelGenerator
             odds[i] = totalOdds - odds[i];
         }
 
-        lastSeed = seed;
         level = new Level(width, height);
-        random = RandomNumbers.randomGenerator;
+        random = new Random(seed); // the same seed always gives the same level
 
         int length = 0;
         length += buildStraight(0, level.width, true);
@@ -24,6 +24,14 @@ public class SpriteTemplate
         this.winged = winged;
     }
     
+    /**
+     * @return a template for the same enemy, as it was before it was ever spawned
+     */
+    public SpriteTemplate copy()
+    {
+        return new SpriteTemplate(type, winged);
+    }
+
     public void spawn(LevelScene world, int x, int y, int dir)
     {
         if (isDead) return;
@@ -25,10 +25,10 @@ public class CoinAnim extends Sprite
     {
         if (life-- < 0)
         {
-            Sprite.spriteContext.removeSprite(this);
+            spriteContext.removeSprite(this);
             for (int xx = 0; xx < 2; xx++)
                 for (int yy = 0; yy < 2; yy++)
-                    Sprite.spriteContext.addSprite(new Sparkle((int)x + xx * 8 + (int) (Math.random() * 8), (int)y + yy * 8 + (int) (Math.random() * 8), 0, 0, 0, 2, 5));
+                    spriteContext.addSprite(new Sparkle((int)x + xx * 8 + (int) (Math.random() * 8), (int)y + yy * 8 + (int) (Math.random() * 8), 0, 0, 0, 2, 5));
         }
 
         xPic = life & 3;
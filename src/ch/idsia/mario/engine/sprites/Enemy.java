@@ -129,8 +129,8 @@ public class Enemy extends Sprite
                             spriteContext.addSprite(new Shell(world, x, y, 1));
                         }
 //                        System.out.println("collideCheck and stomp");
-                        ++LevelScene.killedCreaturesTotal;
-                        ++LevelScene.killedCreaturesByStomp;
+                        ++world.killedCreaturesTotal;
+                        ++world.killedCreaturesByStomp;
                     }
                 }
                 else
@@ -353,8 +353,8 @@ public class Enemy extends Sprite
                 hPic = -hPic;
                 yPicO = -yPicO + 16;
 //                System.out.println("shellCollideCheck");
-                ++LevelScene.killedCreaturesTotal;
-                ++LevelScene.killedCreaturesByShell;
+                ++world.killedCreaturesTotal;
+                ++world.killedCreaturesByShell;
                 return true;
             }
         }
@@ -383,8 +383,8 @@ public class Enemy extends Sprite
                 hPic = -hPic;
                 yPicO = -yPicO + 16;
 //                System.out.println("fireballCollideCheck");
-                ++LevelScene.killedCreaturesTotal;
-                ++LevelScene.killedCreaturesByFireBall;
+                ++world.killedCreaturesTotal;
+                ++world.killedCreaturesByFireBall;
                 return true;
             }
         }
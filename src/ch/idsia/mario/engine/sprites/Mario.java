@@ -10,32 +10,21 @@ import ch.idsia.mario.engine.level.Level;
 
 public class Mario extends Sprite
 {
-    public static boolean large = false;
-    public static boolean fire = false;
-    public static int coins = 0;
-    public static int lives = 1024;
+    // Power ups, coins and lives belong to this Mario rather than the class,
+    // so that several levels can be played at once on different threads.
+    public boolean large = false;
+    public boolean fire = false;
+    public int coins = 0;
+    public int lives = 1024;
 //    public static int numberOfAttempts = 0;
 //    public static String levelString = "none";
     private int status = STATUS_RUNNING;
     private final int FractionalPowerUpTime = 0;
-    public static int gainedMushrooms;
-    public static int gainedFlowers;
-    public static boolean isMarioInvulnerable;
+    public int gainedMushrooms;
+    public int gainedFlowers;
+    public boolean isMarioInvulnerable;
 
-    public static void resetStatic(int marioMode)
-    {
-        large = marioMode > 0;
-        fire = marioMode == 2;
-        coins = 0;
-        gainedMushrooms = 0;
-        gainedFlowers = 0;
-
-//        lives = 65536;
-//        levelString = "none";
-//        numberOfAttempts = 0;
-    }
-
-    public static void setMode(MODE mode)
+    public void setMode(MODE mode)
     {
         large = (mode == MODE.MODE_LARGE);
         fire = (mode == MODE.MODE_FIRE);
@@ -48,7 +37,7 @@ public class Mario extends Sprite
 
     public static enum MODE {MODE_SMALL, MODE_LARGE, MODE_FIRE}
 
-    public static void resetCoins()
+    public void resetCoins()
     {
         coins = 0;
 //        ++numberOfAttempts;
@@ -100,21 +89,24 @@ public class Mario extends Sprite
     private int invulnerableTime = 0;
 
     public Sprite carried = null;
-    @SuppressWarnings("unused")
-	private static Mario instance;
 
-    public Mario(LevelScene world)
+    /**
+     * @param world level this Mario plays
+     * @param marioMode 0 for small, 1 for large and 2 for fire Mario
+     */
+    public Mario(LevelScene world, int marioMode)
     {
         kind = KIND_MARIO;
-        Mario.instance = this;
         this.world = world;
-        keys = Scene.keys;      // SK: in fact, this is already redundant due to using Agent
-        cheatKeys = Scene.keys; // SK: in fact, this is already redundant due to using Agent
+        keys = new boolean[Scene.keys.length];      // replaced by the action of the agent every tick
+        cheatKeys = new boolean[Scene.keys.length]; // replaced by the cheat keys every tick, if there are any
         x = 32;
         y = 0;
 
         facing = 1;
-        setLarge(Mario.large, Mario.fire);
+        large = marioMode > 0;
+        fire = marioMode == 2;
+        setLarge(large, fire);
     }
     
     private boolean lastLarge;
@@ -124,8 +116,8 @@ public class Mario extends Sprite
     
     private void blink(boolean on)
     {
-        Mario.large = on?newLarge:lastLarge;
-        Mario.fire = on?newFire:lastFire;
+        this.large = on?newLarge:lastLarge;
+        this.fire = on?newFire:lastFire;
         
         if (large)
         {
@@ -154,14 +146,14 @@ public class Mario extends Sprite
         if (fire) large = true;
         if (!large) fire = false;
         
-        lastLarge = Mario.large;
-        lastFire = Mario.fire;
+        lastLarge = this.large;
+        lastFire = this.fire;
         
-        Mario.large = large;
-        Mario.fire = fire;
+        this.large = large;
+        this.fire = fire;
 
-        newLarge = Mario.large;
-        newFire = Mario.fire;
+        newLarge = this.large;
+        newFire = this.fire;
         
         blink(true);
     }
@@ -304,15 +296,15 @@ public class Mario extends Sprite
             sliding = false;
         }
         
-        if (keys[KEY_SPEED] && canShoot && Mario.fire && world.fireballsOnScreen<2)
+        if (keys[KEY_SPEED] && canShoot && fire && world.fireballsOnScreen<2)
         {
             world.addSprite(new Fireball(world, x+facing*6, y-20, facing));
         }
         // Cheats:
-        if (GlobalOptions.PowerRestoration && keys[KEY_SPEED] && (!Mario.large || !Mario.fire))
+        if (GlobalOptions.PowerRestoration && keys[KEY_SPEED] && (!large || !fire))
             setLarge(true, true);
         if (cheatKeys[KEY_LIFE_UP])
-            Mario.lives++;
+            lives++;
         world.paused = GlobalOptions.pauseWorld;
         if (cheatKeys[KEY_WIN])
             win();
@@ -562,7 +554,7 @@ public class Mario extends Sprite
 
         if (((Level.TILE_BEHAVIORS[block & 0xff]) & Level.BIT_PICKUPABLE) > 0)
         {
-            Mario.getCoin();
+            getCoin();
             world.level.setBlock(x, y, (byte) 0);
             for (int xx = 0; xx < 2; xx++)
                 for (int yy = 0; yy < 2; yy++)
@@ -674,7 +666,7 @@ public class Mario extends Sprite
         }
         else
         {
-            Mario.getCoin();
+            getCoin();
         }
         ++gainedFlowers;
     }
@@ -691,7 +683,7 @@ public class Mario extends Sprite
         }
         else
         {
-            Mario.getCoin();
+            getCoin();
         }
         ++gainedMushrooms;        
     }
@@ -745,12 +737,12 @@ public class Mario extends Sprite
         }
     }
 
-    public static void get1Up()
+    public void get1Up()
     {
         lives++;
     }
     
-    public static void getCoin()
+    public void getCoin()
     {
         coins++;
         if (coins % 100 == 0)
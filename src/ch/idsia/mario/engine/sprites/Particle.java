@@ -31,7 +31,7 @@ public class Particle extends Sprite
 
     public void move()
     {
-        if (life--<0) Sprite.spriteContext.removeSprite(this);
+        if (life--<0) spriteContext.removeSprite(this);
         x+=xa;
         y+=ya;
         ya*=0.95f;
@@ -38,7 +38,7 @@ public class Sparkle extends Sprite
         else
             xPic = xPicStart+(10-life)*4/10;
         
-        if (life--<0) Sprite.spriteContext.removeSprite(this);
+        if (life--<0) spriteContext.removeSprite(this);
         
         x+=xa;
         y+=ya;
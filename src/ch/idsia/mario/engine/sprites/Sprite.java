@@ -30,7 +30,7 @@ public class Sprite
 
     public static final int KIND_UNDEF = -42;
 
-    public static SpriteContext spriteContext;
+    public SpriteContext spriteContext; // set when the sprite is added to a scene
     public byte kind = KIND_UNDEF;
     
     public float xOld, yOld, x, y, xa, ya;
@@ -0,0 +1,199 @@
+package ch.idsia.mario.simulation;
+
+import ch.idsia.ai.agents.Agent;
+import ch.idsia.mario.engine.LevelScene;
+import ch.idsia.mario.engine.level.LevelCache;
+import ch.idsia.mario.engine.sprites.Mario;
+import ch.idsia.mario.environments.Environment;
+import ch.idsia.tools.EvaluationInfo;
+
+/**
+ * Plays a level on the calling thread, as fast as the CPU allows. Unlike
+ * BasicSimulator, nothing is drawn and there is no MarioComponent: the
+ * LevelScene is ticked directly, and this simulator is the Environment the
+ * agent observes. Each simulator has its own scene, so several levels can be
+ * played at once on different threads, as long as each has its own agent.
+ *
+ * The game is the same one MarioComponent plays without visualization.
+ */
+public class HeadlessSimulator implements Simulation, Environment
+{
+    private SimulationOptions simulationOptions;
+    private LevelScene levelScene;
+    private Mario mario;
+    private int ZLevelEnemies = 1;
+    private int ZLevelScene = 1;
+    private LevelCache levelCache = null;
+
+    public HeadlessSimulator(SimulationOptions simulationOptions)
+    {
+        this.setSimulationOptions(simulationOptions);
+    }
+
+    /**
+     * Levels are copied from levelCache, which may be shared with other
+     * simulators, instead of being generated for each game.
+     */
+    public HeadlessSimulator(SimulationOptions simulationOptions, LevelCache levelCache)
+    {
+        this(simulationOptions);
+        this.levelCache = levelCache;
+    }
+
+    public void setSimulationOptions(SimulationOptions simulationOptions)
+    {
+        this.simulationOptions = simulationOptions;
+    }
+
+    public EvaluationInfo simulateOneLevel()
+    {
+        Agent agent = simulationOptions.getAgent();
+        agent.reset();
+        ZLevelScene = simulationOptions.getZLevelMap();
+        ZLevelEnemies = simulationOptions.getZLevelEnemies();
+        levelScene = new LevelScene(null, null, simulationOptions.getLevelRandSeed(), simulationOptions.getLevelDifficulty(),
+                                    simulationOptions.getLevelType(), simulationOptions.getLevelLength(),
+                                    simulationOptions.getTimeLimit(), simulationOptions.getMarioMode());
+        levelScene.setLevelCache(levelCache);
+        levelScene.init();
+        levelScene.paused = simulationOptions.isPauseWorld();
+        mario = levelScene.mario;
+        mario.isMarioInvulnerable = simulationOptions.isMarioInvulnerable();
+
+        int frame = 0;
+        int totalActionsPerfomed = 0;
+        while (mario.getStatus() == Mario.STATUS_RUNNING)
+        {
+            levelScene.tick();
+
+            boolean[] action = agent.getAction(this);
+            if (action != null)
+            {
+                for (int i = 0; i < Environment.numberOfButtons; ++i)
+                    if (action[i])
+                    {
+                        ++totalActionsPerfomed;
+                        break;
+                    }
+            }
+            else
+            {
+                mario.die();
+            }
+            mario.keys = action;
+            frame++;
+        }
+
+        EvaluationInfo evaluationInfo = new EvaluationInfo();
+        evaluationInfo.agentType = agent.getClass().getSimpleName();
+        evaluationInfo.agentName = agent.getName();
+        evaluationInfo.marioStatus = mario.getStatus();
+        evaluationInfo.livesLeft = mario.lives;
+        evaluationInfo.lengthOfLevelPassedPhys = mario.x;
+        evaluationInfo.lengthOfLevelPassedCells = mario.mapX;
+        evaluationInfo.totalLengthOfLevelCells = levelScene.level.getWidthCells();
+        evaluationInfo.totalLengthOfLevelPhys = levelScene.level.getWidthPhys();
+        evaluationInfo.timeSpentOnLevel = levelScene.getStartTime();
+        evaluationInfo.timeLeft = levelScene.getTimeLeft();
+        evaluationInfo.totalTimeGiven = levelScene.getTotalTime();
+        evaluationInfo.numberOfGainedCoins = mario.coins;
+        evaluationInfo.totalActionsPerfomed = totalActionsPerfomed;
+        evaluationInfo.totalFramesPerfomed = frame;
+        evaluationInfo.marioMode = mario.getMode();
+        evaluationInfo.killsTotal = levelScene.killedCreaturesTotal;
+        evaluationInfo.levelType = simulationOptions.getLevelType();
+        evaluationInfo.levelDifficulty = simulationOptions.getLevelDifficulty();
+        evaluationInfo.levelRandSeed = simulationOptions.getLevelRandSeed();
+        return evaluationInfo;
+    }
+
+    public byte[][] getCompleteObservation()
+    {
+        return levelScene.mergedObservation(this.ZLevelScene, this.ZLevelEnemies);
+    }
+
+    public byte[][] getEnemiesObservation()
+    {
+        return levelScene.enemiesObservation(this.ZLevelEnemies);
+    }
+
+    public byte[][] getLevelSceneObservation()
+    {
+        return levelScene.levelSceneObservation(this.ZLevelScene);
+    }
+
+    public float[] getMarioFloatPos()
+    {
+        return new float[]{mario.x, mario.y};
+    }
+
+    public int getMarioMode()
+    {
+        return mario.getMode();
+    }
+
+    public float[] getEnemiesFloatPos()
+    {
+        return levelScene.enemiesFloatPos();
+    }
+
+    public boolean isMarioOnGround()
+    {
+        return mario.isOnGround();
+    }
+
+    public boolean mayMarioJump()
+    {
+        return mario.mayJump();
+    }
+
+    public boolean isMarioCarrying()
+    {
+        return mario.carried != null;
+    }
+
+    public byte[][] getMergedObservationZ(int zLevelScene, int zLevelEnemies)
+    {
+        return levelScene.mergedObservation(zLevelScene, zLevelEnemies);
+    }
+
+    public byte[][] getLevelSceneObservationZ(int zLevelScene)
+    {
+        return levelScene.levelSceneObservation(zLevelScene);
+    }
+
+    public byte[][] getEnemiesObservationZ(int zLevelEnemies)
+    {
+        return levelScene.enemiesObservation(zLevelEnemies);
+    }
+
+    public int getKillsTotal()
+    {
+        return levelScene.killedCreaturesTotal;
+    }
+
+    public int getKillsByFire()
+    {
+        return levelScene.killedCreaturesByFireBall;
+    }
+
+    public int getKillsByStomp()
+    {
+        return levelScene.killedCreaturesByStomp;
+    }
+
+    public int getKillsByShell()
+    {
+        return levelScene.killedCreaturesByShell;
+    }
+
+    public String getBitmapEnemiesObservation()
+    {
+        return levelScene.bitmapEnemiesObservation(1);
+    }
+
+    public String getBitmapLevelObservation()
+    {
+        return levelScene.bitmapLevelObservation(1);
+    }
+}
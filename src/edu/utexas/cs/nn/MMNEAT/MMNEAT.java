@@ -99,7 +99,7 @@ import edu.utexas.cs.nn.util.random.RandomGenerator;
 import edu.utexas.cs.nn.util.random.RandomNumbers;
 import edu.utexas.cs.nn.util.stats.Statistic;
 import pacman.Executor;
-import wox.serial.Easy;
+import edu.utexas.cs.nn.evolution.genotypes.GenotypeSerialization;
 
 /**
  * Modular Multiobjective Neuro-Evolution of Augmenting Topologies.
@@ -443,7 +443,7 @@ public class MMNEAT {
 				if (multitaskNet != null && !multitaskNet.isEmpty()) {
 					// Preference networks are being evolved to pick outputs of
 					// fixed multitask network
-					MMNEAT.sharedMultitaskNetwork = (TWEANNGenotype) Easy.load(multitaskNet);
+					MMNEAT.sharedMultitaskNetwork = (TWEANNGenotype) GenotypeSerialization.load(multitaskNet);
 					if (CommonConstants.showNetworks) {
 						DrawingPanel panel = new DrawingPanel(TWEANN.NETWORK_VIEW_DIM, TWEANN.NETWORK_VIEW_DIM, "Fixed Multitask Network");
 						MMNEAT.sharedMultitaskNetwork.getPhenotype().draw(panel);
@@ -451,7 +451,7 @@ public class MMNEAT {
 					// One preference neuron per multitask mode
 					setNNInputParameters(pacmanInputOutputMediator.numIn(), MMNEAT.sharedMultitaskNetwork.numModules);
 				} else if (preferenceNet != null && !preferenceNet.isEmpty()) {
-					MMNEAT.sharedPreferenceNetwork = (TWEANNGenotype) Easy.load(preferenceNet);
+					MMNEAT.sharedPreferenceNetwork = (TWEANNGenotype) GenotypeSerialization.load(preferenceNet);
 					if (CommonConstants.showNetworks) {
 						DrawingPanel panel = new DrawingPanel(TWEANN.NETWORK_VIEW_DIM, TWEANN.NETWORK_VIEW_DIM, "Fixed Preference Network");
 						MMNEAT.sharedPreferenceNetwork.getPhenotype().draw(panel);
@@ -711,7 +711,7 @@ public class MMNEAT {
 			} else {
 				// Copy assures a fresh genotype id
 				System.out.println("Loading seed genotype: " + seedGenotype);
-				genotype = ((Genotype) Easy.load(seedGenotype)).copy();
+				genotype = ((Genotype) GenotypeSerialization.load(seedGenotype)).copy();
 				// System.out.println(genotype);
 				seedExample = true;
 			}
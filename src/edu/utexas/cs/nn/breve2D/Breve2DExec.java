@@ -7,6 +7,7 @@ import edu.utexas.cs.nn.breve2D.agent.MultitaskPlayer;
 import edu.utexas.cs.nn.breve2D.agent.RushingMonster;
 import edu.utexas.cs.nn.breve2D.dynamics.*;
 import edu.utexas.cs.nn.parameters.Parameters;
+import edu.utexas.cs.nn.util.random.RandomNumbers;
 
 /**
  * A class which runs an instance of the Breve2D domain
@@ -89,10 +90,29 @@ public class Breve2DExec {
 	 */
 	public Breve2DGame runExperiment(Breve2DDynamics dynamics, AgentController playerController,
 			AgentController[] monsterControllers) {
+		return runExperiment(dynamics, playerController, monsterControllers, RandomNumbers.randomGenerator.nextLong());
+	}
+
+	/**
+	 * Same as above, but the game draws its random numbers from its own
+	 * generator with the given seed, so the same seed always plays the same
+	 * game, even when other games are played at the same time.
+	 * 
+	 * @param playerController, an AgentController
+	 * @param dynamics, Breve2DDynamics
+	 * @param seed, seed for the random numbers of the game
+	 * @return game, the Breve2D game instance
+	 */
+	public Breve2DGame runExperiment(Breve2DDynamics dynamics, AgentController playerController,
+			AgentController[] monsterControllers, long seed) {
 
-		game = new Breve2DGame(monsterControllers.length, dynamics);
+		game = new Breve2DGame(monsterControllers.length, dynamics, seed);
 		game.init();
 
+		// Reused on every time step
+		Breve2DAction[] monsterActionArray = new Breve2DAction[monsterControllers.length];
+		Breve2DAction noAction = new Breve2DAction(0, 0);
+
 		while (!game.gameOver()) {
 			// For interleaved task games
 			if (dynamics.midGameTaskSwitch(game.getTime())) {
@@ -111,12 +131,11 @@ public class Breve2DExec {
 				game.resetAll = false;
 			}
 
-			Breve2DAction[] monsterActionArray = new Breve2DAction[monsterControllers.length];
 			for (int i = 0; i < monsterControllers.length; i++) {
 				if (!game.monsterDead(i)) {
 					monsterActionArray[i] = monsterControllers[i].getAction(game);
 				} else {
-					monsterActionArray[i] = new Breve2DAction(0, 0);
+					monsterActionArray[i] = noAction;
 				}
 			}
 			game.advanceGame(playerController.getAction(game), monsterActionArray);
@@ -131,7 +150,17 @@ public class Breve2DExec {
 	 */
 	public Breve2DGame runGameTimed(Breve2DDynamics dynamics, AgentController playerController,
 			AgentController[] monsterControllers, boolean visual) {
-		game = new Breve2DGame(monsterControllers.length, dynamics);
+		return runGameTimed(dynamics, playerController, monsterControllers, visual,
+				RandomNumbers.randomGenerator.nextLong());
+	}
+
+	/**
+	 * Run game with time limit, with random numbers drawn from a generator
+	 * with the given seed.
+	 */
+	public Breve2DGame runGameTimed(Breve2DDynamics dynamics, AgentController playerController,
+			AgentController[] monsterControllers, boolean visual, long seed) {
+		game = new Breve2DGame(monsterControllers.length, dynamics, seed);
 		game.init();
 
 		ActionStorage playerAction = new ActionStorage();
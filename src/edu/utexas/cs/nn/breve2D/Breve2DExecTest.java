@@ -0,0 +1,48 @@
+package edu.utexas.cs.nn.breve2D;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import edu.utexas.cs.nn.breve2D.agent.AgentController;
+import edu.utexas.cs.nn.breve2D.agent.EscapingPlayer;
+import edu.utexas.cs.nn.breve2D.agent.RushingMonster;
+import edu.utexas.cs.nn.breve2D.dynamics.Breve2DDynamics;
+import edu.utexas.cs.nn.breve2D.dynamics.PlayerPreyMonsterPredator;
+import edu.utexas.cs.nn.parameters.Parameters;
+import edu.utexas.cs.nn.util.util2D.Tuple2D;
+
+public class Breve2DExecTest {
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		Parameters.initializeParameterCollections(new String[] { "io:false", "netio:false", "deterministic:false" });
+	}
+
+	/**
+	 * Games with the same seed are the same, no matter which games were
+	 * played in between
+	 */
+	@Test
+	public void testSeededGames() {
+		Breve2DGame first = play(1);
+		Tuple2D position = new Tuple2D(first.getPlayer().getX(), first.getPlayer().getY());
+		double heading = first.getPlayerHeading();
+		play(2);
+		Breve2DGame again = play(1);
+		assertEquals(first.getTime(), again.getTime());
+		assertEquals(position, again.getPlayerPosition());
+		assertEquals(heading, again.getPlayerHeading(), 0);
+	}
+
+	private static Breve2DGame play(long seed) {
+		Breve2DDynamics dynamics = new PlayerPreyMonsterPredator();
+		dynamics.reset();
+		AgentController[] monsters = new AgentController[4];
+		for (int i = 0; i < monsters.length; i++) {
+			monsters[i] = new RushingMonster(i);
+		}
+		return new Breve2DExec().runExperiment(dynamics, new EscapingPlayer(), monsters, seed);
+	}
+}
@@ -20,7 +20,6 @@ import java.util.Random;
 
 public class Breve2DGame {
 
-	public static Random rand = new Random(0);
 	public static final int SIZE_X = 500;
 	public static final int SIZE_Y = 500;
 	public static final double FORCE_MULTIPLIER = 2; // 3;
@@ -49,12 +48,19 @@ public class Breve2DGame {
 	public int numMonsterRays;
 	public ArrayList<Triple<ILocated2D, ILocated2D, Color>> lines = new ArrayList<Triple<ILocated2D, ILocated2D, Color>>();
 	public final boolean rams;
+	// Each game draws from its own generator, so games can be played in parallel
+	private final Random rand;
+	// Reused every time step so that moving agents and checking rams creates no objects
+	private Tuple2D[] monsterRams;
+	private final Tuple2D playerRam = new Tuple2D(0, 0);
+	private final Box2D monsterBox = new Box2D();
 
 	/////////////////////////////////////////////////////////////////////////////
 	///////////////// Constructors and Initializers //////////////////////////
 	/////////////////////////////////////////////////////////////////////////////
 	// Constructor
-	protected Breve2DGame(int numMonsters, Breve2DDynamics dynamics) {
+	protected Breve2DGame(int numMonsters, Breve2DDynamics dynamics, long seed) {
+		this.rand = new Random(seed);
 		this.numMonsters = numMonsters;
 		this.dynamics = dynamics;
 		this.rams = dynamics instanceof RammingDynamics;
@@ -95,17 +101,17 @@ public class Breve2DGame {
 		double heading = 0;
 		if (!Parameters.parameters.booleanParameter("deterministic")) {
 			heading = rand.nextDouble() * 2 * Math.PI;
-		} else {
-			rand = new Random(0);
 		}
 		player = new Agent(new Tuple2D(SIZE_X / 2, SIZE_Y / 2), heading);
 		
 		//brings monsters back on screen if they have escaped
 		if (monsters == null) {
 			monsters = new Agent[numMonsters];
+			monsterRams = new Tuple2D[numMonsters];
 			for (int i = 0; i < numMonsters; i++) {
 				monsters[i] = new Agent(new Tuple2D(0, 0), 0);
 				monsters[i].setIdentifier(i);
+				monsterRams[i] = new Tuple2D(0, 0);
 			}
 
 			numMonsterRays = Parameters.parameters.integerParameter("numMonsterRays");
@@ -130,7 +136,7 @@ public class Breve2DGame {
 		for (int i = 0; i < numMonsters; i++, theta += (2 * Math.PI) / numMonsters) {
 			if (!monsters[i].isDead()) {
 				double[] coords = CartesianGeometricUtilities.polarToCartesian(startingDistance, theta);
-				monsters[i].setPosition(new Tuple2D(coords[0] + (SIZE_X / 2), coords[1] + (SIZE_Y / 2)));
+				monsters[i].setPosition(coords[0] + (SIZE_X / 2), coords[1] + (SIZE_Y / 2));
 
 				double adjacent = Math.abs(monsters[i].getX() - player.getX());
 				double opposite = Math.abs(monsters[i].getY() - player.getY());
@@ -173,18 +179,24 @@ public class Breve2DGame {
 			RammingDynamics ramDynamics = (RammingDynamics) dynamics;
 			// Interactions between rams and player
 			if (ramDynamics.monstersHaveRams()) {
-				Tuple2D playerLocation = getPlayerPosition();
-				ArrayList<ILocated2D> ramPositions = new ArrayList<ILocated2D>();
+				ILocated2D playerLocation = getPlayerPosition();
+				Tuple2D offset = ramDynamics.getRamOffset();
+				int nearestRam = -1;
+				double distance = Double.MAX_VALUE;
 				for (int i = 0; i < monsters.length; i++) {
 					Agent a = monsters[i];
 					if (!monsterLocked(i) && !a.isDead()) {
-						ramPositions.add(a.getPosition().add(ramDynamics.getRamOffset().rotate(a.getHeading())));
+						double d = monsterRams[i].setToRotatedOffset(a, offset, a.getHeading()).distance(playerLocation);
+						// The first of several equally near rams is chosen
+						if (nearestRam == -1 || d < distance) {
+							nearestRam = i;
+							distance = d;
+						}
 					}
 				}
 				//if the monster has not been hit and is not dead
-				if (!ramPositions.isEmpty()) {
-					ILocated2D nearest = nearestPositionToPosition(playerLocation, ramPositions);
-					double distance = nearest.distance(playerLocation);
+				if (nearestRam != -1) {
+					ILocated2D nearest = monsterRams[nearestRam];
 					boolean playerResponseStarting = false;
 					// Collisions supercede chosen actions
 					if (distance < 2 * RAM_MAGNITUDE && !playerLocked()) {
@@ -193,7 +205,7 @@ public class Breve2DGame {
 						// overwrites action
 						playerAction = ramDynamics.playerInitialResponseToRam(getPlayer(), nearest, totalTime);
 						lastTimePlayerReactedToMonster = totalTime;
-						lastTimePlayerReactedToThisMonster[monsterWithRam(nearest).getIdentifier()] = totalTime;
+						lastTimePlayerReactedToThisMonster[nearestRam] = totalTime;
 					}
 					
 					//if player has been hit
@@ -252,9 +264,7 @@ public class Breve2DGame {
 
 		// Carry out player action
 		player.turn(playerAction.getTurn() * TURN_MULTIPLIER);
-		double[] offset = CartesianGeometricUtilities.polarToCartesian(playerAction.getForce() * FORCE_MULTIPLIER,
-				player.getHeading());
-		player.move(new Tuple2D(offset[0], offset[1]));
+		move(player, playerAction.getForce() * FORCE_MULTIPLIER);
 
 		int dead = 0;
 		for (int i = 0; i < numMonsters; i++) {
@@ -294,8 +304,8 @@ public class Breve2DGame {
 					// Interactions between monsters and player ram
 					if (ramDynamics.playerHasRam() && !playerLocked()) {
 						Tuple2D monsterLocation = getMonsterPosition(i);
-						ILocated2D ramPosition = getPlayer().getPosition()
-								.add(ramDynamics.getRamOffset().rotate(getPlayer().getHeading()));
+						ILocated2D ramPosition = playerRam.setToRotatedOffset(getPlayer(), ramDynamics.getRamOffset(),
+								getPlayer().getHeading());
 						double distance = ramPosition.distance(monsterLocation);
 						monsterResponseStarting = false;
 						// Collisions supercede chosen actions
@@ -330,9 +340,7 @@ public class Breve2DGame {
 				}
 
 				monsters[i].turn(monsterActions[i].getTurn() * TURN_MULTIPLIER);
-				offset = CartesianGeometricUtilities.polarToCartesian(monsterActions[i].getForce() * FORCE_MULTIPLIER,
-						monsters[i].getHeading());
-				monsters[i].move(new Tuple2D(offset[0], offset[1]));
+				move(monsters[i], monsterActions[i].getForce() * FORCE_MULTIPLIER);
 			} else {
 				dead++;
 				monsters[i].setPosition(null);
@@ -344,12 +352,13 @@ public class Breve2DGame {
 		if (dynamics.playerRespondsToMonster() && !dynamics.monsterRespondsToPlayer()
 				&& (!rams || (!((RammingDynamics) dynamics).playerHasRam()
 						&& !((RammingDynamics) dynamics).monstersHaveRams()))) {
-			ArrayList<Agent> livingMonsters = this.getMonsters();
-			ILocated2D[] perimeter = new ILocated2D[livingMonsters.size()];
-			for (int i = 0; i < perimeter.length; i++) {
-				perimeter[i] = livingMonsters.get(i);
+			monsterBox.clear();
+			for (int i = 0; i < numMonsters; i++) {
+				if (!monsters[i].isDead()) {
+					monsterBox.include(monsters[i]);
+				}
 			}
-			boxEscaped = !(new Box2D(perimeter).insideBox(player, 20));
+			boxEscaped = !monsterBox.insideBox(player, 20);
 		}
 		if (dead == numMonsters || boxEscaped) {
 			gameOver = true;
@@ -358,6 +367,17 @@ public class Breve2DGame {
 		}
 	}
 
+	/**
+	 * Moves an agent forward along its heading, without creating any objects
+	 * 
+	 * @param agent Agent to move
+	 * @param distance How far to move the agent
+	 */
+	private static void move(Agent agent, double distance) {
+		double heading = agent.getHeading();
+		agent.move(distance * Math.cos(heading), distance * Math.sin(heading));
+	}
+
 	// Whether the game is over or not
 	public boolean gameOver() {
 		return gameOver || totalTime >= timeLimit;
@@ -496,11 +516,19 @@ public class Breve2DGame {
 	 * @return monster Agent closest to the specified location "pos"
 	 */
 	public Agent nearestMonsterToPosition(ILocated2D pos) {
-		ArrayList<Agent> list = monstersByDistanceFrom(pos);
-		if (list.isEmpty()) {
-			return null;
+		// Same result as the first of monstersByDistanceFrom(pos), without building and sorting a list
+		Agent nearest = null;
+		double distance = Double.MAX_VALUE;
+		for (int i = 0; i < numMonsters; i++) {
+			if (!monsters[i].isDead()) {
+				double d = monsters[i].distance(pos);
+				if (nearest == null || d < distance) {
+					nearest = monsters[i];
+					distance = d;
+				}
+			}
 		}
-		return list.get(0);
+		return nearest;
 	}
 
 	
@@ -604,24 +632,4 @@ public class Breve2DGame {
 			lines.add(new Triple<ILocated2D, ILocated2D, Color>(p1, p2, c));
 		}
 	}
-	
-	//adds rams to monsters
-	/**
-	 * Returns a specific monster Agent if that monster is able to use a Ram is a specific location
-	 * 
-	 * @param ram ILocated2D representing a specific location where a Ram is located
-	 * @return A monster Agent if the monster is able to use the Ram, else returns null
-	 */
-	private Agent monsterWithRam(ILocated2D ram) {
-		Tuple2D offset = ((RammingDynamics) dynamics).getRamOffset();
-		for (int i = 0; i < monsters.length; i++) {
-			Agent a = monsters[i];
-			if (!monsterLocked(i) && !a.isDead()) {
-				if (a.getPosition().add(offset.rotate(a.getHeading())).equals(ram)) {
-					return a;
-				}
-			}
-		}
-		return null;
-	}
 }
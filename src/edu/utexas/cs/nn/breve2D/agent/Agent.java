@@ -24,7 +24,7 @@ public class Agent implements ILocated2D {
 	 * @param heading Double representing the heading of the Agent
 	 */
 	public Agent(Tuple2D pos, double heading) {
-		this.position = pos;
+		setPosition(pos);
 		this.heading = heading;
 		resetHealth();
 	}
@@ -85,7 +85,9 @@ public class Agent implements ILocated2D {
 	}
 
 	/**
-	 * Returns the Agent's current position
+	 * Returns the Agent's current position. The Agent moves this Tuple2D in
+	 * place rather than replacing it on every move, so it should be copied
+	 * by anything that needs to remember where the Agent was.
 	 * 
 	 * @return Tuple2D representing the Agent's current position
 	 */
@@ -137,12 +139,32 @@ public class Agent implements ILocated2D {
 	}
 
 	/**
-	 * Sets the Agent's position to a specified location
+	 * Sets the Agent's position to a specified location. The coordinates are
+	 * copied, so the Agent never moves a Tuple2D that it does not own.
 	 * 
-	 * @param pos Tuple2D representing the location where the Agent will be
+	 * @param pos Tuple2D representing the location where the Agent will be,
+	 * 		or null if the Agent has no location
 	 */
 	public void setPosition(Tuple2D pos) {
-		position = pos;
+		if (pos == null) {
+			position = null;
+		} else {
+			setPosition(pos.x, pos.y);
+		}
+	}
+
+	/**
+	 * Sets the Agent's position to specified coordinates
+	 * 
+	 * @param x Double value of the new X-position
+	 * @param y Double value of the new Y-position
+	 */
+	public void setPosition(double x, double y) {
+		if (position == null) {
+			position = new Tuple2D(x, y);
+		} else {
+			position.setLocation(x, y);
+		}
 	}
 
 	/**
@@ -169,7 +191,17 @@ public class Agent implements ILocated2D {
 	 * @param delta Tuple2D representing by how much the Agent will change its position in both directions
 	 */
 	public void move(Tuple2D delta) {
-		setPosition(position.add(delta));
+		move(delta.x, delta.y);
+	}
+
+	/**
+	 * Changes the Agent's location in place by a specified movement delta
+	 * 
+	 * @param dx Double value by which the Agent's X-position changes
+	 * @param dy Double value by which the Agent's Y-position changes
+	 */
+	public void move(double dx, double dy) {
+		position.translate(dx, dy);
 	}
 
 	/**
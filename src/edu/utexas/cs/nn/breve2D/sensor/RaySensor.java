@@ -29,13 +29,30 @@ public class RaySensor {
 	 * @return tuple containing location
 	 */
 	public Tuple2D getEndpoint() {
-		Tuple2D result = new Tuple2D(agent.getX() + (length * Math.cos(agent.getHeading() + angle)),
-				agent.getY() + (length * Math.sin(agent.getHeading() + angle)));
+		Tuple2D result = new Tuple2D(getEndX(), getEndY());
 		// System.out.println("End:" + agent + ", " + result + "," + length +
 		// "," + angle);
 		return result;
 	}
 
+	/**
+	 * x-coordinate of the end of the sensor, computed without creating a tuple
+	 *
+	 * @return x-coordinate of sensor end
+	 */
+	public double getEndX() {
+		return agent.getX() + (length * Math.cos(agent.getHeading() + angle));
+	}
+
+	/**
+	 * y-coordinate of the end of the sensor, computed without creating a tuple
+	 *
+	 * @return y-coordinate of sensor end
+	 */
+	public double getEndY() {
+		return agent.getY() + (length * Math.sin(agent.getHeading() + angle));
+	}
+
 	/**
 	 * How far the sensor line is from a given point. This is the shortest
 	 * distance from the line, which at most points means distance along a line
@@ -47,8 +64,8 @@ public class RaySensor {
 	 * @return shortest distance to p from sensor
 	 */
 	private double distanceTo(ILocated2D p) {
-		Tuple2D end = getEndpoint();
-		return CartesianGeometricUtilities.shortestDistanceToLineSegment(p, agent, end);
+		return CartesianGeometricUtilities.shortestDistanceToLineSegment(p.getX(), p.getY(), agent.getX(), getEndX(),
+				agent.getY(), getEndY());
 	}
 
 	/**
@@ -78,4 +95,23 @@ public class RaySensor {
 		}
 		return false;
 	}
+
+	/**
+	 * Whether any of the living monsters in the game, other than the sensing
+	 * agent, are touched by the sensor. Same as
+	 * sensingAgent(game.getMonsters()), but without building a list.
+	 *
+	 * @param game
+	 *            game containing the monsters to sense
+	 * @return true if sensor touches another living monster, false otherwise
+	 */
+	public boolean sensingMonsters(Breve2DGame game) {
+		for (int i = 0; i < game.getNumMonsters(); i++) {
+			Agent a = game.getMonster(i);
+			if (a.getIdentifier() != agent.getIdentifier() && sensingAgent(a)) {
+				return true;
+			}
+		}
+		return false;
+	}
 }
@@ -0,0 +1,96 @@
+package edu.utexas.cs.nn.data;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+
+/**
+ * Writes checkpoints in a single background thread, in the order they are
+ * submitted, so that evolution does not wait for the file system. Only a
+ * limited number of checkpoints can wait to be written. Once the queue is
+ * full, submit blocks until the writer catches up, so a slow file system
+ * slows evolution down instead of filling memory with old generations.
+ */
+public class CheckpointWriter implements Runnable {
+
+	// Tells the writer thread to stop
+	private static final Callable<Boolean> STOP = new Callable<Boolean>() {
+		@Override
+		public Boolean call() {
+			return true;
+		}
+	};
+
+	private final BlockingQueue<Callable<Boolean>> queue;
+	private final Thread thread;
+
+	/**
+	 * Start the writer thread
+	 *
+	 * @param capacity
+	 *            number of checkpoints that can wait to be written
+	 */
+	public CheckpointWriter(int capacity) {
+		queue = new ArrayBlockingQueue<Callable<Boolean>>(Math.max(1, capacity));
+		thread = new Thread(this, "CheckpointWriter");
+		thread.start();
+	}
+
+	/**
+	 * Queue a checkpoint to be written, waiting for room in the queue if
+	 * necessary
+	 *
+	 * @param checkpoint
+	 *            writes the checkpoint and returns whether it succeeded
+	 */
+	public void submit(Callable<Boolean> checkpoint) {
+		try {
+			queue.put(checkpoint);
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+			System.out.println("Interrupted while waiting to checkpoint");
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Wait for all queued checkpoints to be written, then stop the writer
+	 * thread
+	 */
+	public void close() {
+		submit(STOP);
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+			System.out.println("Interrupted while waiting for checkpoints to be written");
+			System.exit(1);
+		}
+	}
+
+	@Override
+	public void run() {
+		while (true) {
+			Callable<Boolean> checkpoint;
+			try {
+				checkpoint = queue.take();
+			} catch (InterruptedException e) {
+				return;
+			}
+			if (checkpoint == STOP) {
+				return;
+			}
+			Boolean result;
+			try {
+				result = checkpoint.call();
+			} catch (Exception e) {
+				e.printStackTrace();
+				result = false;
+			}
+			if (!result) {
+				System.out.println("Failure writing checkpoint");
+				System.exit(1);
+			}
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package edu.utexas.cs.nn.data;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+
+import edu.utexas.cs.nn.util.file.FileUtilities;
+
+/**
+ * Everything needed to resume evolution from one generation: the population
+ * archive, the archetype and the parameter file. All contents are serialized
+ * in advance, so the checkpoint can be written by another thread while
+ * evolution goes on changing the objects they came from.
+ *
+ * The population is written first and the parameter file last, and each file
+ * is replaced atomically, so the parameter file on disk always points to a
+ * complete population. The previous checkpoint is only deleted after that.
+ */
+public class GenerationCheckpoint implements Callable<Boolean> {
+
+	private final String archive;
+	private final String[] names;
+	private final byte[][] contents;
+	private final boolean compress;
+	private final String archetypeFile;
+	private final byte[] archetype;
+	private final String parametersFile;
+	private final byte[] parameters;
+	private final String previous;
+
+	/**
+	 * @param archive
+	 *            population archive to write
+	 * @param names
+	 *            names of genotypes within the archive
+	 * @param contents
+	 *            serialized genotypes
+	 * @param compress
+	 *            whether to compress the archive
+	 * @param archetypeFile
+	 *            where to save the archetype (null if there is none)
+	 * @param archetype
+	 *            serialized archetype (null if there is none)
+	 * @param parametersFile
+	 *            where to save the parameters
+	 * @param parameters
+	 *            contents of parameter file
+	 * @param previous
+	 *            old checkpoint to delete afterwards, either an archive or a
+	 *            generation directory (null to keep it)
+	 */
+	public GenerationCheckpoint(String archive, String[] names, byte[][] contents, boolean compress,
+			String archetypeFile, byte[] archetype, String parametersFile, byte[] parameters, String previous) {
+		this.archive = archive;
+		this.names = names;
+		this.contents = contents;
+		this.compress = compress;
+		this.archetypeFile = archetypeFile;
+		this.archetype = archetype;
+		this.parametersFile = parametersFile;
+		this.parameters = parameters;
+		this.previous = previous;
+	}
+
+	@Override
+	public Boolean call() {
+		try {
+			PopulationArchive.write(archive, names, contents, compress);
+			if (archetype != null) {
+				FileUtilities.atomicWrite(archetypeFile, archetype);
+			}
+			FileUtilities.atomicWrite(parametersFile, parameters);
+			System.out.println("Checkpoint saved to \"" + archive + "\"");
+			if (previous != null) {
+				File oldArchive = new File(previous + PopulationArchive.EXTENSION);
+				if (oldArchive.exists()) {
+					oldArchive.delete();
+				}
+				File oldDir = new File(previous);
+				if (oldDir.isDirectory()) {
+					FileUtilities.deleteDirectoryContents(oldDir);
+					oldDir.delete();
+				}
+			}
+			return true;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+}
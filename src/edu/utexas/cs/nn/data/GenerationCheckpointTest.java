@@ -0,0 +1,87 @@
+package edu.utexas.cs.nn.data;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.utexas.cs.nn.MMNEAT.MMNEAT;
+import edu.utexas.cs.nn.evolution.EvolutionaryHistory;
+import edu.utexas.cs.nn.evolution.genotypes.BoundedIntegerValuedGenotype;
+import edu.utexas.cs.nn.evolution.genotypes.Genotype;
+import edu.utexas.cs.nn.evolution.genotypes.GenotypeSerialization;
+import edu.utexas.cs.nn.parameters.Parameters;
+import edu.utexas.cs.nn.util.PopulationUtil;
+import edu.utexas.cs.nn.util.file.FileUtilities;
+
+public class GenerationCheckpointTest {
+
+	File dir;
+
+	@Before
+	public void setup() throws Exception {
+		MMNEAT.clearClasses();
+		EvolutionaryHistory.setHighestGenotypeId(0);
+		Parameters.initializeParameterCollections(new String[] { "io:false", "netio:false", "binaryGenotypes:true" });
+		dir = Files.createTempDirectory("checkpoint").toFile();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		FileUtilities.deleteDirectoryContents(dir);
+		dir.delete();
+		MMNEAT.clearClasses();
+	}
+
+	private GenerationCheckpoint checkpoint(String name, ArrayList<BoundedIntegerValuedGenotype> population, String previous) throws Exception {
+		String[] names = new String[population.size()];
+		byte[][] contents = new byte[population.size()][];
+		for (int i = 0; i < population.size(); i++) {
+			names[i] = "Test0_" + name + "_" + i + ".xml";
+			contents[i] = GenotypeSerialization.toBytes(population.get(i));
+		}
+		byte[] parameters = ("lastSavedDirectory:" + name).getBytes();
+		return new GenerationCheckpoint(dir + "/" + name + PopulationArchive.EXTENSION, names, contents, true, null, null,
+				dir + "/parameters.txt", parameters, previous == null ? null : dir + "/" + previous);
+	}
+
+	@Test
+	public void testCheckpointsWrittenInOrder() throws Exception {
+		ArrayList<BoundedIntegerValuedGenotype> population = new ArrayList<BoundedIntegerValuedGenotype>();
+		for (int i = 0; i < 5; i++) {
+			population.add(new BoundedIntegerValuedGenotype(new ArrayList<Integer>(Arrays.asList(i, 2 * i))));
+		}
+		// An old style generation directory is replaced by the first archive
+		File initial = new File(dir, "initial");
+		initial.mkdir();
+		new File(initial, "old.xml").createNewFile();
+
+		CheckpointWriter writer = new CheckpointWriter(1);
+		writer.submit(checkpoint("gen1", population, "initial"));
+		// Changes after submitting do not affect the checkpoint
+		population.get(0).setValue(0, 100);
+		writer.submit(checkpoint("gen2", population, null));
+		writer.close();
+
+		assertFalse(initial.exists());
+		assertTrue(PopulationArchive.isArchive(dir + "/gen1" + PopulationArchive.EXTENSION));
+		assertEquals("lastSavedDirectory:gen2", new String(Files.readAllBytes(new File(dir, "parameters.txt").toPath())));
+		assertFalse(new File(dir, "gen2" + PopulationArchive.EXTENSION + ".tmp").exists());
+
+		ArrayList<Genotype<ArrayList<Integer>>> gen1 = PopulationUtil.load(dir + "/gen1" + PopulationArchive.EXTENSION);
+		ArrayList<Genotype<ArrayList<Integer>>> gen2 = PopulationUtil.load(dir + "/gen2" + PopulationArchive.EXTENSION);
+		assertEquals(population.size(), gen1.size());
+		for (int i = 0; i < population.size(); i++) {
+			assertEquals(population.get(i).getId(), gen1.get(i).getId());
+			assertEquals(population.get(i).getId(), gen2.get(i).getId());
+			assertEquals(population.get(i).getPhenotype(), gen2.get(i).getPhenotype());
+		}
+		assertEquals(Integer.valueOf(0), gen1.get(0).getPhenotype().get(0));
+	}
+}
@@ -0,0 +1,193 @@
+package edu.utexas.cs.nn.data;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Reads files of whitespace separated numbers, such as the logs and
+ * generation files written during evolution, much faster than Scanner. The
+ * file is copied out of a memory map in one bulk read, and numbers are parsed
+ * directly from its bytes.
+ * Numbers with at most 15 significant digits and small exponents are
+ * converted exactly without creating any objects. Anything else is handed to
+ * Double.parseDouble, so every number has the value Scanner.nextDouble would
+ * give it.
+ *
+ * Lines end with \n, \r or \r\n, as with BufferedReader.readLine, and each
+ * line becomes one row, even if it is empty.
+ */
+public class NumberFileReader {
+
+	// Powers of ten that are exactly representable as doubles
+	private static final double[] POWERS_OF_TEN = new double[23];
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+		}
+	}
+	// Longest mantissa (in digits) that is always exactly representable
+	private static final int MAX_EXACT_DIGITS = 15;
+
+	/**
+	 * Read all numbers in a file.
+	 *
+	 * @param filename
+	 *            file to read
+	 * @return one array of numbers for each line
+	 * @throws IOException
+	 *             if the file cannot be read
+	 * @throws NumberFormatException
+	 *             if something in the file is not a number
+	 */
+	public static double[][] read(String filename) throws IOException {
+		byte[] bytes;
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException(filename + " is too large to read at once");
+			}
+			bytes = new byte[(int) size];
+			if (size > 0) {
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+				buffer.get(bytes);
+			}
+		}
+		return parse(bytes);
+	}
+
+	/**
+	 * Parse the contents of a file.
+	 *
+	 * @param bytes
+	 *            contents of a file of numbers
+	 * @return one array of numbers for each line
+	 */
+	public static double[][] parse(byte[] bytes) {
+		ArrayList<double[]> rows = new ArrayList<double[]>();
+		double[] row = new double[16];
+		int columns = 0;
+		int i = 0;
+		int n = bytes.length;
+		while (i < n) {
+			byte b = bytes[i];
+			if (b == '\n' || b == '\r') {
+				rows.add(Arrays.copyOf(row, columns));
+				columns = 0;
+				i++;
+				if (b == '\r' && i < n && bytes[i] == '\n') {
+					i++;
+				}
+			} else if (b == ' ' || b == '\t' || b == '\f') {
+				i++;
+			} else {
+				int end = i;
+				while (end < n && !isSeparator(bytes[end])) {
+					end++;
+				}
+				if (columns == row.length) {
+					row = Arrays.copyOf(row, 2 * columns);
+				}
+				row[columns++] = parseDouble(bytes, i, end);
+				i = end;
+			}
+		}
+		// Last line need not be terminated
+		if (n > 0 && bytes[n - 1] != '\n' && bytes[n - 1] != '\r') {
+			rows.add(Arrays.copyOf(row, columns));
+		}
+		return rows.toArray(new double[rows.size()][]);
+	}
+
+	private static boolean isSeparator(byte b) {
+		return b == ' ' || b == '\t' || b == '\f' || b == '\n' || b == '\r';
+	}
+
+	/**
+	 * Parse one number from bytes[start] to bytes[end - 1].
+	 */
+	public static double parseDouble(byte[] bytes, int start, int end) {
+		int i = start;
+		boolean negative = false;
+		if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+			negative = bytes[i] == '-';
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0; // significant digits in mantissa
+		int exponent = 0; // decimal exponent applied to mantissa
+		boolean anyDigits = false;
+		boolean point = false;
+		for (; i < end; i++) {
+			byte b = bytes[i];
+			if (b >= '0' && b <= '9') {
+				anyDigits = true;
+				if (mantissa == 0 && b == '0') {
+					// Leading zeros are not significant
+					if (point) {
+						exponent--;
+					}
+				} else if (digits < MAX_EXACT_DIGITS) {
+					mantissa = 10 * mantissa + (b - '0');
+					digits++;
+					if (point) {
+						exponent--;
+					}
+				} else {
+					return slowParse(bytes, start, end);
+				}
+			} else if (b == '.' && !point) {
+				point = true;
+			} else {
+				break;
+			}
+		}
+		if (!anyDigits) {
+			return slowParse(bytes, start, end);
+		}
+		if (i < end) {
+			if (bytes[i] != 'e' && bytes[i] != 'E') {
+				return slowParse(bytes, start, end);
+			}
+			i++;
+			boolean negativeExponent = false;
+			if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+				negativeExponent = bytes[i] == '-';
+				i++;
+			}
+			if (i == end || end - i > 3) {
+				return slowParse(bytes, start, end);
+			}
+			int e = 0;
+			for (; i < end; i++) {
+				if (bytes[i] < '0' || bytes[i] > '9') {
+					return slowParse(bytes, start, end);
+				}
+				e = 10 * e + (bytes[i] - '0');
+			}
+			exponent += negativeExponent ? -e : e;
+		}
+		double value;
+		if (mantissa == 0) {
+			value = 0.0;
+		} else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+			// Both factors are exact, so the product is correctly rounded
+			value = mantissa * POWERS_OF_TEN[exponent];
+		} else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+			value = mantissa / POWERS_OF_TEN[-exponent];
+		} else {
+			return slowParse(bytes, start, end);
+		}
+		return negative ? -value : value;
+	}
+
+	private static double slowParse(byte[] bytes, int start, int end) {
+		return Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.ISO_8859_1));
+	}
+}
@@ -0,0 +1,113 @@
+package edu.utexas.cs.nn.data;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.Scanner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.utexas.cs.nn.parameters.Parameters;
+
+public class NumberFileReaderTest {
+
+	File dir;
+
+	@Before
+	public void setup() throws Exception {
+		Parameters.initializeParameterCollections(new String[] { "io:false", "netio:false", "parallelProcessing:true" });
+		dir = Files.createTempDirectory("numbers").toFile();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (File f : dir.listFiles()) {
+			f.delete();
+		}
+		dir.delete();
+	}
+
+	private double parse(String token) {
+		byte[] bytes = token.getBytes(StandardCharsets.ISO_8859_1);
+		return NumberFileReader.parseDouble(bytes, 0, bytes.length);
+	}
+
+	@Test
+	public void testSameValuesAsParseDouble() {
+		String[] tokens = new String[] { "0", "1", "-0.0", "1.0", "123", "0.1", "-3.25", "1.2345678901234567E-5", "1e22",
+				"1e23", "4.9E-324", "1.7976931348623157E308", "NaN", "Infinity", "-Infinity", "00012.500", "+7", ".5",
+				"5.", "9007199254740993", "123456789012345678901234567890", "2.2250738585072014E-308", "1E-22", "1E-23" };
+		for (String t : tokens) {
+			assertEquals(t, Double.doubleToLongBits(Double.parseDouble(t)), Double.doubleToLongBits(parse(t)));
+		}
+		Random random = new Random(0);
+		for (int i = 0; i < 10000; i++) {
+			double d = random.nextGaussian() * Math.pow(10, random.nextInt(20) - 10);
+			String t = Double.toString(d);
+			assertEquals(t, d, parse(t), 0);
+			t = Float.toString((float) d);
+			assertEquals(t, Double.parseDouble(t), parse(t), 0);
+		}
+	}
+
+	@Test
+	public void testRowsLikeReadLine() {
+		byte[] bytes = "1 2\t3\r\n\n4\r5  6 \n7".getBytes(StandardCharsets.ISO_8859_1);
+		double[][] rows = NumberFileReader.parse(bytes);
+		assertEquals(5, rows.length);
+		assertArrayEquals(new double[] { 1, 2, 3 }, rows[0], 0);
+		assertEquals(0, rows[1].length);
+		assertArrayEquals(new double[] { 4 }, rows[2], 0);
+		assertArrayEquals(new double[] { 5, 6 }, rows[3], 0);
+		assertArrayEquals(new double[] { 7 }, rows[4], 0);
+		assertEquals(0, NumberFileReader.parse(new byte[0]).length);
+	}
+
+	/**
+	 * Averages must match the Scanner based averaging that was used before
+	 */
+	@Test
+	public void testAverageFileColumns() throws Exception {
+		Random random = new Random(1);
+		int numFiles = 4, rows = 30, cols = 5;
+		String[] files = new String[numFiles];
+		double[][][] data = new double[numFiles][rows][cols];
+		for (int f = 0; f < numFiles; f++) {
+			files[f] = dir + "/log" + f + ".txt";
+			PrintStream out = new PrintStream(files[f]);
+			for (int r = 0; r < rows; r++) {
+				for (int c = 0; c < cols; c++) {
+					data[f][r][c] = c == 0 ? r : random.nextGaussian() * 1000;
+					out.print(data[f][r][c] + "\t");
+				}
+				out.println();
+			}
+			out.close();
+		}
+		String output = dir + "/average.txt";
+		assertEquals(cols, ResultSummaryUtilities.averageFileColumns(files, output));
+		Scanner result = new Scanner(new File(output));
+		for (int r = 0; r < rows; r++) {
+			StringBuilder expected = new StringBuilder();
+			for (int c = 0; c < cols; c++) {
+				double average = 0;
+				double ss = 0;
+				for (int f = 0; f < numFiles; f++) {
+					double oldAverage = average;
+					average += ((data[f][r][c] - average) / (f + 1.0));
+					ss += ((data[f][r][c] - average) * (data[f][r][c] - oldAverage));
+				}
+				expected.append(average + "\t" + (ss / (numFiles - 1.0)) + "\t");
+			}
+			assertEquals(expected.toString(), result.nextLine());
+		}
+		assertFalse(result.hasNextLine());
+		result.close();
+	}
+}
@@ -0,0 +1,103 @@
+package edu.utexas.cs.nn.data;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import edu.utexas.cs.nn.evolution.genotypes.Genotype;
+import edu.utexas.cs.nn.evolution.genotypes.GenotypeSerialization;
+import edu.utexas.cs.nn.util.file.FileUtilities;
+
+/**
+ * A whole population saved in a single zip file rather than in a directory
+ * with one file per genotype. Each entry has the name and contents that the
+ * genotype's own file would have had, so an archive can simply be unzipped
+ * into an ordinary generation directory.
+ *
+ * Archives are written to a temporary file that is forced to disk before
+ * being renamed, so an archive that exists is always complete.
+ */
+public class PopulationArchive {
+
+	public static final String EXTENSION = ".zip";
+
+	/**
+	 * @param filename
+	 *            saved population, either a directory or an archive
+	 * @return whether it is an archive
+	 */
+	public static boolean isArchive(String filename) {
+		return filename.endsWith(EXTENSION) && new File(filename).isFile();
+	}
+
+	/**
+	 * Write an archive.
+	 *
+	 * @param filename
+	 *            archive to write
+	 * @param names
+	 *            name of each entry
+	 * @param contents
+	 *            contents of each entry, as returned by
+	 *            GenotypeSerialization.toBytes
+	 * @param compress
+	 *            whether to deflate the entries
+	 * @throws IOException
+	 *             if the archive cannot be written
+	 */
+	public static void write(String filename, String[] names, byte[][] contents, boolean compress) throws IOException {
+		File temp = new File(filename + ".tmp");
+		try (FileOutputStream out = new FileOutputStream(temp)) {
+			ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out));
+			zip.setLevel(compress ? Deflater.BEST_SPEED : Deflater.NO_COMPRESSION);
+			for (int i = 0; i < names.length; i++) {
+				zip.putNextEntry(new ZipEntry(names[i]));
+				zip.write(contents[i]);
+				zip.closeEntry();
+			}
+			zip.finish();
+			zip.flush();
+			out.getFD().sync();
+		}
+		FileUtilities.atomicReplace(temp, new File(filename));
+	}
+
+	/**
+	 * Load every genotype in an archive, in the order they were saved.
+	 *
+	 * @param <T>
+	 *            phenotype
+	 * @param filename
+	 *            archive to load
+	 * @return loaded population
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> ArrayList<Genotype<T>> load(String filename) {
+		ArrayList<Genotype<T>> population = new ArrayList<Genotype<T>>();
+		try (ZipFile zip = new ZipFile(filename)) {
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				System.out.print("Load Entry: \"" + entry.getName() + "\"");
+				try (InputStream in = zip.getInputStream(entry)) {
+					Genotype<T> individual = (Genotype<T>) GenotypeSerialization.load(in);
+					System.out.println(", ID = " + individual.getId());
+					population.add(individual);
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.out.println("Can't load population from archive '" + filename + "'");
+			System.exit(1);
+		}
+		return population;
+	}
+}
@@ -4,6 +4,7 @@ import edu.utexas.cs.nn.log.PerformanceLog;
 import edu.utexas.cs.nn.log.TWEANNLog;
 import edu.utexas.cs.nn.MMNEAT.MMNEAT;
 import edu.utexas.cs.nn.parameters.Parameters;
+import edu.utexas.cs.nn.tasks.EvaluationPool;
 import edu.utexas.cs.nn.tasks.GroupTask;
 import edu.utexas.cs.nn.tasks.LonerTask;
 import edu.utexas.cs.nn.tasks.MultiplePopulationTask;
@@ -16,9 +17,13 @@ import edu.utexas.cs.nn.util.stats.StatisticsUtilities;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import jmetal.qualityIndicator.Hypervolume;
 
 /**
@@ -27,6 +32,11 @@ import jmetal.qualityIndicator.Hypervolume;
  * form. These methods are launched by executing MM-NEAT with "process" as the
  * first command line parameter.
  *
+ * Log files are read with NumberFileReader rather than Scanner, and if the
+ * parallelProcessing parameter is set, the files of different runs are read,
+ * and the hypervolumes of different generations are calculated, by parallel
+ * threads. The output files are the same either way.
+ *
  * @author Jacob Schrum
  */
 public class ResultSummaryUtilities {
@@ -192,30 +202,20 @@ public class ResultSummaryUtilities {
 	 */
 	public static int averageFileColumns(String[] files, String output) throws FileNotFoundException {
 		int result = 0;
-		Scanner[] fs = new Scanner[files.length];
-		// Create Scanner for each input file
-		for (int i = 0; i < fs.length; i++) {
-			fs[i] = new Scanner(new File(files[i]));
-		}
+		// Rows of numbers in each input file
+		double[][][] data = readNumberFiles(files);
 		// Output file has a PrintStream
 		PrintStream out = new PrintStream(new FileOutputStream(output));
 		// Assumes all input files have same number of rows as first
-		while (fs[0].hasNextLine()) {
-			// Each scanner will hold one line from one of the files
-			Scanner[] lines = new Scanner[fs.length];
-			for (int i = 0; i < fs.length; i++) {
-				String line = fs[i].nextLine();
-				lines[i] = new Scanner(line);
-			}
-
-			String lineOut = "";
+		for (int row = 0; row < data[0].length; row++) {
+			StringBuilder lineOut = new StringBuilder();
 			result = 0;
 			// Assume all input files have same number of columns as first
-			while (lines[0].hasNext()) {
+			for (int col = 0; col < data[0][row].length; col++) {
 				double average = 0;
 				double ss = 0;
-				for (int i = 0; i < lines.length; i++) {
-					double x = lines[i].nextDouble();
+				for (int i = 0; i < data.length; i++) {
+					double x = data[i][row][col];
 					double oldAverage = average;
 					// incremental average update
 					average += ((x - average) / (i + 1.0));
@@ -223,7 +223,7 @@ public class ResultSummaryUtilities {
 					ss += ((x - average) * (x - oldAverage));
 				}
 				// sample variance = s^2 = SS/(N-1)
-				lineOut += average + "\t" + (ss / (lines.length - 1.0)) + "\t";
+				lineOut.append(average).append("\t").append(ss / (data.length - 1.0)).append("\t");
 				result++;
 			}
 			out.println(lineOut);
@@ -232,6 +232,61 @@ public class ResultSummaryUtilities {
 		return result;
 	}
 
+	/**
+	 * Read several files of numbers, in parallel if parallelProcessing is set
+	 *
+	 * @param files Array of file names
+	 * @return Rows of numbers in each file
+	 * @throws FileNotFoundException if any of the files are not found
+	 */
+	private static double[][][] readNumberFiles(String[] files) throws FileNotFoundException {
+		ArrayList<Callable<double[][]>> reads = new ArrayList<Callable<double[][]>>(files.length);
+		for (final String file : files) {
+			if (!new File(file).exists()) {
+				throw new FileNotFoundException(file + " (No such file or directory)");
+			}
+			reads.add(new Callable<double[][]>() {
+				@Override
+				public double[][] call() throws IOException {
+					return NumberFileReader.read(file);
+				}
+			});
+		}
+		return runAll(reads).toArray(new double[files.length][][]);
+	}
+
+	/**
+	 * Call each job and return the results in order. If parallelProcessing is
+	 * set, the jobs run in parallel on the shared evaluation pool.
+	 *
+	 * @param jobs Jobs to run
+	 * @return Result of each job
+	 */
+	private static <T> ArrayList<T> runAll(List<Callable<T>> jobs) {
+		ArrayList<T> results = new ArrayList<T>(jobs.size());
+		try {
+			if (Parameters.parameters != null && Parameters.parameters.booleanParameter("parallelProcessing")) {
+				List<Future<T>> futures = EvaluationPool.getPool(Parameters.parameters.integerParameter("threads")).invokeAll(jobs);
+				for (Future<T> f : futures) {
+					results.add(f.get());
+				}
+			} else {
+				for (Callable<T> job : jobs) {
+					results.add(job.call());
+				}
+			}
+		} catch (ExecutionException e) {
+			e.getCause().printStackTrace();
+			System.out.println("Failure while processing results");
+			System.exit(1);
+		} catch (Exception e) {
+			e.printStackTrace();
+			System.out.println("Failure while processing results");
+			System.exit(1);
+		}
+		return results;
+	}
+
 	/**
 	 * Calls hypervolumesByGeneration for each run, which calls hypervolumeForGeneration for each generation, 
 	 * which will print out the hypervolumes for each generation
@@ -245,9 +300,11 @@ public class ResultSummaryUtilities {
 	 */
 	public static void hypervolumesByGenerationForAllRuns(String dirPrefix, int runs, String filePrefix,
 			String fileMiddle, String fileExtension, int generations) throws FileNotFoundException {
+		// Generations of all runs are processed together, for better parallelism
+		ArrayList<Pair<Double, Integer>> hypervolumes = hypervolumesForRuns(dirPrefix, 0, runs, filePrefix, fileMiddle, fileExtension, generations);
 		for (int i = 0; i < runs; i++) {
-			hypervolumesByGeneration(dirPrefix, i, filePrefix, fileMiddle, fileExtension, generations,
-					dirPrefix + i + "/" + filePrefix);
+			writeHypervolumes(dirPrefix + i + "/" + filePrefix + i + fileMiddle + "HV.txt",
+					hypervolumes.subList(i * generations, (i + 1) * generations));
 		}
 	}
 
@@ -264,10 +321,50 @@ public class ResultSummaryUtilities {
 	 */
 	public static void hypervolumesByGeneration(String dirPrefix, int run, String filePrefix, String fileMiddle,
 			String fileExtension, int generations, String outputPrefix) throws FileNotFoundException {
-		PrintStream out = new PrintStream(new FileOutputStream(outputPrefix + run + fileMiddle + "HV.txt"));
-		for (int i = 0; i < generations; i++) {
-			Pair<Double, Integer> hypervolumeAndFrontSize = hypervolumeForGeneration(dirPrefix, run, filePrefix,
-					fileMiddle, i, fileExtension);
+		writeHypervolumes(outputPrefix + run + fileMiddle + "HV.txt",
+				hypervolumesForRuns(dirPrefix, run, 1, filePrefix, fileMiddle, fileExtension, generations));
+	}
+
+	/**
+	 * Calls hypervolumeForGeneration for every generation of several consecutive runs,
+	 * in parallel if parallelProcessing is set
+	 * @param dirPrefix, directory prefix
+	 * @param firstRun, first run to process
+	 * @param runs, number of runs to process
+	 * @param filePrefix, file prefix
+	 * @param fileMiddle, middle of the file name
+	 * @param fileExtension, extension for the file
+	 * @param generations, number of generations
+	 * @return hypervolume and front size of each generation, for one run after another
+	 */
+	private static ArrayList<Pair<Double, Integer>> hypervolumesForRuns(final String dirPrefix, int firstRun, int runs,
+			final String filePrefix, final String fileMiddle, final String fileExtension, int generations) {
+		ArrayList<Callable<Pair<Double, Integer>>> jobs = new ArrayList<Callable<Pair<Double, Integer>>>(runs * generations);
+		for (int r = firstRun; r < firstRun + runs; r++) {
+			for (int g = 0; g < generations; g++) {
+				final int run = r;
+				final int generation = g;
+				jobs.add(new Callable<Pair<Double, Integer>>() {
+					@Override
+					public Pair<Double, Integer> call() {
+						return hypervolumeForGeneration(dirPrefix, run, filePrefix, fileMiddle, generation, fileExtension);
+					}
+				});
+			}
+		}
+		return runAll(jobs);
+	}
+
+	/**
+	 * Print the hypervolume and Pareto front size of each generation
+	 * @param filename, file to write
+	 * @param hypervolumes, hypervolume and front size by generation
+	 * @throws FileNotFoundException
+	 */
+	private static void writeHypervolumes(String filename, List<Pair<Double, Integer>> hypervolumes) throws FileNotFoundException {
+		PrintStream out = new PrintStream(new FileOutputStream(filename));
+		for (int i = 0; i < hypervolumes.size(); i++) {
+			Pair<Double, Integer> hypervolumeAndFrontSize = hypervolumes.get(i);
 			// out.println(i + "\t" + hypervolume);
 			out.println(i + "\t" + hypervolumeAndFrontSize.t1 + "\t" + hypervolumeAndFrontSize.t2);
 		}
@@ -297,7 +394,14 @@ public class ResultSummaryUtilities {
 		Hypervolume qualityIndicator = new Hypervolume();
 		// Read the front from the files
 		String file = dirPrefix + run + "/" + filePrefix + run + fileMiddle + generation + "." + fileExtension;
-		double[][] fileData = qualityIndicator.utils_.readFront(file);
+		double[][] fileData = null;
+		try {
+			fileData = NumberFileReader.read(file);
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.out.println("Could not read front from " + file);
+			System.exit(1);
+		}
 		double[][] solutions;
 		// First drop solution number
 		double[][] step1 = dropColumn(fileData, 0);
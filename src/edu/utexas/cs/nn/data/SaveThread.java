@@ -1,7 +1,7 @@
 package edu.utexas.cs.nn.data;
 
 import java.util.concurrent.Callable;
-import wox.serial.Easy;
+import edu.utexas.cs.nn.evolution.genotypes.GenotypeSerialization;
 
 /**
  * Save file in a thread, so that the file system operations can be distributed.
@@ -23,7 +23,7 @@ public class SaveThread<T> implements Callable<Boolean> {
 	@Override
 	public Boolean call() {
 		try {
-			Easy.save(object, filename);
+			GenotypeSerialization.save(object, filename);
 			return true;
 		} catch (Exception e) {
 			e.printStackTrace();
@@ -15,11 +15,13 @@ import edu.utexas.cs.nn.parameters.Parameters;
 import edu.utexas.cs.nn.util.file.FileUtilities;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 
+import edu.utexas.cs.nn.evolution.genotypes.GenotypeSerialization;
 import wox.serial.Easy;
 
 /**
@@ -73,7 +75,7 @@ public class EvolutionaryHistory {
 		// loadedNetworks hashmap
 		if (!loadedNetworks.containsKey(xml)) {
 			System.out.println("Added to subnetworks: " + xml);
-			loadedNetworks.put(xml, (Genotype<T>) Easy.load(xml));
+			loadedNetworks.put(xml, (Genotype<T>) GenotypeSerialization.load(xml));
 		}
 		return loadedNetworks.get(xml).copy();
 	}
@@ -282,6 +284,37 @@ public class EvolutionaryHistory {
 		}
 	}
 
+	/**
+	 * Does what saveArchetype does, except that instead of writing the
+	 * archetype file it returns the contents for the file, so that the file
+	 * can be written later (see GenerationCheckpoint).
+	 *
+	 * @param populationIndex
+	 *            Corresponds to index of population in question
+	 * @return contents of the archetype file, or null if there is no archetype
+	 *         to save
+	 * @throws IOException
+	 *             if the archetype cannot be serialized
+	 */
+	public static byte[] archetypeSnapshot(int populationIndex) throws IOException {
+		if (archetypes != null && archetypes[populationIndex] != null && CommonConstants.netio) {
+			String file = FileUtilities.getSaveDirectory() + "/" + "archetype";
+			Parameters.parameters.setString("archetype", file);
+			CombiningTWEANNCrossover.saveCombiningCrossoverInformation();
+			return GenotypeSerialization.toBytes(archetypes[populationIndex]);
+		}
+		return null;
+	}
+
+	/**
+	 * @param populationIndex
+	 *            Corresponds to index of population in question
+	 * @return file that the archetype of the population is saved in
+	 */
+	public static String archetypeFilename(int populationIndex) {
+		return Parameters.parameters.stringParameter("archetype") + populationIndex + ".xml";
+	}
+
 	/**
 	 * Initializes the mutation and lineage logs of an archetype
 	 */
@@ -0,0 +1,96 @@
+package edu.utexas.cs.nn.evolution.genotypes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Converts saved xml genotypes into the binary format of
+ * GenotypeSerialization, in place. Every xml file in the given directories
+ * (searched recursively) that contains a genotype with a binary format is
+ * rewritten as binary under the same name. Other files are left alone, so
+ * whole experiment directories can be converted at once.
+ *
+ * Usage: ConvertGenotypesToBinary [-z] file-or-directory ...
+ * where -z gzips the binary files.
+ */
+public class ConvertGenotypesToBinary {
+
+	public static void main(String[] args) throws IOException {
+		boolean compress = false;
+		int converted = 0;
+		for (String arg : args) {
+			if (arg.equals("-z")) {
+				compress = true;
+			} else {
+				converted += convert(new File(arg), compress);
+			}
+		}
+		System.out.println("Converted " + converted + " genotypes");
+	}
+
+	/**
+	 * Convert one xml file, or all xml files in a directory tree.
+	 *
+	 * @param file
+	 *            xml file or directory
+	 * @param compress
+	 *            whether to gzip the binary files
+	 * @return number of genotypes converted
+	 * @throws IOException
+	 *             if a file cannot be written
+	 */
+	public static int convert(File file, boolean compress) throws IOException {
+		if (file.isDirectory()) {
+			int count = 0;
+			File[] children = file.listFiles();
+			if (children != null) {
+				for (File child : children) {
+					count += convert(child, compress);
+				}
+			}
+			return count;
+		}
+		if (!file.getName().endsWith(".xml") || GenotypeSerialization.isBinary(file.getPath())) {
+			return 0;
+		}
+		Object loaded = GenotypeSerialization.load(file.getPath());
+		if (!GenotypeSerialization.supportsBinary(loaded)) {
+			return 0; // Not a genotype, or no binary format for it
+		}
+		// Write next to the original first, so that a failure never loses the xml file
+		File temp = new File(file.getPath() + ".tmp");
+		GenotypeSerialization.saveBinary((Genotype<?>) loaded, temp.getPath(), compress);
+		Genotype<?> check = (Genotype<?>) GenotypeSerialization.load(temp.getPath());
+		if (!Arrays.equals(encode((Genotype<?>) loaded), encode(check))) {
+			temp.delete();
+			throw new IOException("Binary copy of " + file + " does not match");
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		System.out.println("Converted " + file);
+		return 1;
+	}
+
+	/**
+	 * Binary encoding of a genotype, as written to an uncompressed file. The
+	 * encoding holds every field of the genotype, so two genotypes with the
+	 * same encoding are the same genotype.
+	 *
+	 * @param genotype
+	 *            genotype of a class with a binary format
+	 * @return encoded genotype
+	 * @throws IOException
+	 *             if the genotype cannot be encoded
+	 */
+	private static byte[] encode(Genotype<?> genotype) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream data = new DataOutputStream(bytes);
+		GenotypeSerialization.writeGenotype(genotype, data);
+		data.flush();
+		return bytes.toByteArray();
+	}
+}
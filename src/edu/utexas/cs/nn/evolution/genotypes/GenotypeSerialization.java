@@ -0,0 +1,543 @@
+package edu.utexas.cs.nn.evolution.genotypes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.jdom.JDOMException;
+import org.jdom.input.SAXBuilder;
+import org.jdom.output.XMLOutputter;
+
+import edu.utexas.cs.nn.evolution.EvolutionaryHistory;
+import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype.FullLinkGene;
+import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype.FullNodeGene;
+import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype.LinkGene;
+import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype.NodeGene;
+import edu.utexas.cs.nn.networks.MLP;
+import edu.utexas.cs.nn.parameters.Parameters;
+import edu.utexas.cs.nn.util.datastructures.ArrayUtil;
+import wox.serial.Easy;
+import wox.serial.SimpleReader;
+import wox.serial.SimpleWriter;
+
+/**
+ * Saves and loads genotypes. The most common genotypes can be saved in a
+ * compact, versioned binary format that is much smaller and faster to read
+ * and write than WOX XML. Everything else is saved as XML.
+ *
+ * Files keep the names they would have had as XML files, so all code that
+ * looks for saved genotypes still finds them. When loading, the format is
+ * detected from the contents of the file, so binary files, gzip compressed
+ * binary files and XML files can all be mixed.
+ *
+ * Binary format: the magic number, the format version, a byte indicating
+ * the genotype class, and then the contents of that genotype. Only exact
+ * instances of the supported classes are saved as binary, since subclasses
+ * may have additional fields.
+ */
+public class GenotypeSerialization {
+
+	// "MMGB": MM-NEAT Genotype Binary
+	public static final int MAGIC = 0x4D4D4742;
+	public static final short VERSION = 1;
+	private static final int GZIP_MAGIC = 0x1F8B;
+
+	// Classes of genotypes that can be saved in binary
+	private static final byte TWEANN = 0;
+	private static final byte HYPERNEAT_CPPN = 1;
+	private static final byte MLP = 2;
+	private static final byte REAL_VALUED = 3;
+	private static final byte BOUNDED_REAL_VALUED = 4;
+	private static final byte BOUNDED_INTEGER_VALUED = 5;
+
+	/**
+	 * Save an object to a file. Genotypes that support it are saved in binary
+	 * if the binaryGenotypes parameter is true, and everything else is saved
+	 * as XML.
+	 *
+	 * @param object
+	 *            object to save, usually a genotype
+	 * @param filename
+	 *            file to save to
+	 */
+	public static void save(Object object, String filename) {
+		if (Parameters.parameters != null && Parameters.parameters.booleanParameter("binaryGenotypes") && supportsBinary(object)) {
+			try {
+				saveBinary((Genotype<?>) object, filename, Parameters.parameters.booleanParameter("compressGenotypes"));
+			} catch (IOException e) {
+				e.printStackTrace();
+				System.out.println("Could not save " + filename);
+				System.exit(1);
+			}
+		} else {
+			Easy.save(object, filename);
+		}
+	}
+
+	/**
+	 * Load an object saved by save, whatever format it is in.
+	 *
+	 * @param filename
+	 *            file to load
+	 * @return loaded object
+	 */
+	public static Object load(String filename) {
+		if (!new File(filename).exists()) {
+			return Easy.load(filename);
+		}
+		try {
+			InputStream in = new BufferedInputStream(new FileInputStream(filename));
+			try {
+				in = decompress(in);
+				if (isBinary(in)) {
+					return readGenotype(new DataInputStream(in));
+				}
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.out.println("Could not load " + filename);
+			System.exit(1);
+		}
+		return Easy.load(filename);
+	}
+
+	/**
+	 * @param filename
+	 *            existing file
+	 * @return whether the file contains a binary genotype, possibly compressed
+	 * @throws IOException
+	 *             if the file cannot be read
+	 */
+	public static boolean isBinary(String filename) throws IOException {
+		InputStream in = new BufferedInputStream(new FileInputStream(filename));
+		try {
+			in = decompress(in);
+			return isBinary(in);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * @param object
+	 *            object that may be saved
+	 * @return whether it can be saved in binary
+	 */
+	public static boolean supportsBinary(Object object) {
+		return object != null && classCode(object.getClass()) != -1;
+	}
+
+	/**
+	 * Save a genotype in binary.
+	 *
+	 * @param genotype
+	 *            genotype of a supported class
+	 * @param filename
+	 *            file to save to
+	 * @param compress
+	 *            whether to gzip the file
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	public static void saveBinary(Genotype<?> genotype, String filename, boolean compress) throws IOException {
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(filename));
+		if (compress) {
+			out = new GZIPOutputStream(out);
+		}
+		DataOutputStream data = new DataOutputStream(out);
+		try {
+			writeGenotype(genotype, data);
+		} finally {
+			data.close();
+		}
+	}
+
+	/**
+	 * Serialize an object in memory, in the format that save would use for
+	 * it, but never gzipped. The bytes are a snapshot of the object, so it can
+	 * keep changing while they are written out elsewhere.
+	 *
+	 * @param object
+	 *            object to serialize, usually a genotype
+	 * @return contents of the file save would write
+	 * @throws IOException
+	 *             if the object cannot be serialized
+	 */
+	public static byte[] toBytes(Object object) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		if (Parameters.parameters != null && Parameters.parameters.booleanParameter("binaryGenotypes") && supportsBinary(object)) {
+			DataOutputStream data = new DataOutputStream(bytes);
+			writeGenotype((Genotype<?>) object, data);
+			data.flush();
+		} else {
+			new XMLOutputter().output(new SimpleWriter().write(object), bytes);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Load an object from a stream holding the contents of a file written by
+	 * save, or bytes from toBytes. The stream is not closed.
+	 *
+	 * @param in
+	 *            stream to read
+	 * @return loaded object
+	 * @throws IOException
+	 *             if the stream cannot be read or parsed
+	 */
+	public static Object load(InputStream in) throws IOException {
+		in = decompress(new BufferedInputStream(in));
+		if (isBinary(in)) {
+			return readGenotype(new DataInputStream(in));
+		}
+		try {
+			return new SimpleReader().read(new SAXBuilder().build(in).getRootElement());
+		} catch (JDOMException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Wrap the stream in a GZIPInputStream if it starts with the gzip magic number
+	 */
+	private static InputStream decompress(InputStream in) throws IOException {
+		in.mark(2);
+		int header = (in.read() << 8) | in.read();
+		in.reset();
+		return header == GZIP_MAGIC ? new BufferedInputStream(new GZIPInputStream(in)) : in;
+	}
+
+	/**
+	 * Whether the stream starts with the magic number. Does not consume it.
+	 */
+	private static boolean isBinary(InputStream in) throws IOException {
+		in.mark(4);
+		int header = 0;
+		for (int i = 0; i < 4; i++) {
+			int b = in.read();
+			if (b == -1) {
+				in.reset();
+				return false;
+			}
+			header = (header << 8) | b;
+		}
+		in.reset();
+		return header == MAGIC;
+	}
+
+	private static byte classCode(Class<?> c) {
+		if (c == TWEANNGenotype.class) {
+			return TWEANN;
+		} else if (c == HyperNEATCPPNGenotype.class) {
+			return HYPERNEAT_CPPN;
+		} else if (c == MLPGenotype.class) {
+			return MLP;
+		} else if (c == RealValuedGenotype.class) {
+			return REAL_VALUED;
+		} else if (c == BoundedRealValuedGenotype.class) {
+			return BOUNDED_REAL_VALUED;
+		} else if (c == BoundedIntegerValuedGenotype.class) {
+			return BOUNDED_INTEGER_VALUED;
+		}
+		return -1;
+	}
+
+	/**
+	 * Write a genotype of a supported class, including the header.
+	 *
+	 * @param genotype
+	 *            genotype to write
+	 * @param out
+	 *            stream to write to
+	 * @throws IOException
+	 *             if the stream cannot be written
+	 */
+	public static void writeGenotype(Genotype<?> genotype, DataOutputStream out) throws IOException {
+		byte code = classCode(genotype.getClass());
+		if (code == -1) {
+			throw new IllegalArgumentException("No binary format for " + genotype.getClass().getName());
+		}
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		out.writeByte(code);
+		switch (code) {
+			case TWEANN:
+			case HYPERNEAT_CPPN:
+				writeTWEANN((TWEANNGenotype) genotype, out);
+				break;
+			case MLP:
+				MLPGenotype mlp = (MLPGenotype) genotype;
+				out.writeLong(mlp.getId());
+				writeMatrix(mlp.firstConnectionLayer, out);
+				writeMatrix(mlp.secondConnectionLayer, out);
+				break;
+			case REAL_VALUED:
+			case BOUNDED_REAL_VALUED:
+				RealValuedGenotype real = (RealValuedGenotype) genotype;
+				out.writeLong(real.getId());
+				out.writeInt(real.genes.size());
+				for (Double x : real.genes) {
+					out.writeDouble(x);
+				}
+				if (code == BOUNDED_REAL_VALUED) {
+					BoundedRealValuedGenotype bounded = (BoundedRealValuedGenotype) genotype;
+					writeArray(bounded.lower, out);
+					writeArray(bounded.upper, out);
+					out.writeBoolean(bounded.polynomialMutation);
+				}
+				break;
+			case BOUNDED_INTEGER_VALUED:
+				BoundedIntegerValuedGenotype integer = (BoundedIntegerValuedGenotype) genotype;
+				out.writeLong(integer.getId());
+				out.writeInt(integer.genes.size());
+				for (Integer x : integer.genes) {
+					out.writeInt(x);
+				}
+				break;
+			default:
+		}
+	}
+
+	/**
+	 * Read a genotype written by writeGenotype. Like loading from XML, this
+	 * does not use up any genotype ids.
+	 *
+	 * @param in
+	 *            stream to read from
+	 * @return genotype that was read
+	 * @throws IOException
+	 *             if the stream cannot be read, or is not in a known format
+	 */
+	public static Genotype<?> readGenotype(DataInputStream in) throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a binary genotype");
+		}
+		short version = in.readShort();
+		if (version > VERSION) {
+			throw new IOException("Binary genotype version " + version + " is newer than supported version " + VERSION);
+		}
+		byte code = in.readByte();
+		// Constructors take new ids, but the loaded genotype keeps its saved id
+		long unusedId = EvolutionaryHistory.largestUnusedGenotypeId;
+		Genotype<?> result;
+		switch (code) {
+			case TWEANN:
+			case HYPERNEAT_CPPN:
+				result = readTWEANN(in, code == HYPERNEAT_CPPN);
+				break;
+			case MLP: {
+				long id = in.readLong();
+				MLPGenotype mlp = new MLPGenotype(new MLP(readMatrix(in), readMatrix(in)));
+				mlp.setId(id);
+				result = mlp;
+				break;
+			}
+			case REAL_VALUED:
+			case BOUNDED_REAL_VALUED: {
+				long id = in.readLong();
+				double[] genes = readArray(in);
+				RealValuedGenotype real;
+				if (code == BOUNDED_REAL_VALUED) {
+					double[] lower = readArray(in);
+					double[] upper = readArray(in);
+					BoundedRealValuedGenotype bounded = new BoundedRealValuedGenotype(ArrayUtil.doubleVectorFromArray(genes), lower, upper);
+					bounded.polynomialMutation = in.readBoolean();
+					real = bounded;
+				} else {
+					real = new RealValuedGenotype(genes);
+				}
+				real.setId(id);
+				result = real;
+				break;
+			}
+			case BOUNDED_INTEGER_VALUED: {
+				long id = in.readLong();
+				int size = in.readInt();
+				ArrayList<Integer> genes = new ArrayList<Integer>(size);
+				for (int i = 0; i < size; i++) {
+					genes.add(in.readInt());
+				}
+				BoundedIntegerValuedGenotype integer = new BoundedIntegerValuedGenotype(genes);
+				integer.setId(id);
+				result = integer;
+				break;
+			}
+			default:
+				throw new IOException("Unknown binary genotype class " + code);
+		}
+		EvolutionaryHistory.largestUnusedGenotypeId = unusedId;
+		if (Parameters.parameters != null) {
+			Parameters.parameters.setLong("lastGenotypeId", unusedId);
+		}
+		return result;
+	}
+
+	private static void writeTWEANN(TWEANNGenotype g, DataOutputStream out) throws IOException {
+		out.writeLong(g.getId());
+		out.writeInt(g.archetypeIndex);
+		out.writeInt(g.numIn);
+		out.writeInt(g.numOut);
+		out.writeInt(g.numModules);
+		out.writeInt(g.neuronsPerModule);
+		out.writeBoolean(g.standardMultitask);
+		out.writeBoolean(g.hierarchicalMultitask);
+		writeArray(g.moduleAssociations, out);
+		writeArray(g.moduleUsage, out);
+		out.writeInt(g.nodes.size());
+		for (NodeGene n : g.nodes) {
+			out.writeLong(n.innovation);
+			out.writeByte(n.ntype);
+			out.writeByte(n.ftype);
+			boolean full = n instanceof FullNodeGene;
+			out.writeBoolean(full);
+			if (full) {
+				out.writeDouble(n.getBias());
+				out.writeBoolean(n.isFrozen());
+				out.writeBoolean(n.fromCombiningCrossover());
+			}
+		}
+		out.writeInt(g.links.size());
+		for (LinkGene l : g.links) {
+			out.writeLong(l.innovation);
+			out.writeLong(l.sourceInnovation);
+			out.writeLong(l.targetInnovation);
+			out.writeDouble(l.weight);
+			boolean full = l instanceof FullLinkGene;
+			out.writeBoolean(full);
+			if (full) {
+				FullLinkGene fl = (FullLinkGene) l;
+				out.writeBoolean(fl.active);
+				out.writeBoolean(fl.recurrent);
+				out.writeBoolean(fl.frozen);
+			}
+		}
+	}
+
+	private static TWEANNGenotype readTWEANN(DataInputStream in, boolean cppn) throws IOException {
+		long id = in.readLong();
+		int archetypeIndex = in.readInt();
+		int numIn = in.readInt();
+		int numOut = in.readInt();
+		int numModules = in.readInt();
+		int neuronsPerModule = in.readInt();
+		boolean standardMultitask = in.readBoolean();
+		boolean hierarchicalMultitask = in.readBoolean();
+		int[] moduleAssociations = readIntArray(in);
+		int[] moduleUsage = readIntArray(in);
+		int numNodes = in.readInt();
+		ArrayList<NodeGene> nodes = new ArrayList<NodeGene>(numNodes);
+		for (int i = 0; i < numNodes; i++) {
+			long innovation = in.readLong();
+			int ntype = in.readByte();
+			int ftype = in.readByte();
+			if (in.readBoolean()) {
+				double bias = in.readDouble();
+				boolean frozen = in.readBoolean();
+				NodeGene n = TWEANNGenotype.newNodeGene(ftype, ntype, innovation, frozen, bias);
+				if (in.readBoolean()) {
+					n.setFromCombiningCrossover();
+				}
+				nodes.add(n);
+			} else {
+				nodes.add(TWEANNGenotype.newNodeGene(ftype, ntype, innovation));
+			}
+		}
+		int numLinks = in.readInt();
+		ArrayList<LinkGene> links = new ArrayList<LinkGene>(numLinks);
+		for (int i = 0; i < numLinks; i++) {
+			long innovation = in.readLong();
+			long source = in.readLong();
+			long target = in.readLong();
+			double weight = in.readDouble();
+			if (in.readBoolean()) {
+				boolean active = in.readBoolean();
+				boolean recurrent = in.readBoolean();
+				boolean frozen = in.readBoolean();
+				links.add(TWEANNGenotype.newLinkGene(source, target, weight, innovation, active, recurrent, frozen));
+			} else {
+				links.add(TWEANNGenotype.newLinkGene(source, target, weight, innovation, false));
+			}
+		}
+		TWEANNGenotype g = cppn ? new HyperNEATCPPNGenotype(nodes, links, neuronsPerModule, archetypeIndex)
+				: new TWEANNGenotype(nodes, links, neuronsPerModule, standardMultitask, hierarchicalMultitask, archetypeIndex);
+		// Saved values, rather than those derived from the current parameters
+		g.setId(id);
+		g.numIn = numIn;
+		g.numOut = numOut;
+		g.numModules = numModules;
+		g.standardMultitask = standardMultitask;
+		g.hierarchicalMultitask = hierarchicalMultitask;
+		g.moduleAssociations = moduleAssociations;
+		g.moduleUsage = moduleUsage;
+		return g;
+	}
+
+	private static void writeArray(double[] array, DataOutputStream out) throws IOException {
+		out.writeInt(array.length);
+		for (double x : array) {
+			out.writeDouble(x);
+		}
+	}
+
+	private static double[] readArray(DataInputStream in) throws IOException {
+		double[] array = new double[in.readInt()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = in.readDouble();
+		}
+		return array;
+	}
+
+	/**
+	 * Module arrays of a genotype may be null, which is written as a length of -1
+	 */
+	private static void writeArray(int[] array, DataOutputStream out) throws IOException {
+		if (array == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(array.length);
+		for (int x : array) {
+			out.writeInt(x);
+		}
+	}
+
+	private static int[] readIntArray(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length == -1) {
+			return null;
+		}
+		int[] array = new int[length];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = in.readInt();
+		}
+		return array;
+	}
+
+	private static void writeMatrix(double[][] matrix, DataOutputStream out) throws IOException {
+		out.writeInt(matrix.length);
+		for (double[] row : matrix) {
+			writeArray(row, out);
+		}
+	}
+
+	private static double[][] readMatrix(DataInputStream in) throws IOException {
+		double[][] matrix = new double[in.readInt()][];
+		for (int i = 0; i < matrix.length; i++) {
+			matrix[i] = readArray(in);
+		}
+		return matrix;
+	}
+}
@@ -0,0 +1,123 @@
+package edu.utexas.cs.nn.evolution.genotypes;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.utexas.cs.nn.MMNEAT.MMNEAT;
+import edu.utexas.cs.nn.evolution.EvolutionaryHistory;
+import edu.utexas.cs.nn.networks.TWEANN;
+import edu.utexas.cs.nn.parameters.Parameters;
+
+public class GenotypeSerializationTest {
+
+	File file;
+
+	@Before
+	public void setup() throws IOException {
+		MMNEAT.clearClasses();
+		EvolutionaryHistory.setInnovation(0);
+		EvolutionaryHistory.setHighestGenotypeId(0);
+		Parameters.initializeParameterCollections(new String[] { "io:false", "netio:false", "allowMultipleFunctions:true",
+				"recurrency:true", "binaryGenotypes:true" });
+		MMNEAT.loadClasses();
+		file = File.createTempFile("genotype", ".xml");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		file.delete();
+		MMNEAT.clearClasses();
+	}
+
+	private Object roundTrip(Object genotype) {
+		long unusedId = EvolutionaryHistory.largestUnusedGenotypeId;
+		GenotypeSerialization.save(genotype, file.getPath());
+		Object loaded = GenotypeSerialization.load(file.getPath());
+		// Loading does not use up genotype ids
+		assertEquals(unusedId, EvolutionaryHistory.largestUnusedGenotypeId);
+		assertNotSame(genotype, loaded);
+		assertSame(genotype.getClass(), loaded.getClass());
+		return loaded;
+	}
+
+	@Test
+	public void testTWEANNGenotype() throws IOException {
+		TWEANNGenotype tg = new TWEANNGenotype(5, 3, 0);
+		MMNEAT.genotype = tg.copy();
+		EvolutionaryHistory.initArchetype(0);
+		for (int i = 0; i < 30; i++) {
+			tg.mutate();
+		}
+		tg.links.get(0).setActive(false);
+		TWEANNGenotype loaded = (TWEANNGenotype) roundTrip(tg);
+		assertTrue(GenotypeSerialization.isBinary(file.getPath()));
+		assertEquals(tg.getId(), loaded.getId());
+		assertEquals(tg.toString(), loaded.toString());
+		assertEquals(tg.numModules, loaded.numModules);
+		assertArrayEquals(tg.moduleAssociations, loaded.moduleAssociations);
+
+		TWEANN before = tg.getPhenotype();
+		TWEANN after = loaded.getPhenotype();
+		for (int i = 0; i < 5; i++) {
+			double[] inputs = new double[] { i, -i, 0.5, 1, -0.25 * i };
+			assertArrayEquals(before.process(inputs), after.process(inputs), 0);
+		}
+	}
+
+	@Test
+	public void testNullModuleArrays() throws IOException {
+		TWEANNGenotype tg = new TWEANNGenotype(5, 3, 0);
+		tg.moduleAssociations = null;
+		tg.moduleUsage = null;
+		TWEANNGenotype loaded = (TWEANNGenotype) roundTrip(tg);
+		assertEquals(tg.getId(), loaded.getId());
+		assertEquals(tg.toString(), loaded.toString());
+		assertNull(loaded.moduleAssociations);
+		assertNull(loaded.moduleUsage);
+	}
+
+	@Test
+	public void testCompressed() throws IOException {
+		Parameters.parameters.setBoolean("compressGenotypes", true);
+		HyperNEATCPPNGenotype cppn = new HyperNEATCPPNGenotype(4, 2, 0);
+		HyperNEATCPPNGenotype loaded = (HyperNEATCPPNGenotype) roundTrip(cppn);
+		assertTrue(GenotypeSerialization.isBinary(file.getPath()));
+		assertEquals(cppn.getId(), loaded.getId());
+		assertEquals(cppn.toString(), loaded.toString());
+	}
+
+	@Test
+	public void testArrayGenotypes() {
+		MLPGenotype mlp = new MLPGenotype(3, 4, 2);
+		MLPGenotype loadedMLP = (MLPGenotype) roundTrip(mlp);
+		assertEquals(mlp.getId(), loadedMLP.getId());
+		assertTrue(Arrays.deepEquals(mlp.firstConnectionLayer, loadedMLP.firstConnectionLayer));
+		assertTrue(Arrays.deepEquals(mlp.secondConnectionLayer, loadedMLP.secondConnectionLayer));
+
+		RealValuedGenotype real = new RealValuedGenotype(new double[] { 1.5, -2, Math.PI });
+		RealValuedGenotype loadedReal = (RealValuedGenotype) roundTrip(real);
+		assertEquals(real.getId(), loadedReal.getId());
+		assertEquals(real.getPhenotype(), loadedReal.getPhenotype());
+
+		BoundedRealValuedGenotype bounded = new BoundedRealValuedGenotype(new double[] { 0, -1 }, new double[] { 1, 1 });
+		BoundedRealValuedGenotype loadedBounded = (BoundedRealValuedGenotype) roundTrip(bounded);
+		assertEquals(bounded.getId(), loadedBounded.getId());
+		assertEquals(bounded.getPhenotype(), loadedBounded.getPhenotype());
+		assertArrayEquals(bounded.lowerBounds(), loadedBounded.lowerBounds(), 0);
+		assertArrayEquals(bounded.upperBounds(), loadedBounded.upperBounds(), 0);
+
+		ArrayList<Integer> genes = new ArrayList<Integer>(Arrays.asList(3, 0, 7));
+		BoundedIntegerValuedGenotype integer = new BoundedIntegerValuedGenotype(genes);
+		BoundedIntegerValuedGenotype loadedInteger = (BoundedIntegerValuedGenotype) roundTrip(integer);
+		assertEquals(integer.getId(), loadedInteger.getId());
+		assertEquals(genes, loadedInteger.getPhenotype());
+	}
+}
@@ -117,6 +117,13 @@ public class MLPGenotype implements Genotype<MLP> {
 	public long getId() {
 		return id;
 	}
+
+	/**
+	 * restores id of an MLP loaded from a file
+	 */
+	void setId(long id) {
+		this.id = id;
+	}
 	
 	transient List<Long> parents = new LinkedList<Long>();
 	
@@ -50,6 +50,11 @@ public abstract class NumericArrayGenotype<T> implements Genotype<ArrayList<T>>
 	public long getId() {
 		return id;
 	}
+
+	// Restores the id of a genotype loaded from a file
+	void setId(long id) {
+		this.id = id;
+	}
 	
 	public ArrayList<T> getGenes() {
 		return genes;
@@ -7,11 +7,13 @@ import edu.utexas.cs.nn.evolution.nsga2.bd.characterizations.GeneralNetworkChara
 import edu.utexas.cs.nn.evolution.nsga2.bd.localcompetition.TWEANNModulesNicheDefinition;
 import edu.utexas.cs.nn.MMNEAT.MMNEAT;
 import edu.utexas.cs.nn.networks.ActivationFunctions;
+import edu.utexas.cs.nn.networks.CompiledTWEANN;
 import edu.utexas.cs.nn.networks.TWEANN;
 import edu.utexas.cs.nn.parameters.CommonConstants;
 import edu.utexas.cs.nn.parameters.Parameters;
 import edu.utexas.cs.nn.util.CartesianGeometricUtilities;
 import edu.utexas.cs.nn.util.datastructures.ArrayUtil;
+import edu.utexas.cs.nn.util.datastructures.LongIntHashMap;
 import edu.utexas.cs.nn.util.random.RandomGenerator;
 import edu.utexas.cs.nn.util.random.RandomNumbers;
 import edu.utexas.cs.nn.util.stats.StatisticsUtilities;
@@ -376,6 +378,16 @@ public class TWEANNGenotype implements NetworkGenotype<TWEANN> {
 
     // Added to allow tracking of who parents are for score history purposes
 	transient List<Long> parents = new LinkedList<Long>();
+
+    // Map node innovation numbers to positions in nodes, and source/target
+    // pairs to positions in links. Since nodes and links are public and are
+    // modified in many places, every lookup verifies its answer against the
+    // lists, and the maps are rebuilt whenever they are found to be stale.
+    // Several threads may build phenotypes from the same genotype, so a map
+    // is never changed once it is published: a stale map is replaced by a
+    // new one.
+    private transient volatile LongIntHashMap nodeIndex = null;
+    private transient volatile LongIntHashMap linkIndex = null;
 	
 	@Override
 	public void addParent(long id) {
@@ -934,14 +946,58 @@ public class TWEANNGenotype implements NetworkGenotype<TWEANN> {
      * @return = null on failure, LinkGene otherwise
      */
     public LinkGene getLinkBetween(long sourceInnovation, long targetInnovation) {
+        LongIntHashMap index = linkIndex;
+        if (index != null) {
+            LinkGene l = linkAt(index.get(linkKey(sourceInnovation, targetInnovation)), sourceInnovation, targetInnovation);
+            if (l != null) {
+                return l;
+            }
+        }
+        // Either the link does not exist, or the index is stale
         for (LinkGene l : links) {
             if (l.sourceInnovation == sourceInnovation && l.targetInnovation == targetInnovation) {
+                rebuildLinkIndex();
                 return l;
             }
         }
         return null;
     }
 
+    /**
+     * Link gene at the given position in links, but only if it actually
+     * connects the given source and target
+     *
+     * @param index position in links, possibly LongIntHashMap.MISSING
+     * @param sourceInnovation innovation of source node
+     * @param targetInnovation innovation of target node
+     * @return link gene, or null if index does not refer to such a link
+     */
+    private LinkGene linkAt(int index, long sourceInnovation, long targetInnovation) {
+        if (index == LongIntHashMap.MISSING || index >= links.size()) {
+            return null;
+        }
+        LinkGene l = links.get(index);
+        return l.sourceInnovation == sourceInnovation && l.targetInnovation == targetInnovation ? l : null;
+    }
+
+    /**
+     * Single key for a source/target pair. Different pairs can occasionally
+     * collide, which is why linkAt confirms every match.
+     */
+    private static long linkKey(long sourceInnovation, long targetInnovation) {
+        return sourceInnovation * 0x9E3779B97F4A7C15L + targetInnovation;
+    }
+
+    private void rebuildLinkIndex() {
+        LongIntHashMap index = new LongIntHashMap(links.size());
+        // Reverse order so that the first matching link wins, as with a linear scan
+        for (int i = links.size() - 1; i >= 0; i--) {
+            LinkGene l = links.get(i);
+            index.put(linkKey(l.sourceInnovation, l.targetInnovation), i);
+        }
+        linkIndex = index;
+    }
+
     /**
      * default method that mutates links. Uses random link source and random
      * synaptic weight.
@@ -1207,13 +1263,36 @@ public class TWEANNGenotype implements NetworkGenotype<TWEANN> {
 
     /**
      * Return the index of a given innovation number within the list of node
-     * genes
+     * genes. The TWEANN phenotype stores its nodes in the same order, so the
+     * index is also valid for the phenotype.
      *
      * @param innovation Innovation number to search for
      * @return Index in list where gene is located
      */
-    private int indexOfNodeInnovation(long innovation) {
-        return indexOfGeneInnovation(innovation, nodes);
+    public int indexOfNodeInnovation(long innovation) {
+        LongIntHashMap map = nodeIndex;
+        if (map != null) {
+            int index = map.get(innovation);
+            if (index != LongIntHashMap.MISSING && index < nodes.size() && nodes.get(index).innovation == innovation) {
+                return index;
+            }
+        }
+        // Index is missing or stale because nodes were added, removed or changed
+        int index = rebuildNodeIndex().get(innovation);
+        if (index == LongIntHashMap.MISSING) {
+            System.out.println("innovation " + innovation + " not found in net " + this.getId());
+        }
+        return index;
+    }
+
+    private LongIntHashMap rebuildNodeIndex() {
+        LongIntHashMap map = new LongIntHashMap(nodes.size());
+        // Reverse order so that the first matching node wins, as with a linear scan
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            map.put(nodes.get(i).innovation, i);
+        }
+        nodeIndex = map;
+        return map;
     }
 
     /**
@@ -1273,7 +1352,7 @@ public class TWEANNGenotype implements NetworkGenotype<TWEANN> {
      */
     @Override
     public TWEANN getPhenotype() {
-        TWEANN result = new TWEANN(this);
+        TWEANN result = CommonConstants.compiledTWEANN ? new CompiledTWEANN(this) : new TWEANN(this);
         // This is the point where old parent module usage is finally erased
         this.moduleUsage = result.moduleUsage;
         return result;
@@ -1750,6 +1829,15 @@ public class TWEANNGenotype implements NetworkGenotype<TWEANN> {
         return id;
     }
 
+    /**
+     * Restore the id of a genotype loaded from a file
+     *
+     * @param id Saved id
+     */
+    void setId(long id) {
+        this.id = id;
+    }
+
     /**
      * This function gives a measure of compatibility between two
      * TWEANNGenotypes by computing a linear combination of 3 characterizing
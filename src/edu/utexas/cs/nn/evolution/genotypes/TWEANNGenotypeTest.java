@@ -3,6 +3,12 @@ package edu.utexas.cs.nn.evolution.genotypes;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.After;
 import org.junit.Before;
@@ -19,6 +25,8 @@ import edu.utexas.cs.nn.parameters.Parameters;
 public class TWEANNGenotypeTest {
 
 	final static int MUTATIONS1 = 10;
+	final static int INPUTS = 100;
+	final static int THREADS = 8;
 
 	@Before
 	public void setup() {
@@ -118,4 +126,46 @@ public class TWEANNGenotypeTest {
 
 		assertEquals(trueMaxInno,maxInno); // Failed?
 	}
+
+	@Test
+	public void test_concurrentPhenotypes() throws Exception {
+		Parameters.initializeParameterCollections(
+				new String[] { "io:false", "netio:false", "allowMultipleFunctions:true", "recurrency:false" });
+		MMNEAT.loadClasses();
+		TWEANNGenotype tg1 = new TWEANNGenotype(INPUTS, 4, 0);
+		MMNEAT.genotype = tg1.copy();
+		EvolutionaryHistory.initArchetype(0);
+		for (int i = 0; i < MUTATIONS1; i++) {
+			tg1.mutate();
+		}
+
+		final double[] inputs = new double[INPUTS];
+		for (int i = 0; i < INPUTS; i++) {
+			inputs[i] = Math.sin(i);
+		}
+		double[] expected = tg1.getPhenotype().process(inputs);
+		final CyclicBarrier start = new CyclicBarrier(THREADS);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			for (int round = 0; round < 100; round++) {
+				// A fresh copy has no node index yet, so all threads build it at once
+				final TWEANNGenotype shared = (TWEANNGenotype) tg1.copy();
+				List<Callable<double[]>> tasks = new ArrayList<Callable<double[]>>();
+				for (int i = 0; i < THREADS; i++) {
+					tasks.add(new Callable<double[]>() {
+						@Override
+						public double[] call() throws Exception {
+							start.await();
+							return shared.getPhenotype().process(inputs);
+						}
+					});
+				}
+				for (Future<double[]> result : pool.invokeAll(tasks)) {
+					assertArrayEquals(expected, result.get(), 0);
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
 }
@@ -0,0 +1,315 @@
+package edu.utexas.cs.nn.evolution.nsga2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import edu.utexas.cs.nn.scores.MultiObjectiveScore;
+
+/**
+ * Alternative to the O(M*N^2) fast non-dominated sort and the comparator
+ * based crowding distance computation in NSGA2, for large populations.
+ *
+ * Sorting uses Efficient Non-dominated Sort with binary search (ENS-BS) by
+ * Zhang, Tian, Cheng and Jin (2015). Individuals are first sorted
+ * lexicographically, so that no individual can be dominated by one that
+ * comes after it. Each individual is then placed in the first front that
+ * contains no individual dominating it, which can be found with a binary
+ * search because anything dominated by a member of one front is also
+ * dominated by a member of every earlier front. Only objective values are
+ * compared, stored in a flat primitive matrix, and no lists of dominated
+ * individuals are created.
+ *
+ * Unless some objective scores are NaN (in which case the sorting falls back
+ * to comparing all pairs), results are identical to those of the original
+ * methods, including the
+ * order of individuals within each front and the order in which the scores
+ * array is left after assigning crowding distance. Dominance is based on the
+ * objectives for which useObjective is true, which is how TUG filters
+ * objectives.
+ */
+public class EfficientNonDominatedSort {
+
+	/**
+	 * Compares individuals by index
+	 */
+	private interface IndexComparator {
+		int compare(int a, int b);
+	}
+
+	/**
+	 * Sort the population into Pareto fronts. Same result as the original
+	 * NSGA2 fastNonDominatedSort.
+	 *
+	 * @param <T> phenotype
+	 * @param scores
+	 *            Scores of the whole population
+	 * @return List of Pareto fronts, each in the same order as the scores array
+	 */
+	public static <T> ArrayList<ArrayList<NSGA2Score<T>>> sort(NSGA2Score<T>[] scores) {
+		int[] usedObjectives = usedObjectives(scores[0]);
+		final int m = usedObjectives.length;
+		final double[] objectives = new double[scores.length * m];
+		for (int i = 0; i < scores.length; i++) {
+			assert scores[i] != null : "Score is null! " + i;
+			for (int j = 0; j < m; j++) {
+				objectives[i * m + j] = scores[i].scores[usedObjectives[j]];
+			}
+		}
+		int[] ranks = ranks(objectives, m);
+
+		int numFronts = 0;
+		int[] frontSizes = new int[scores.length];
+		for (int i = 0; i < ranks.length; i++) {
+			frontSizes[ranks[i]]++;
+			numFronts = Math.max(numFronts, ranks[i] + 1);
+		}
+		ArrayList<ArrayList<NSGA2Score<T>>> frontSet = new ArrayList<ArrayList<NSGA2Score<T>>>(numFronts);
+		for (int i = 0; i < numFronts; i++) {
+			frontSet.add(new ArrayList<NSGA2Score<T>>(frontSizes[i]));
+		}
+		for (int i = 0; i < scores.length; i++) {
+			scores[i].reset();
+			scores[i].assign(ranks[i]);
+			frontSet.get(ranks[i]).add(scores[i]);
+		}
+		return frontSet;
+	}
+
+	/**
+	 * Pareto front of each individual, according to a matrix of objective
+	 * scores that are all maximized.
+	 *
+	 * @param objectives
+	 *            Objective scores of all individuals, stored row by row: the
+	 *            score of individual i in objective j is at i*m + j
+	 * @param m
+	 *            Number of objectives
+	 * @return index of the front of each individual, where 0 is the Pareto front
+	 */
+	public static int[] ranks(final double[] objectives, final int m) {
+		int n = m == 0 ? 0 : objectives.length / m;
+		int[] ranks = new int[n];
+		if (m == 0) {
+			return ranks; // Nothing dominates anything
+		}
+		for (double x : objectives) {
+			if (Double.isNaN(x)) {
+				// Comparisons with NaN cannot be ordered lexicographically
+				return quadraticRanks(objectives, m, ranks);
+			}
+		}
+		// Descending lexicographic order, ties broken by index
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		mergeSort(order, new IndexComparator() {
+			@Override
+			public int compare(int a, int b) {
+				for (int j = 0; j < m; j++) {
+					// Primitive comparison, so that 0.0 and -0.0 are equal as in dominance checks
+					double x = objectives[a * m + j];
+					double y = objectives[b * m + j];
+					if (x > y) {
+						return -1;
+					} else if (x < y) {
+						return 1;
+					}
+				}
+				return 0;
+			}
+		});
+
+		int[][] fronts = new int[n][];
+		int[] frontSizes = new int[n];
+		int numFronts = 0;
+		for (int s : order) {
+			// Binary search for the first front with no member that dominates s
+			int low = 0;
+			int high = numFronts;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (frontDominates(objectives, m, fronts[mid], frontSizes[mid], s)) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			if (low == numFronts) {
+				fronts[numFronts++] = new int[4];
+			} else if (frontSizes[low] == fronts[low].length) {
+				fronts[low] = Arrays.copyOf(fronts[low], 2 * fronts[low].length);
+			}
+			fronts[low][frontSizes[low]++] = s;
+			ranks[s] = low;
+		}
+		return ranks;
+	}
+
+	/**
+	 * Pareto fronts found by comparing every pair of individuals, as in the
+	 * original fast non-dominated sort.
+	 */
+	private static int[] quadraticRanks(double[] objectives, int m, int[] ranks) {
+		int n = ranks.length;
+		int[] numDominators = new int[n];
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				if (i != j && dominates(objectives, m, i, j)) {
+					numDominators[j]++;
+				}
+			}
+		}
+		Arrays.fill(ranks, -1);
+		int numAssigned = 0;
+		int[] current = new int[n];
+		for (int front = 0; numAssigned < n; front++) {
+			int size = 0;
+			for (int i = 0; i < n; i++) {
+				if (ranks[i] == -1 && numDominators[i] == 0) {
+					current[size++] = i;
+				}
+			}
+			for (int k = 0; k < size; k++) {
+				ranks[current[k]] = front;
+				for (int j = 0; j < n; j++) {
+					if (current[k] != j && dominates(objectives, m, current[k], j)) {
+						numDominators[j]--;
+					}
+				}
+			}
+			numAssigned += size;
+		}
+		return ranks;
+	}
+
+	/**
+	 * Whether some member of a front dominates individual s. Members added
+	 * most recently are most similar to s, so they are checked first.
+	 */
+	private static boolean frontDominates(double[] objectives, int m, int[] front, int size, int s) {
+		for (int k = size - 1; k >= 0; k--) {
+			if (dominates(objectives, m, front[k], s)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Same comparison as MultiObjectiveScore.isBetter
+	 */
+	private static boolean dominates(double[] objectives, int m, int a, int b) {
+		boolean better = false;
+		int rowA = a * m;
+		int rowB = b * m;
+		for (int j = 0; j < m; j++) {
+			double x = objectives[rowA + j];
+			double y = objectives[rowB + j];
+			if (Math.abs(x - y) < MultiObjectiveScore.SMALL_DIFFERENCE) {
+				// Practically equal
+				continue;
+			}
+			if (x < y) {
+				return false;
+			}
+			if (x > y) {
+				better = true;
+			}
+		}
+		return better;
+	}
+
+	/**
+	 * Assign crowding distances to each individual. Same result as the
+	 * original NSGA2 assignCrowdingDistance, including the order the scores
+	 * array is left in, but sorts primitive arrays of indices instead of the
+	 * scores themselves.
+	 *
+	 * @param <T> phenotype
+	 * @param scores
+	 *            Scores of the whole population
+	 */
+	public static <T> void assignCrowdingDistance(NSGA2Score<T>[] scores) {
+		int n = scores.length;
+		double[] distances = new double[n];
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		final double[] column = new double[n];
+		IndexComparator ascending = new IndexComparator() {
+			@Override
+			public int compare(int a, int b) {
+				// Same as ObjectiveComparator
+				return (int) Math.signum(column[a] - column[b]);
+			}
+		};
+		for (int j : usedObjectives(scores[0])) {
+			for (int i = 0; i < n; i++) {
+				column[i] = scores[i].scores[j];
+			}
+			// Each sort continues from the order left by the previous one, like sorting the array repeatedly
+			mergeSort(order, ascending);
+			distances[order[0]] = Float.POSITIVE_INFINITY;
+			distances[order[n - 1]] = Float.POSITIVE_INFINITY;
+
+			double min = column[order[0]];
+			double max = column[order[n - 1]];
+			// Just leave all crowding distances at 0 if all objective scores are the same
+			if (max - min > 0) {
+				for (int k = 1; k < n - 1; k++) {
+					distances[order[k]] += Math.abs(column[order[k + 1]] - column[order[k - 1]]) / (max - min);
+				}
+			}
+		}
+		NSGA2Score<T>[] original = Arrays.copyOf(scores, n);
+		for (int k = 0; k < n; k++) {
+			scores[k] = original[order[k]];
+			scores[k].setCrowdingDistance(distances[order[k]]);
+		}
+	}
+
+	/**
+	 * Indices of the objectives used for comparison
+	 */
+	private static int[] usedObjectives(NSGA2Score<?> score) {
+		int numObjectives = score.numObjectives();
+		int[] used = new int[numObjectives];
+		int m = 0;
+		for (int j = 0; j < numObjectives; j++) {
+			if (score.useObjective(j)) {
+				used[m++] = j;
+			}
+		}
+		return Arrays.copyOf(used, m);
+	}
+
+	/**
+	 * Stable merge sort of an array of indices, so that ties keep their order
+	 * exactly as with Arrays.sort on objects.
+	 */
+	private static void mergeSort(int[] indices, IndexComparator comparator) {
+		int[] buffer = new int[indices.length];
+		for (int width = 1; width < indices.length; width *= 2) {
+			for (int low = 0; low < indices.length - width; low += 2 * width) {
+				int mid = low + width;
+				int high = Math.min(low + 2 * width, indices.length);
+				if (comparator.compare(indices[mid - 1], indices[mid]) <= 0) {
+					continue; // Already in order
+				}
+				int i = low, j = mid, k = low;
+				while (i < mid && j < high) {
+					buffer[k++] = comparator.compare(indices[j], indices[i]) < 0 ? indices[j++] : indices[i++];
+				}
+				while (i < mid) {
+					buffer[k++] = indices[i++];
+				}
+				while (j < high) {
+					buffer[k++] = indices[j++];
+				}
+				System.arraycopy(buffer, low, indices, low, high - low);
+			}
+		}
+	}
+}
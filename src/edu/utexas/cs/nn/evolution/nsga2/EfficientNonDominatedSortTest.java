@@ -0,0 +1,135 @@
+package edu.utexas.cs.nn.evolution.nsga2;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import edu.utexas.cs.nn.evolution.nsga2.tug.TUGNSGA2Score;
+import edu.utexas.cs.nn.parameters.CommonConstants;
+import edu.utexas.cs.nn.scores.Score;
+
+public class EfficientNonDominatedSortTest {
+
+	@After
+	public void tearDown() throws Exception {
+		CommonConstants.efficientNonDominatedSort = false;
+	}
+
+	/**
+	 * Random population in which objective scores are small integers,
+	 * so that there are many ties and duplicates
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static NSGA2Score<Object>[] population(Random r, int n, int m, int range, boolean[] active) {
+		NSGA2Score<Object>[] scores = new NSGA2Score[n];
+		for (int i = 0; i < n; i++) {
+			double[] objectives = new double[m];
+			for (int j = 0; j < m; j++) {
+				objectives[j] = r.nextInt(range) - range / 2;
+			}
+			Score<Object> s = new Score<Object>(null, objectives, null, new double[0]);
+			scores[i] = active == null ? new NSGA2Score<Object>(s) : new TUGNSGA2Score<Object>(s, active);
+		}
+		return scores;
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static NSGA2Score<Object>[] copy(NSGA2Score<Object>[] scores, boolean[] active) {
+		NSGA2Score<Object>[] result = new NSGA2Score[scores.length];
+		for (int i = 0; i < scores.length; i++) {
+			// Same objective array, so copies can be matched up
+			result[i] = active == null ? new NSGA2Score<Object>(scores[i]) : new TUGNSGA2Score<Object>(scores[i], active);
+		}
+		return result;
+	}
+
+	private static void assertSameFronts(ArrayList<ArrayList<NSGA2Score<Object>>> expected, ArrayList<ArrayList<NSGA2Score<Object>>> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int f = 0; f < expected.size(); f++) {
+			assertEquals(expected.get(f).size(), actual.get(f).size());
+			for (int i = 0; i < expected.get(f).size(); i++) {
+				assertSame(expected.get(f).get(i).scores, actual.get(f).get(i).scores);
+				assertEquals(f, actual.get(f).get(i).getRank());
+			}
+		}
+	}
+
+	private void compare(NSGA2Score<Object>[] original, boolean[] active) {
+		NSGA2Score<Object>[] efficient = copy(original, active);
+		CommonConstants.efficientNonDominatedSort = false;
+		ArrayList<ArrayList<NSGA2Score<Object>>> expected = NSGA2.getParetoLayers(original);
+		CommonConstants.efficientNonDominatedSort = true;
+		ArrayList<ArrayList<NSGA2Score<Object>>> actual = NSGA2.getParetoLayers(efficient);
+		assertSameFronts(expected, actual);
+
+		// Selection also assigns crowding distances, which reorders the array
+		CommonConstants.efficientNonDominatedSort = false;
+		NSGA2.staticSelection(original.length / 2, original);
+		CommonConstants.efficientNonDominatedSort = true;
+		NSGA2.staticSelection(efficient.length / 2, efficient);
+		for (int i = 0; i < original.length; i++) {
+			assertSame(original[i].scores, efficient[i].scores);
+			assertEquals(original[i].getCrowdingDistance(), efficient[i].getCrowdingDistance(), 0);
+		}
+	}
+
+	@Test
+	public void testSameFrontsAsFastNonDominatedSort() {
+		Random r = new Random(0);
+		for (int m = 1; m <= 4; m++) {
+			for (int n : new int[] { 1, 2, 10, 100, 300 }) {
+				compare(population(r, n, m, 8, null), null);
+				compare(population(r, n, m, 1000, null), null);
+			}
+		}
+	}
+
+	@Test
+	public void testTUGInactiveObjectives() {
+		Random r = new Random(1);
+		boolean[] active = new boolean[] { true, false, true };
+		compare(population(r, 200, 3, 6, active), active);
+	}
+
+	@Test
+	public void testSpecialValues() {
+		Random r = new Random(2);
+		NSGA2Score<Object>[] scores = population(r, 50, 2, 4, null);
+		scores[3].scores[0] = Double.NEGATIVE_INFINITY;
+		scores[7].scores[1] = Double.POSITIVE_INFINITY;
+		scores[8].scores[1] = Double.POSITIVE_INFINITY;
+		scores[10].scores[0] = -0.0;
+		scores[11].scores[0] = 0.0;
+		NSGA2Score<Object>[] efficient = copy(scores, null);
+		CommonConstants.efficientNonDominatedSort = false;
+		ArrayList<ArrayList<NSGA2Score<Object>>> expected = NSGA2.getParetoLayers(scores);
+		CommonConstants.efficientNonDominatedSort = true;
+		assertSameFronts(expected, NSGA2.getParetoLayers(efficient));
+
+		// NaN scores fall back to comparing all pairs
+		scores[20].scores[1] = Double.NaN;
+		efficient = copy(scores, null);
+		CommonConstants.efficientNonDominatedSort = false;
+		expected = NSGA2.getParetoLayers(scores);
+		CommonConstants.efficientNonDominatedSort = true;
+		assertSameFronts(expected, NSGA2.getParetoLayers(efficient));
+	}
+
+	@Test
+	public void testRanks() {
+		// Maximization of two objectives
+		double[] objectives = new double[] {
+				1, 5, // 0
+				4, 4, // 0
+				3, 3, // 1
+				1, 1, // 2
+				5, 1, // 0
+				3, 3, // 1 (duplicate)
+				1, 4 }; // 1
+		assertArrayEquals(new int[] { 0, 0, 1, 2, 0, 1, 1 }, EfficientNonDominatedSort.ranks(objectives, 2));
+	}
+}
@@ -17,6 +17,7 @@ import edu.utexas.cs.nn.util.random.RandomNumbers;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Random;
 
 /**
  * Implementation of Deb's NSGA2 multiobjective EA. NSGA2 stands for non-sorting
@@ -107,63 +108,72 @@ public class NSGA2<T> extends MuPlusLambda<T> {
 		}
 
 		for (int i = 0; i < numChildren; i++) {
-			int e1 = RandomNumbers.randomGenerator.nextInt(scoresArray.length);
-			int e2 = RandomNumbers.randomGenerator.nextInt(scoresArray.length);
-			// determines which of the two randomly chosen scores is better
-			NSGA2Score<T> better = judge.better(scoresArray[e1], scoresArray[e2]);
-			Genotype<T> source = better.individual;// stores better genotype
-			long parentId1 = source.getId();
-			long parentId2 = -1;
-			Genotype<T> e = source.copy();
+			// Selection and variation of each offspring draw from a stream that only depends on the generation and offspring id
+			Random previous = CommonConstants.randomStreams ? RandomNumbers.bindThreadGenerator(RandomNumbers.stream(
+					RandomNumbers.OFFSPRING_STREAM, generation, EvolutionaryHistory.largestUnusedGenotypeId)) : null;
+			try {
+				int e1 = RandomNumbers.randomGenerator.nextInt(scoresArray.length);
+				int e2 = RandomNumbers.randomGenerator.nextInt(scoresArray.length);
+				// determines which of the two randomly chosen scores is better
+				NSGA2Score<T> better = judge.better(scoresArray[e1], scoresArray[e2]);
+				Genotype<T> source = better.individual;// stores better genotype
+				long parentId1 = source.getId();
+				long parentId2 = -1;
+				Genotype<T> e = source.copy();
 			
-			// This restriction on mutation and crossover only makes sense when
-			// using pacman coevolution with a fitness/population for each 
-			// individual level
-			if (!CommonConstants.requireFitnessDifferenceForChange || better.scores[0] > 0) {
-				// If neither net has reached a given level, the scores of 0
-				// will prevent mating.
-				if (mating && RandomNumbers.randomGenerator.nextDouble() < crossoverRate) {
-					e1 = RandomNumbers.randomGenerator.nextInt(scoresArray.length);
-					e2 = RandomNumbers.randomGenerator.nextInt(scoresArray.length);
-
-					Genotype<T> otherSource = judge.better(scoresArray[e1], scoresArray[e2]).individual;
-					parentId2 = otherSource.getId();
-					Genotype<T> otherOffspring;
-
-					if (CommonConstants.cullCrossovers) {
-						ArrayList<Genotype<T>> keepers = cullCrossovers(e, otherSource);
-						// Best two of litter get kept
-						e = keepers.get(0);
-						otherOffspring = keepers.get(1);
-					} else {// keeps all crossovers
-						Genotype<T> other = otherSource.copy();
-						// Genotype e is directly modified by the crossover call.
-						// Genotype otherOffspring is now a modified version of other.
-						otherOffspring = e.crossover(other);
-						assert otherOffspring.getId() != otherSource.getId() : "otherOffspring should be a newly created genotype. otherSource.getId() is " + otherSource.getId() + 
-																	           ", and otherOffspring.getId() is "+otherOffspring.getId()+", and other.getId() is "+other.getId();
+				// This restriction on mutation and crossover only makes sense when
+				// using pacman coevolution with a fitness/population for each 
+				// individual level
+				if (!CommonConstants.requireFitnessDifferenceForChange || better.scores[0] > 0) {
+					// If neither net has reached a given level, the scores of 0
+					// will prevent mating.
+					if (mating && RandomNumbers.randomGenerator.nextDouble() < crossoverRate) {
+						e1 = RandomNumbers.randomGenerator.nextInt(scoresArray.length);
+						e2 = RandomNumbers.randomGenerator.nextInt(scoresArray.length);
+
+						Genotype<T> otherSource = judge.better(scoresArray[e1], scoresArray[e2]).individual;
+						parentId2 = otherSource.getId();
+						Genotype<T> otherOffspring;
+
+						if (CommonConstants.cullCrossovers) {
+							ArrayList<Genotype<T>> keepers = cullCrossovers(e, otherSource);
+							// Best two of litter get kept
+							e = keepers.get(0);
+							otherOffspring = keepers.get(1);
+						} else {// keeps all crossovers
+							Genotype<T> other = otherSource.copy();
+							// Genotype e is directly modified by the crossover call.
+							// Genotype otherOffspring is now a modified version of other.
+							otherOffspring = e.crossover(other);
+							assert otherOffspring.getId() != otherSource.getId() : "otherOffspring should be a newly created genotype. otherSource.getId() is " + otherSource.getId() + 
+																		           ", and otherOffspring.getId() is "+otherOffspring.getId()+", and other.getId() is "+other.getId();
+						}
+						i++;
+						/*
+						 * The offspring e will be added no matter what. Because i
+						 * is increased and then checked, otherOffspring will NOT
+						 * always be added.
+						 */
+						if (i < numChildren) {
+							otherOffspring.mutate();
+							offspring.add(otherOffspring);
+							EvolutionaryHistory.logLineageData(parentId1,parentId2,otherOffspring);
+						}
 					}
-					i++;
-					/*
-					 * The offspring e will be added no matter what. Because i
-					 * is increased and then checked, otherOffspring will NOT
-					 * always be added.
-					 */
-					if (i < numChildren) {
-						otherOffspring.mutate();
-						offspring.add(otherOffspring);
-						EvolutionaryHistory.logLineageData(parentId1,parentId2,otherOffspring);
-					}
-				}
 
-				e.mutate();// randomly mutates copied source
-			}
+					e.mutate();// randomly mutates copied source
+				}
 
-			offspring.add(e);
-			if (parentId2 == -1) {
-				EvolutionaryHistory.logLineageData(parentId1,e);
-			} else {
-				EvolutionaryHistory.logLineageData(parentId1,parentId2,e);
+				offspring.add(e);
+				if (parentId2 == -1) {
+					EvolutionaryHistory.logLineageData(parentId1,e);
+				} else {
+					EvolutionaryHistory.logLineageData(parentId1,parentId2,e);
+				}
+			} finally {
+				if (CommonConstants.randomStreams) {
+					RandomNumbers.bindThreadGenerator(previous);
+				}
 			}
 		}
 		return offspring;
@@ -263,6 +273,10 @@ public class NSGA2<T> extends MuPlusLambda<T> {
 	 *            population that was just evaluated.
 	 */
 	private static <T> void assignCrowdingDistance(NSGA2Score<T>[] scores) {
+		if (CommonConstants.efficientNonDominatedSort) {
+			EfficientNonDominatedSort.assignCrowdingDistance(scores);
+			return;
+		}
 		// reset distances
 		for (int i = 0; i < scores.length; i++) {
 			scores[i].setCrowdingDistance(0);
@@ -304,6 +318,9 @@ public class NSGA2<T> extends MuPlusLambda<T> {
 	 *         sublists.
 	 */
 	private static <T> ArrayList<ArrayList<NSGA2Score<T>>> fastNonDominatedSort(NSGA2Score<T>[] scores) {
+		if (CommonConstants.efficientNonDominatedSort) {
+			return EfficientNonDominatedSort.sort(scores);
+		}
 
 		for (int i = 0; i < scores.length; i++) {
 			assert scores[i] != null : "Score is null! " + i;
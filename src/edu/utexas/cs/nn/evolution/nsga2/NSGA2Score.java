@@ -36,7 +36,11 @@ public class NSGA2Score<T> extends MultiObjectiveScore<T> {
 		isAssigned = false;
 		processed = false;
 		numDominators = 0;
-		dominatedSet = new ArrayList<NSGA2Score<T>>();
+		if (dominatedSet == null) {
+			dominatedSet = new ArrayList<NSGA2Score<T>>();
+		} else {
+			dominatedSet.clear();
+		}
 		rank = Integer.MAX_VALUE;
 	}
 
@@ -0,0 +1,65 @@
+package edu.utexas.cs.nn.evolution.nsga2;
+
+import java.util.Random;
+
+import edu.utexas.cs.nn.parameters.CommonConstants;
+import edu.utexas.cs.nn.scores.Score;
+
+/**
+ * Compares the time NSGA2 takes to select parents from random populations of
+ * increasing size, using the original fast non-dominated sort and crowding
+ * distance computation, and using EfficientNonDominatedSort. Selection sorts
+ * into fronts and assigns crowding distances, so both parts are measured.
+ *
+ * Usage: NonDominatedSortBenchmark [number of objectives] [maximum population size]
+ */
+public class NonDominatedSortBenchmark {
+
+	public static final int REPEATS = 5;
+
+	public static void main(String[] args) {
+		int objectives = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+		int maxSize = args.length > 1 ? Integer.parseInt(args[1]) : 4000;
+		System.out.println("size\tfronts\toriginalMS\tefficientMS");
+		for (int size = 500; size <= maxSize; size *= 2) {
+			NSGA2Score<Object>[] population = population(new Random(size), size, objectives);
+			int fronts = NSGA2.getParetoLayers(population).size();
+			double original = time(population, false);
+			double efficient = time(population, true);
+			System.out.println(size + "\t" + fronts + "\t" + original + "\t" + efficient);
+		}
+		CommonConstants.efficientNonDominatedSort = false;
+	}
+
+	/**
+	 * Average milliseconds taken to select half of the population, after one
+	 * warm up selection
+	 */
+	private static double time(NSGA2Score<Object>[] population, boolean efficient) {
+		CommonConstants.efficientNonDominatedSort = efficient;
+		NSGA2.staticSelection(population.length / 2, population);
+		long start = System.nanoTime();
+		for (int i = 0; i < REPEATS; i++) {
+			NSGA2.staticSelection(population.length / 2, population);
+		}
+		return (System.nanoTime() - start) / (REPEATS * 1000000.0);
+	}
+
+	/**
+	 * Objective scores are correlated with a shared "quality" so that the
+	 * population has many fronts, as it does during evolution
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static NSGA2Score<Object>[] population(Random r, int size, int objectives) {
+		NSGA2Score<Object>[] population = new NSGA2Score[size];
+		for (int i = 0; i < size; i++) {
+			double quality = r.nextDouble();
+			double[] scores = new double[objectives];
+			for (int j = 0; j < objectives; j++) {
+				scores[j] = quality + 0.2 * r.nextDouble();
+			}
+			population[i] = new NSGA2Score<Object>(new Score<Object>(null, scores, null, new double[0]));
+		}
+		return population;
+	}
+}
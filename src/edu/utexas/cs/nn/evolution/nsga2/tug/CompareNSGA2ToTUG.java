@@ -8,8 +8,8 @@ import edu.utexas.cs.nn.scores.Score;
 import edu.utexas.cs.nn.util.PopulationUtil;
 import edu.utexas.cs.nn.util.datastructures.Pair;
 import edu.utexas.cs.nn.util.random.RandomNumbers;
+import edu.utexas.cs.nn.util.random.ThreadBoundRandom;
 import java.util.ArrayList;
-import java.util.Random;
 
 /**
  * I think this was a test class used to troubleshoot TUG. The idea was to run
@@ -42,7 +42,7 @@ public class CompareNSGA2ToTUG<T> extends TUGNSGA2<T> {
 	 */
 	public ArrayList<Genotype<T>> selection(int numParents, ArrayList<Score<T>> scores) {
 		long seed = RandomNumbers.randomGenerator.nextLong();
-		RandomNumbers.randomGenerator = new Random(seed);
+		RandomNumbers.randomGenerator = new ThreadBoundRandom(seed);
 		ArrayList<Genotype<T>> tugResult = super.selection(numParents, scores);
 
 		// Temporary testing for how NSGA2 with just first objective behaves
@@ -55,7 +55,7 @@ public class CompareNSGA2ToTUG<T> extends TUGNSGA2<T> {
 		}
 		NSGA2Score<T>[] staticScores = staticNSGA2Scores(scores);
 		// Reset seed for other selection method
-		RandomNumbers.randomGenerator = new Random(seed);
+		RandomNumbers.randomGenerator = new ThreadBoundRandom(seed);
 		ArrayList<Genotype<T>> nsga2Result = staticSelection(numParents, staticScores);
 
 		logResultDifferences(tugResult, nsga2Result, GHOSTS_ONLY, staticScores, "Combined");
@@ -72,7 +72,7 @@ public class CompareNSGA2ToTUG<T> extends TUGNSGA2<T> {
 	 */
 	public ArrayList<Genotype<T>> generateChildren(int numChildren, ArrayList<Score<T>> parentScores) {
 		long seed = RandomNumbers.randomGenerator.nextLong();
-		RandomNumbers.randomGenerator = new Random(seed);
+		RandomNumbers.randomGenerator = new ThreadBoundRandom(seed);
 		ArrayList<Genotype<T>> tugResult = super.generateChildren(numChildren, parentScores);
 
 		// The generated children will have different ids, but the parent ids
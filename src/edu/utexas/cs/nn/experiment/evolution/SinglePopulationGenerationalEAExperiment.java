@@ -1,18 +1,26 @@
 package edu.utexas.cs.nn.experiment.evolution;
 
+import edu.utexas.cs.nn.data.CheckpointWriter;
+import edu.utexas.cs.nn.data.GenerationCheckpoint;
+import edu.utexas.cs.nn.data.PopulationArchive;
 import edu.utexas.cs.nn.data.SaveThread;
 import edu.utexas.cs.nn.evolution.EvolutionaryHistory;
 import edu.utexas.cs.nn.evolution.ScoreHistory;
 import edu.utexas.cs.nn.evolution.SinglePopulationGenerationalEA;
 import edu.utexas.cs.nn.evolution.crossover.network.CombiningTWEANNCrossover;
 import edu.utexas.cs.nn.evolution.genotypes.Genotype;
+import edu.utexas.cs.nn.evolution.genotypes.GenotypeSerialization;
 import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype;
 import edu.utexas.cs.nn.experiment.Experiment;
+import edu.utexas.cs.nn.parameters.CommonConstants;
 import edu.utexas.cs.nn.parameters.Parameters;
 import edu.utexas.cs.nn.util.PopulationUtil;
 import edu.utexas.cs.nn.util.file.FileUtilities;
 import edu.utexas.cs.nn.util.random.RandomNumbers;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.concurrent.ExecutionException;
@@ -42,6 +50,8 @@ public abstract class SinglePopulationGenerationalEAExperiment<T> implements Exp
 	private boolean loaded = false;
 	// Whether file saving should occur in a parellel thread
 	private boolean parallel;
+	// Writes each generation as a single archive in the background (null if not used)
+	private CheckpointWriter checkpoints = null;
 
 	public SinglePopulationGenerationalEAExperiment() {
 		// Dummy constructor used by Post Evolution Evaluation Experiment
@@ -53,6 +63,10 @@ public abstract class SinglePopulationGenerationalEAExperiment<T> implements Exp
 		parallel = Parameters.parameters.booleanParameter("parallelSave");
 		writeOutput = Parameters.parameters.booleanParameter("netio");
 		deleteOld = Parameters.parameters.booleanParameter("cleanOldNetworks");
+		if (writeOutput && Parameters.parameters.booleanParameter("checkpointArchive")) {
+			checkpoints = new CheckpointWriter(Parameters.parameters.integerParameter("checkpointQueue"));
+			CommonConstants.checkpointsSaveParameters = true;
+		}
 		boolean io = Parameters.parameters.booleanParameter("io");
 
 		this.ea = ea;
@@ -206,40 +220,58 @@ public abstract class SinglePopulationGenerationalEAExperiment<T> implements Exp
         @Override
 	public void run() {
 		System.out.println("Evolving with " + ea + " to solve " + ea.getTask());
-		if (writeOutput && !loaded) {
-			save("initial");
-			Parameters.parameters.saveParameters();
-		}
-		while (!shouldStop()) {
-			System.out.println("Starting generation: " + ea.currentGeneration());
-			population = ea.getNextGeneration(population);
-			// ScoreHistory.clean();
-			int gen = ea.currentGeneration();
-			if (population.get(0) instanceof TWEANNGenotype) {
-				ArrayList<TWEANNGenotype> tweannPopulation = new ArrayList<TWEANNGenotype>(population.size());
-				for (Genotype<T> g : population) {
-					tweannPopulation.add((TWEANNGenotype) g);
+		try {
+			if (writeOutput && !loaded) {
+				if (checkpoints != null) {
+					checkpoint("initial", null);
+				} else {
+					save("initial");
+					Parameters.parameters.saveParameters();
 				}
-				EvolutionaryHistory.cleanArchetype(0, tweannPopulation, gen);
 			}
-			if (writeOutput) {
-				ScoreHistory.save(); // Only saves if actually being used
-			}
-			// If tracking score history, clean it up after each generation
-			ScoreHistory.clean();
-			if (writeOutput) {
-				save("gen" + gen);
-				Parameters.parameters.setInteger("lastSavedGeneration", gen);
-				Parameters.parameters.saveParameters();
-				if (deleteOld) {
-					File lastDir = gen > 1 ? new File(saveDirectory + "/gen" + (gen - 1))
-							: new File(saveDirectory + "/initial");
-					if (lastDir.exists()) {
-						FileUtilities.deleteDirectoryContents(lastDir);
-						lastDir.delete();
+			while (!shouldStop()) {
+				System.out.println("Starting generation: " + ea.currentGeneration());
+				population = ea.getNextGeneration(population);
+				// ScoreHistory.clean();
+				int gen = ea.currentGeneration();
+				if (population.get(0) instanceof TWEANNGenotype) {
+					ArrayList<TWEANNGenotype> tweannPopulation = new ArrayList<TWEANNGenotype>(population.size());
+					for (Genotype<T> g : population) {
+						tweannPopulation.add((TWEANNGenotype) g);
+					}
+					EvolutionaryHistory.cleanArchetype(0, tweannPopulation, gen);
+				}
+				if (writeOutput) {
+					ScoreHistory.save(); // Only saves if actually being used
+				}
+				// If tracking score history, clean it up after each generation
+				ScoreHistory.clean();
+				if (writeOutput) {
+					String previous = gen > 1 ? "gen" + (gen - 1) : "initial";
+					if (checkpoints != null) {
+						Parameters.parameters.setInteger("lastSavedGeneration", gen);
+						checkpoint("gen" + gen, deleteOld ? previous : null);
+					} else {
+						save("gen" + gen);
+						Parameters.parameters.setInteger("lastSavedGeneration", gen);
+						Parameters.parameters.saveParameters();
+						if (deleteOld) {
+							File lastDir = new File(saveDirectory + "/" + previous);
+							if (lastDir.exists()) {
+								FileUtilities.deleteDirectoryContents(lastDir);
+								lastDir.delete();
+							}
+						}
 					}
 				}
 			}
+		} finally {
+			if (checkpoints != null) {
+				// Everything must be on disk before the final evaluations and
+				// logs, and the writer thread must stop even if evolution fails
+				checkpoints.close();
+				CommonConstants.checkpointsSaveParameters = false;
+			}
 		}
 		ea.close(population);
 		System.out.println("Finished evolving");
@@ -249,6 +281,50 @@ public abstract class SinglePopulationGenerationalEAExperiment<T> implements Exp
 		save(prefix, saveDirectory, population, parallel);
 	}
 
+	/**
+	 * Queue the population, archetype and parameters to be saved as one
+	 * checkpoint by the background writer. Everything is serialized before
+	 * this method returns, so evolution can continue (and change the
+	 * population) while the checkpoint is written. Blocks if too many earlier
+	 * checkpoints are still waiting to be written.
+	 *
+	 * @param prefix
+	 *            name of the archive in saveDirectory, without extension
+	 *            (usually gen40 or something similar)
+	 * @param previous
+	 *            name of the previous checkpoint, to delete once this one is
+	 *            saved (null to keep it)
+	 */
+	private void checkpoint(String prefix, String previous) {
+		String archive = saveDirectory + "/" + prefix + PopulationArchive.EXTENSION;
+		String filePrefix = Parameters.parameters.stringParameter("log") + Parameters.parameters.integerParameter("runNumber") + "_" + prefix + "_";
+		Parameters.parameters.setString("lastSavedDirectory", archive);
+		System.out.println("Checkpointing to \"" + archive + "\"");
+		try {
+			String[] names = new String[population.size()];
+			byte[][] contents = new byte[population.size()][];
+			for (int i = 0; i < population.size(); i++) {
+				names[i] = filePrefix + i + ".xml";
+				contents[i] = GenotypeSerialization.toBytes(population.get(i));
+			}
+			// Archetype snapshot can change the parameters, so it comes first
+			byte[] archetype = EvolutionaryHistory.archetypeSnapshot(0);
+			ByteArrayOutputStream parameters = new ByteArrayOutputStream();
+			PrintStream stream = new PrintStream(parameters);
+			Parameters.parameters.saveParameters(stream);
+			stream.close();
+			checkpoints.submit(new GenerationCheckpoint(archive, names, contents,
+					Parameters.parameters.booleanParameter("compressGenotypes"),
+					archetype == null ? null : EvolutionaryHistory.archetypeFilename(0), archetype,
+					Parameters.parameters.parametersFilename(), parameters.toByteArray(),
+					previous == null ? null : saveDirectory + "/" + previous));
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.out.println("Failure checkpointing " + prefix);
+			System.exit(1);
+		}
+	}
+
 	/**
 	 * Save all members of population as xml files in the dir saveDirectory.
 	 *
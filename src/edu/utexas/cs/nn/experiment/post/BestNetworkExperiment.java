@@ -7,7 +7,7 @@ import edu.utexas.cs.nn.scores.Score;
 import edu.utexas.cs.nn.tasks.LonerTask;
 import edu.utexas.cs.nn.util.file.FileUtilities;
 import edu.utexas.cs.nn.util.random.RandomNumbers;
-import wox.serial.Easy;
+import edu.utexas.cs.nn.evolution.genotypes.GenotypeSerialization;
 
 /**
  * This really only works for Ms. Pac-Man (rename it?).
@@ -29,7 +29,7 @@ public class BestNetworkExperiment implements Experiment {
 	@Override
 	public void init() {
 		String dir = FileUtilities.getSaveDirectory() + "/bestPacMan";
-		net = (Genotype) Easy.load(dir + "/bestPacMan.xml");
+		net = (Genotype) GenotypeSerialization.load(dir + "/bestPacMan.xml");
 	}
 
 	// Will always be running the Ms. Pac-Man experiment
@@ -0,0 +1,293 @@
+package edu.utexas.cs.nn.networks;
+
+import java.util.IdentityHashMap;
+
+import edu.utexas.cs.nn.parameters.CommonConstants;
+
+/**
+ * An immutable copy of a TWEANN for processing many independent inputs, each
+ * on a freshly flushed network, from several threads at once. This is how
+ * CPPNs are queried when drawing images: the network is flushed before every
+ * pixel.
+ *
+ * Right after a flush, links that do not point forward in the node order
+ * cannot affect the outputs, so only forward links are kept, and they are
+ * grouped by target neuron: the sum of each neuron is its bias (plus the input,
+ * for input neurons) followed by the contributions of its sources in the same
+ * order that TWEANN.process adds them. The outputs are therefore
+ * bit-identical to flushing the TWEANN and calling process.
+ *
+ * Callers supply the arrays that activations are written to, so one
+ * BatchTWEANN can be shared by any number of threads.
+ */
+public class BatchTWEANN {
+
+	private final int numIn;
+	private final int outputStart;
+	private final int numOutputs;
+	// Per neuron data, indexed by position in the TWEANN's nodes
+	private final int[] ftypes;
+	private final double[] biases;
+	// Forward links of neuron i are inStart[i] to inStart[i+1], ordered by source
+	private final int[] inStart;
+	private final int[] inSource;
+	private final double[] inWeight;
+
+	/**
+	 * Whether a network can be replaced by a BatchTWEANN. Only plain
+	 * single-module TWEANNs are supported, since everything else chooses or
+	 * mixes its outputs in ways that depend on more than the neuron
+	 * activations.
+	 *
+	 * @param n
+	 *            any network
+	 * @return whether new BatchTWEANN((TWEANN) n) gives the same outputs
+	 */
+	public static boolean supports(Network n) {
+		return (n.getClass() == TWEANN.class || n.getClass() == CompiledTWEANN.class) && n.numModules() == 1
+				&& !CommonConstants.weightedAverageModeAggregation;
+	}
+
+	/**
+	 * Copy the structure of a network. Later changes to the network are not
+	 * reflected.
+	 *
+	 * @param n
+	 *            network for which supports is true
+	 */
+	public BatchTWEANN(TWEANN n) {
+		assert supports(n) : "BatchTWEANN cannot process " + n.getClass().getName() + " with " + n.numModules() + " modules";
+		int size = n.nodes.size();
+		numIn = n.numIn;
+		outputStart = n.outputStart;
+		numOutputs = n.neuronsPerModule();
+		ftypes = new int[size];
+		biases = new double[size];
+		inStart = new int[size + 1];
+
+		IdentityHashMap<TWEANN.Node, Integer> positions = new IdentityHashMap<TWEANN.Node, Integer>(size);
+		for (int i = 0; i < size; i++) {
+			TWEANN.Node node = n.nodes.get(i);
+			positions.put(node, i);
+			ftypes[i] = node.ftype;
+			biases[i] = node.bias;
+		}
+		// Count the forward links into each neuron
+		int[] targets = new int[size];
+		for (int i = 0; i < size; i++) {
+			for (TWEANN.Link l : n.nodes.get(i).outputs) {
+				int t = positions.get(l.target);
+				if (t > i) {
+					targets[t]++;
+				}
+			}
+		}
+		for (int i = 0; i < size; i++) {
+			inStart[i + 1] = inStart[i] + targets[i];
+		}
+		// Sources are visited in node order, which is the order they transmit in
+		inSource = new int[inStart[size]];
+		inWeight = new double[inStart[size]];
+		int[] next = new int[size];
+		System.arraycopy(inStart, 0, next, 0, size);
+		for (int i = 0; i < size; i++) {
+			for (TWEANN.Link l : n.nodes.get(i).outputs) {
+				int t = positions.get(l.target);
+				if (t > i) {
+					inSource[next[t]] = i;
+					inWeight[next[t]] = l.weight;
+					next[t]++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return length of activation arrays
+	 */
+	public int numNodes() {
+		return ftypes.length;
+	}
+
+	public int numInputs() {
+		return numIn;
+	}
+
+	public int numOutputs() {
+		return numOutputs;
+	}
+
+	/**
+	 * Activate every neuron as a flushed TWEANN processing the inputs would.
+	 *
+	 * @param inputs
+	 *            sensor readings for the network
+	 * @param activations
+	 *            array of length numNodes() that receives every activation
+	 */
+	public void activate(double[] inputs, double[] activations) {
+		for (int i = 0; i < ftypes.length; i++) {
+			double sum = i < numIn ? biases[i] + inputs[i] : biases[i];
+			for (int l = inStart[i]; l < inStart[i + 1]; l++) {
+				sum += (activations[inSource[l]] * inWeight[l]);
+			}
+			activations[i] = ActivationFunctions.activation(ftypes[i], sum);
+		}
+	}
+
+	/**
+	 * Network output after activate or VaryingInput.activate
+	 *
+	 * @param activations
+	 *            activations filled by one of the activate methods
+	 * @param index
+	 *            which output
+	 * @return the output
+	 */
+	public double output(double[] activations, int index) {
+		return activations[outputStart + index];
+	}
+
+	/**
+	 * Prepare to process many inputs that differ only in one input, such as
+	 * the time input of an animation CPPN.
+	 *
+	 * @param input
+	 *            index of the input that varies
+	 * @return plan for caching everything that does not depend on it
+	 */
+	public VaryingInput varying(int input) {
+		return new VaryingInput(input);
+	}
+
+	/**
+	 * Splits the network into the part that depends on one varying input and
+	 * the part that does not. For each combination of the other inputs, the
+	 * activations that do not depend on the varying input, and the partial
+	 * sums of neurons that do, are stored once in a small cache. Each value of
+	 * the varying input then only requires activating the dependent neurons.
+	 *
+	 * A dependent neuron's cached partial sum covers its bias and the
+	 * contributions that come before its first dependent source, so the
+	 * remaining contributions are added in the original order and the
+	 * outputs stay bit-identical to activate.
+	 */
+	public class VaryingInput {
+
+		private final int input;
+		// Whether each neuron depends on the varying input
+		private final boolean[] dependent;
+		// First incoming link from a dependent source, for each dependent neuron
+		private final int[] firstDependent;
+		// Cache position of each independent activation or dependent partial sum that is needed, or -1
+		private final int[] slot;
+		private final int cacheSize;
+
+		private VaryingInput(int input) {
+			this.input = input;
+			int size = ftypes.length;
+			dependent = new boolean[size];
+			firstDependent = new int[size];
+			slot = new int[size];
+			boolean[] needed = new boolean[size];
+			for (int i = 0; i < size; i++) {
+				dependent[i] = i == input;
+				firstDependent[i] = inStart[i + 1];
+				for (int l = inStart[i]; l < inStart[i + 1]; l++) {
+					if (dependent[inSource[l]]) {
+						dependent[i] = true;
+						firstDependent[i] = Math.min(firstDependent[i], l);
+					}
+				}
+				if (i == input) {
+					// Sum starts with the varying input itself, so nothing can be cached
+					firstDependent[i] = inStart[i];
+				}
+			}
+			for (int i = 0; i < size; i++) {
+				if (dependent[i]) {
+					for (int l = firstDependent[i]; l < inStart[i + 1]; l++) {
+						needed[inSource[l]] = true;
+					}
+				}
+			}
+			for (int k = 0; k < numOutputs; k++) {
+				needed[outputStart + k] = true;
+			}
+			int count = 0;
+			for (int i = 0; i < size; i++) {
+				// Dependent neurons other than the varying input cache a partial sum
+				boolean cached = dependent[i] ? i != input : needed[i];
+				slot[i] = cached ? count++ : -1;
+			}
+			cacheSize = count;
+		}
+
+		/**
+		 * @return number of values cached for each combination of the other
+		 *         inputs
+		 */
+		public int cacheSize() {
+			return cacheSize;
+		}
+
+		/**
+		 * Activate every neuron (like BatchTWEANN.activate) and store what
+		 * does not depend on the varying input.
+		 *
+		 * @param inputs
+		 *            all inputs, including a value for the varying input
+		 * @param activations
+		 *            array of length numNodes() that receives every activation
+		 * @param cache
+		 *            where to store cacheSize() values
+		 * @param offset
+		 *            position of the first value in cache
+		 */
+		public void fill(double[] inputs, double[] activations, double[] cache, int offset) {
+			BatchTWEANN.this.activate(inputs, activations);
+			for (int i = 0; i < ftypes.length; i++) {
+				if (slot[i] != -1) {
+					if (dependent[i]) {
+						// Same additions in the same order as activate
+						double sum = i < numIn ? biases[i] + inputs[i] : biases[i];
+						for (int l = inStart[i]; l < firstDependent[i]; l++) {
+							sum += (activations[inSource[l]] * inWeight[l]);
+						}
+						cache[offset + slot[i]] = sum;
+					} else {
+						cache[offset + slot[i]] = activations[i];
+					}
+				}
+			}
+		}
+
+		/**
+		 * Activate the network for a new value of the varying input, with the
+		 * other inputs that fill was called with. Afterwards, output gives the
+		 * same results as activate with the full inputs would.
+		 *
+		 * @param value
+		 *            new value of the varying input
+		 * @param cache
+		 *            values stored by fill
+		 * @param offset
+		 *            position of the first value in cache
+		 * @param activations
+		 *            array of length numNodes() that receives the activations
+		 */
+		public void activate(double value, double[] cache, int offset, double[] activations) {
+			for (int i = 0; i < ftypes.length; i++) {
+				if (dependent[i]) {
+					double sum = i == input ? biases[i] + value : cache[offset + slot[i]];
+					for (int l = firstDependent[i]; l < inStart[i + 1]; l++) {
+						sum += (activations[inSource[l]] * inWeight[l]);
+					}
+					activations[i] = ActivationFunctions.activation(ftypes[i], sum);
+				} else if (slot[i] != -1) {
+					activations[i] = cache[offset + slot[i]];
+				}
+			}
+		}
+	}
+}
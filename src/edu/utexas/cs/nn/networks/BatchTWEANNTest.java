@@ -0,0 +1,99 @@
+package edu.utexas.cs.nn.networks;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+import org.junit.After;
+import org.junit.Test;
+
+import edu.utexas.cs.nn.MMNEAT.MMNEAT;
+import edu.utexas.cs.nn.evolution.EvolutionaryHistory;
+import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype;
+import edu.utexas.cs.nn.parameters.Parameters;
+import edu.utexas.cs.nn.util.graphics.AnimationUtil;
+import edu.utexas.cs.nn.util.graphics.GraphicsUtil;
+
+public class BatchTWEANNTest {
+
+	final int MUTATIONS = 40;
+	final int WIDTH = 23;
+	final int HEIGHT = 17;
+
+	private TWEANN cppn(int numIn) {
+		EvolutionaryHistory.setInnovation(0);
+		EvolutionaryHistory.setHighestGenotypeId(0);
+		Parameters.initializeParameterCollections(new String[] { "io:false", "netio:false", "allowMultipleFunctions:true",
+				"recurrency:true", "netChangeActivationRate:0.3", "randomSeed:" + numIn });
+		MMNEAT.loadClasses();
+		TWEANNGenotype tg = new TWEANNGenotype(numIn, 3, 0);
+		MMNEAT.genotype = tg.copy();
+		EvolutionaryHistory.initArchetype(0);
+		for (int i = 0; i < MUTATIONS; i++) {
+			tg.mutate();
+		}
+		return tg.getPhenotype();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		MMNEAT.clearClasses();
+	}
+
+	/**
+	 * Compare with the image drawn the original way, one flushed process call per pixel
+	 */
+	private void assertSameImage(TWEANN n, BufferedImage image, double[] inputMultiples, double time) {
+		for (int x = 0; x < WIDTH; x++) {
+			for (int y = 0; y < HEIGHT; y++) {
+				float[] hsb = GraphicsUtil.getHSBFromCPPN(n, x, y, WIDTH, HEIGHT, inputMultiples, time);
+				int expected = Color.getHSBColor(hsb[GraphicsUtil.HUE_INDEX], hsb[GraphicsUtil.SATURATION_INDEX], hsb[GraphicsUtil.BRIGHTNESS_INDEX]).getRGB();
+				assertEquals(expected, image.getRGB(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void testSameOutputsAsFlushedTWEANN() {
+		TWEANN n = cppn(5);
+		BatchTWEANN batch = new BatchTWEANN(n);
+		BatchTWEANN.VaryingInput time = batch.varying(3);
+		double[] activations = new double[batch.numNodes()];
+		double[] cached = new double[batch.numNodes()];
+		double[] cache = new double[time.cacheSize()];
+		for (int i = 0; i < 20; i++) {
+			double[] inputs = new double[] { i * 0.1 - 1, 1 - i * 0.07, i * 0.05, 0, 1 };
+			time.fill(inputs, activations, cache, 0);
+			for (int t = 0; t < 5; t++) {
+				inputs[3] = t / 24.0;
+				n.flush();
+				double[] expected = n.process(inputs);
+				batch.activate(inputs, activations);
+				time.activate(inputs[3], cache, 0, cached);
+				for (int k = 0; k < expected.length; k++) {
+					assertEquals(expected[k], batch.output(activations, k), 0);
+					assertEquals(expected[k], batch.output(cached, k), 0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSameImagesAsPixelByPixel() {
+		TWEANN n = cppn(4);
+		assertTrue(BatchTWEANN.supports(n));
+		double[] all = new double[] { 1, 1, 1, 1 };
+		double[] some = new double[] { 1, 0, 1, 1 };
+		assertSameImage(n, GraphicsUtil.imageFromCPPN(n, WIDTH, HEIGHT, all), all, -1);
+		assertSameImage(n, GraphicsUtil.imageFromCPPN(n, WIDTH, HEIGHT, some), some, -1);
+
+		TWEANN animated = cppn(5);
+		double[] multiples = new double[] { 1, 1, 1, 1, 1 };
+		BufferedImage[] frames = AnimationUtil.imagesFromCPPN(animated, WIDTH, HEIGHT, 2, 7, multiples);
+		assertEquals(5, frames.length);
+		for (int i = 0; i < frames.length; i++) {
+			assertSameImage(animated, frames[i], multiples, (i + 2) / AnimationUtil.FRAMES_PER_SEC);
+		}
+	}
+}
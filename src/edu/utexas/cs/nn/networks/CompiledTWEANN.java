@@ -0,0 +1,153 @@
+package edu.utexas.cs.nn.networks;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype;
+import edu.utexas.cs.nn.util.graphics.DrawingPanel;
+
+/**
+ * A TWEANN whose activation is computed from contiguous primitive arrays
+ * rather than by walking the linked Node and Link objects. The network is
+ * compiled once when the phenotype is created: neuron sums, biases and
+ * activation function codes are stored in parallel arrays indexed by the
+ * linear node order, and the links are stored in compressed sparse row form
+ * grouped by source neuron (linkStart[i] to linkStart[i+1] are the links
+ * leaving neuron i, in the same order the Node would transmit along them).
+ *
+ * Because the order of every floating point operation is identical to that
+ * of TWEANN.process, the outputs are bit-identical. Mode arbitration,
+ * preference fatigue and module usage are still handled by TWEANN.
+ *
+ * The Node objects are kept so that the network can still be drawn and
+ * converted back into a genotype, but their sums and activations are only
+ * brought up to date when the network is about to be displayed.
+ */
+public class CompiledTWEANN extends TWEANN {
+
+	// Per neuron data, indexed by position in nodes
+	private final int[] ftypes;
+	private final double[] biases;
+	private final double[] sums;
+	private final double[] activations;
+	// Links in compressed sparse row form, grouped by source neuron
+	private final int[] linkStart;
+	private final int[] linkTarget;
+	private final double[] linkWeight;
+
+	/**
+	 * Create the standard TWEANN for the genotype and then compile its
+	 * structure into flat arrays.
+	 *
+	 * @param g
+	 *            The genotype
+	 */
+	public CompiledTWEANN(TWEANNGenotype g) {
+		super(g);
+		int size = nodes.size();
+		ftypes = new int[size];
+		biases = new double[size];
+		sums = new double[size];
+		activations = new double[size];
+		linkStart = new int[size + 1];
+
+		IdentityHashMap<Node, Integer> positions = new IdentityHashMap<Node, Integer>(size);
+		int numLinks = 0;
+		for (int i = 0; i < size; i++) {
+			Node n = nodes.get(i);
+			positions.put(n, i);
+			ftypes[i] = n.ftype;
+			biases[i] = n.bias;
+			linkStart[i] = numLinks;
+			numLinks += n.outputs.size();
+		}
+		linkStart[size] = numLinks;
+
+		linkTarget = new int[numLinks];
+		linkWeight = new double[numLinks];
+		int k = 0;
+		for (int i = 0; i < size; i++) {
+			for (Link l : nodes.get(i).outputs) {
+				linkTarget[k] = positions.get(l.target);
+				linkWeight[k] = l.weight;
+				k++;
+			}
+		}
+		resetActivations();
+	}
+
+	/**
+	 * Same propagation as TWEANN.activateNodes, but over the compiled arrays.
+	 * No objects are allocated.
+	 *
+	 * @param inputs
+	 *            sensor readings for the network
+	 */
+	@Override
+	protected void activateNodes(double[] inputs) {
+		final double[] sums = this.sums;
+		final double[] activations = this.activations;
+		final double[] linkWeight = this.linkWeight;
+		final int[] linkTarget = this.linkTarget;
+
+		// Load inputs
+		for (int i = 0; i < numIn; i++) {
+			assert !Double.isNaN(inputs[i]) : "Input " + i + " is NaN!" + Arrays.toString(inputs);
+			sums[i] += inputs[i];
+		}
+
+		// Activate nodes in forward order
+		for (int i = 0; i < sums.length; i++) {
+			double activation = ActivationFunctions.activation(ftypes[i], sums[i]);
+			activations[i] = activation;
+			// reset sum to original bias after activation
+			sums[i] = biases[i];
+			for (int l = linkStart[i]; l < linkStart[i + 1]; l++) {
+				sums[linkTarget[l]] += (activation * linkWeight[l]);
+			}
+		}
+	}
+
+	@Override
+	protected double nodeOutput(int index) {
+		return activations[index];
+	}
+
+	@Override
+	public void flush() {
+		resetActivations();
+		super.flush();
+	}
+
+	/**
+	 * Equivalent of Node.flush for every compiled neuron
+	 */
+	private void resetActivations() {
+		System.arraycopy(biases, 0, sums, 0, sums.length);
+		Arrays.fill(activations, 0.0);
+	}
+
+	/**
+	 * Copy the compiled sums and activations back into the Node objects, which
+	 * are what the drawing methods look at.
+	 */
+	private void synchronizeNodes() {
+		for (int i = 0; i < sums.length; i++) {
+			Node n = nodes.get(i);
+			n.sum = sums[i];
+			n.activation = activations[i];
+		}
+	}
+
+	@Override
+	public void draw(DrawingPanel panel, boolean showInnovationNumbers, boolean showWeights) {
+		synchronizeNodes();
+		super.draw(panel, showInnovationNumbers, showWeights);
+	}
+
+	@Override
+	public void animateSubstrate() {
+		synchronizeNodes();
+		super.animateSubstrate();
+	}
+}
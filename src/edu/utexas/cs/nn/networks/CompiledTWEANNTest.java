@@ -0,0 +1,70 @@
+package edu.utexas.cs.nn.networks;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.utexas.cs.nn.MMNEAT.MMNEAT;
+import edu.utexas.cs.nn.evolution.EvolutionaryHistory;
+import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype;
+import edu.utexas.cs.nn.evolution.mutation.tweann.MMR;
+import edu.utexas.cs.nn.parameters.Parameters;
+import edu.utexas.cs.nn.util.random.RandomNumbers;
+
+public class CompiledTWEANNTest {
+
+	final int MUTATIONS = 30;
+	final int STEPS = 50;
+	TWEANNGenotype tg;
+
+	@Before
+	public void setUp() throws Exception {
+		Parameters.initializeParameterCollections(new String[] { "io:false", "netio:false", "allowMultipleFunctions:true", "recurrency:true", "mmrRate:0.1", "task:edu.utexas.cs.nn.tasks.breve2D.Breve2DTask" });
+		MMNEAT.loadClasses();
+		tg = new TWEANNGenotype(5, 2, 0);
+		MMNEAT.genotype = tg.copy();
+		EvolutionaryHistory.initArchetype(0);
+		new MMR().mutate(tg);
+		for (int i = 0; i < MUTATIONS; i++) {
+			tg.mutate();
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		tg = null;
+		MMNEAT.clearClasses();
+	}
+
+	@Test
+	public void testProcessMatchesTWEANN() {
+		TWEANN standard = new TWEANN(tg);
+		CompiledTWEANN compiled = new CompiledTWEANN(tg);
+		assertEquals(standard.numInputs(), compiled.numInputs());
+		assertEquals(standard.numOutputs(), compiled.numOutputs());
+		assertEquals(standard.numModules(), compiled.numModules());
+		for (int i = 0; i < STEPS; i++) {
+			double[] inputs = RandomNumbers.randomArray(standard.numInputs());
+			assertArrayEquals(standard.process(inputs), compiled.process(inputs), 0.0);
+			assertEquals(standard.lastModule(), compiled.lastModule());
+			for (int m = 0; m < standard.numModules(); m++) {
+				assertArrayEquals(standard.moduleOutput(m), compiled.moduleOutput(m), 0.0);
+			}
+		}
+		assertArrayEquals(standard.getModuleUsage(), compiled.getModuleUsage());
+	}
+
+	@Test
+	public void testFlush() {
+		CompiledTWEANN compiled = new CompiledTWEANN(tg);
+		double[] inputs = RandomNumbers.randomArray(compiled.numInputs());
+		double[] first = compiled.process(inputs);
+		for (int i = 0; i < STEPS; i++) {
+			compiled.process(RandomNumbers.randomArray(compiled.numInputs()));
+		}
+		compiled.flush();
+		assertArrayEquals(first, compiled.process(inputs), 0.0);
+	}
+}
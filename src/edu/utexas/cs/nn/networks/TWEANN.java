@@ -570,8 +570,9 @@ public class TWEANN implements Network {
 
 		for (LinkGene lg : g.links) {
 			if (lg.isActive()) {
-				Node source = getNode(lg.sourceInnovation);
-				Node target = getNode(lg.targetInnovation);
+				// Genotype and phenotype store nodes in the same order
+				Node source = nodes.get(g.indexOfNodeInnovation(lg.sourceInnovation));
+				Node target = nodes.get(g.indexOfNodeInnovation(lg.targetInnovation));
 				assert(target != null) : "No target: " + lg + "\nNet:" + g.getId();
 				assert(source != null) : "How could the source be null?";
 				source.connect(target, lg.weight, lg.innovation, lg.isRecurrent(), lg.isFrozen());
@@ -661,16 +662,7 @@ public class TWEANN implements Network {
 		assert(inputs.length == numIn) : "Input mismatch! numIn = " + numIn + "\n" + "inputs.length = " + inputs.length + "\n" + Arrays.toString(inputs);
 		assert(numIn <= nodes.size()) : "Input mismatch! numIn = " + numIn + "\n" + "nodes.size() = " + nodes.size() + "\n" + nodes;
 
-		// Load inputs
-		for (int i = 0; i < numIn; i++) {
-			assert !Double.isNaN(inputs[i]) : "Input " + i + " is NaN!" + Arrays.toString(inputs);
-			nodes.get(i).load(inputs[i]);
-		}
-
-		// Activate nodes in forward order
-		for (int i = 0; i < nodes.size(); i++) {
-			nodes.get(i).activateAndTransmit();
-		}
+		activateNodes(inputs);
 
 		// All outputs
 
@@ -685,9 +677,9 @@ public class TWEANN implements Network {
 				preferences[presetMode] = 1.0;
 			} else {
 				for (int m = 0; m < numModes; m++) {
-					Node out = nodes.get(outputStart + (m * (neuronsPerModule + 1)) + neuronsPerModule);
+					int out = outputStart + (m * (neuronsPerModule + 1)) + neuronsPerModule;
 					// Inviable modes have minimal preference
-					preferences[m] = viableModes[m] ? out.output() : -Double.MAX_VALUE;
+					preferences[m] = viableModes[m] ? nodeOutput(out) : -Double.MAX_VALUE;
 				}
 			}
 			// subtract fatigue
@@ -727,7 +719,7 @@ public class TWEANN implements Network {
 			for (int i = 0; i < outputs.length; i++) {
 				for (int j = 0; j < numModes; j++) {
 					int modeStart = outputStart + (j * (neuronsPerModule + (CommonConstants.ensembleModeMutation ? 0 : 1)));
-					outputs[i] += preferences[j] * nodes.get(modeStart + i).output();
+					outputs[i] += preferences[j] * nodeOutput(modeStart + i);
 				}
 				outputs[i] /= numModes;
 			}
@@ -750,6 +742,40 @@ public class TWEANN implements Network {
 		return outputs;
 	}
 
+	/**
+	 * Load the inputs into the input neurons and then activate every neuron
+	 * in forward order, transmitting each activation along the outgoing links.
+	 * Subclasses can replace how this propagation is carried out, but must
+	 * leave the activation of each neuron accessible through nodeOutput.
+	 *
+	 * @param inputs
+	 *            sensor readings for the network
+	 */
+	protected void activateNodes(double[] inputs) {
+		// Load inputs
+		for (int i = 0; i < numIn; i++) {
+			assert !Double.isNaN(inputs[i]) : "Input " + i + " is NaN!" + Arrays.toString(inputs);
+			nodes.get(i).load(inputs[i]);
+		}
+
+		// Activate nodes in forward order
+		for (int i = 0; i < nodes.size(); i++) {
+			nodes.get(i).activateAndTransmit();
+		}
+	}
+
+	/**
+	 * Activation of the neuron at the given position in the linear
+	 * node order after the most recent process.
+	 *
+	 * @param index
+	 *            position of neuron in nodes
+	 * @return activation of that neuron
+	 */
+	protected double nodeOutput(int index) {
+		return nodes.get(index).output();
+	}
+
 	/**
 	 * After processing, the neurons retain their activations. Therefore, the
 	 * output values can be accessed for any mode, not just the chosen one.
@@ -763,8 +789,7 @@ public class TWEANN implements Network {
 		int selectedModeStart = outputStart + (mode * (neuronsPerModule + (standardMultitask ? 0 : 1)));
 		double[] outputs = new double[neuronsPerModule];
 		for (int i = 0; i < neuronsPerModule; i++) {
-			Node out = nodes.get(selectedModeStart + i);
-			outputs[i] = out.output();
+			outputs[i] = nodeOutput(selectedModeStart + i);
 		}
 		return outputs;
 	}
@@ -789,18 +814,6 @@ public class TWEANN implements Network {
 		}
 	}
 
-	private Node getNode(long targetInnovation) {
-		Node targetNode = null;
-		for (Node n : nodes) {
-			if (n.innovation == targetInnovation) {
-				targetNode = n;
-				break;
-			}
-		}
-		assert targetNode != null : "No node with innovation " + targetInnovation + " existed";
-		return targetNode;
-	}
-
 	@Override
 	public String toString() {
 		String result = "";
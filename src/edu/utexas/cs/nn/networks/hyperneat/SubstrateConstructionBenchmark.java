@@ -0,0 +1,95 @@
+package edu.utexas.cs.nn.networks.hyperneat;
+
+import java.util.ArrayList;
+
+import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype;
+import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype.LinkGene;
+import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype.NodeGene;
+import edu.utexas.cs.nn.networks.ActivationFunctions;
+import edu.utexas.cs.nn.networks.TWEANN;
+import edu.utexas.cs.nn.parameters.Parameters;
+
+/**
+ * Measures how long it takes to build TWEANN phenotypes from genotypes shaped
+ * like HyperNEAT substrate networks: a square input substrate, a square hidden
+ * substrate and a small output substrate, with full connectivity between
+ * consecutive layers. For comparison, the time that the old linear scan over
+ * the nodes would have needed to resolve every link endpoint is also reported.
+ *
+ * Usage: SubstrateConstructionBenchmark [maximum substrate width]
+ */
+public class SubstrateConstructionBenchmark {
+
+	public static final int REPEATS = 5;
+	public static final int OUTPUTS = 4;
+
+	public static void main(String[] args) {
+		int maxWidth = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+		Parameters.initializeParameterCollections(new String[] { "io:false", "netio:false" });
+		System.out.println("width\tnodes\tlinks\tbuildMS\tlinearScanMS");
+		for (int width = 5; width <= maxWidth; width += 5) {
+			TWEANNGenotype g = substrateGenotype(width);
+			// Warm up
+			new TWEANN(g);
+			long start = System.nanoTime();
+			for (int i = 0; i < REPEATS; i++) {
+				new TWEANN(g);
+			}
+			double build = (System.nanoTime() - start) / (REPEATS * 1000000.0);
+
+			start = System.nanoTime();
+			long checksum = 0;
+			for (LinkGene lg : g.links) {
+				checksum += linearIndex(g.nodes, lg.sourceInnovation) + linearIndex(g.nodes, lg.targetInnovation);
+			}
+			double scan = (System.nanoTime() - start) / 1000000.0;
+
+			System.out.println(width + "\t" + g.nodes.size() + "\t" + g.links.size() + "\t" + build + "\t" + scan
+					+ (checksum < 0 ? "!" : ""));
+		}
+	}
+
+	/**
+	 * Genotype with width*width inputs, width*width hidden neurons and
+	 * OUTPUTS output neurons, with consecutive layers fully connected.
+	 *
+	 * @param width
+	 *            width of the square input and hidden substrates
+	 * @return substrate-like genotype
+	 */
+	public static TWEANNGenotype substrateGenotype(int width) {
+		int layer = width * width;
+		ArrayList<NodeGene> nodes = new ArrayList<NodeGene>(2 * layer + OUTPUTS);
+		ArrayList<LinkGene> links = new ArrayList<LinkGene>(layer * layer + layer * OUTPUTS);
+		long innovation = 0;
+		for (int i = 0; i < layer; i++) {
+			nodes.add(TWEANNGenotype.newNodeGene(ActivationFunctions.FTYPE_ID, TWEANN.Node.NTYPE_INPUT, innovation++));
+		}
+		for (int i = 0; i < layer; i++) {
+			nodes.add(TWEANNGenotype.newNodeGene(ActivationFunctions.FTYPE_TANH, TWEANN.Node.NTYPE_HIDDEN, innovation++));
+		}
+		for (int i = 0; i < OUTPUTS; i++) {
+			nodes.add(TWEANNGenotype.newNodeGene(ActivationFunctions.FTYPE_TANH, TWEANN.Node.NTYPE_OUTPUT, innovation++));
+		}
+		for (int i = 0; i < layer; i++) {
+			for (int j = 0; j < layer; j++) {
+				links.add(TWEANNGenotype.newLinkGene(nodes.get(i).innovation, nodes.get(layer + j).innovation, 0.5, innovation++, false));
+			}
+		}
+		for (int i = 0; i < layer; i++) {
+			for (int j = 0; j < OUTPUTS; j++) {
+				links.add(TWEANNGenotype.newLinkGene(nodes.get(layer + i).innovation, nodes.get(2 * layer + j).innovation, 0.5, innovation++, false));
+			}
+		}
+		return new TWEANNGenotype(nodes, links, OUTPUTS, false, false, -1);
+	}
+
+	private static int linearIndex(ArrayList<NodeGene> nodes, long innovation) {
+		for (int i = 0; i < nodes.size(); i++) {
+			if (nodes.get(i).innovation == innovation) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
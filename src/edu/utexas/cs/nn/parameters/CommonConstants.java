@@ -40,11 +40,13 @@ public class CommonConstants {
 	public static boolean allowRandomGhostReversals;
 	public static boolean checkEachAbsoluteDistanceGhostSort;
 	public static boolean checkEachFlushWalls;
+	public static boolean compiledTWEANN;
 	public static boolean connectToInputs;
 	public static boolean constantTUGGoalIncrements;
 	public static boolean cullCrossovers;
 	public static boolean cullModeMutations;
 	public static boolean deleteLeastUsed;
+	public static boolean efficientNonDominatedSort;
 	public static boolean eliminateImpossibleDirections;
 	public static boolean ensembleModeMutation;
 	public static boolean evalReport;
@@ -69,10 +71,12 @@ public class CommonConstants {
 	public static boolean nicheRestrictionOnModeMutation;
 	public static boolean onlyModeMutationWhenModesSame;
 	public static boolean pacmanFatalTimeLimit;
+	public static boolean pacManQueryCaching;
 	public static boolean pacManSensorCaching;
 	public static boolean polynomialWeightMutation;
 	public static boolean probabilisticSelection;
 	public static boolean randomArgMaxTieBreak;
+	public static boolean randomStreams;
 	public static boolean reachabilityReportsBuffers;
 	public static boolean recordPacman;
 	public static boolean recurrency;
@@ -95,6 +99,9 @@ public class CommonConstants {
 	public static boolean watch;
 	public static boolean weakenBeforeModeMutation;
 	public static boolean weightedAverageModeAggregation;
+	// Not a parameter: true while a background checkpoint writer saves the
+	// parameters along with every checkpoint
+	public static boolean checkpointsSaveParameters = false;
 	// integer
 	public static int disabledMode;
 	public static int fsLinksPerOut;
@@ -166,11 +173,13 @@ public class CommonConstants {
 		allowRandomGhostReversals = Parameters.parameters.booleanParameter("allowRandomGhostReversals");
 		checkEachAbsoluteDistanceGhostSort = Parameters.parameters.booleanParameter("checkEachAbsoluteDistanceGhostSort");
 		checkEachFlushWalls = Parameters.parameters.booleanParameter("checkEachFlushWalls");
+		compiledTWEANN = Parameters.parameters.booleanParameter("compiledTWEANN");
 		connectToInputs = Parameters.parameters.booleanParameter("connectToInputs");
 		constantTUGGoalIncrements = Parameters.parameters.booleanParameter("constantTUGGoalIncrements");
 		cullCrossovers = Parameters.parameters.booleanParameter("cullCrossovers");
 		cullModeMutations = Parameters.parameters.booleanParameter("cullModeMutations");
 		deleteLeastUsed = Parameters.parameters.booleanParameter("deleteLeastUsed");
+		efficientNonDominatedSort = Parameters.parameters.booleanParameter("efficientNonDominatedSort");
 		eliminateImpossibleDirections = Parameters.parameters.booleanParameter("eliminateImpossibleDirections");
 		ensembleModeMutation = Parameters.parameters.booleanParameter("ensembleModeMutation");
 		evalReport = Parameters.parameters.booleanParameter("evalReport");
@@ -195,10 +204,12 @@ public class CommonConstants {
 		nicheRestrictionOnModeMutation = Parameters.parameters.booleanParameter("nicheRestrictionOnModeMutation");
 		onlyModeMutationWhenModesSame = Parameters.parameters.booleanParameter("onlyModeMutationWhenModesSame");
 		pacmanFatalTimeLimit = Parameters.parameters.booleanParameter("pacmanFatalTimeLimit");
+		pacManQueryCaching = Parameters.parameters.booleanParameter("pacManQueryCaching");
 		pacManSensorCaching = Parameters.parameters.booleanParameter("pacManSensorCaching");
 		polynomialWeightMutation = Parameters.parameters.booleanParameter("polynomialWeightMutation");
 		probabilisticSelection = Parameters.parameters.booleanParameter("probabilisticSelection");
 		randomArgMaxTieBreak = Parameters.parameters.booleanParameter("randomArgMaxTieBreak");
+		randomStreams = Parameters.parameters.booleanParameter("randomStreams");
 		reachabilityReportsBuffers = Parameters.parameters.booleanParameter("reachabilityReportsBuffers");
 		recordPacman = Parameters.parameters.booleanParameter("recordPacman");
 		recurrency = Parameters.parameters.booleanParameter("recurrency");
@@ -266,7 +277,11 @@ public class CommonConstants {
 				Parameters.parameters.setInteger("evaluationBudget",
 						Parameters.parameters.integerParameter("evaluationBudget") + 1);
 			}
-			Parameters.parameters.saveParameters();
+			// A background checkpoint writer may still be saving an older copy
+			// of the parameters. The next checkpoint saves the new values.
+			if (!checkpointsSaveParameters) {
+				Parameters.parameters.saveParameters();
+			}
 		}
 	}
 }
@@ -156,6 +156,17 @@ public class Parameters {
 	 * "saveTo", "log", and "runNumber" parameters
 	 */
 	public void saveParameters() {
+		this.saveParameters(parametersFilename());
+	}
+
+	/**
+	 * Name of the file that saveParameters() saves to, based on the "base",
+	 * "saveTo", "log", and "runNumber" parameters. The directory is created
+	 * if it does not exist yet.
+	 *
+	 * @return path and filename of the parameters file
+	 */
+	public String parametersFilename() {
 		String path = stringParameter("base") + "/" + stringParameter("saveTo") + integerParameter("runNumber");
 		File dir = new File(path);
 		if (!dir.exists()) {
@@ -163,7 +174,7 @@ public class Parameters {
 
 		}
 		String name = stringOptions.get("log") + integerParameter("runNumber") + "_parameters.txt";
-		this.saveParameters(path + "/" + name);
+		return path + "/" + name;
 	}
 
 	/**
@@ -175,18 +186,28 @@ public class Parameters {
 	public void saveParameters(String filename) {
 		// PrintStream will be cleaned up as part of the try
 		try (PrintStream stream = new PrintStream(new FileOutputStream(filename))) {
-			integerOptions.writeLabels(stream);
-			longOptions.writeLabels(stream);
-			booleanOptions.writeLabels(stream);
-			doubleOptions.writeLabels(stream);
-			stringOptions.writeLabels(stream);
-			classOptions.writeLabels(stream);
+			saveParameters(stream);
 		} catch (FileNotFoundException ex) {
 			System.out.println("Could not save parameters");
 			System.exit(1);
 		}
 	}
 
+	/**
+	 * Write parameters to a stream, in the format read by loadParameters
+	 *
+	 * @param stream
+	 *            Where to write the parameters
+	 */
+	public void saveParameters(PrintStream stream) {
+		integerOptions.writeLabels(stream);
+		longOptions.writeLabels(stream);
+		booleanOptions.writeLabels(stream);
+		doubleOptions.writeLabels(stream);
+		stringOptions.writeLabels(stream);
+		classOptions.writeLabels(stream);
+	}
+
 	/**
 	 * Define all parameter labels, default values, and help text
 	 */
@@ -205,6 +226,7 @@ public class Parameters {
 		integerOptions.add("marioInputWidth", 3, "The width for a Mario input section");
 		integerOptions.add("marioLevelDifficulty", 3, "Sets the level difficulty for the Mario level");
 		integerOptions.add("marioTimeLimit", 200, "Sets the time limit for the Mario agent in a given level");
+		integerOptions.add("marioLevelCacheSize", 100, "Number of generated Mario levels kept for reuse (0 regenerates every level)");
 		integerOptions.add("doomInputPixelSmudge", 1, "Determines the amount of pixels to 'smudge' together for inputs");
 		integerOptions.add("doomInputColorVal", 2, "The number value for the color we want to use for inputs, default is red (2)");
 		integerOptions.add("doomInputStartX", 0, "The starting x coordinate for a VizDoom input section");
@@ -255,6 +277,7 @@ public class Parameters {
 		integerOptions.add("numMonsterRays", 5, "Number of ray trace sensors on each monster");
 		integerOptions.add("litterSize", 10, "Number of offspring from a single source to evaluate for culling methods");
 		integerOptions.add("cleanFrequency", 10, "How frequently the archetype needs to be cleaned out");
+		integerOptions.add("checkpointQueue", 2, "Number of generation checkpoints that can wait to be written before evolution blocks");
 		integerOptions.add("pacmanMaxLevel", 4, "Pacman level after which simulation ends");
 		integerOptions.add("justMaze", -1, "If 0 - 3, then Pac-Man only plays a specific maze over and over");
 		integerOptions.add("initialMaze", 0, "Pacman maze to start on");
@@ -297,6 +320,7 @@ public class Parameters {
 		integerOptions.add("stopMode", -1, "Whenever this mode gets used, pause evaluation and wait for key press");
 		integerOptions.add("scentMode", -1, "Whenever this mode gets used, drop pheremone on scent path");
 		integerOptions.add("pacmanReplayDelay", Constants.DELAY, "Milliseconds of pause between pacman time steps in replay mode");
+		integerOptions.add("pacmanMoveBudget", Constants.DELAY, "CPU milliseconds per move for each controller when timedPacman runs without visuals");
 		integerOptions.add("clipLength", Keyboard.NOTE_LENGTH_DEFAULT, "Length of clip played in Breedesizer");
 		integerOptions.add("maxClipLength", 100000, "Maximum length of clip played in Breedesizer");
 		integerOptions.add("minimaxSearchDepth", 2, "Tree-Search Depth of the Minimax BoardGamePlayer");
@@ -316,6 +340,7 @@ public class Parameters {
 		integerOptions.add("stride", 1, "Offset between receptive fields in convolutional structures");
 		integerOptions.add("hybrIDSwitchGeneration", 100, "Generation when HybrID should switch from HyperNEAT to NEAT");
 		integerOptions.add("microRTSInputSize", 1, "how many by how many tiles in microRTS should be smudged together into a single input");
+		integerOptions.add("microRTSEvaluationCacheSize", 65536, "Network outputs for microRTS game states kept for reuse during search (0 disables)");
 		integerOptions.add("defaultPitch", 36, "Default pitch value for 3DObjectbreeder vertical rotation");
 		integerOptions.add("defaultHeading", 36, "Default heading value for 3DObjectbreeder horizaontal rotation");
 		integerOptions.add("microRTSInputSize", 1, "x by x cells in the game that are condensed into a single input");
@@ -368,6 +393,7 @@ public class Parameters {
 		booleanOptions.add("monitorSubstrates", false, "Allows us to visualizen the features (raw inputs) of a HyperNEAT agent");
 		booleanOptions.add("doomFullScreenInput", false, "Detemines if we should use all of the screen inputs or just the given row");
 		booleanOptions.add("hyperNEAT", false, "Use the HyperNEAT version of the task (requires HyperNEATCPPNGenotype)");
+		booleanOptions.add("compiledTWEANN", false, "TWEANN phenotypes are compiled into flat primitive arrays for faster activation");
 		booleanOptions.add("saveAllChampions", false, "saves all champions of each generation");
 		booleanOptions.add("watchLastBest", false, "shows best result from last generation");
 		booleanOptions.add("watchLastBestOfTeams", false, "shows best result from each population from last generation (coevolution)");
@@ -387,6 +413,7 @@ public class Parameters {
 		booleanOptions.add("torusInvertSensorInputs", false, "Causes agents' sensor inputs to be inverted in torusPredPreyTask");
 		booleanOptions.add("torusSenseByProximity", true, "Causes agents' sensor inputs to be by proximity of the agent instead of simply each agent by indices");
 		booleanOptions.add("processHV", false, "Turns on the hyperVolume processing in postProcess, off by default");
+		booleanOptions.add("parallelProcessing", true, "Read logs and calculate hypervolumes with parallel threads in postProcess");
 		booleanOptions.add("homogeneousTeamSelection", false, "Homogeneous Predators with encouraged distance minimization and maximizing prey caught for all populations at once");
 		booleanOptions.add("homogeneousAggregateTeamSelection", false, "Homogeneous Predators with encouraged distance minimization and maximizing prey caught as a team");
 		booleanOptions.add("homogeneousTeamAndAggregateTeamSelection", false, "Homogeneous Predators with encouraged distance minimization and maximizing prey caught as a team and for all populations at once");
@@ -488,6 +515,7 @@ public class Parameters {
 		booleanOptions.add("stepByStep", false, "Time steps only advances when Enter is pressed");
 		booleanOptions.add("logDeathLocations", false, "Write to file every location where a pacman death occurs");
 		booleanOptions.add("pacManSensorCaching", true, "Allows multiple networks to use same sensors without recalculating");
+		booleanOptions.add("pacManQueryCaching", true, "Ms. Pac-Man paths and targets found by sensors are reused until the game advances");
 		booleanOptions.add("ghostRegretFitness", false, "Include negative fitness for ghosts that pacman fails to eat");
 		booleanOptions.add("plainGhostScore", false, "For ghost fitness, just use eaten ghosts instead of ghost score");
 		booleanOptions.add("ignoreGhostScores", false, "No fitness from edible ghosts in Ms Pac-Man, even though there are present");
@@ -570,6 +598,7 @@ public class Parameters {
 		booleanOptions.add("io", true, "Write output logs");
 		booleanOptions.add("netio", true, "Write xml files of networks");
 		booleanOptions.add("fs", false, "Use feature selective initial networks instead of fully connected networks");
+		booleanOptions.add("efficientNonDominatedSort", false, "NSGA2 uses Efficient Non-dominated Sort and primitive crowding distance computation, for large populations");
 		booleanOptions.add("mating", false, "Use crossover to mate parents and get offspring");
 		booleanOptions.add("polynomialMutation", true, "Real parameters mutated according to polynomial mutation");
 		booleanOptions.add("watch", false, "Show evaluations during evolution");
@@ -579,7 +608,13 @@ public class Parameters {
 		booleanOptions.add("showSubnetAnalysis", false, "Show extra info about subnets in cooperative coevolution");
 		booleanOptions.add("absenceNegative", false, "Sense absence of input as -1 instead of 0");
 		booleanOptions.add("parallelEvaluations", false, "Perform evaluations in parallel");
+		booleanOptions.add("randomStreams", false, "Each evaluation, trial and offspring draws from its own deterministically seeded random stream");
+		booleanOptions.add("parallelTrials", false, "Evaluate trials of one individual in parallel, if the task supports it");
+		booleanOptions.add("utilizationLog", false, "Log thread utilization and straggler statistics of parallel evaluations");
 		booleanOptions.add("parallelSave", false, "Perform file saving in parallel");
+		booleanOptions.add("binaryGenotypes", false, "Save supported genotypes in a compact binary format instead of xml (file names stay the same)");
+		booleanOptions.add("compressGenotypes", false, "Compress binary genotype files with gzip");
+		booleanOptions.add("checkpointArchive", false, "Save each generation as a single archive file, written by a background thread while evolution continues");
 		booleanOptions.add("cleanOldNetworks", true, "Delete old network xml files once new networks are saved");
 		booleanOptions.add("deterministic", false, "Make evaluations deterministic, if supported");
 		booleanOptions.add("deleteLeastUsed", false, "Delete least-used mode when doing mode deletion");
@@ -0,0 +1,93 @@
+package edu.utexas.cs.nn.tasks;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.utexas.cs.nn.util.stats.StatisticsUtilities;
+
+/**
+ * Long-lived work-stealing thread pool shared by all parallel evaluations.
+ * Creating a new fixed thread pool every generation wastes time on thread
+ * start up, and a fixed pool with a single shared queue leaves cores idle
+ * while a few slow evaluations finish. A ForkJoinPool keeps one deque per
+ * worker, so evaluations submitted from within a worker (such as separate
+ * trials of one individual) are stolen by whichever workers are idle.
+ *
+ * Workers are daemon threads, so the pool never needs to be shut down.
+ *
+ * Also computes utilization and straggler statistics for a batch of
+ * evaluations, given when each one started and ended.
+ */
+public class EvaluationPool {
+
+	private static ForkJoinPool pool = null;
+
+	/**
+	 * The shared pool, created on first use. Only recreated if a different
+	 * number of threads is requested.
+	 *
+	 * @param threads
+	 *            Number of worker threads
+	 * @return shared pool
+	 */
+	public static synchronized ForkJoinPool getPool(int threads) {
+		if (pool == null || pool.getParallelism() != threads) {
+			if (pool != null) {
+				pool.shutdown();
+			}
+			pool = new ForkJoinPool(threads);
+		}
+		return pool;
+	}
+
+	/**
+	 * Labels for the values returned by batchStatistics
+	 */
+	public static final String[] STATISTIC_LABELS = new String[] { "Utilization", "WallMS", "MeanEvalMS", "MedianEvalMS",
+			"MaxEvalMS", "StragglerRatio", "TailMS" };
+
+	/**
+	 * Summarize how well a batch of evaluations used the available threads.
+	 * All times are from System.nanoTime().
+	 *
+	 * Utilization is the fraction of available thread time spent evaluating.
+	 * The straggler ratio is the slowest evaluation divided by the median one.
+	 * The tail is the time between the moment when fewer evaluations than
+	 * threads remained and the end of the batch, which is when cores sit idle.
+	 *
+	 * @param starts
+	 *            start time of each evaluation
+	 * @param ends
+	 *            end time of each evaluation
+	 * @param batchStart
+	 *            time when evaluations were submitted
+	 * @param batchEnd
+	 *            time when all results were collected
+	 * @param threads
+	 *            number of threads available
+	 * @return values corresponding to STATISTIC_LABELS
+	 */
+	public static double[] batchStatistics(long[] starts, long[] ends, long batchStart, long batchEnd, int threads) {
+		assert starts.length == ends.length : "Need start and end for every evaluation";
+		double[] durations = new double[starts.length];
+		double busy = 0;
+		for (int i = 0; i < durations.length; i++) {
+			durations[i] = (ends[i] - starts[i]) / 1000000.0;
+			busy += durations[i];
+		}
+		double wall = Math.max(batchEnd - batchStart, 1) / 1000000.0;
+		double utilization = busy / (wall * threads);
+		double mean = durations.length == 0 ? 0 : busy / durations.length;
+		double max = durations.length == 0 ? 0 : StatisticsUtilities.maximum(durations);
+		double median = durations.length == 0 ? 0 : StatisticsUtilities.median(Arrays.copyOf(durations, durations.length));
+		double straggler = median == 0 ? 0 : max / median;
+		double tail = 0;
+		if (ends.length > threads) {
+			long[] sortedEnds = Arrays.copyOf(ends, ends.length);
+			Arrays.sort(sortedEnds);
+			// First moment a worker could find nothing left to do
+			tail = (sortedEnds[sortedEnds.length - 1] - sortedEnds[sortedEnds.length - threads]) / 1000000.0;
+		}
+		return new double[] { utilization, wall, mean, median, max, straggler, tail };
+	}
+}
@@ -0,0 +1,38 @@
+package edu.utexas.cs.nn.tasks;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class EvaluationPoolTest {
+
+	@Test
+	public void testGetPool() {
+		ForkJoinPool pool = EvaluationPool.getPool(3);
+		assertEquals(3, pool.getParallelism());
+		// Same pool is reused
+		assertSame(pool, EvaluationPool.getPool(3));
+		ForkJoinPool other = EvaluationPool.getPool(2);
+		assertNotSame(pool, other);
+		assertEquals(2, other.getParallelism());
+	}
+
+	@Test
+	public void testBatchStatistics() {
+		final long MS = 1000000;
+		// Two threads: three 10ms evals back to back on one, and one 40ms straggler on the other
+		long[] starts = new long[] { 0, 10 * MS, 20 * MS, 0 };
+		long[] ends = new long[] { 10 * MS, 20 * MS, 30 * MS, 40 * MS };
+		double[] stats = EvaluationPool.batchStatistics(starts, ends, 0, 40 * MS, 2);
+		assertEquals(EvaluationPool.STATISTIC_LABELS.length, stats.length);
+		assertEquals(70.0 / 80.0, stats[0], 0.000001); // utilization
+		assertEquals(40.0, stats[1], 0.000001); // wall
+		assertEquals(17.5, stats[2], 0.000001); // mean
+		assertEquals(10.0, stats[3], 0.000001); // median
+		assertEquals(40.0, stats[4], 0.000001); // max
+		assertEquals(4.0, stats[5], 0.000001); // straggler ratio
+		assertEquals(10.0, stats[6], 0.000001); // tail
+	}
+}
@@ -6,7 +6,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
-import wox.serial.Easy;
+import edu.utexas.cs.nn.evolution.genotypes.GenotypeSerialization;
 import edu.utexas.cs.nn.MMNEAT.MMNEAT;
 import edu.utexas.cs.nn.evolution.genotypes.Genotype;
 import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype;
@@ -212,7 +212,7 @@ public abstract class GroupTask implements MultiplePopulationTask {
 				}
 				// save all of the best objectives for this population
 				for (int j = 0; j < bestObjectives[i].length; j++) {
-					Easy.save(bestGenotypes[i][j], bestDir + "/" + filePrefix + "bestIn" + j + ".xml");
+					GenotypeSerialization.save(bestGenotypes[i][j], bestDir + "/" + filePrefix + "bestIn" + j + ".xml");
 					FileUtilities.simpleFileWrite(bestDir + "/" + filePrefix + "score" + j + ".txt", bestScores[i][j].toString());
 				}
 			}
@@ -230,7 +230,7 @@ public abstract class GroupTask implements MultiplePopulationTask {
 				bestDir.mkdir();
 			}
 			for (int i = 0; i < bestPacManTeam.length; i++) {
-				Easy.save(bestPacManTeam[i], teamDir + "/teamMember" + i + ".xml");
+				GenotypeSerialization.save(bestPacManTeam[i], teamDir + "/teamMember" + i + ".xml");
 			}
 			System.out.println("Saved best team with score of " + maxPacManScore);
 			FileUtilities.simpleFileWrite(teamDir + "/score.txt", bestScoreSet.toString());
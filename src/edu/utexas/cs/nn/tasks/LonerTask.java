@@ -9,10 +9,10 @@ import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 
 import edu.utexas.cs.nn.MMNEAT.MMNEAT;
@@ -22,6 +22,7 @@ import edu.utexas.cs.nn.evolution.metaheuristics.Metaheuristic;
 import edu.utexas.cs.nn.evolution.mulambda.MuLambda;
 import edu.utexas.cs.nn.evolution.ucb.UCB1Comparator;
 import edu.utexas.cs.nn.log.EvalLog;
+import edu.utexas.cs.nn.log.MMNEATLog;
 import edu.utexas.cs.nn.parameters.CommonConstants;
 import edu.utexas.cs.nn.parameters.Parameters;
 import edu.utexas.cs.nn.scores.Score;
@@ -29,8 +30,9 @@ import edu.utexas.cs.nn.tasks.mspacman.MsPacManTask;
 import edu.utexas.cs.nn.util.PopulationUtil;
 import edu.utexas.cs.nn.util.datastructures.Pair;
 import edu.utexas.cs.nn.util.file.FileUtilities;
+import edu.utexas.cs.nn.util.random.RandomNumbers;
 import edu.utexas.cs.nn.util.graphics.DrawingPanel;
-import wox.serial.Easy;
+import edu.utexas.cs.nn.evolution.genotypes.GenotypeSerialization;
 
 /**
  * A task for which an individual's fitness depends only on itself. In other
@@ -53,6 +55,9 @@ public abstract class LonerTask<T> implements SinglePopulationTask<T> {
 
 		private final Genotype<T> genotype;
 		private final LonerTask<T> task;
+		// System.nanoTime() when evaluation started and ended
+		private long startTime;
+		private long endTime;
 
 		/**
 		 * a constructor for creating an evaluation thread
@@ -75,6 +80,7 @@ public abstract class LonerTask<T> implements SinglePopulationTask<T> {
 		@SuppressWarnings("unchecked")
 		@Override
 		public Score<T> call() {
+			startTime = System.nanoTime();
 			// Before any evaluation happens
 			preEval();
 			//System.out.println("preEval done on gen " + MMNEAT.ea.currentGeneration());
@@ -89,7 +95,20 @@ public abstract class LonerTask<T> implements SinglePopulationTask<T> {
 			}
 			long before = System.currentTimeMillis();
 			// finds the score based on evaluation of the task's genotype
-			Score<T> score = task.evaluate(genotype);
+			Score<T> score;
+			if (CommonConstants.randomStreams) {
+				// Randomness depends only on which genotype is evaluated when, not on thread scheduling
+				int generation = MMNEAT.ea == null ? 0 : MMNEAT.ea.currentGeneration();
+				Random previous = RandomNumbers.bindThreadGenerator(
+						RandomNumbers.stream(RandomNumbers.EVALUATION_STREAM, genotype.getId(), generation));
+				try {
+					score = task.evaluate(genotype);
+				} finally {
+					RandomNumbers.bindThreadGenerator(previous);
+				}
+			} else {
+				score = task.evaluate(genotype);
+			}
 			long after = System.currentTimeMillis();
 			// if there is an evalReport, save it
 			if (MMNEAT.evalReport != null) {
@@ -122,12 +141,15 @@ public abstract class LonerTask<T> implements SinglePopulationTask<T> {
 			if(cppnPanel != null) {
 				cppnPanel.dispose();
 			}
+			endTime = System.nanoTime();
 			return score;
 		}
 	}
 
 	private final boolean parallel;
 	private final int threads;
+	// Utilization and straggler statistics for each batch of parallel evaluations
+	private MMNEATLog utilizationLog = null;
 
 	/**
 	 * constructor for a LonerTask based upon command line specified evaluation
@@ -136,6 +158,10 @@ public abstract class LonerTask<T> implements SinglePopulationTask<T> {
 	public LonerTask() {
 		this.parallel = Parameters.parameters.booleanParameter("parallelEvaluations");
 		this.threads = Parameters.parameters.integerParameter("threads");
+		if (parallel && Parameters.parameters.booleanParameter("io") && Parameters.parameters.booleanParameter("utilizationLog")) {
+			// Unlimited, since some EAs evaluate several batches per generation
+			utilizationLog = new MMNEATLog("Utilization", false, true);
+		}
 	}
 
 	/**
@@ -169,7 +195,6 @@ public abstract class LonerTask<T> implements SinglePopulationTask<T> {
 		// a list of the fitness scores of the population
 		ArrayList<Score<T>> scores = new ArrayList<Score<T>>(population.size());
 
-		ExecutorService poolExecutor = null;
 		ArrayList<Future<Score<T>>> futures = null;
 		ArrayList<EvaluationThread> calls = new ArrayList<EvaluationThread>(population.size());
 
@@ -181,8 +206,10 @@ public abstract class LonerTask<T> implements SinglePopulationTask<T> {
 			calls.add(callable);
 		}
 
+		long batchStart = System.nanoTime();
 		if (parallel) {
-			poolExecutor = Executors.newFixedThreadPool(threads);
+			// Pool persists across generations, and idle workers steal queued evaluations
+			ForkJoinPool poolExecutor = EvaluationPool.getPool(threads);
 			futures = new ArrayList<Future<Score<T>>>(population.size());
 			for (int i = 0; i < population.size(); i++) {
 				Future<Score<T>> future = poolExecutor.submit(calls.get(i));
@@ -242,7 +269,7 @@ public abstract class LonerTask<T> implements SinglePopulationTask<T> {
 			} else {
 				bestDir.mkdir();
 			}
-			Easy.save(bestPacMan, bestPacManDir + "/bestPacMan.xml");
+			GenotypeSerialization.save(bestPacMan, bestPacManDir + "/bestPacMan.xml");
 			// System.out.println("Saved best Ms. Pac-Man agent with score of "+maxPacManScore);
 			FileUtilities.simpleFileWrite(bestPacManDir + "/score.txt", bestScoreSet.toString());
 		}
@@ -251,8 +278,8 @@ public abstract class LonerTask<T> implements SinglePopulationTask<T> {
 			PopulationUtil.saveBestOfCurrentGen(bestObjectives, bestGenotypes, bestScores);
 		}
 
-		if (parallel) {
-			poolExecutor.shutdown();
+		if (parallel && (utilizationLog != null || Parameters.parameters.booleanParameter("printFitness"))) {
+			logUtilization(calls, batchStart, System.nanoTime());
 		}
 
 		/**
@@ -295,6 +322,37 @@ public abstract class LonerTask<T> implements SinglePopulationTask<T> {
 		return scores;
 	}
 
+	/**
+	 * Record how well the threads were used by a batch of parallel
+	 * evaluations, and which evaluations held up the rest.
+	 *
+	 * @param calls
+	 *            completed evaluations
+	 * @param batchStart
+	 *            System.nanoTime() when evaluations were submitted
+	 * @param batchEnd
+	 *            System.nanoTime() when all results were collected
+	 */
+	private void logUtilization(ArrayList<EvaluationThread> calls, long batchStart, long batchEnd) {
+		long[] starts = new long[calls.size()];
+		long[] ends = new long[calls.size()];
+		for (int i = 0; i < starts.length; i++) {
+			starts[i] = calls.get(i).startTime;
+			ends[i] = calls.get(i).endTime;
+		}
+		double[] stats = EvaluationPool.batchStatistics(starts, ends, batchStart, batchEnd, threads);
+		String line = (MMNEAT.ea == null ? 0 : MMNEAT.ea.currentGeneration()) + "\t" + calls.size();
+		for (double x : stats) {
+			line += "\t" + x;
+		}
+		if (utilizationLog != null) {
+			utilizationLog.log(line);
+		}
+		if (Parameters.parameters.booleanParameter("printFitness")) {
+			System.out.println("Utilization: " + Arrays.toString(EvaluationPool.STATISTIC_LABELS) + " = " + Arrays.toString(stats));
+		}
+	}
+
 	/**
 	 * defines the evaluate method to be implemented elsewhere
 	 * 
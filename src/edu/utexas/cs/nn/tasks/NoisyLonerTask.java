@@ -11,10 +11,17 @@ import edu.utexas.cs.nn.tasks.mspacman.agentcontroller.pacman.NNCheckEachDirecti
 import edu.utexas.cs.nn.util.ClassCreation;
 import edu.utexas.cs.nn.util.datastructures.ArrayUtil;
 import edu.utexas.cs.nn.util.datastructures.Pair;
+import edu.utexas.cs.nn.util.random.RandomNumbers;
 import edu.utexas.cs.nn.util.stats.Average;
 import edu.utexas.cs.nn.util.stats.Statistic;
 import edu.utexas.cs.nn.util.stats.StatisticsUtilities;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Any task in which multiple trials are needed because evaluations are noisy.
@@ -27,6 +34,8 @@ public abstract class NoisyLonerTask<T> extends LonerTask<T> {
 
 	public Statistic stat;
 	public final boolean printFitness;
+	// Whether trials of one individual are evaluated in parallel
+	private final boolean parallelTrials;
 
 	/**
 	 * constructor for a noisy loner task. Assigns fitness according to
@@ -34,6 +43,7 @@ public abstract class NoisyLonerTask<T> extends LonerTask<T> {
 	 */
 	public NoisyLonerTask() {
 		this.printFitness = Parameters.parameters.booleanParameter("printFitness");
+		this.parallelTrials = Parameters.parameters.booleanParameter("parallelTrials");
 		try {
 			stat = (Statistic) ClassCreation.createObject("noisyTaskStat");
 		} catch (NoSuchMethodException ex) {
@@ -67,6 +77,20 @@ public abstract class NoisyLonerTask<T> extends LonerTask<T> {
 	 */
 	public abstract Pair<double[], double[]> oneEval(Genotype<T> individual, int num);
 
+	/**
+	 * Whether several calls to oneEval for the same individual can safely run
+	 * at the same time on different threads. Only tasks that override this
+	 * to return true have their trials evaluated in parallel (when
+	 * parallelTrials is set). Such a task must not share mutable state between
+	 * trials, should build a new phenotype in each trial, and should not
+	 * write to the eval report from within oneEval.
+	 *
+	 * @return true if oneEval is thread-safe
+	 */
+	public boolean oneEvalIsThreadSafe() {
+		return false;
+	}
+
 	/**
 	 * Evaluate an agent by subjecting it to several separate evaluations/trials
 	 * in the domain. Return the fitness score(s)
@@ -94,25 +118,26 @@ public abstract class NoisyLonerTask<T> extends LonerTask<T> {
 		double[][] otherScores = new double[numTrials][this.numOtherScores()];
 		double evalTimeSum = 0;
 		
-		// Carry out all trials and save all scores
-		for (int i = 0; i < numTrials; i++) {
-			long before = System.currentTimeMillis();
-			if (MMNEAT.evalReport != null) {
-				MMNEAT.evalReport.log("Eval " + i + ":");
-			}
-			Pair<double[], double[]> result = oneEval(individual, i);
-			if (printFitness) {
-				System.out.println(Arrays.toString(result.t1) + Arrays.toString(result.t2));
-				if (individual instanceof TWEANNGenotype) {
-					System.out.println(
-							"Module Usage: " + Arrays.toString(((TWEANNGenotype) individual).getModuleUsage()));
+		if (parallelTrials && oneEvalIsThreadSafe() && numTrials > 1) {
+			evalTimeSum = parallelTrials(individual, objectiveScores, otherScores);
+		} else {
+			// Carry out all trials and save all scores
+			for (int i = 0; i < numTrials; i++) {
+				long before = System.currentTimeMillis();
+				if (MMNEAT.evalReport != null) {
+					MMNEAT.evalReport.log("Eval " + i + ":");
+				}
+				Pair<double[], double[]> result = CommonConstants.randomStreams
+						? streamEval(individual, currentGeneration(), i) : oneEval(individual, i);
+				if (printFitness) {
+					printTrial(individual, result);
 				}
+				long after = System.currentTimeMillis();
+				evalTimeSum += (after - before);
+				objectiveScores[i] = result.t1; // fitness scores
+				// ScoreHistory.add(individual.getId(), result.t1);
+				otherScores[i] = result.t2; // other scores
 			}
-			long after = System.currentTimeMillis();
-			evalTimeSum += (after - before);
-			objectiveScores[i] = result.t1; // fitness scores
-			// ScoreHistory.add(individual.getId(), result.t1);
-			otherScores[i] = result.t2; // other scores
 		}
 //		System.out.println(Arrays.deepToString(objectiveScores));
 //		System.out.println(Arrays.deepToString(otherScores));
@@ -189,6 +214,98 @@ public abstract class NoisyLonerTask<T> extends LonerTask<T> {
 		return s;
 	}
 
+	/**
+	 * Evaluate all trials of one individual concurrently on the shared
+	 * evaluation pool. Each trial draws from its own random stream (see
+	 * streamEval), so results do not depend on how trials are scheduled. Reporting happens in trial order
+	 * once every trial has finished.
+	 *
+	 * @param individual
+	 *            genotype to be evaluated
+	 * @param objectiveScores
+	 *            filled with the fitness scores of each trial
+	 * @param otherScores
+	 *            filled with the other scores of each trial
+	 * @return sum of the times in milliseconds taken by each trial
+	 */
+	private double parallelTrials(final Genotype<T> individual, double[][] objectiveScores, double[][] otherScores) {
+		final long generation = currentGeneration();
+		final int numTrials = objectiveScores.length;
+		final long[] times = new long[numTrials];
+		ForkJoinPool pool = EvaluationPool.getPool(Parameters.parameters.integerParameter("threads"));
+		ArrayList<ForkJoinTask<Pair<double[], double[]>>> trials = new ArrayList<ForkJoinTask<Pair<double[], double[]>>>(numTrials);
+		// Already a worker of the pool: idle workers steal the forked trials
+		boolean inPool = ForkJoinTask.getPool() == pool;
+		for (int i = 0; i < numTrials; i++) {
+			final int trial = i;
+			ForkJoinTask<Pair<double[], double[]>> task = ForkJoinTask.adapt(new Callable<Pair<double[], double[]>>() {
+				@Override
+				public Pair<double[], double[]> call() {
+					long before = System.currentTimeMillis();
+					Pair<double[], double[]> result = streamEval(individual, generation, trial);
+					times[trial] = System.currentTimeMillis() - before;
+					return result;
+				}
+			});
+			trials.add(inPool ? task.fork() : pool.submit(task));
+		}
+		double evalTimeSum = 0;
+		for (int i = 0; i < numTrials; i++) {
+			Pair<double[], double[]> result = null;
+			try {
+				result = inPool ? trials.get(i).join() : trials.get(i).get();
+			} catch (InterruptedException | ExecutionException ex) {
+				ex.printStackTrace();
+				System.exit(1);
+			}
+			if (MMNEAT.evalReport != null) {
+				MMNEAT.evalReport.log("Eval " + i + ":");
+			}
+			if (printFitness) {
+				printTrial(individual, result);
+			}
+			evalTimeSum += times[i];
+			objectiveScores[i] = result.t1; // fitness scores
+			otherScores[i] = result.t2; // other scores
+		}
+		return evalTimeSum;
+	}
+
+	/**
+	 * Perform one trial while drawing from a random stream that only depends
+	 * on the genotype id, generation and trial number. The result is then the
+	 * same whether trials are evaluated sequentially or in parallel.
+	 *
+	 * @param individual
+	 *            genotype to be evaluated
+	 * @param generation
+	 *            current generation
+	 * @param trial
+	 *            which evaluation is currently being performed
+	 * @return result of oneEval
+	 */
+	private Pair<double[], double[]> streamEval(Genotype<T> individual, long generation, int trial) {
+		Random previous = RandomNumbers.bindThreadGenerator(
+				RandomNumbers.stream(RandomNumbers.TRIAL_STREAM, individual.getId(), generation, trial));
+		try {
+			return oneEval(individual, trial);
+		} finally {
+			RandomNumbers.bindThreadGenerator(previous);
+		}
+	}
+
+	private static long currentGeneration() {
+		return MMNEAT.ea == null ? 0 : MMNEAT.ea.currentGeneration();
+	}
+
+	private void printTrial(Genotype<T> individual, Pair<double[], double[]> result) {
+		System.out.println(Arrays.toString(result.t1) + Arrays.toString(result.t2));
+		if (individual instanceof TWEANNGenotype) {
+			System.out.println(
+					"Module Usage: " + Arrays.toString(((TWEANNGenotype) individual).getModuleUsage()));
+		}
+	}
+
 	/**
 	 * Aggregates objective/fitness scores and other scores by averaging them.
 	 * @param objectiveScores fitness scores: affect selection. 
@@ -14,6 +14,7 @@ import edu.utexas.cs.nn.parameters.Parameters;
 import edu.utexas.cs.nn.tasks.NoisyLonerTask;
 import edu.utexas.cs.nn.util.ClassCreation;
 import edu.utexas.cs.nn.util.datastructures.Pair;
+import edu.utexas.cs.nn.util.random.RandomNumbers;
 
 /**
  * Defines the Breve 2D Task by creating the controllers and dynamics, evaluating the
@@ -27,6 +28,8 @@ public class Breve2DTask<T extends Network> extends NoisyLonerTask<T>implements
 	private AgentController enemy;
 	private Breve2DDynamics dynamics;
 	private Breve2DExec exec;
+	// Whether each evaluation plays the same games, based on its number
+	private final boolean deterministic;
 
 	/**
 	 * Constructs a Breve2DTask by sending the deterministic parameter to the other constructor
@@ -43,6 +46,7 @@ public class Breve2DTask<T extends Network> extends NoisyLonerTask<T>implements
 	 */
 	public Breve2DTask(boolean det) {
 		super();
+		this.deterministic = det;
 		try {
 			enemy = (AgentController) ClassCreation.createObject("breveEnemy");
 			dynamics = (Breve2DDynamics) ClassCreation.createObject("breveDynamics");
@@ -79,10 +83,11 @@ public class Breve2DTask<T extends Network> extends NoisyLonerTask<T>implements
                             ((NNBreve2DMonster<T>) monster).reset();
                         }
 			enemy.reset();
+			long seed = deterministic ? num : RandomNumbers.randomGenerator.nextLong();
 			if (CommonConstants.watch) {
-				exec.runGameTimed(dynamics, enemy, monsters, true);
+				exec.runGameTimed(dynamics, enemy, monsters, true, seed);
 			} else {
-				exec.runExperiment(dynamics, enemy, monsters);
+				exec.runExperiment(dynamics, enemy, monsters, seed);
 			}
 			// Collect score info
 			dynamics.advanceTask();
@@ -132,7 +132,7 @@ public class NNBreve2DMonster<T extends Network> extends Organism<T>implements A
 
 		for (int i = 0; i < game.numMonsterRays; i++) {
 			RaySensor rs = game.getRaySensor(teamIndex, i);
-			inputs[in++] = rs.sensingAgent(game.getMonsters()) ? 1 : 0;
+			inputs[in++] = rs.sensingMonsters(game) ? 1 : 0;
 		}
 
 		// for(int i = 0; i < sensorArraySize, i++) {
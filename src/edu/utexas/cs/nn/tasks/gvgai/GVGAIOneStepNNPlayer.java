@@ -11,13 +11,19 @@ import gvgai.tools.ElapsedCpuTimer;
 
 public class GVGAIOneStepNNPlayer<T extends Network> extends AbstractPlayer {
 	
-	public static Network network;
+	private T network;
 	public static final double BIAS = 1.0;
 	
-	public GVGAIOneStepNNPlayer(){
-	}
-	
-	public GVGAIOneStepNNPlayer(StateObservation stateObs, ElapsedCpuTimer elapsedTimer){
+	/**
+	 * Creates a player that looks one action ahead and takes the action
+	 * whose resulting state the network rates highest.
+	 * 
+	 * @param network Network that evaluates the state after each action
+	 * @param stateObs Initial state of the game
+	 * @param elapsedTimer Timer for the player creation
+	 */
+	public GVGAIOneStepNNPlayer(T network, StateObservation stateObs, ElapsedCpuTimer elapsedTimer){
+		this.network = network;
 	}
 	
 	@Override
@@ -16,16 +16,21 @@ import gvgai.tools.ElapsedCpuTimer;
 
 public class GVGAIReactiveNNPlayer<T extends Network> extends AbstractPlayer {
 	
-	public static Network network;
+	private T network;
 	public static final double BIAS = 1.0;
 	
 	private int viewRange;
 	
-	public GVGAIReactiveNNPlayer(){
-		viewRange = Parameters.parameters.integerParameter("gvgaiReactField");
-	}
-	
-	public GVGAIReactiveNNPlayer(StateObservation stateObs, ElapsedCpuTimer elapsedTimer){
+	/**
+	 * Creates a player that rates each space within gvgaiReactField of the
+	 * avatar and moves towards the best one.
+	 * 
+	 * @param network Network that evaluates each space in view
+	 * @param stateObs Initial state of the game
+	 * @param elapsedTimer Timer for the player creation
+	 */
+	public GVGAIReactiveNNPlayer(T network, StateObservation stateObs, ElapsedCpuTimer elapsedTimer){
+		this.network = network;
 		viewRange = Parameters.parameters.integerParameter("gvgaiReactField");
 	}
 	
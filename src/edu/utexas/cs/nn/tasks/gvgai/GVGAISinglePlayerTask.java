@@ -1,12 +1,15 @@
 package edu.utexas.cs.nn.tasks.gvgai;
 
+import java.lang.reflect.Constructor;
 import java.util.LinkedList;
 import java.util.List;
 
 import edu.utexas.cs.nn.MMNEAT.MMNEAT;
 import edu.utexas.cs.nn.evolution.genotypes.Genotype;
+import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype;
 import edu.utexas.cs.nn.networks.Network;
 import edu.utexas.cs.nn.networks.NetworkTask;
+import edu.utexas.cs.nn.networks.TWEANN;
 import edu.utexas.cs.nn.networks.hyperneat.HyperNEATTask;
 import edu.utexas.cs.nn.networks.hyperneat.HyperNEATUtil;
 import edu.utexas.cs.nn.networks.hyperneat.Substrate;
@@ -15,6 +18,12 @@ import edu.utexas.cs.nn.parameters.Parameters;
 import edu.utexas.cs.nn.tasks.NoisyLonerTask;
 import edu.utexas.cs.nn.util.datastructures.Pair;
 import edu.utexas.cs.nn.util.datastructures.Triple;
+import edu.utexas.cs.nn.util.random.RandomNumbers;
+import gvgai.core.game.StateObservation;
+import gvgai.core.player.AbstractPlayer;
+import gvgai.core.player.PlayerFactory;
+import gvgai.core.vgdl.VGDLCache;
+import gvgai.tools.ElapsedCpuTimer;
 import gvgai.tracks.ArcadeMachine;
 
 public class GVGAISinglePlayerTask<T extends Network> extends NoisyLonerTask<T> implements NetworkTask, HyperNEATTask{
@@ -22,10 +31,21 @@ public class GVGAISinglePlayerTask<T extends Network> extends NoisyLonerTask<T>
 	static String gamesPath = "data/gvgai/examples/gridphysics/"; // Comes from gvgai.tracks.singlePlayer.Test
 	String game;
 	int level;
+	// Constructs the player of each game with the network being evaluated
+	Constructor<? extends AbstractPlayer> playerConstructor;
 	
 	public GVGAISinglePlayerTask(){
 		game = Parameters.parameters.stringParameter("gvgaiGame");
 		level = Parameters.parameters.integerParameter("gvgaiLevel");
+		String player = Parameters.parameters.stringParameter("gvgaiPlayer");
+		try {
+			playerConstructor = Class.forName(player).asSubclass(AbstractPlayer.class)
+					.getConstructor(Network.class, StateObservation.class, ElapsedCpuTimer.class);
+		} catch (ClassNotFoundException | NoSuchMethodException e) {
+			e.printStackTrace();
+			System.out.println(player + " needs a (Network, StateObservation, ElapsedCpuTimer) constructor");
+			System.exit(1);
+		}
 		
 		// Registers the three possible scores;
 		// Each Score can be individually selected as a Selection Function or not
@@ -64,14 +84,22 @@ public class GVGAISinglePlayerTask<T extends Network> extends NoisyLonerTask<T>
 		return 0;
 	}
 
+	/**
+	 * Each trial builds its own phenotype for its player, and the VGDL
+	 * registry is kept per thread, so trials can be evaluated in parallel
+	 * unless they are being watched.
+	 * 
+	 * @return true if not watching evaluations
+	 */
+	@Override
+	public boolean oneEvalIsThreadSafe() {
+		return !CommonConstants.watch;
+	}
+
 	@Override
 	public Pair<double[], double[]> oneEval(Genotype<T> individual, int num) {
-		// TODO: Find a better way to set the Network for all possible Players?
-		GVGAIOneStepNNPlayer.network = individual.getPhenotype(); // Cannot construct a Player because GVGAI constructs players with Strings
-		GVGAITreeSearchNNPlayer.network = individual.getPhenotype(); // Cannot construct a Player because GVGAI constructs players with Strings
-		GVGAIReactiveNNPlayer.network = individual.getPhenotype();  // Cannot construct a Player because GVGAI constructs players with Strings
-		
-		String agentNames = Parameters.parameters.stringParameter("gvgaiPlayer");
+		// The player of this game is bound to its own network, so games can be played in parallel
+		PlayerFactory factory = playerFactory(individual.getPhenotype());
 		
 		boolean visuals = CommonConstants.watch;
 		int randomSeed = 0;
@@ -86,8 +114,7 @@ public class GVGAISinglePlayerTask<T extends Network> extends NoisyLonerTask<T>
 		}
 		
 		// Will have 3 Indexes: {victory, score, timestep}; Stores these for every Player, in triplets: [w0,s0,t0,w1,s1,t1,...]
-		double[] gvgaiScores = ArcadeMachine.runOneGame(game_file, level_file, visuals, agentNames, actionFile, randomSeed, playerID);
-		GVGAIOneStepNNPlayer.network = null;
+		double[] gvgaiScores = ArcadeMachine.runOneGame(game_file, level_file, visuals, factory, actionFile, randomSeed, playerID);
 		
 		
 		// Process the scores
@@ -120,6 +147,29 @@ public class GVGAISinglePlayerTask<T extends Network> extends NoisyLonerTask<T>
 		return new Pair<double[], double[]>(fitness, otherScores);
 	}
 
+	/**
+	 * Creates players of the gvgaiPlayer class that are controlled by a
+	 * specific network
+	 * 
+	 * @param network Network controlling the players
+	 * @return Factory for GVGAI games
+	 */
+	public PlayerFactory playerFactory(final T network) {
+		return new PlayerFactory() {
+			@Override
+			public AbstractPlayer createPlayer(StateObservation so, ElapsedCpuTimer elapsedTimer) {
+				try {
+					return playerConstructor.newInstance(network, so, elapsedTimer);
+				} catch (ReflectiveOperationException e) {
+					e.printStackTrace();
+					System.out.println("Could not create " + playerConstructor.getDeclaringClass().getName());
+					System.exit(1);
+					return null;
+				}
+			}
+		};
+	}
+
 	@Override
 	public int numCPPNInputs() {
 		return HyperNEATTask.DEFAULT_NUM_CPPN_INPUTS;
@@ -161,6 +211,37 @@ public class GVGAISinglePlayerTask<T extends Network> extends NoisyLonerTask<T>
 		return new String[]{"Utility"};
 	}
 
-
-
-}
\ No newline at end of file
+	/**
+	 * Benchmark of evaluation throughput. The same evaluation is repeated,
+	 * first re-reading the game, level and sprite images from disk every time
+	 * (as was always done before VGDLCache), then with the cache.
+	 * 
+	 * @param args Any additional parameters, such as gvgaiGame or gvgaiPlayer
+	 */
+	public static void main(String[] args) {
+		final int EVALUATIONS = 10;
+		String[] defaults = new String[] { "io:false", "netio:false", "gvgaiScore:true",
+				"task:edu.utexas.cs.nn.tasks.gvgai.GVGAISinglePlayerTask" };
+		String[] parameters = new String[defaults.length + args.length];
+		System.arraycopy(defaults, 0, parameters, 0, defaults.length);
+		System.arraycopy(args, 0, parameters, defaults.length, args.length);
+		Parameters.initializeParameterCollections(parameters);
+		MMNEAT.loadClasses();
+		@SuppressWarnings("unchecked")
+		GVGAISinglePlayerTask<TWEANN> task = (GVGAISinglePlayerTask<TWEANN>) MMNEAT.task;
+		TWEANNGenotype individual = new TWEANNGenotype(task.sensorLabels().length, task.outputLabels().length, 0);
+		task.oneEval(individual, 0); // Untimed, so that both measurements run compiled code
+		for (int cached = 0; cached < 2; cached++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < EVALUATIONS; i++) {
+				if (cached == 0) {
+					VGDLCache.clear();
+				}
+				RandomNumbers.reset(i); // Both passes play the same games
+				task.oneEval(individual, i);
+			}
+			double seconds = (System.nanoTime() - start) / 1000000000.0;
+			System.out.println((cached == 0 ? "Uncached: " : "Cached: ") + (EVALUATIONS / seconds) + " evaluations per second");
+		}
+	}
+}
@@ -14,22 +14,26 @@ import gvgai.tools.ElapsedCpuTimer;
 
 public class GVGAITreeSearchNNPlayer<T extends Network> extends AbstractPlayer {
 	
-	public static Network network;
+	private T network;
 	public static final double BIAS = 1.0;
 	
-	private static int depth; // Used to keep track of how far down the Tree to check
+	private int depth; // Used to keep track of how far down the Tree to check
 	protected static final double ALPHA = Double.NEGATIVE_INFINITY; // Holds the Starting Value for Alpha
 	protected static final double BETA = Double.POSITIVE_INFINITY; // Holds the Starting Value for Beta
 	protected boolean prune;
 	
 	Random random = RandomNumbers.randomGenerator;
 	
-	public GVGAITreeSearchNNPlayer(){
-		depth = Parameters.parameters.integerParameter("minimaxSearchDepth");
-		prune = true;
-	}
-	
-	public GVGAITreeSearchNNPlayer(StateObservation stateObs, ElapsedCpuTimer elapsedTimer){
+	/**
+	 * Creates a player that searches minimaxSearchDepth actions ahead with
+	 * alpha-beta pruning.
+	 * 
+	 * @param network Network that evaluates the leaves of the search tree
+	 * @param stateObs Initial state of the game
+	 * @param elapsedTimer Timer for the player creation
+	 */
+	public GVGAITreeSearchNNPlayer(T network, StateObservation stateObs, ElapsedCpuTimer elapsedTimer){
+		this.network = network;
 		depth = Parameters.parameters.integerParameter("minimaxSearchDepth");
 		prune = true;
 	}
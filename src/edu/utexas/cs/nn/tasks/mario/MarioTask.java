@@ -4,7 +4,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 import ch.idsia.ai.agents.Agent;
+import ch.idsia.mario.engine.level.LevelCache;
 import ch.idsia.mario.engine.sprites.Mario;
+import ch.idsia.mario.simulation.HeadlessSimulator;
+import ch.idsia.mario.simulation.SimulationOptions;
 import ch.idsia.tools.CmdLineOptions;
 import ch.idsia.tools.EvaluationInfo;
 import ch.idsia.tools.EvaluationOptions;
@@ -13,6 +16,7 @@ import edu.utexas.cs.nn.MMNEAT.MMNEAT;
 import edu.utexas.cs.nn.evolution.EvolutionaryHistory;
 import edu.utexas.cs.nn.evolution.genotypes.Genotype;
 import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype;
+import edu.utexas.cs.nn.log.MMNEATLog;
 import edu.utexas.cs.nn.networks.Network;
 import edu.utexas.cs.nn.networks.NetworkTask;
 import edu.utexas.cs.nn.networks.TWEANN;
@@ -20,6 +24,7 @@ import edu.utexas.cs.nn.networks.hyperneat.HyperNEATTask;
 import edu.utexas.cs.nn.networks.hyperneat.Substrate;
 import edu.utexas.cs.nn.parameters.CommonConstants;
 import edu.utexas.cs.nn.parameters.Parameters;
+import edu.utexas.cs.nn.scores.Score;
 import edu.utexas.cs.nn.tasks.NoisyLonerTask;
 import edu.utexas.cs.nn.util.datastructures.Pair;
 import edu.utexas.cs.nn.util.datastructures.Triple;
@@ -28,6 +33,12 @@ import edu.utexas.cs.nn.util.random.RandomNumbers;
 public class MarioTask<T extends Network> extends NoisyLonerTask<T>implements NetworkTask, HyperNEATTask {
 
 	private EvaluationOptions options;
+	// Options of levels played without watching. Each evaluation plays a copy,
+	// so evaluations can run in parallel.
+	private SimulationOptions headlessOptions;
+	// Levels generated so far, shared by all evaluations. Null when levels are always generated.
+	private LevelCache levelCache = null;
+	private MMNEATLog levelCacheLog = null;
 	public static final int MARIO_OUTPUTS = 5; //need to find a way to make sure this isn't hardcoded
 
 	public MarioTask(){
@@ -36,6 +47,14 @@ public class MarioTask<T extends Network> extends NoisyLonerTask<T>implements Ne
         options.setMaxFPS(!CommonConstants.watch); // Run fast when not watching
         options.setVisualization(CommonConstants.watch);
         options.setTimeLimit(Parameters.parameters.integerParameter("marioTimeLimit"));
+        headlessOptions = options.getSimulationOptionsCopy();
+        int cacheSize = Parameters.parameters.integerParameter("marioLevelCacheSize");
+        if(cacheSize > 0) {
+        	levelCache = new LevelCache(cacheSize);
+        	if(Parameters.parameters.booleanParameter("io")) {
+        		levelCacheLog = new MMNEATLog("LevelCache", false, true);
+        	}
+        }
         MMNEAT.registerFitnessFunction("Progress");
         
         if(Parameters.parameters.booleanParameter("moMario")){
@@ -43,6 +62,27 @@ public class MarioTask<T extends Network> extends NoisyLonerTask<T>implements Ne
         }
 	}
 	
+	/**
+	 * Evaluates the population, then reports how many of the levels played
+	 * this generation were copied from the level cache instead of generated.
+	 */
+	@Override
+	public ArrayList<Score<T>> evaluateAll(ArrayList<Genotype<T>> population) {
+		ArrayList<Score<T>> scores = super.evaluateAll(population);
+		if(levelCache != null) {
+			int[] stats = levelCache.takeStatistics();
+			int total = stats[0] + stats[1];
+			double hitRate = total == 0 ? 0 : stats[0] / (double) total;
+			if(levelCacheLog != null) {
+				levelCacheLog.log((MMNEAT.ea == null ? 0 : MMNEAT.ea.currentGeneration()) + "\t" + stats[0] + "\t" + stats[1] + "\t" + hitRate + "\t" + levelCache.size());
+			}
+			if(Parameters.parameters.booleanParameter("printFitness")) {
+				System.out.println("Level cache: hits = " + stats[0] + ", misses = " + stats[1] + ", hit rate = " + hitRate);
+			}
+		}
+		return scores;
+	}
+
 	/**
 	 * @returns number of objectives that the controller is being evaluated on,
 	 * 			always at least 1: progress, but sometimes 2: progress and time
@@ -101,13 +141,25 @@ public class MarioTask<T extends Network> extends NoisyLonerTask<T>implements Ne
 		Pair<double[], double[]> evalResults;
 		double distanceTravelled = 0;
 		double timeSpent = 0;
-		options.setAgent(new NNMarioAgent<T>(individual));
+		int levelSeed;
 		if(Parameters.parameters.booleanParameter("deterministic"))
-			options.setLevelRandSeed(num); //generates from the same seeds for every individual.
+			levelSeed = num; //generates from the same seeds for every individual.
 		else
-			options.setLevelRandSeed(RandomNumbers.randomGenerator.nextInt(Integer.MAX_VALUE));
-		Evaluator evaluator = new Evaluator(options);
-		List<EvaluationInfo> results = evaluator.evaluate();
+			levelSeed = RandomNumbers.randomGenerator.nextInt(Integer.MAX_VALUE);
+		List<EvaluationInfo> results;
+		if(options.isVisualization()) {
+			options.setAgent(new NNMarioAgent<T>(individual));
+			options.setLevelRandSeed(levelSeed);
+			Evaluator evaluator = new Evaluator(options);
+			results = evaluator.evaluate();
+		} else {
+			// Played on this thread, without drawing or waiting between frames
+			SimulationOptions levelOptions = headlessOptions.getSimulationOptionsCopy();
+			levelOptions.setAgent(new NNMarioAgent<T>(individual));
+			levelOptions.setLevelRandSeed(levelSeed);
+			results = new ArrayList<EvaluationInfo>();
+			results.add(new HeadlessSimulator(levelOptions, levelCache).simulateOneLevel());
+		}
 		
 		for (EvaluationInfo result : results) {
 			distanceTravelled += result.computeDistancePassed();
@@ -131,6 +183,7 @@ public class MarioTask<T extends Network> extends NoisyLonerTask<T>implements Ne
 	 */
     public void setOptions(EvaluationOptions options) {
         this.options = options;
+        this.headlessOptions = options.getSimulationOptionsCopy();
     }
 
     /**
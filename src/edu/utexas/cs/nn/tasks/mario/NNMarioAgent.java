@@ -19,15 +19,16 @@ public class NNMarioAgent<T extends Network> extends Organism<T> implements Agen
     static final int SUB_DOWN = 4;
     static final int SUB_JUMP = 7;
     static final int SUB_SPEED = 6;
-    static int jumpCount = 0;
-    static int stuckCount = 0;
-    static int xPrev = 0;
-    static int xStart;
-    static int yStart;
-    static int width;
-    static int height;
-    static int xEnd;
-    static int yEnd;
+    // Each agent plays its own game, so several agents can play at once
+    int jumpCount = 0;
+    int stuckCount = 0;
+    int xPrev = 0;
+    int xStart;
+    int yStart;
+    int width;
+    int height;
+    int xEnd;
+    int yEnd;
     
     
 	public NNMarioAgent(Genotype<T> genotype) {
@@ -42,11 +43,14 @@ public class NNMarioAgent<T extends Network> extends Organism<T> implements Agen
 	}
 
 	/**
-	 * Resets the network (Phenotype) of the agent
+	 * Resets the network (Phenotype) and the stuck and jump counters of the agent
 	 */
 	@Override
 	public void reset() {
 		n.flush();
+		jumpCount = 0;
+		stuckCount = 0;
+		xPrev = 0;
 	}
 
 	@Override
@@ -0,0 +1,192 @@
+package edu.utexas.cs.nn.tasks.microrts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.utexas.cs.nn.evolution.genotypes.Genotype;
+import edu.utexas.cs.nn.networks.Network;
+import edu.utexas.cs.nn.parameters.CommonConstants;
+import edu.utexas.cs.nn.parameters.Parameters;
+import edu.utexas.cs.nn.tasks.NoisyLonerTask;
+import edu.utexas.cs.nn.tasks.microrts.evaluation.NNEvaluationFunction;
+import edu.utexas.cs.nn.tasks.microrts.fitness.RTSFitnessFunction;
+import edu.utexas.cs.nn.util.ClassCreation;
+import edu.utexas.cs.nn.util.datastructures.Pair;
+import micro.ai.HasEvaluationFunction;
+import micro.ai.core.AI;
+import micro.gui.PhysicalGameStateJFrame;
+import micro.gui.PhysicalGameStatePanel;
+import micro.rts.GameState;
+import micro.rts.PhysicalGameState;
+import micro.rts.units.UnitTypeTable;
+
+/**
+ * Everything that changes while MicroRTSTask evaluates one genotype: the game
+ * being played, the AIs playing it, the evaluation function holding the network,
+ * and the data the fitness function collects during the game. Each evaluation
+ * gets its own instance, so several genotypes can be evaluated at once.
+ *
+ * The map and the enemies are given by the task, which only changes them
+ * between generations. They are never modified here: the map is cloned before
+ * each game, and each enemy is cloned before it plays.
+ *
+ * @param <T> NN
+ */
+public class MicroRTSEvaluation<T extends Network> implements MicroRTSInformation {
+
+	private final UnitTypeTable utt;
+	private final PhysicalGameState initialPgs;
+	private PhysicalGameState pgs;
+	private GameState gs = null;
+
+	private double averageUnitDifference;
+	private int baseUpTime;
+	private int harvestingEfficiencyIndex;
+	private double percentEnemiesDestroyed;
+
+	private NNEvaluationFunction<T> ef;
+	private NNEvaluationFunction<T> ef2 = null;
+	private RTSFitnessFunction ff;
+	private HasEvaluationFunction ai1;
+
+	/**
+	 * @param utt unit types of the map
+	 * @param initialPgs map at the start of each game, which is not changed
+	 * @param progress fitness function of the task, which knows how often maps
+	 * 			and enemies have switched so far
+	 */
+	@SuppressWarnings("unchecked")
+	public MicroRTSEvaluation(UnitTypeTable utt, PhysicalGameState initialPgs, RTSFitnessFunction progress) {
+		this.utt = utt;
+		this.initialPgs = initialPgs;
+		try {
+			ef = (NNEvaluationFunction<T>) ClassCreation.createObject(Parameters.parameters.classParameter("microRTSEvaluationFunction"));
+			if(Parameters.parameters.classParameter("microRTSOpponentEvaluationFunction") != null)
+				ef2 = (NNEvaluationFunction<T>) ClassCreation.createObject(Parameters.parameters.classParameter("microRTSOpponentEvaluationFunction"));
+			ff = (RTSFitnessFunction) ClassCreation.createObject(Parameters.parameters.classParameter("microRTSFitnessFunction"));
+			ai1 = (HasEvaluationFunction) ClassCreation.createObject(Parameters.parameters.classParameter("microRTSAgent"));
+		} catch (NoSuchMethodException e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+		ef.setCoevolution(false);
+		ff.setCoevolution(false);
+		ff.copySwitches(progress);
+		ff.setMaxCycles(5000);
+		ff.giveTask(this);
+		ai1.setEvaluationFunction(ef);
+	}
+
+	/**
+	 * Plays one game against each enemy.
+	 *
+	 * @param individual genotype to be evaluated
+	 * @param enemies opponents shared by all evaluations of the generation,
+	 * 			or null to play against a new microRTSOpponent
+	 * @return fitness and other scores averaged across the games
+	 */
+	public Pair<double[], double[]> evaluate(Genotype<T> individual, List<AI> enemies) {
+		if(enemies == null) { // single opponent
+			enemies = new ArrayList<AI>(1);
+			try {
+				AI opponent = (AI) ClassCreation.createObject(Parameters.parameters.classParameter("microRTSOpponent"));
+				if(ef2 != null)
+					((HasEvaluationFunction) opponent).setEvaluationFunction(ef2);
+				enemies.add(opponent);
+			} catch (NoSuchMethodException e) {
+				e.printStackTrace();
+				System.exit(1);
+			}
+		} else { // The shared enemies keep whatever state they had; each game needs its own
+			List<AI> clones = new ArrayList<AI>(enemies.size());
+			for(AI enemy : enemies) {
+				clones.add(enemy.clone());
+			}
+			enemies = clones;
+		}
+		assert enemies.size() > 0 : "enemy set doesnt contain anything";
+		ef.setNetwork(individual);
+
+		double[][] fitnesses = new double[enemies.size()][ff.getFunctions().length];
+		double[][] others 	 = new double[enemies.size()][ff.getOtherScores().length];
+		for(int i = 0; i < enemies.size(); i++){ //perform one evaluation for every enemy in the set
+			reset();
+			gs = new GameState(pgs, utt);
+			PhysicalGameStateJFrame w = null;
+			if(CommonConstants.watch){
+				w = PhysicalGameStatePanel.newVisualizer(gs,MicroRTSUtility.WINDOW_LENGTH,MicroRTSUtility.WINDOW_LENGTH,false,PhysicalGameStatePanel.COLORSCHEME_BLACK);
+				System.out.println("Current Enemy: "+ enemies.get(i).getClass().getName());
+			}
+			ArrayList<Pair<double[], double[]>> currentEval = MicroRTSUtility.oneEval((AI) ai1, enemies.get(i), this, ff, w);
+			ff.setNumEvals(ef.getNumEvals());
+			if(CommonConstants.watch){
+				System.out.println("Evaluation cache hits: " + ef.getNumCacheHits() + ", misses: " + ef.getNumCacheMisses());
+			}
+			fitnesses[i] = currentEval.get(0).t1;
+			others[i] 	 = currentEval.get(0).t2;
+		}
+		return NoisyLonerTask.averageResults(fitnesses,others);
+	}
+
+	/**
+	 * resets the conditions of the game to be how they are supposed
+	 * to be at the beginning of a game
+	 */
+	private void reset(){
+		averageUnitDifference = 0;
+		baseUpTime = 0;
+		harvestingEfficiencyIndex = 0;
+		percentEnemiesDestroyed = 0;
+		// Clone the initial game state; start from beginning
+		pgs = initialPgs.cloneIncludingTerrain();
+		ef.givePhysicalGameState(pgs);
+		if(ef2 != null)
+			ef2.givePhysicalGameState(pgs);
+		ff.givePhysicalGameState(pgs);
+	}
+
+	@Override
+	public int getBaseUpTime(int player){
+		if(player == 1)return baseUpTime;
+		else throw new IllegalArgumentException("MicroRTSTask is not equipped to record results for > 1 player");
+	}
+	@Override
+	public void setBaseUpTime(int but, int player) {
+		if(player == 1)baseUpTime = but;
+		else throw new IllegalArgumentException("MicroRTSTask is not equipped to record results for > 1 player");
+	}
+	@Override
+	public int getHarvestingEfficiency(int player){
+		if(player == 1) return harvestingEfficiencyIndex;
+		else throw new IllegalArgumentException("MicroRTSTask is not equipped to record results for > 1 player");
+	}
+	@Override
+	public void setHarvestingEfficiency(int hei, int player) {
+		if(player == 1) harvestingEfficiencyIndex = hei;
+		else throw new IllegalArgumentException("MicroRTSTask is not equipped to record results for > 1 player");
+	}
+	@Override
+	public double getPercentEnemiesDestroyed(int player) {
+		if(player == 1) return percentEnemiesDestroyed;
+		else throw new IllegalArgumentException("MicroRTSTask is not equipped to record results for > 1 player");
+	}
+	@Override
+	public void setPercentEnemiesDestroyed(double enemies, int player) {
+		if(player == 1) percentEnemiesDestroyed = enemies;
+		else throw new IllegalArgumentException("MicroRTSTask is not equipped to record results for > 1 player");
+	}
+	@Override
+	public UnitTypeTable getUnitTypeTable() {return utt;}
+	@Override
+	public GameState getGameState() {return gs;}
+	@Override
+	public PhysicalGameState getPhysicalGameState() {return pgs;}
+	@Override
+	public double getAverageUnitDifference(){return averageUnitDifference;}
+	@Override
+	public void setAvgUnitDiff(double diff) {averageUnitDifference = diff;}
+	@Override
+	public int getNumInputSubstrates() {
+		return ef.getNumInputSubstrates();
+	}
+}
@@ -2,6 +2,7 @@ package edu.utexas.cs.nn.tasks.microrts;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.jdom.JDOMException;
@@ -12,7 +13,6 @@ import edu.utexas.cs.nn.networks.Network;
 import edu.utexas.cs.nn.networks.NetworkTask;
 import edu.utexas.cs.nn.networks.hyperneat.HyperNEATTask;
 import edu.utexas.cs.nn.networks.hyperneat.Substrate;
-import edu.utexas.cs.nn.parameters.CommonConstants;
 import edu.utexas.cs.nn.parameters.Parameters;
 import edu.utexas.cs.nn.tasks.NoisyLonerTask;
 import edu.utexas.cs.nn.tasks.microrts.evaluation.NNEvaluationFunction;
@@ -22,10 +22,7 @@ import edu.utexas.cs.nn.tasks.microrts.iterativeevolution.MapSequence;
 import edu.utexas.cs.nn.util.ClassCreation;
 import edu.utexas.cs.nn.util.datastructures.Pair;
 import edu.utexas.cs.nn.util.datastructures.Triple;
-import micro.ai.HasEvaluationFunction;
 import micro.ai.core.AI;
-import micro.gui.PhysicalGameStateJFrame;
-import micro.gui.PhysicalGameStatePanel;
 import micro.rts.GameState;
 import micro.rts.PhysicalGameState;
 import micro.rts.units.Unit;
@@ -42,43 +39,31 @@ import micro.rts.units.UnitTypeTable;
  */
 public class MicroRTSTask<T extends Network> extends NoisyLonerTask<T> implements NetworkTask, HyperNEATTask, MicroRTSInformation{
 
-	private PhysicalGameState pgs;
-	private PhysicalGameState initialPgs;
+	// Shared by all evaluations of a generation, and only changed between generations
+	private volatile PhysicalGameState initialPgs;
+	private volatile List<AI> enemySet = null;
 	private UnitTypeTable utt;
-	private PhysicalGameStateJFrame w = null;
-	private GameState gs;
 	private String mapName;
-	private boolean AiInitialized = false;
 	private MapSequence maps = null;
 	private EnemySequence enemySequencePlan = null;
-	private ArrayList<AI> enemySet;
-
-	private double averageUnitDifference;
-	private int baseUpTime;
-	private int harvestingEfficiencyIndex;
-	private double percentEnemiesDestroyed;
+	private int preparedGeneration = -1;
+	// Evaluation that started most recently, for what is displayed about the current game
+	private volatile MicroRTSEvaluation<T> lastEvaluation = null;
 
 	NNEvaluationFunction<T> ef;
-	NNEvaluationFunction<T> ef2;
+	// Only informed of map and enemy switches. Evaluations use their own copies.
 	RTSFitnessFunction ff;
 
-	HasEvaluationFunction ai1 = null;
-	AI ai2 = null;
-
 	@SuppressWarnings("unchecked")
 	public MicroRTSTask() {
 		utt = new UnitTypeTable();
 		try {
 			ef = (NNEvaluationFunction<T>) ClassCreation.createObject(Parameters.parameters.classParameter("microRTSEvaluationFunction"));
-			if(Parameters.parameters.classParameter("microRTSOpponentEvaluationFunction") != null)
-				ef2 = (NNEvaluationFunction<T>) ClassCreation.createObject(Parameters.parameters.classParameter("microRTSOpponentEvaluationFunction"));
 			ff = (RTSFitnessFunction) ClassCreation.createObject(Parameters.parameters.classParameter("microRTSFitnessFunction"));
 			initialPgs = PhysicalGameState.load("data/microRTS/maps/" + Parameters.parameters.stringParameter("map"), utt);
-			pgs = initialPgs.cloneIncludingTerrain();
 
 			if(Parameters.parameters.classParameter("microRTSMapSequence") != null)
 				maps = (MapSequence) ClassCreation.createObject(Parameters.parameters.classParameter("microRTSMapSequence")); 
-
 		} catch (JDOMException | IOException | NoSuchMethodException e) { 
 			e.printStackTrace();
 			System.exit(1);
@@ -92,13 +77,10 @@ public class MicroRTSTask<T extends Network> extends NoisyLonerTask<T> implement
 			MMNEAT.registerFitnessFunction(other, false);
 		}
 
-		ef.givePhysicalGameState(pgs);
-		if(ef2 != null)
-			ef2.givePhysicalGameState(pgs);
-		ff.givePhysicalGameState(pgs);
+		ef.givePhysicalGameState(initialPgs);
+		ff.givePhysicalGameState(initialPgs);
 		ff.setMaxCycles(5000);
 		ff.giveTask(this);
-		gs = new GameState(pgs, utt);
 	}
 
 	@Override
@@ -114,6 +96,7 @@ public class MicroRTSTask<T extends Network> extends NoisyLonerTask<T> implement
 
 	@Override
 	public double getTimeStamp() {
+		GameState gs = getGameState();
 		return gs == null ? 0 : gs.getTime();
 	}
 
@@ -169,33 +152,51 @@ public class MicroRTSTask<T extends Network> extends NoisyLonerTask<T> implement
 	 * below executes.
 	 */
 	public void preEval() {
-		if(enemySequencePlan == null){
+		prepareGeneration(MMNEAT.ea.currentGeneration());
+	}
+
+	/**
+	 * Chooses the map and enemies of a generation. Only the first evaluation
+	 * of each generation does anything; evaluations running at the same time
+	 * wait until it is done, and then all share the same map and enemies.
+	 * @param generation current generation
+	 */
+	private synchronized void prepareGeneration(int generation) {
+		if(generation == preparedGeneration) return;
+		preparedGeneration = generation;
+		// Enemies may need the task, so they are created once it exists
+		if(enemySequencePlan == null && Parameters.parameters.classParameter("microRTSEnemySequence") != null){
 			try {
 				enemySequencePlan = (EnemySequence) ClassCreation.createObject(Parameters.parameters.classParameter("microRTSEnemySequence"));
-			} 
-			catch (NoSuchMethodException e1) { e1.printStackTrace(); System.exit(1); }
-			catch (NullPointerException e){} //enemies will not change over time, this is fine.
+			} catch (NoSuchMethodException e) { e.printStackTrace(); System.exit(1); }
 		}
 		if(maps != null){
-			String newMapName = maps.getAppropriateMap(MMNEAT.ea.currentGeneration());
+			String newMapName = maps.getAppropriateMap(generation);
 			if (!newMapName.equals(mapName)){ // Change the map
 				System.out.println("loading new map: " + newMapName);
 				try {
 					// The new map is in the new initial game state
-					initialPgs = PhysicalGameState.load("data/microRTS/maps/" + newMapName, utt);
+					PhysicalGameState newPgs = PhysicalGameState.load("data/microRTS/maps/" + newMapName, utt);
 
-					assert !initialPgs.getUnits().isEmpty(): "initial pgs has no units after map load";
+					assert !newPgs.getUnits().isEmpty(): "initial pgs has no units after map load";
 
-					assert (unitsExist(0, initialPgs)): "player 0 does not have any units to start";
-					assert (unitsExist(1, initialPgs)): "player 1 does not have any units to start";
+					assert (unitsExist(0, newPgs)): "player 0 does not have any units to start";
+					assert (unitsExist(1, newPgs)): "player 1 does not have any units to start";
 
+					initialPgs = newPgs;
 					mapName = newMapName;
 				} catch (JDOMException | IOException e) {
 					e.printStackTrace(); System.exit(1);
 				}
 				ff.informOfMapSwitch();
+				ef.givePhysicalGameState(initialPgs);
+				ff.givePhysicalGameState(initialPgs);
 			}
 		}
+		if(enemySequencePlan != null){ //growing sets of opponents
+			// Copied, since a growing set keeps changing in later generations
+			enemySet = Collections.unmodifiableList(new ArrayList<AI>(enemySequencePlan.getAppropriateEnemySet(generation, ff)));
+		}
 	}
 
 	private boolean unitsExist(int player, PhysicalGameState pgs){
@@ -228,126 +229,55 @@ public class MicroRTSTask<T extends Network> extends NoisyLonerTask<T> implement
 	 */
 	@Override
 	public Pair<double[], double[]> oneEval(Genotype<T> individual, int num) {
-		if(!AiInitialized)
-			initializeAI();
-		else{
-			ef.givePhysicalGameState(initialPgs);
-			if(ef2 != null)
-				ef2.givePhysicalGameState(initialPgs);
-		}
-		if(enemySequencePlan!=null){ //growing sets of opponents
-			ArrayList<AI> potentialNewEnemySet = enemySequencePlan.getAppropriateEnemySet(MMNEAT.ea.currentGeneration(), ff);
-			if(enemySet == null){
-				enemySet = potentialNewEnemySet;
-			}
-		} else { //single opponent
-			enemySet = new ArrayList<>(1); // will only contain the following enemy:
-			enemySet.add(ai2);
-		}
-		ef.setNetwork(individual);
-
-		double[][] fitnesses = new double[enemySet.size()][numObjectives()];
-		double[][] others 	 = new double[enemySet.size()][numOtherScores()];
-
-		assert enemySet.size() > 0 : "enemy set doesnt contain anything";
-
-		for(int i = 0; i < enemySet.size(); i++){ //perform one evaluation for every enemy in the set
-			reset();
-			assert (unitsExist(0, pgs)): "player 0 does not have any units to start";
-			assert (unitsExist(1, pgs)): "player 1 does not have any units to start";
-			gs = new GameState(pgs, utt);
-			if(CommonConstants.watch){
-				w = PhysicalGameStatePanel.newVisualizer(gs,MicroRTSUtility.WINDOW_LENGTH,MicroRTSUtility.WINDOW_LENGTH,false,PhysicalGameStatePanel.COLORSCHEME_BLACK);
-			}
-
-			ai2 = enemySet.get(i);
-			if(CommonConstants.watch){
-				System.out.println("Current Enemy: "+ ai2.getClass().getName());
-			}
-			ArrayList<Pair<double[], double[]>> currentEval = MicroRTSUtility.oneEval((AI) ai1, ai2, this, ff, w);
-			ff.setNumEvals(ef.getNumEvals());
-			fitnesses[i] = currentEval.get(0).t1;
-			others[i] 	 = currentEval.get(0).t2;
-		}
-
-		Pair<double[], double[]> averageResults = NoisyLonerTask.averageResults(fitnesses,others);
-		return averageResults;
+		MicroRTSEvaluation<T> evaluation = new MicroRTSEvaluation<T>(utt, initialPgs, ff);
+		lastEvaluation = evaluation;
+		return evaluation.evaluate(individual, enemySet);
 	}
 
-	/**
-	 * resets the conditions of the game to be how they are supposed
-	 * to be at the beginning of an evaluation
-	 */
-	private void reset(){
-		utt = new UnitTypeTable();
-		averageUnitDifference = 0;
-		baseUpTime = 0;
-		harvestingEfficiencyIndex = 0;
-		// Clone the initial game state; start from beginning
-		pgs = initialPgs.cloneIncludingTerrain();
-		ef.givePhysicalGameState(pgs);
-	}
-	/**
-	 *initializes ai (only called once for efficiency in this oneEval) 
-	 * @return 
+	/*
+	 * The data of a game belongs to the evaluation playing it. The task
+	 * reports on the evaluation that started most recently.
 	 */
-	private void initializeAI() {
-		try {
-			ai1 = (HasEvaluationFunction) ClassCreation.createObject(Parameters.parameters.classParameter("microRTSAgent"));
-			if(Parameters.parameters.classParameter("microRTSEnemySequence") == null)
-				ai2 = (AI) ClassCreation.createObject(Parameters.parameters.classParameter("microRTSOpponent"));
-		} catch (NoSuchMethodException e2) {
-			e2.printStackTrace();
-			System.exit(1);
-		}
-		ai1.setEvaluationFunction(ef);
-		if(Parameters.parameters.classParameter("microRTSOpponentEvaluationFunction")!= null)
-			((HasEvaluationFunction) ai2).setEvaluationFunction(ef2);
-		AiInitialized = true;
-	}
-
 	@Override
 	public int getBaseUpTime(int player){
-		if(player == 1)return baseUpTime;
-		else throw new IllegalArgumentException("MicroRTSTask is not equipped to record results for > 1 player");
+		return lastEvaluation.getBaseUpTime(player);
 	}
 	@Override
 	public void setBaseUpTime(int but, int player) {
-		if(player == 1)baseUpTime = but;
-		else throw new IllegalArgumentException("MicroRTSTask is not equipped to record results for > 1 player");
-
+		lastEvaluation.setBaseUpTime(but, player);
 	}
 	@Override
 	public int getHarvestingEfficiency(int player){
-		if(player == 1) return harvestingEfficiencyIndex;
-		else throw new IllegalArgumentException("MicroRTSTask is not equipped to record results for > 1 player");
+		return lastEvaluation.getHarvestingEfficiency(player);
 	}
 	@Override
 	public void setHarvestingEfficiency(int hei, int player) {
-		if(player == 1) harvestingEfficiencyIndex = hei;
-		else throw new IllegalArgumentException("MicroRTSTask is not equipped to record results for > 1 player");
+		lastEvaluation.setHarvestingEfficiency(hei, player);
 	}
 	@Override
 	public double getPercentEnemiesDestroyed(int player) {
-		if(player == 1) return percentEnemiesDestroyed;
-		else throw new IllegalArgumentException("MicroRTSTask is not equipped to record results for > 1 player");
+		return lastEvaluation.getPercentEnemiesDestroyed(player);
 	}
-
 	@Override
 	public void setPercentEnemiesDestroyed(double enemies, int player) {
-		if(player == 1) percentEnemiesDestroyed = enemies;
-		else throw new IllegalArgumentException("MicroRTSTask is not equipped to record results for > 1 player");
+		lastEvaluation.setPercentEnemiesDestroyed(enemies, player);
 	}
 	@Override
 	public UnitTypeTable getUnitTypeTable() {return utt;}
 	@Override
-	public GameState getGameState() {return gs;}
+	public GameState getGameState() {
+		MicroRTSEvaluation<T> evaluation = lastEvaluation;
+		return evaluation == null ? null : evaluation.getGameState();
+	}
 	@Override
-	public PhysicalGameState getPhysicalGameState() {return pgs;}
+	public PhysicalGameState getPhysicalGameState() {
+		MicroRTSEvaluation<T> evaluation = lastEvaluation;
+		return evaluation == null ? initialPgs : evaluation.getPhysicalGameState();
+	}
 	@Override
-	public double getAverageUnitDifference(){return averageUnitDifference;}
+	public double getAverageUnitDifference(){return lastEvaluation.getAverageUnitDifference();}
 	@Override
-	public void setAvgUnitDiff(double diff) {averageUnitDifference = diff;}
+	public void setAvgUnitDiff(double diff) {lastEvaluation.setAvgUnitDiff(diff);}
 
 	@Override
 	public int getNumInputSubstrates() {
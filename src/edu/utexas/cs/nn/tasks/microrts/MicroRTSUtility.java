@@ -36,9 +36,6 @@ public class MicroRTSUtility {
 	public static final int WINDOW_LENGTH = 640;
 	private static boolean prog = Parameters.parameters.classParameter("microRTSFitnessFunction").equals(ProgressiveFitnessFunction.class) 
 							   || Parameters.parameters.classParameter("microRTSFitnessFunction").equals(WinLossFitnessFunction.class);
-	private static boolean coevolution;
-	
-	private static MicroRTSInformation task;
 	private static boolean stepByStep = Parameters.parameters.booleanParameter("stepByStep");
 
 	public static <T> ArrayList<Pair<double[], double[]>> oneEval(AI ai1, AI ai2, MicroRTSInformation mrtsInfo, RTSFitnessFunction ff, PhysicalGameStateJFrame w) {		
@@ -51,8 +48,8 @@ public class MicroRTSUtility {
 		boolean[] baseAlive = new boolean[ais.length]; // default to false
 		int unitDifferenceNow = 0;
 		
-		task = mrtsInfo;
-		coevolution = ff.getCoevolution();
+		MicroRTSInformation task = mrtsInfo;
+		boolean coevolution = ff.getCoevolution();
 		GameState gs = task.getGameState();
 		PhysicalGameState pgs = gs.getPhysicalGameState(); //task.getPhysicalGameState();
 		boolean gameover = false;
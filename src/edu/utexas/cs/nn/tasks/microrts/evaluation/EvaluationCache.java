@@ -0,0 +1,144 @@
+package edu.utexas.cs.nn.tasks.microrts.evaluation;
+
+import java.util.Arrays;
+
+import micro.rts.GameState;
+import micro.rts.PhysicalGameState;
+import micro.rts.Player;
+import micro.rts.units.Unit;
+
+/**
+ * Transposition table of network outputs for game states. Search algorithms
+ * reach the same state through different sequences of actions, and every visit
+ * would otherwise build the network inputs and process them again.
+ *
+ * States are identified by a Zobrist-style hash: each unit and each player's
+ * resources hash to a random-looking 64 bit key, and the keys are combined by
+ * XOR, so the order in which units are stored does not matter. The hash covers
+ * everything the network inputs are built from, except the terrain, which is
+ * assumed not to change while the cache is in use.
+ *
+ * The table has a fixed size and each state can only be stored in one slot,
+ * where it replaces whatever was there before. Not thread safe: each evaluation
+ * function has its own cache.
+ */
+public class EvaluationCache {
+
+	// Distinguish the kinds of values that are hashed
+	private static final long UNIT = 1;
+	private static final long RESOURCES = 2;
+	private static final long SIZE = 3;
+	private static final long PERSPECTIVE = 4;
+	// 0 marks an empty slot, so no key is ever 0
+	private static final long EMPTY = 0;
+
+	private final long[] keys;
+	private final double[] outputs;
+	private final int mask;
+	private int hits = 0;
+	private int misses = 0;
+
+	/**
+	 * @param capacity minimum number of stored outputs, rounded up to a power of 2
+	 */
+	public EvaluationCache(int capacity) {
+		int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+		keys = new long[size];
+		outputs = new double[size];
+		mask = size - 1;
+	}
+
+	/**
+	 * Hash of a game state, as seen by the network inputs.
+	 * @param gs state of the game
+	 * @return hash of the state
+	 */
+	public static long stateHash(GameState gs) {
+		PhysicalGameState pgs = gs.getPhysicalGameState();
+		long hash = mix(SIZE, pgs.getWidth() * 4096L + pgs.getHeight());
+		for(Unit u : pgs.getUnits()) {
+			long unit = u.getPlayer() + 1; // -1 for resources
+			unit = unit * 256 + u.getType().ID;
+			unit = unit * 4096 + u.getX();
+			unit = unit * 4096 + u.getY();
+			unit = unit * 4096 + u.getHitPoints();
+			unit = unit * 65536 + u.getResources();
+			hash ^= mix(UNIT, unit);
+		}
+		for(Player p : pgs.getPlayers()) {
+			hash ^= mix(RESOURCES, p.getID() * 65536L + p.getResources());
+		}
+		return hash;
+	}
+
+	/**
+	 * Key of a state evaluated from the perspective of one player.
+	 * @param stateHash result of stateHash
+	 * @param player player whose inputs are built
+	 * @return key used to store and look up the output
+	 */
+	public static long key(long stateHash, int player) {
+		long key = stateHash ^ mix(PERSPECTIVE, player);
+		return key == EMPTY ? 1 : key;
+	}
+
+	/**
+	 * splitmix64 finalizer, applied to a value of a given kind
+	 */
+	private static long mix(long kind, long value) {
+		long z = value + kind * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * @param key result of key
+	 * @return true if the output for key is stored. Counts a hit or a miss.
+	 */
+	public boolean contains(long key) {
+		if(keys[(int) key & mask] == key) {
+			hits++;
+			return true;
+		} else {
+			misses++;
+			return false;
+		}
+	}
+
+	/**
+	 * @param key key that the cache contains
+	 * @return output stored for key
+	 */
+	public double get(long key) {
+		return outputs[(int) key & mask];
+	}
+
+	/**
+	 * Stores an output, replacing any other output in the same slot
+	 * @param key result of key
+	 * @param output network output for that state and player
+	 */
+	public void put(long key, double output) {
+		int index = (int) key & mask;
+		keys[index] = key;
+		outputs[index] = output;
+	}
+
+	/**
+	 * Forgets all outputs and resets the counts, for a new network
+	 */
+	public void clear() {
+		Arrays.fill(keys, EMPTY);
+		hits = 0;
+		misses = 0;
+	}
+
+	public int getHits() {
+		return hits;
+	}
+
+	public int getMisses() {
+		return misses;
+	}
+}
@@ -0,0 +1,140 @@
+package edu.utexas.cs.nn.tasks.microrts.evaluation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import edu.utexas.cs.nn.evolution.EvolutionaryHistory;
+import edu.utexas.cs.nn.evolution.genotypes.MLPGenotype;
+import edu.utexas.cs.nn.evolution.genotypes.TWEANNGenotype;
+import edu.utexas.cs.nn.networks.MLP;
+import edu.utexas.cs.nn.networks.TWEANN;
+import edu.utexas.cs.nn.parameters.Parameters;
+import micro.rts.GameState;
+import micro.rts.PhysicalGameState;
+import micro.rts.Player;
+import micro.rts.units.Unit;
+import micro.rts.units.UnitTypeTable;
+
+/**
+ * JUnit tests for EvaluationCache, and its use by NNEvaluationFunction
+ */
+public class EvaluationCacheTest {
+
+	UnitTypeTable utt = new UnitTypeTable();
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		Parameters.initializeParameterCollections(new String[]{"watch:false","io:false","netio:false","task:edu.utexas.cs.nn.tasks.microrts.MicroRTSTask"});
+	}
+
+	private PhysicalGameState pgs;
+
+	@Before
+	public void setUp() throws Exception {
+		pgs = new PhysicalGameState(4, 4);
+		pgs.addPlayer(new Player(0, 5));
+		pgs.addPlayer(new Player(1, 5));
+		pgs.addUnit(new Unit(0, utt.getUnitType("Base"), 0, 0, 3));
+		pgs.addUnit(new Unit(0, utt.getUnitType("Worker"), 1, 0, 0));
+		pgs.addUnit(new Unit(1, utt.getUnitType("Base"), 3, 3, 3));
+		pgs.addUnit(new Unit(-1, utt.getUnitType("Resource"), 0, 3, 10));
+	}
+
+	/**
+	 * @param units units of the state in the order they are added
+	 * @return state with those units
+	 */
+	private GameState state(Unit... units) {
+		PhysicalGameState state = new PhysicalGameState(4, 4);
+		state.addPlayer(new Player(0, 5));
+		state.addPlayer(new Player(1, 5));
+		for(Unit u : units) {
+			state.addUnit(u);
+		}
+		return new GameState(state, utt);
+	}
+
+	@Test
+	public void testStateHash() {
+		Unit base = new Unit(0, utt.getUnitType("Base"), 0, 0, 3);
+		Unit worker = new Unit(0, utt.getUnitType("Worker"), 1, 0, 0);
+		Unit enemy = new Unit(1, utt.getUnitType("Light"), 3, 3, 0);
+		long hash = EvaluationCache.stateHash(state(base, worker, enemy));
+		// Order of units does not matter
+		assertEquals(hash, EvaluationCache.stateHash(state(enemy, base, worker)));
+		// Anything the network can see does
+		Unit moved = new Unit(0, utt.getUnitType("Worker"), 2, 0, 0);
+		assertFalse(hash == EvaluationCache.stateHash(state(base, moved, enemy)));
+		Unit carrying = new Unit(0, utt.getUnitType("Worker"), 1, 0, 1);
+		assertFalse(hash == EvaluationCache.stateHash(state(base, carrying, enemy)));
+		Unit hurt = new Unit(1, utt.getUnitType("Light"), 3, 3, 0);
+		hurt.setHitPoints(hurt.getHitPoints() - 1);
+		assertFalse(hash == EvaluationCache.stateHash(state(base, worker, hurt)));
+		GameState richer = state(base, worker, enemy);
+		richer.getPlayer(1).setResources(6);
+		assertFalse(hash == EvaluationCache.stateHash(richer));
+		// Each player sees the state differently
+		assertFalse(EvaluationCache.key(hash, 0) == EvaluationCache.key(hash, 1));
+	}
+
+	@Test
+	public void testStorage() {
+		EvaluationCache cache = new EvaluationCache(10);
+		long key = EvaluationCache.key(EvaluationCache.stateHash(new GameState(pgs, utt)), 0);
+		assertFalse(cache.contains(key));
+		cache.put(key, 0.25);
+		assertTrue(cache.contains(key));
+		assertEquals(0.25, cache.get(key), 0);
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		cache.clear();
+		assertEquals(0, cache.getHits());
+		assertEquals(0, cache.getMisses());
+		assertFalse(cache.contains(key));
+	}
+
+	@Test
+	public void testEvaluationFunction() {
+		NNEvaluationFunction<MLP> ef = new NN2DEvaluationFunction<MLP>();
+		ef.setNetwork(new MLPGenotype(16, 5, 1));
+		GameState gs = new GameState(pgs, utt);
+		float first = ef.evaluate(0, 1, gs);
+		assertEquals(0, ef.getNumCacheHits());
+		assertEquals(2, ef.getNumCacheMisses());
+		// Same state, from both perspectives
+		assertEquals(first, ef.evaluate(0, 1, gs), 0);
+		assertEquals(-first, ef.evaluate(1, 0, gs), 0.000001);
+		assertEquals(4, ef.getNumCacheHits());
+		assertEquals(2, ef.getNumCacheMisses());
+		assertEquals(3, ef.getNumEvals());
+		// A new network does not reuse outputs of the old one
+		ef.setNetwork(new MLPGenotype(16, 5, 1));
+		ef.evaluate(0, 1, gs);
+		assertEquals(0, ef.getNumCacheHits());
+		assertEquals(2, ef.getNumCacheMisses());
+	}
+
+	@Test
+	public void testRecurrentNetwork() {
+		NNEvaluationFunction<TWEANN> ef = new NN2DEvaluationFunction<TWEANN>();
+		TWEANNGenotype g = new TWEANNGenotype(16, 1, 0);
+		long output = g.nodes.get(g.nodes.size() - 1).innovation;
+		ef.setNetwork(g);
+		GameState gs = new GameState(pgs, utt);
+		ef.evaluate(0, 1, gs);
+		ef.evaluate(0, 1, gs);
+		assertEquals(2, ef.getNumCacheHits());
+		// The output now also depends on the previous output, so nothing is cached
+		g.addLink(output, output, 1.0, EvolutionaryHistory.nextInnovation());
+		ef.setNetwork(g);
+		ef.evaluate(0, 1, gs);
+		ef.evaluate(0, 1, gs);
+		assertEquals(0, ef.getNumCacheHits());
+		assertEquals(0, ef.getNumCacheMisses());
+	}
+}
@@ -1,8 +1,14 @@
 package edu.utexas.cs.nn.tasks.microrts.evaluation;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import edu.utexas.cs.nn.evolution.genotypes.Genotype;
 import edu.utexas.cs.nn.networks.ActivationFunctions;
 import edu.utexas.cs.nn.networks.Network;
+import edu.utexas.cs.nn.networks.TWEANN;
+import edu.utexas.cs.nn.parameters.Parameters;
 import micro.ai.evaluation.EvaluationFunction;
 import micro.rts.GameState;
 import micro.rts.PhysicalGameState;
@@ -20,13 +26,48 @@ public abstract class NNEvaluationFunction<T extends Network> extends Evaluation
 	protected boolean coevolution; // Is this used anywhere?
 	
 	private int howManyEvals = 0;
+	// Outputs of the current network for states seen before. Null if not used.
+	private EvaluationCache cache = null;
+	// Whether the current network's outputs are cached
+	private boolean useCache = false;
 	
 	public NNEvaluationFunction(){
+		int cacheSize = Parameters.parameters.integerParameter("microRTSEvaluationCacheSize");
+		if(cacheSize > 0) {
+			cache = new EvaluationCache(cacheSize);
+		}
 	}
 	
 	public void setNetwork(Genotype<T> g) {
 		howManyEvals = 0;
 		nn = g.getPhenotype();
+		if(cache != null) {
+			cache.clear(); // outputs of the previous network
+		}
+		// Outputs of a recurrent network also depend on the states it saw before
+		useCache = cache != null && !isRecurrent(nn);
+	}
+	
+	/**
+	 * TWEANN nodes are activated in order, so a link back to the same or an
+	 * earlier node only takes effect on the next input.
+	 * 
+	 * @param network - network to check
+	 * @return whether the network has recurrent links
+	 */
+	private static boolean isRecurrent(Network network) {
+		if(network instanceof TWEANN) {
+			Set<TWEANN.Node> activated = Collections.newSetFromMap(new IdentityHashMap<TWEANN.Node, Boolean>());
+			for(TWEANN.Node node : ((TWEANN) network).nodes) {
+				activated.add(node);
+				for(TWEANN.Link link : node.outputs) {
+					if(link.recurrent || activated.contains(link.target)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
 	}
 	
 	/**
@@ -61,20 +102,17 @@ public abstract class NNEvaluationFunction<T extends Network> extends Evaluation
 	@Override
 	public float evaluate(int maxplayer, int minplayer, GameState gs) {
 		howManyEvals++;
+		long stateHash = useCache ? EvaluationCache.stateHash(gs) : 0;
 		
 		// Score from max perspective
-		double[] inputs1 = gameStateToArray(gs, maxplayer);
-		double[] outputs1 = nn.process(inputs1);
-		float score1 = (float) outputs1[0];
+		float score1 = (float) networkOutput(gs, maxplayer, stateHash);
 		
 //		if(Parameters.parameters.booleanParameter("stepByStep")){
 //			MiscUtil.waitForReadStringAndEnterKeyPress();
 //		}
 		
 		// Score from min perspective
-		double[] inputs2 = gameStateToArray(gs, minplayer);
-		double[] outputs2 = nn.process(inputs2);
-		float score2 = (float) outputs2[0];
+		float score2 = (float) networkOutput(gs, minplayer, stateHash);
 
 //		if(Parameters.parameters.booleanParameter("stepByStep")){
 //			MiscUtil.waitForReadStringAndEnterKeyPress();
@@ -84,6 +122,25 @@ public abstract class NNEvaluationFunction<T extends Network> extends Evaluation
 		return (float) ActivationFunctions.tanh(score1 - score2);
 	}
 	
+	/**
+	 * @param gs - state of the game
+	 * @param player - player whose perspective the inputs are built from
+	 * @param stateHash - EvaluationCache.stateHash of gs, if the cache is used
+	 * @return network output for the state, which is only computed if it is not cached
+	 */
+	private double networkOutput(GameState gs, int player, long stateHash) {
+		if(!useCache) {
+			return nn.process(gameStateToArray(gs, player))[0];
+		}
+		long key = EvaluationCache.key(stateHash, player);
+		if(cache.contains(key)) {
+			return cache.get(key);
+		}
+		double output = nn.process(gameStateToArray(gs, player))[0];
+		cache.put(key, output);
+		return output;
+	}
+	
 	/**
 	 *  for FF
 	 * @return # of times a game state has been evaluated
@@ -92,6 +149,20 @@ public abstract class NNEvaluationFunction<T extends Network> extends Evaluation
 		return howManyEvals;
 	}
 
+	/**
+	 * @return # of network outputs found in the cache since the network was set
+	 */
+	public int getNumCacheHits(){
+		return cache == null ? 0 : cache.getHits();
+	}
+	
+	/**
+	 * @return # of network outputs that had to be computed since the network was set
+	 */
+	public int getNumCacheMisses(){
+		return cache == null ? 0 : cache.getMisses();
+	}
+
 	public abstract int getNumInputSubstrates();
 
 	public void setCoevolution(boolean b) {
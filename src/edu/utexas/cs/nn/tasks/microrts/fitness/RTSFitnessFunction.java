@@ -58,6 +58,16 @@ public abstract class RTSFitnessFunction {
 		enemySwitches++;
 	}
 	
+	/**
+	 * take on the map and enemy switch counts of another fitness function,
+	 * so a fresh copy reports the same progress as the one that counted them
+	 * @param other fitness function that was informed of the switches
+	 */
+	public void copySwitches(RTSFitnessFunction other){
+		mapSwitches = other.mapSwitches;
+		enemySwitches = other.enemySwitches;
+	}
+
 	public void setNumEvals(int num){
 		numEvals = num;
 	}
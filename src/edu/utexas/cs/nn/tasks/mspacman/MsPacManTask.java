@@ -11,6 +11,7 @@ import edu.utexas.cs.nn.evolution.Organism;
 import edu.utexas.cs.nn.evolution.genotypes.Genotype;
 import edu.utexas.cs.nn.evolution.genotypes.NetworkGenotype;
 import edu.utexas.cs.nn.evolution.nsga2.tug.TUGTask;
+import edu.utexas.cs.nn.log.MMNEATLog;
 import edu.utexas.cs.nn.networks.Network;
 import edu.utexas.cs.nn.networks.NetworkTask;
 import edu.utexas.cs.nn.networks.hyperneat.HyperNEATTask;
@@ -28,6 +29,7 @@ import edu.utexas.cs.nn.tasks.mspacman.facades.ExecutorFacade;
 import edu.utexas.cs.nn.tasks.mspacman.facades.GameFacade;
 import edu.utexas.cs.nn.tasks.mspacman.facades.GhostControllerFacade;
 import edu.utexas.cs.nn.tasks.mspacman.facades.PacManControllerFacade;
+import edu.utexas.cs.nn.tasks.mspacman.facades.QueryCache;
 import edu.utexas.cs.nn.tasks.mspacman.multitask.MsPacManModeSelector;
 import edu.utexas.cs.nn.tasks.mspacman.objectives.AvoidDeadSpaceScore;
 import edu.utexas.cs.nn.tasks.mspacman.objectives.ClearTimeScore;
@@ -145,6 +147,8 @@ public class MsPacManTask<T extends Network> extends NoisyLonerTask<T>implements
 	private final boolean eachComponentTracksScoreToo;
 	private final boolean plainGhostScore;
 	private final TrainingCampManager tcManager;
+	// Hit rates of the GameFacade query caches. Null when queries are not cached or logged.
+	private MMNEATLog queryCacheLog = null;
 
 	/**
 	 * Default constructor
@@ -162,6 +166,9 @@ public class MsPacManTask<T extends Network> extends NoisyLonerTask<T>implements
 		exec = new ExecutorFacade(new Executor());
 		this.deterministic = det;//if game is deterministic
 		tcManager = new TrainingCampManager();
+		if (CommonConstants.pacManQueryCaching && Parameters.parameters.booleanParameter("io")) {
+			queryCacheLog = new MMNEATLog("QueryCache", false, true);
+		}
 
 		//variables from command line parameters
 		onlyOneLairExitAllowed = false;
@@ -326,6 +333,34 @@ public class MsPacManTask<T extends Network> extends NoisyLonerTask<T>implements
 		addObjective(new LairTimeParameter<T>(), otherScores, new Average(), false);
 	}
 
+	/**
+	 * Evaluates the population, then reports how many GameFacade queries of
+	 * each type were answered from the per time step caches this generation.
+	 */
+	@Override
+	public ArrayList<Score<T>> evaluateAll(ArrayList<Genotype<T>> population) {
+		ArrayList<Score<T>> scores = super.evaluateAll(population);
+		if (CommonConstants.pacManQueryCaching) {
+			long[][] stats = QueryCache.takeStatistics();
+			String line = "" + (MMNEAT.ea == null ? 0 : MMNEAT.ea.currentGeneration());
+			String summary = "Query cache:";
+			for (QueryCache.Query query : QueryCache.Query.values()) {
+				long hits = stats[query.ordinal()][0];
+				long total = hits + stats[query.ordinal()][1];
+				double hitRate = total == 0 ? 0 : hits / (double) total;
+				line += "\t" + hits + "\t" + stats[query.ordinal()][1] + "\t" + hitRate;
+				summary += " " + query + " = " + hits + "/" + total;
+			}
+			if (queryCacheLog != null) {
+				queryCacheLog.log(line);
+			}
+			if (Parameters.parameters.booleanParameter("printFitness")) {
+				System.out.println(summary);
+			}
+		}
+		return scores;
+	}
+
 	/**
 	 * Based on a designation from the fitness mode map, return a collection of
 	 * fitness values.
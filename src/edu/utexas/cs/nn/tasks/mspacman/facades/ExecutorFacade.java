@@ -71,12 +71,14 @@ public class ExecutorFacade {
 	}
 
 	/**
-	 * runs a timed game with visuals off
+	 * runs a timed game with visuals off. Controllers are called in lockstep
+	 * on this thread, and each move is limited by a CPU time budget instead
+	 * of waiting on controller threads.
 	 * @param game facade of game
 	 * @param mspacman facade of controller
 	 * @param ghosts facade of ghosts
 	 */
 	public void runGameTimedNonVisual(GameFacade game, PacManControllerFacade mspacman, GhostControllerFacade ghosts) {
-		newE.runGameTimedSpeedOptimised(mspacman.newP, ghosts.newG, false, false, game.newG);
+		newE.runGameLockstep(mspacman.newP, ghosts.newG, game.newG, Parameters.parameters.integerParameter("pacmanMoveBudget"));
 	}
 }
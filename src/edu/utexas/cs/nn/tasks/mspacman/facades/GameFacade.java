@@ -1,6 +1,8 @@
 package edu.utexas.cs.nn.tasks.mspacman.facades;
 
 import edu.utexas.cs.nn.parameters.CommonConstants;
+import edu.utexas.cs.nn.tasks.mspacman.facades.QueryCache.Key;
+import edu.utexas.cs.nn.tasks.mspacman.facades.QueryCache.Query;
 import edu.utexas.cs.nn.tasks.mspacman.ghosts.GhostComparator;
 import edu.utexas.cs.nn.util.datastructures.ArrayUtil;
 import edu.utexas.cs.nn.util.datastructures.Pair;
@@ -11,6 +13,7 @@ import pacman.game.Constants.DM;
 import pacman.game.Constants.GHOST;
 import pacman.game.Constants.MOVE;
 import pacman.game.Game;
+import pacman.game.internal.DirectionalDistances;
 
 /**
  *Contains pac man game. Includes harnesses for both
@@ -26,6 +29,8 @@ public class GameFacade {
 	public static final int NUM_DIRS = 4;
 	public static final int DANGEROUS_TIME = 5;
 	public Game newG = null;
+	// Answers to queries made during the current time step, created when first needed
+	private QueryCache cache = null;
 
 	/**
 	 * returns what move to make based on the 
@@ -188,6 +193,31 @@ public class GameFacade {
 		newG = g;
 	}
 
+	/**
+	 * Forgets cached answers. Needed after the game is changed without
+	 * advancing time.
+	 */
+	public void clearCache() {
+		if (cache != null) {
+			cache.clear();
+		}
+	}
+
+	/**
+	 * Cache of answers to queries about the current time step of the game
+	 * @return the cache, or null if queries are not cached
+	 */
+	private QueryCache cache() {
+		if (!CommonConstants.pacManQueryCaching) {
+			return null;
+		}
+		if (cache == null) {
+			cache = new QueryCache();
+		}
+		cache.update(newG);
+		return cache;
+	}
+
 	/**
 	 * gets times taken to eat each pill
 	 * @return list of times
@@ -469,6 +499,26 @@ public class GameFacade {
 	 * @return
 	 */
 	public int nextJunctionInDirection(int current, int currentDir, boolean powerPillsToo) {
+		QueryCache cache = cache();
+		Key key = null;
+		if (cache != null) {
+			key = new Key(current, currentDir, powerPillsToo ? 1 : 0);
+			Integer answer = (Integer) cache.get(Query.NEXT_JUNCTION, key);
+			if (answer != null) {
+				return answer;
+			}
+		}
+		int result = computeNextJunctionInDirection(current, currentDir, powerPillsToo);
+		if (cache != null) {
+			cache.put(Query.NEXT_JUNCTION, key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the result of nextJunctionInDirection, which is cached
+	 */
+	private int computeNextJunctionInDirection(int current, int currentDir, boolean powerPillsToo) {
 		int[] neighbors = restrictedNeighbors(current, currentDir);
 		int numBlocked = ArrayUtil.countOccurrences(-1, neighbors);
 		int pos = -1;
@@ -931,12 +981,27 @@ public class GameFacade {
 	 *            direction pacman must go in
 	 * @param shortest
 	 *            true for shortest path, longest path otherwise
-	 * @return path and target pair
+	 * @return path and target pair, which must not be modified because it is
+	 *         shared with other queries during the same time step
 	 */
 	public Pair<Integer, int[]> getTargetInDir(int fromNodeIndex, int[] targetNodeIndices, int direction, boolean shortest) {
 		assert fromNodeIndex != -1 : "Invalid from node: " + fromNodeIndex;
 		assert direction >= 0 && direction <= 3 : "Not a valid direction: " + direction;
-		Pair<Integer, int[]> result = getTargetInDirFromNew(fromNodeIndex, targetNodeIndices, direction, shortest);
+		QueryCache cache = cache();
+		Key key = null;
+		Pair<Integer, int[]> result = null;
+		if (cache != null) {
+			key = new Key(fromNodeIndex, direction, shortest ? 1 : 0, targetNodeIndices);
+			@SuppressWarnings("unchecked")
+			Pair<Integer, int[]> answer = (Pair<Integer, int[]>) cache.get(Query.TARGET_IN_DIR, key);
+			result = answer;
+		}
+		if (result == null) {
+			result = getTargetInDirFromNew(fromNodeIndex, targetNodeIndices, direction, shortest);
+			if (cache != null) {
+				cache.put(Query.TARGET_IN_DIR, key, result);
+			}
+		}
 		assert(result != null && result.t2 != null) : ("Why is pair null? " + result);
 		assert(validPath(result.t2)) : ("Invalid path! " + Arrays.toString(result.t2));
 		assert(result.t2.length == 0 || result.t2[0] != fromNodeIndex) : ("Path should NOT start at  location!");
@@ -966,7 +1031,7 @@ public class GameFacade {
 				+ Arrays.toString(neighbors) + " in level " + newG.getCurrentLevel());
 		double extremeDistance = shortest ? Integer.MAX_VALUE : -Integer.MAX_VALUE;
 		int target = -1;
-		int[] extremePath = null;
+		// Only the path to the chosen target is needed, so targets are compared by path length
 		for (int i = 0; i < targetNodeIndices.length; i++) {
 			if (targetNodeIndices[i] == -1) {
 				continue;
@@ -974,22 +1039,47 @@ public class GameFacade {
 			assert targetNodeIndices[i] < newG.getCurrentMaze().graph.length : targetNodeIndices[i]
 					+ " is not an index in the maze " + newG.getCurrentLevel() + "/" + newG.getCurrentMaze().name
 					+ " : " + Arrays.toString(targetNodeIndices) + ":" + targetNodeIndices.length;
-			int[] path = getPathInDirFromNew(fromNodeIndex, targetNodeIndices[i], direction);
-			assert(path.length == 0 || path[path.length
-					- 1] == targetNodeIndices[i]) : ("Last element of path should be the to location! " + ("new"));
-			assert(path.length == 0 || path[0] != fromNodeIndex) : ("Path should NOT start at  location! " + ("new"));
+			int length = getPathInDirLength(fromNodeIndex, targetNodeIndices[i], direction, neighbors);
+			assert length == getPathInDirFromNew(fromNodeIndex, targetNodeIndices[i], direction).length : "Path length "
+					+ length + " does not match path to " + targetNodeIndices[i];
 			// Shortest distance lower bound on direction distance
-			if (shortest ? path.length < extremeDistance : path.length > extremeDistance) {
-				extremeDistance = path.length;
+			if (shortest ? length < extremeDistance : length > extremeDistance) {
+				extremeDistance = length;
 				target = targetNodeIndices[i];
-				extremePath = path;
 			}
 		}
-		assert extremePath != null : "Extreme path is null: targetNodeIndices:" + Arrays.toString(targetNodeIndices)
+		assert target != -1 : "No target: targetNodeIndices:" + Arrays.toString(targetNodeIndices)
 				+ ":extremeDistance:" + extremeDistance;
+		int[] extremePath = getPathInDirFromNew(fromNodeIndex, target, direction);
+		assert(extremePath.length == 0 || extremePath[extremePath.length
+				- 1] == target) : ("Last element of path should be the to location! " + ("new"));
+		assert(extremePath.length == 0 || extremePath[0] != fromNodeIndex) : ("Path should NOT start at  location! " + ("new"));
 		return new Pair<Integer, int[]>(target, extremePath);
 	}
 
+	/**
+	 * Length of the path that getPathInDirFromNew returns, looked up in the
+	 * directional distance tables of the maze without building the path.
+	 *
+	 * @param from start point
+	 * @param to end point
+	 * @param direction direction of the first step
+	 * @param neighbors neighbors of from
+	 * @return length of the path from -> to in direction
+	 */
+	private int getPathInDirLength(int from, int to, int direction, int[] neighbors) {
+		DirectionalDistances distances = newG.getCurrentMaze().getDirectionalDistances();
+		int length;
+		if (neighbors[getLeftOf(direction)] == -1 && neighbors[getRightOf(direction)] == -1) {
+			length = distances.getDistance(from, to, indexToMove(direction));
+		} else {
+			int afterStep = distances.getDistance(neighbors[direction], to, indexToMove(direction));
+			length = afterStep == -1 ? -1 : afterStep + 1;
+		}
+		// Targets that are not in the tables are left to getShortestPath
+		return length != -1 ? length : getPathInDirFromNew(from, to, direction).length;
+	}
+
 	/**
 	 * gets distance ghost must travel to get from current index to given index
 	 * @param ghostIndex index of ghost
@@ -1032,10 +1122,24 @@ public class GameFacade {
 	 *            ghost id
 	 * @param target
 	 *            target ghost is approaching
-	 * @return shortest path ghost can take as array of int
+	 * @return shortest path ghost can take as array of int, which must not be
+	 *         modified because it is shared with other queries during the same
+	 *         time step
 	 */
 	public int[] getGhostPath(int ghostIndex, int target) {
-		int[] result = newG.getShortestPath(getGhostCurrentNodeIndex(ghostIndex), target, newG.getGhostLastMoveMade(indexToGhost(ghostIndex)));
+		QueryCache cache = cache();
+		Key key = null;
+		int[] result = null;
+		if (cache != null) {
+			key = new Key(ghostIndex, target, 0);
+			result = (int[]) cache.get(Query.GHOST_PATH, key);
+		}
+		if (result == null) {
+			result = newG.getShortestPath(getGhostCurrentNodeIndex(ghostIndex), target, newG.getGhostLastMoveMade(indexToGhost(ghostIndex)));
+			if (cache != null) {
+				cache.put(Query.GHOST_PATH, key, result);
+			}
+		}
 		assert(result.length == 0 || result[result.length - 1] == target) : ("Last element of path should be the to location!");
 		assert(result.length == 0 || result[0] != this.getGhostCurrentNodeIndex(ghostIndex)) : ("Path should NOT start at  location!");
 		return result;
@@ -1779,9 +1883,30 @@ public class GameFacade {
 	 *            to node (will be at end of path)
 	 * @param direction
 	 *            direction to move in [0/UP, 1/RIGHT, 2/DOEN, 3/LEFT]
-	 * @return path from -> to in direction
+	 * @return path from -> to in direction, which must not be modified because
+	 *         it is shared with other queries during the same time step
 	 */
 	public int[] getPathInDirFromNew(int from, int to, int direction) {
+		QueryCache cache = cache();
+		Key key = null;
+		if (cache != null) {
+			key = new Key(from, to, direction);
+			int[] answer = (int[]) cache.get(Query.DIRECTIONAL_PATH, key);
+			if (answer != null) {
+				return answer;
+			}
+		}
+		int[] result = computePathInDir(from, to, direction);
+		if (cache != null) {
+			cache.put(Query.DIRECTIONAL_PATH, key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the result of getPathInDirFromNew, which is cached
+	 */
+	private int[] computePathInDir(int from, int to, int direction) {
 		/**
 		 * This method depends on the newG method getShortestPath, which
 		 * excludes the opposite of "direction". The other neighbors need to be
@@ -1992,6 +2117,7 @@ public class GameFacade {
 		} else {
 			newG.playWithPills();
 		}
+		clearCache(); // time has not advanced
 	}
 
 	/**
@@ -2004,6 +2130,7 @@ public class GameFacade {
 		} else {
 			newG.playWithPowerPills();
 		}
+		clearCache(); // time has not advanced
 	}
 
 	/**
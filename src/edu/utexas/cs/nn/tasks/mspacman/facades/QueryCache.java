@@ -0,0 +1,169 @@
+package edu.utexas.cs.nn.tasks.mspacman.facades;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import pacman.game.Game;
+
+/**
+ * Answers to the expensive GameFacade queries that were already made during
+ * the current time step of the game. Sensor blocks ask many of the same
+ * questions: several blocks want the nearest pill, ghost or junction in each
+ * direction, and controllers that check each direction run all blocks once per
+ * direction. The answers only depend on the state of the game, so each only
+ * has to be computed once per time step.
+ *
+ * The cache forgets all answers once the game it was filled from advances,
+ * which is detected through the total time of the game. Changes made to the
+ * game without advancing time require a call to clear.
+ *
+ * Hits and misses are counted for each type of query across all caches, so
+ * that the task can report how useful the cache is.
+ *
+ * Answers are shared, so arrays returned from the cache must not be modified.
+ */
+public class QueryCache {
+
+	/**
+	 * Types of queries that are cached
+	 */
+	public enum Query {
+		TARGET_IN_DIR, DIRECTIONAL_PATH, GHOST_PATH, NEXT_JUNCTION
+	}
+
+	private static final Query[] QUERIES = Query.values();
+	private static final LongAdder[] HITS = counters();
+	private static final LongAdder[] MISSES = counters();
+
+	private final HashMap<Key, Object>[] answers;
+	private Game game = null;
+	private int time = -1;
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public QueryCache() {
+		answers = new HashMap[QUERIES.length];
+		for (int i = 0; i < answers.length; i++) {
+			answers[i] = new HashMap<Key, Object>();
+		}
+	}
+
+	private static LongAdder[] counters() {
+		LongAdder[] counters = new LongAdder[QUERIES.length];
+		for (int i = 0; i < counters.length; i++) {
+			counters[i] = new LongAdder();
+		}
+		return counters;
+	}
+
+	/**
+	 * Forgets all answers if they were given for a different game, or for an
+	 * earlier time step of the same game.
+	 *
+	 * @param g game that the next queries are about
+	 */
+	public void update(Game g) {
+		if (g != game || g.getTotalTime() != time) {
+			clear();
+			game = g;
+			time = g.getTotalTime();
+		}
+	}
+
+	/**
+	 * Forgets all answers
+	 */
+	public void clear() {
+		for (HashMap<Key, Object> map : answers) {
+			map.clear();
+		}
+	}
+
+	/**
+	 * Answer to a query, if it was made before. Counts a hit or a miss.
+	 *
+	 * @param query type of query
+	 * @param key arguments of the query
+	 * @return stored answer, or null if there is none
+	 */
+	public Object get(Query query, Key key) {
+		Object answer = answers[query.ordinal()].get(key);
+		if (answer != null) {
+			HITS[query.ordinal()].increment();
+		} else {
+			MISSES[query.ordinal()].increment();
+		}
+		return answer;
+	}
+
+	/**
+	 * Stores the answer to a query
+	 *
+	 * @param query type of query
+	 * @param key arguments of the query
+	 * @param answer result of the query, which is not modified afterwards
+	 */
+	public void put(Query query, Key key, Object answer) {
+		answers[query.ordinal()].put(key.stored(), answer);
+	}
+
+	/**
+	 * Hits and misses of each type of query since the last call, across all
+	 * caches.
+	 *
+	 * @return array indexed by query ordinal, with pairs of {hits, misses}
+	 */
+	public static long[][] takeStatistics() {
+		long[][] stats = new long[QUERIES.length][];
+		for (int i = 0; i < QUERIES.length; i++) {
+			stats[i] = new long[] { HITS[i].sumThenReset(), MISSES[i].sumThenReset() };
+		}
+		return stats;
+	}
+
+	/**
+	 * Arguments of a query: up to three node indices or directions, and
+	 * possibly an array of target node indices.
+	 */
+	public static class Key {
+
+		private final int a;
+		private final int b;
+		private final int c;
+		private final int[] targets;
+		private final int hash;
+
+		public Key(int a, int b, int c) {
+			this(a, b, c, null);
+		}
+
+		public Key(int a, int b, int c, int[] targets) {
+			this.a = a;
+			this.b = b;
+			this.c = c;
+			this.targets = targets;
+			this.hash = ((a * 31 + b) * 31 + c) * 31 + Arrays.hashCode(targets);
+		}
+
+		/**
+		 * Key to store, which does not share the targets array with the caller
+		 */
+		private Key stored() {
+			return targets == null ? this : new Key(a, b, c, targets.clone());
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key k = (Key) other;
+			return hash == k.hash && a == k.a && b == k.b && c == k.c && Arrays.equals(targets, k.targets);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package edu.utexas.cs.nn.tasks.mspacman.facades;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumMap;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import edu.utexas.cs.nn.parameters.CommonConstants;
+import edu.utexas.cs.nn.parameters.Parameters;
+import edu.utexas.cs.nn.tasks.mspacman.facades.QueryCache.Query;
+import edu.utexas.cs.nn.util.datastructures.Pair;
+import pacman.game.Constants.GHOST;
+import pacman.game.Constants.MOVE;
+import pacman.game.Game;
+
+/**
+ * JUnit tests for QueryCache, and its use by GameFacade
+ */
+public class QueryCacheTest {
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		Parameters.initializeParameterCollections(new String[]{"io:false", "netio:false"});
+	}
+
+	@Test
+	public void testKey() {
+		int[] targets = new int[]{5, 6, 7};
+		QueryCache cache = new QueryCache();
+		QueryCache.takeStatistics();
+		cache.put(Query.TARGET_IN_DIR, new QueryCache.Key(1, 2, 0, targets), "answer");
+		// Stored key does not share the array of the caller
+		targets[0] = 8;
+		assertEquals(null, cache.get(Query.TARGET_IN_DIR, new QueryCache.Key(1, 2, 0, targets)));
+		assertEquals("answer", cache.get(Query.TARGET_IN_DIR, new QueryCache.Key(1, 2, 0, new int[]{5, 6, 7})));
+		// Each type of query has its own answers
+		assertEquals(null, cache.get(Query.DIRECTIONAL_PATH, new QueryCache.Key(1, 2, 0, new int[]{5, 6, 7})));
+		long[][] stats = QueryCache.takeStatistics();
+		assertArrayEquals(new long[]{1, 1}, stats[Query.TARGET_IN_DIR.ordinal()]);
+		assertArrayEquals(new long[]{0, 1}, stats[Query.DIRECTIONAL_PATH.ordinal()]);
+		assertArrayEquals(new long[]{0, 0}, QueryCache.takeStatistics()[Query.TARGET_IN_DIR.ordinal()]);
+	}
+
+	@Test
+	public void testFacadeAnswers() {
+		assertTrue(CommonConstants.pacManQueryCaching);
+		Game game = new Game(0);
+		GameFacade cached = new GameFacade(game);
+		int current = cached.getPacmanCurrentNodeIndex();
+		int[] pills = cached.getActivePillsIndices();
+		int dir = 3; // left
+		QueryCache.takeStatistics();
+		Pair<Integer, int[]> first = cached.getTargetInDir(current, pills, dir);
+		assertSame(first, cached.getTargetInDir(current, pills.clone(), dir));
+		assertArrayEquals(new long[]{1, 1}, QueryCache.takeStatistics()[Query.TARGET_IN_DIR.ordinal()]);
+
+		// Same answers as computing every path
+		CommonConstants.pacManQueryCaching = false;
+		try {
+			GameFacade uncached = new GameFacade(game);
+			for (int d = 0; d < GameFacade.NUM_DIRS; d++) {
+				if (uncached.neighbors(current)[d] == -1) {
+					continue;
+				}
+				for (boolean shortest : new boolean[]{true, false}) {
+					Pair<Integer, int[]> expected = uncached.getTargetInDir(current, pills, d, shortest);
+					Pair<Integer, int[]> actual = cached.getTargetInDir(current, pills, d, shortest);
+					assertEquals(expected.t1, actual.t1);
+					assertArrayEquals(expected.t2, actual.t2);
+					int farthest = -1;
+					for (int pill : pills) {
+						int length = uncached.getPathInDirFromNew(current, pill, d).length;
+						if (shortest ? farthest == -1 || length < farthest : length > farthest) {
+							farthest = length;
+						}
+					}
+					assertEquals(farthest, actual.t2.length);
+				}
+			}
+			assertEquals(0, QueryCache.takeStatistics()[Query.DIRECTIONAL_PATH.ordinal()][0]);
+		} finally {
+			CommonConstants.pacManQueryCaching = true;
+		}
+
+		// Ghost paths are forgotten once the game advances
+		int[] ghostPath = cached.getGhostPath(0, current);
+		assertSame(ghostPath, cached.getGhostPath(0, current));
+		EnumMap<GHOST, MOVE> ghostMoves = new EnumMap<GHOST, MOVE>(GHOST.class);
+		game.advanceGame(MOVE.LEFT, ghostMoves);
+		assertFalse(ghostPath == cached.getGhostPath(0, current));
+	}
+}
@@ -11,6 +11,7 @@ import edu.utexas.cs.nn.parameters.Parameters;
 import edu.utexas.cs.nn.tasks.NoisyLonerTask;
 import edu.utexas.cs.nn.util.MiscUtil;
 import edu.utexas.cs.nn.util.datastructures.Pair;
+import edu.utexas.cs.nn.util.random.RandomNumbers;
 import edu.utexas.cs.nn.util.stats.StatisticsUtilities;
 import pinball.PinBall;
 import pinball.State;
@@ -18,12 +19,16 @@ import pinball.State;
 public class PinballTask<T extends Network> extends NoisyLonerTask<T>implements NetworkTask {
 
 	PinballViewer view = null; 
-	ArrayList<Double> listOfCoordinates;
+	// Configuration loaded once; every trial plays on its own copy, which shares the obstacles
+	final PinBall table;
+	// Final ball coordinates of each trial, indexed by trial number
+	double[][] trialCoordinates;
 
 	/**
 	 * Constructor for a new PinballTask
 	 */
 	public PinballTask(){
+		table = new PinBall("data/pinball/" + Parameters.parameters.stringParameter("pinballConfig"));
 		MMNEAT.registerFitnessFunction("Reward");
 		
         if(Parameters.parameters.booleanParameter("moPinball")){
@@ -77,20 +82,39 @@ public class PinballTask<T extends Network> extends NoisyLonerTask<T>implements
 	}
 
 	/**
-	 * Clears the listOfCoordinates for Behavioral Diversity
+	 * Clears the trialCoordinates for Behavioral Diversity
 	 */
 	@Override
 	public void prep() {
-		listOfCoordinates = new ArrayList<Double>();
+		trialCoordinates = new double[CommonConstants.trials][];
 	}
 	
 	/**
-	 * Returns the listOfCoordinates for Behavioral Diversity
+	 * Returns the final coordinates of each trial, in trial order, for Behavioral Diversity
 	 */
 	@Override
 	public ArrayList<Double> getBehaviorVector() {
+		ArrayList<Double> listOfCoordinates = new ArrayList<Double>();
+		for (double[] coordinates : trialCoordinates) {
+			if (coordinates != null) { // Fewer trials with scaleTrials
+				listOfCoordinates.add(coordinates[0]);
+				listOfCoordinates.add(coordinates[1]);
+			}
+		}
 		return listOfCoordinates;
 	}
+
+	/**
+	 * Each trial creates its own PinBall and phenotype, so trials can be
+	 * evaluated in parallel unless they are being watched. The PinBalls
+	 * share their obstacles, which are never changed by collisions.
+	 * 
+	 * @return true if not watching evaluations
+	 */
+	@Override
+	public boolean oneEvalIsThreadSafe() {
+		return !CommonConstants.watch;
+	}
 	
 	/**
 	 * Evaluates a given individual network's Fitness;
@@ -104,7 +128,7 @@ public class PinballTask<T extends Network> extends NoisyLonerTask<T>implements
 	@Override
 	public Pair<double[], double[]> oneEval(Genotype<T> individual, int num) {
 
-		PinBall p = new PinBall("data/pinball/" + Parameters.parameters.stringParameter("pinballConfig"));
+		PinBall p = new PinBall(table, RandomNumbers.randomGenerator.nextLong());
 
 
 		if(CommonConstants.watch){ // If set to Visually Evaluate the Task
@@ -150,8 +174,7 @@ public class PinballTask<T extends Network> extends NoisyLonerTask<T>implements
 
 		Double distance = p.getBall().getCenter().distanceTo(p.getTarget().getCenter()); // Subtracts the distance from the Ball to the Target from the overall Fitness; getting closer means a higher score
 		
-		listOfCoordinates.add(p.getBall().getX());
-		listOfCoordinates.add(p.getBall().getY());
+		trialCoordinates[num] = new double[] { p.getBall().getX(), p.getBall().getY() };
 		
 		Pair<double[], double[]> evalResults = new Pair<double[], double[]>(new double[] {fitness}, new double[0]);			
 
@@ -3,6 +3,7 @@ package edu.utexas.cs.nn.util;
 import edu.utexas.cs.nn.util.datastructures.Vertex;
 import edu.utexas.cs.nn.util.util2D.ILocated2D;
 import edu.utexas.cs.nn.util.util2D.Tuple2D;
+import java.awt.geom.Point2D;
 import java.util.ArrayList;
 
 /**
@@ -178,8 +179,7 @@ public class CartesianGeometricUtilities {
 			yy = y1 + param * D;
 		}
 
-		ILocated2D other = new Tuple2D(xx, yy);
-		return (new Tuple2D(x, y).distance(other)); //distance between input point and point created based on param
+		return Point2D.distance(xx, yy, x, y); //distance between input point and point created based on param
 	}
 
 	/**
@@ -14,6 +14,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import edu.utexas.cs.nn.MMNEAT.MMNEAT;
+import edu.utexas.cs.nn.data.PopulationArchive;
 import edu.utexas.cs.nn.data.SaveThread;
 import edu.utexas.cs.nn.evolution.EvolutionaryHistory;
 import edu.utexas.cs.nn.evolution.genotypes.Genotype;
@@ -36,6 +37,7 @@ import edu.utexas.cs.nn.util.datastructures.Pair;
 import edu.utexas.cs.nn.util.file.FileUtilities;
 import edu.utexas.cs.nn.util.file.XMLFilter;
 import edu.utexas.cs.nn.util.random.RandomNumbers;
+import edu.utexas.cs.nn.evolution.genotypes.GenotypeSerialization;
 import wox.serial.Easy;
 
 /**
@@ -204,7 +206,7 @@ public class PopulationUtil {
 		}
 		// save all of the best objectives
 		for (int j = 0; j < bestObjectives.length; j++) {
-			Easy.save(bestGenotypes[j], bestDir + "/" + filePrefix + "bestIn" + j + ".xml");
+			GenotypeSerialization.save(bestGenotypes[j], bestDir + "/" + filePrefix + "bestIn" + j + ".xml");
 			FileUtilities.simpleFileWrite(bestDir + "/" + filePrefix + "score" + j + ".txt", bestScores[j].toString());
 		}
 	}
@@ -403,16 +405,20 @@ public class PopulationUtil {
 	}
 
 	/**
-	 * Load all genotypes that are xml files in the given directory
+	 * Load all genotypes that are xml files in the given directory, or all
+	 * genotypes in a PopulationArchive
 	 *
 	 * @param <T>
 	 *            Phenotype
 	 * @param directory
-	 *            directory to load from
+	 *            directory (or archive) to load from
 	 * @return loaded population of genotypes
 	 */
 	public static <T> ArrayList<Genotype<T>> load(String directory) {
 		System.out.println("Attempting to load from: " + directory);
+		if (PopulationArchive.isArchive(directory)) {
+			return PopulationArchive.load(directory);
+		}
 
 		FilenameFilter filter = new XMLFilter();
 
@@ -436,7 +442,7 @@ public class PopulationUtil {
 	@SuppressWarnings("unchecked")
 	public static <T> Genotype<T> extractGenotype(String file) {
 		System.out.print("Load File: \"" + file + "\"");
-		Object loaded = Easy.load(file);
+		Object loaded = GenotypeSerialization.load(file);
 		Genotype<T> individual = null;
 		if (loaded instanceof Genotype) {
 			individual = (Genotype<T>) loaded;
@@ -0,0 +1,117 @@
+package edu.utexas.cs.nn.util.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from primitive long keys to primitive int values. Uses open
+ * addressing with linear probing, so no Long or Integer objects are created
+ * on lookup. Only non-negative values can be stored, since a negative value
+ * is used to indicate that a key is absent.
+ */
+public class LongIntHashMap {
+
+	public static final int MISSING = -1;
+	private static final double MAX_LOAD = 0.5;
+
+	private long[] keys;
+	private int[] values;
+	private boolean[] used;
+	private int size;
+
+	/**
+	 * Empty map that can hold the given number of entries without resizing
+	 *
+	 * @param expectedSize
+	 *            anticipated number of entries
+	 */
+	public LongIntHashMap(int expectedSize) {
+		int capacity = 16;
+		while (capacity * MAX_LOAD < expectedSize) {
+			capacity *= 2;
+		}
+		allocate(capacity);
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		used = new boolean[capacity];
+		size = 0;
+	}
+
+	/**
+	 * Spread the bits of the key so that sequential innovation numbers do not
+	 * cluster in the table.
+	 */
+	private int slot(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & (keys.length - 1);
+	}
+
+	/**
+	 * Associate value with key, replacing any previous value
+	 *
+	 * @param key
+	 *            any long
+	 * @param value
+	 *            non-negative int
+	 */
+	public void put(long key, int value) {
+		assert value >= 0 : "Only non-negative values can be stored: " + value;
+		if (size + 1 > keys.length * MAX_LOAD) {
+			long[] oldKeys = keys;
+			int[] oldValues = values;
+			boolean[] oldUsed = used;
+			allocate(keys.length * 2);
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldUsed[i]) {
+					put(oldKeys[i], oldValues[i]);
+				}
+			}
+		}
+		int i = slot(key);
+		while (used[i]) {
+			if (keys[i] == key) {
+				values[i] = value;
+				return;
+			}
+			i = (i + 1) & (keys.length - 1);
+		}
+		used[i] = true;
+		keys[i] = key;
+		values[i] = value;
+		size++;
+	}
+
+	/**
+	 * @param key
+	 *            key to look up
+	 * @return associated value, or MISSING if key is not present
+	 */
+	public int get(long key) {
+		int i = slot(key);
+		while (used[i]) {
+			if (keys[i] == key) {
+				return values[i];
+			}
+			i = (i + 1) & (keys.length - 1);
+		}
+		return MISSING;
+	}
+
+	public boolean containsKey(long key) {
+		return get(key) != MISSING;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Remove all entries but keep the allocated capacity
+	 */
+	public void clear() {
+		Arrays.fill(used, false);
+		size = 0;
+	}
+}
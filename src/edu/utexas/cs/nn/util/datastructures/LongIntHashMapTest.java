@@ -0,0 +1,40 @@
+package edu.utexas.cs.nn.util.datastructures;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class LongIntHashMapTest {
+
+	@Test
+	public void testPutAndGet() {
+		LongIntHashMap map = new LongIntHashMap(4);
+		assertEquals(LongIntHashMap.MISSING, map.get(7));
+		// Enough entries to force several resizes, including negative keys
+		for (int i = 0; i < 1000; i++) {
+			map.put(-i * 3L, i);
+		}
+		assertEquals(1000, map.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, map.get(-i * 3L));
+		}
+		assertFalse(map.containsKey(1));
+		assertFalse(map.containsKey(-1));
+		map.put(0, 42);
+		assertEquals(42, map.get(0));
+		assertEquals(1000, map.size());
+	}
+
+	@Test
+	public void testClear() {
+		LongIntHashMap map = new LongIntHashMap(10);
+		map.put(Long.MAX_VALUE, 1);
+		map.put(Long.MIN_VALUE, 2);
+		assertEquals(1, map.get(Long.MAX_VALUE));
+		assertEquals(2, map.get(Long.MIN_VALUE));
+		map.clear();
+		assertEquals(0, map.size());
+		assertFalse(map.containsKey(Long.MAX_VALUE));
+		assertFalse(map.containsKey(Long.MIN_VALUE));
+	}
+}
@@ -9,9 +9,14 @@ import edu.utexas.cs.nn.util.graphics.DrawingPanel;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Scanner;
-import wox.serial.Easy;
+import edu.utexas.cs.nn.evolution.genotypes.GenotypeSerialization;
 
 /**
  * Various static methods associated with files.
@@ -50,6 +55,48 @@ public class FileUtilities {
 		}
 	}
 
+	/**
+	 * Write bytes to a file so that the file is either left as it was or
+	 * completely replaced, even if the program or machine crashes: the bytes
+	 * go to a temporary file that is forced to disk and then renamed.
+	 *
+	 * @param filename
+	 *            file to write
+	 * @param contents
+	 *            complete new contents of the file
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public static void atomicWrite(String filename, byte[] contents) throws IOException {
+		File temp = new File(filename + ".tmp");
+		try (FileOutputStream out = new FileOutputStream(temp)) {
+			out.write(contents);
+			out.getFD().sync();
+		}
+		atomicReplace(temp, new File(filename));
+	}
+
+	/**
+	 * Rename a completely written (and synced) file to its final name,
+	 * replacing any existing file, and sync the directory so that the rename
+	 * itself survives a crash.
+	 *
+	 * @param temp
+	 *            completely written file
+	 * @param file
+	 *            final name
+	 * @throws IOException
+	 *             if the file cannot be renamed
+	 */
+	public static void atomicReplace(File temp, File file) throws IOException {
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		try (FileChannel dir = FileChannel.open(file.getAbsoluteFile().getParentFile().toPath(), StandardOpenOption.READ)) {
+			dir.force(true);
+		} catch (IOException e) {
+			// Some platforms cannot sync directories. The rename still happened.
+		}
+	}
+
 	/**
 	 * Write a single string to a new file, then close the file
 	 *
@@ -90,7 +137,7 @@ public class FileUtilities {
 	 *            xml file containing TWEANN
 	 */
 	public static void drawTWEANN(String filename) {
-		TWEANNGenotype genotype = (TWEANNGenotype) Easy.load(filename);
+		TWEANNGenotype genotype = (TWEANNGenotype) GenotypeSerialization.load(filename);
 		DrawingPanel panel = new DrawingPanel(TWEANN.NETWORK_VIEW_DIM, TWEANN.NETWORK_VIEW_DIM, "Evolving Network");
 		panel.setLocation(CommonTaskUtil.NETWORK_WINDOW_OFFSET, 0);
 		genotype.getPhenotype().draw(panel);
@@ -8,7 +8,9 @@ import java.io.IOException;
 import javax.imageio.stream.FileImageOutputStream;
 import javax.imageio.stream.ImageOutputStream;
 
+import edu.utexas.cs.nn.networks.BatchTWEANN;
 import edu.utexas.cs.nn.networks.Network;
+import edu.utexas.cs.nn.networks.TWEANN;
 import edu.utexas.cs.nn.tasks.interactive.objectbreeder.ThreeDimensionalObjectBreederTask;
 
 /**
@@ -35,6 +37,10 @@ public class AnimationUtil {
 	 * @return Array of images that can be animated in a JApplet
 	 */
 	public static BufferedImage[] imagesFromCPPN(Network n, int imageWidth, int imageHeight, int startTime, int endTime, double[] inputMultiples) {
+		if (BatchTWEANN.supports(n) && n.numInputs() == 5) {
+			// Same frames, but the parts of the CPPN that do not depend on time are only computed once
+			return CPPNRenderer.animation(new BatchTWEANN((TWEANN) n), imageWidth, imageHeight, startTime, endTime, inputMultiples);
+		}
 		BufferedImage[] images = new BufferedImage[endTime-startTime];
 		for(int i = startTime; i < endTime; i++) {
 			images[i-startTime] = GraphicsUtil.imageFromCPPN(n, imageWidth, imageHeight, inputMultiples, i/FRAMES_PER_SEC);
@@ -0,0 +1,226 @@
+package edu.utexas.cs.nn.util.graphics;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import edu.utexas.cs.nn.networks.ActivationFunctions;
+import edu.utexas.cs.nn.networks.BatchTWEANN;
+import edu.utexas.cs.nn.util.CartesianGeometricUtilities;
+
+/**
+ * Draws CPPN images and animations a whole image at a time instead of one
+ * pixel at a time. Rows are rendered in parallel by a BatchTWEANN, which
+ * does not need to be flushed or copied per thread, and pixels are written
+ * into an int array that is copied into the image at once. No objects are
+ * created per pixel.
+ *
+ * Animations cache, for each pixel, everything in the CPPN that does not
+ * depend on the time input, so each additional frame only activates the
+ * neurons downstream of time.
+ *
+ * Images are identical to those drawn pixel by pixel by
+ * GraphicsUtil.getHSBFromCPPN.
+ */
+public class CPPNRenderer {
+
+	// Position of time among the inputs of an animation CPPN (see GraphicsUtil.get2DObjectCPPNInputs)
+	public static final int TIME_INDEX = 3;
+	// Rows rendered by a single task
+	private static final int ROWS_PER_TASK = 4;
+
+	/**
+	 * Draw one image, as GraphicsUtil.imageFromCPPN does.
+	 *
+	 * @param n
+	 *            the CPPN
+	 * @param imageWidth
+	 *            width of image
+	 * @param imageHeight
+	 *            height of image
+	 * @param inputMultiples
+	 *            multiples turning each CPPN input on or off
+	 * @param time
+	 *            time input, or -1 if the CPPN has no time input
+	 * @return the image
+	 */
+	public static BufferedImage image(final BatchTWEANN n, final int imageWidth, final int imageHeight, final double[] inputMultiples, final double time) {
+		final double[] xs = scaledCoordinates(imageWidth);
+		final double[] ys = scaledCoordinates(imageHeight);
+		final int[] pixels = new int[imageWidth * imageHeight];
+		renderRows(imageHeight, new RowRenderer() {
+			@Override
+			public void render(int from, int to) {
+				double[] inputs = new double[n.numInputs()];
+				double[] activations = new double[n.numNodes()];
+				for (int y = from; y < to; y++) {
+					for (int x = 0; x < imageWidth; x++) {
+						fillInputs(inputs, xs[x], ys[y], time, inputMultiples);
+						n.activate(inputs, activations);
+						pixels[y * imageWidth + x] = rgb(n, activations);
+					}
+				}
+			}
+		});
+		return toImage(pixels, imageWidth, imageHeight);
+	}
+
+	/**
+	 * Draw the frames of an animation, as AnimationUtil.imagesFromCPPN does.
+	 * Frame i is drawn at time i / AnimationUtil.FRAMES_PER_SEC.
+	 *
+	 * @param n
+	 *            the CPPN, which must have a time input
+	 * @param imageWidth
+	 *            width of frames
+	 * @param imageHeight
+	 *            height of frames
+	 * @param startTime
+	 *            first frame
+	 * @param endTime
+	 *            frame after last frame
+	 * @param inputMultiples
+	 *            multiples turning each CPPN input on or off
+	 * @return the frames
+	 */
+	public static BufferedImage[] animation(final BatchTWEANN n, final int imageWidth, final int imageHeight, final int startTime, final int endTime, final double[] inputMultiples) {
+		final int frames = Math.max(0, endTime - startTime);
+		final double[] xs = scaledCoordinates(imageWidth);
+		final double[] ys = scaledCoordinates(imageHeight);
+		final double[] times = new double[frames];
+		final double timeMultiple = TIME_INDEX < inputMultiples.length ? inputMultiples[TIME_INDEX] : 1;
+		for (int i = 0; i < frames; i++) {
+			times[i] = (startTime + i) / AnimationUtil.FRAMES_PER_SEC;
+		}
+		final int[][] pixels = new int[frames][imageWidth * imageHeight];
+		final BatchTWEANN.VaryingInput time = n.varying(TIME_INDEX);
+		if (frames > 0) {
+			renderRows(imageHeight, new RowRenderer() {
+				@Override
+				public void render(int from, int to) {
+					double[] inputs = new double[n.numInputs()];
+					double[] activations = new double[n.numNodes()];
+					int size = time.cacheSize();
+					// Only one row of pixels is cached at a time
+					double[] cache = new double[imageWidth * size];
+					for (int y = from; y < to; y++) {
+						for (int x = 0; x < imageWidth; x++) {
+							fillInputs(inputs, xs[x], ys[y], times[0], inputMultiples);
+							time.fill(inputs, activations, cache, x * size);
+							pixels[0][y * imageWidth + x] = rgb(n, activations);
+						}
+						for (int f = 1; f < frames; f++) {
+							// Same value the time input has after fillInputs
+							double value = times[f] * timeMultiple;
+							for (int x = 0; x < imageWidth; x++) {
+								time.activate(value, cache, x * size, activations);
+								pixels[f][y * imageWidth + x] = rgb(n, activations);
+							}
+						}
+					}
+				}
+			});
+		}
+		BufferedImage[] images = new BufferedImage[frames];
+		for (int i = 0; i < frames; i++) {
+			images[i] = toImage(pixels[i], imageWidth, imageHeight);
+		}
+		return images;
+	}
+
+	/**
+	 * Scaled position of each pixel along one dimension, as computed by
+	 * CartesianGeometricUtilities.centerAndScale
+	 */
+	private static double[] scaledCoordinates(int dimension) {
+		double[] result = new double[dimension];
+		for (int i = 0; i < dimension; i++) {
+			result[i] = CartesianGeometricUtilities.centerAndScale(i, dimension);
+		}
+		return result;
+	}
+
+	/**
+	 * Same inputs as GraphicsUtil.get2DObjectCPPNInputs, multiplied by the
+	 * input multiples as in GraphicsUtil.getHSBFromCPPN
+	 */
+	private static void fillInputs(double[] inputs, double x, double y, double time, double[] inputMultiples) {
+		inputs[0] = x;
+		inputs[1] = y;
+		inputs[2] = Math.sqrt(x * x + y * y) * GraphicsUtil.SQRT2;
+		if (time == -1) {
+			inputs[3] = GraphicsUtil.BIAS;
+		} else {
+			inputs[3] = time;
+			inputs[4] = GraphicsUtil.BIAS;
+		}
+		for (int i = 0; i < inputMultiples.length; i++) {
+			inputs[i] = inputs[i] * inputMultiples[i];
+		}
+	}
+
+	/**
+	 * Color of a pixel from the CPPN outputs, as stored in a TYPE_INT_RGB
+	 * image by GraphicsUtil.imageFromCPPN
+	 */
+	private static int rgb(BatchTWEANN n, double[] activations) {
+		// Same range restriction as GraphicsUtil.rangeRestrictHSB
+		float hue = (float) n.output(activations, GraphicsUtil.HUE_INDEX);
+		float saturation = (float) ActivationFunctions.halfLinear(n.output(activations, GraphicsUtil.SATURATION_INDEX));
+		float brightness = (float) Math.abs(n.output(activations, GraphicsUtil.BRIGHTNESS_INDEX));
+		return Color.HSBtoRGB(hue, saturation, brightness) & 0xFFFFFF;
+	}
+
+	private static BufferedImage toImage(int[] pixels, int imageWidth, int imageHeight) {
+		BufferedImage image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
+		image.getRaster().setDataElements(0, 0, imageWidth, imageHeight, pixels);
+		return image;
+	}
+
+	/**
+	 * Renders a range of rows
+	 */
+	private interface RowRenderer {
+		public void render(int from, int to);
+	}
+
+	/**
+	 * Render all rows in parallel. Inside a fork/join pool (for instance
+	 * during parallel evaluation) the work is shared with that pool rather
+	 * than handed to the common pool.
+	 */
+	private static void renderRows(int rows, RowRenderer renderer) {
+		RowTask task = new RowTask(renderer, 0, rows);
+		if (ForkJoinTask.inForkJoinPool()) {
+			task.invoke();
+		} else {
+			ForkJoinPool.commonPool().invoke(task);
+		}
+	}
+
+	private static class RowTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final RowRenderer renderer;
+		private final int from;
+		private final int to;
+
+		RowTask(RowRenderer renderer, int from, int to) {
+			this.renderer = renderer;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= ROWS_PER_TASK) {
+				renderer.render(from, to);
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new RowTask(renderer, from, middle), new RowTask(renderer, middle, to));
+			}
+		}
+	}
+}
@@ -7,7 +7,9 @@ import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 
 import edu.utexas.cs.nn.networks.ActivationFunctions;
+import edu.utexas.cs.nn.networks.BatchTWEANN;
 import edu.utexas.cs.nn.networks.Network;
+import edu.utexas.cs.nn.networks.TWEANN;
 import edu.utexas.cs.nn.tasks.interactive.picbreeder.PicbreederTask;
 import edu.utexas.cs.nn.util.CartesianGeometricUtilities;
 import edu.utexas.cs.nn.util.datastructures.ArrayUtil;
@@ -69,6 +71,10 @@ public class GraphicsUtil {
 	 * @return buffered image containing image drawn by network
 	 */
 	public static BufferedImage imageFromCPPN(Network n, int imageWidth, int imageHeight, double[] inputMultiples, double time) {
+		if (BatchTWEANN.supports(n) && n.numInputs() == (time == -1 ? 4 : 5)) {
+			// Same image, but rendered in parallel without per pixel allocation
+			return CPPNRenderer.image(new BatchTWEANN((TWEANN) n), imageWidth, imageHeight, inputMultiples, time);
+		}
 		BufferedImage image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
 		for (int x = 0; x < imageWidth; x++) {// scans across whole image
 			for (int y = 0; y < imageHeight; y++) {
@@ -13,7 +13,15 @@ import java.util.Random;
  */
 public class RandomNumbers {
 
-	public static Random randomGenerator = new Random();
+	// Individual threads can be bound to their own generators (see bindThreadGenerator)
+	public static ThreadBoundRandom randomGenerator = new ThreadBoundRandom();
+	// Combined with identifying numbers to seed independent random streams
+	private static long streamBase = randomGenerator.nextLong();
+
+	// Kinds of random streams, so that streams with the same ids do not coincide
+	public static final long EVALUATION_STREAM = 0;
+	public static final long TRIAL_STREAM = 1;
+	public static final long OFFSPRING_STREAM = 2;
 
 	/*
 	 * Reset random generator based on seed from parameter file
@@ -23,7 +31,8 @@ public class RandomNumbers {
 		if (seed != -1) { // Control algorithmic randomness
 			reset(seed);
 		} else {
-			randomGenerator = new Random();
+			randomGenerator = new ThreadBoundRandom();
+			streamBase = randomGenerator.nextLong();
 		}
 	}
 
@@ -35,7 +44,66 @@ public class RandomNumbers {
 	 */
 	public static void reset(int seed) {
 		System.out.println("Reset random seed to: " + seed);
-		randomGenerator = new Random(seed);
+		randomGenerator = new ThreadBoundRandom(seed);
+		streamBase = seed;
+	}
+
+	/**
+	 * Make randomGenerator draw from a specific generator on the current
+	 * thread. Parallel computations that each have their own deterministically
+	 * seeded generator produce the same results regardless of how their
+	 * threads are scheduled.
+	 *
+	 * @param r
+	 *            generator for this thread, or null to use the shared sequence
+	 * @return previous generator of this thread, which should be restored
+	 *         by passing it to this method once done
+	 */
+	public static Random bindThreadGenerator(Random r) {
+		return randomGenerator.bind(r);
+	}
+
+	/**
+	 * A new generator for one independent random stream, such as the stream
+	 * used by one trial of one genotype in one generation. The stream depends
+	 * only on the random seed and the identifying numbers, so it is the same
+	 * regardless of which thread uses it or what other streams were used
+	 * before. The returned generator is only used by one thread at a time, so
+	 * it is never contended.
+	 *
+	 * @param kind
+	 *            kind of stream, such as EVALUATION_STREAM
+	 * @param ids
+	 *            numbers identifying the stream, such as genotype id and generation
+	 * @return generator for the stream
+	 */
+	public static Random stream(long kind, long... ids) {
+		long[] components = new long[ids.length + 2];
+		components[0] = streamBase;
+		components[1] = kind;
+		System.arraycopy(ids, 0, components, 2, ids.length);
+		return new ResumableRandom(streamSeed(components));
+	}
+
+	/**
+	 * Combine several numbers (such as a base seed, genotype id, generation
+	 * and trial number) into a single well mixed seed, so that closely related
+	 * inputs produce unrelated random sequences. Uses the SplitMix64 finalizer.
+	 *
+	 * @param components
+	 *            numbers identifying a random stream
+	 * @return seed for that stream
+	 */
+	public static long streamSeed(long... components) {
+		long h = 0x9E3779B97F4A7C15L;
+		for (long c : components) {
+			h += c;
+			h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+			h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+			h = h ^ (h >>> 31);
+			h += 0x9E3779B97F4A7C15L;
+		}
+		return h;
 	}
 
 	/**
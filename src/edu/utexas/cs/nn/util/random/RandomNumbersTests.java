@@ -169,4 +169,23 @@ public class RandomNumbersTests {
 		assertTrue(result.equals("Yes") || result.equals("No"));
 		assertFalse(result.equals("Maybe"));
 	}
+
+	/**
+	 * Tests that streams depend only on the seed, kind and ids
+	 */
+	@Test
+	public void stream_test() {
+		RandomNumbers.reset(5);
+		Random a = RandomNumbers.stream(RandomNumbers.TRIAL_STREAM, 10, 2, 0);
+		RandomNumbers.randomGenerator.nextInt(); // Shared sequence does not matter
+		Random b = RandomNumbers.stream(RandomNumbers.TRIAL_STREAM, 10, 2, 0);
+		Random otherTrial = RandomNumbers.stream(RandomNumbers.TRIAL_STREAM, 10, 2, 1);
+		Random otherKind = RandomNumbers.stream(RandomNumbers.EVALUATION_STREAM, 10, 2, 0);
+		long first = a.nextLong();
+		assertEquals(first, b.nextLong());
+		assertTrue(first != otherTrial.nextLong());
+		assertTrue(first != otherKind.nextLong());
+		RandomNumbers.reset(6);
+		assertTrue(first != RandomNumbers.stream(RandomNumbers.TRIAL_STREAM, 10, 2, 0).nextLong());
+	}
 }
@@ -4,14 +4,17 @@
  */
 package edu.utexas.cs.nn.util.random;
 
-import java.lang.reflect.Field;
 import java.util.Random;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class creates a random number generator that stores the current seed
  * value so the program can be resumed with the current seed saved.
  *
+ * The generator produces exactly the same sequence as java.util.Random, but
+ * keeps its state in a plain field instead of an AtomicLong accessed by
+ * reflection. Each instance should therefore only be used by one thread at a
+ * time, which is how games use their own generator.
+ *
  * @author Jacob
  */
 public class ResumableRandom extends Random {
@@ -21,6 +24,14 @@ public class ResumableRandom extends Random {
 	 */
 	private static final long serialVersionUID = 8857335572195241681L;
 
+	// Same linear congruential generator as java.util.Random
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+	private static final long ADDEND = 0xBL;
+	private static final long MASK = (1L << 48) - 1;
+
+	// Set by setSeed, which the Random constructor calls, so no initializer
+	private long state;
+
 	/**
 	 * creates a random number generator using the seed parameter, is inherited
 	 * from java.util
@@ -55,73 +66,51 @@ public class ResumableRandom extends Random {
 	// System.out.println("Random double " + result);
 	// return result;
 	// }
+	@Override
+	public synchronized void setSeed(long seed) {
+		state = (seed ^ MULTIPLIER) & MASK;
+		// Clears any stored Gaussian
+		super.setSeed(seed);
+	}
+
+	@Override
+	protected int next(int bits) {
+		state = (state * MULTIPLIER + ADDEND) & MASK;
+		return (int) (state >>> (48 - bits));
+	}
+
 	/**
-	 * Accesses and hard sets the seed of the resumable random number generator
+	 * Hard sets the seed of the resumable random number generator, without
+	 * the scrambling that setSeed applies
 	 * 
 	 * @param newSeed:
 	 *            long value that acts as new seed
 	 */
 	public void hardSetSeed(long newSeed) {
-		try {
-			// gets seed field from the resumable random
-			Field field = this.getClass().getSuperclass().getDeclaredField("seed");
-			// hardcodes field so the seed value is always accessible
-			field.setAccessible(true);
-			// casts the seed of the resumable random to an Atomiclong
-			AtomicLong seed = (AtomicLong) field.get(this);
-			// resets seed of resumable random number generator to the long
-			// parameter newSeed
-			seed.set(newSeed);
-			// these exceptions should not occur and if so, they crash the
-			// program
-		} catch (IllegalArgumentException ex) {
-			ex.printStackTrace();
-			System.exit(1);
-		} catch (IllegalAccessException ex) {
-			ex.printStackTrace();
-			System.exit(1);
-		} catch (NoSuchFieldException ex) {
-			ex.printStackTrace();
-			System.exit(1);
-		} catch (SecurityException ex) {
-			ex.printStackTrace();
-			System.exit(1);
-		}
+		state = newSeed & MASK;
 	}
 
 	/**
-	 * Performs same operation as hardSetSeed method to access the seed of the
-	 * random number generator, but instead returns the seed currently being
-	 * used for the random number generator.
+	 * Returns the seed currently being used for the random number generator,
+	 * which can be passed to hardSetSeed to resume the same sequence.
 	 * 
 	 * @return: current long seed value in random number generator
 	 */
 	public long getSeed() {
-		try {
-			Field field = this.getClass().getSuperclass().getDeclaredField("seed");
-			field.setAccessible(true);
-			AtomicLong seed = (AtomicLong) field.get(this);
-			return seed.get();
-			// these exceptions should not occur and if so, they crash the
-			// program
-		} catch (IllegalArgumentException ex) {
-			ex.printStackTrace();
-			System.exit(1);
-		} catch (IllegalAccessException ex) {
-			ex.printStackTrace();
-			System.exit(1);
-		} catch (NoSuchFieldException ex) {
-			ex.printStackTrace();
-			System.exit(1);
-		} catch (SecurityException ex) {
-			ex.printStackTrace();
-			System.exit(1);
-		}
-		// if the try and catch clauses fail, returns 0. Random number
-		// generators never have seed value so client can
-		// know code is broken if 0 is returned. Should never occur
-		// theoretically.
-		return 0;
+		return state;
+	}
+
+	/**
+	 * A new generator that will produce the same sequence as this one.
+	 * Cheaper than new ResumableRandom(), which seeds itself from a shared
+	 * counter and the clock before the seed is overwritten.
+	 * 
+	 * @return copy of this generator
+	 */
+	public ResumableRandom copy() {
+		ResumableRandom copy = new ResumableRandom(0);
+		copy.hardSetSeed(state);
+		return copy;
 	}
 
 	public static void main(String[] args) {
@@ -61,4 +61,23 @@ public class ResumableRandomTest {
 		assertEquals(l1, l2);
 	}
 
+	/**
+	 * Tests that the sequence is the same as that of java.util.Random, and
+	 * that copies continue the same sequence
+	 */
+	@Test
+	public void test_sameAsRandom() {
+		java.util.Random plain = new java.util.Random(seed);
+		ResumableRandom resumable = new ResumableRandom(seed);
+		for (int i = 0; i < SIZE; i++) {
+			assertEquals(plain.nextInt(i + 1), resumable.nextInt(i + 1));
+			assertEquals(plain.nextDouble(), resumable.nextDouble(), 0);
+			assertEquals(plain.nextGaussian(), resumable.nextGaussian(), 0);
+		}
+		ResumableRandom copy = resumable.copy();
+		for (int i = 0; i < SIZE; i++) {
+			assertEquals(resumable.nextLong(), copy.nextLong());
+		}
+	}
+
 }
@@ -0,0 +1,105 @@
+package edu.utexas.cs.nn.util.random;
+
+import java.util.Random;
+
+/**
+ * A random number generator that normally produces its own sequence, exactly
+ * like java.util.Random, but which can be told to draw from a different
+ * generator on a particular thread. This allows code that runs in parallel
+ * (such as separate evaluation trials) to be given its own deterministically
+ * seeded generator, without changing the many places that simply use
+ * RandomNumbers.randomGenerator.
+ */
+public class ThreadBoundRandom extends Random {
+
+	private static final long serialVersionUID = 3372208101496524873L;
+
+	// Generator used by each thread instead of this one, if any
+	private final transient ThreadLocal<Random> bound = new ThreadLocal<Random>();
+
+	public ThreadBoundRandom() {
+		super();
+	}
+
+	public ThreadBoundRandom(long seed) {
+		super(seed);
+	}
+
+	/**
+	 * Make the current thread draw from the given generator until the
+	 * previous binding is restored.
+	 *
+	 * @param r
+	 *            generator to use on this thread, or null to use the shared sequence
+	 * @return generator previously bound to this thread (possibly null), which
+	 *         should be restored with another call to bind once done
+	 */
+	public Random bind(Random r) {
+		Random previous = bound.get();
+		if (r == null) {
+			bound.remove();
+		} else {
+			bound.set(r);
+		}
+		return previous;
+	}
+
+	/**
+	 * @return generator bound to the current thread, or null if the shared sequence is used
+	 */
+	public Random boundGenerator() {
+		return bound.get();
+	}
+
+	@Override
+	public int nextInt() {
+		Random r = bound.get();
+		return r == null ? super.nextInt() : r.nextInt();
+	}
+
+	@Override
+	public int nextInt(int n) {
+		Random r = bound.get();
+		return r == null ? super.nextInt(n) : r.nextInt(n);
+	}
+
+	@Override
+	public long nextLong() {
+		Random r = bound.get();
+		return r == null ? super.nextLong() : r.nextLong();
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		Random r = bound.get();
+		return r == null ? super.nextBoolean() : r.nextBoolean();
+	}
+
+	@Override
+	public float nextFloat() {
+		Random r = bound.get();
+		return r == null ? super.nextFloat() : r.nextFloat();
+	}
+
+	@Override
+	public double nextDouble() {
+		Random r = bound.get();
+		return r == null ? super.nextDouble() : r.nextDouble();
+	}
+
+	@Override
+	public double nextGaussian() {
+		Random r = bound.get();
+		return r == null ? super.nextGaussian() : r.nextGaussian();
+	}
+
+	@Override
+	public void nextBytes(byte[] bytes) {
+		Random r = bound.get();
+		if (r == null) {
+			super.nextBytes(bytes);
+		} else {
+			r.nextBytes(bytes);
+		}
+	}
+}
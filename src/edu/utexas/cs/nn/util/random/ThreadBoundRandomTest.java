@@ -0,0 +1,54 @@
+package edu.utexas.cs.nn.util.random;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ThreadBoundRandomTest {
+
+	@Test
+	public void testUnboundMatchesRandom() {
+		Random plain = new Random(7);
+		ThreadBoundRandom r = new ThreadBoundRandom(7);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(plain.nextInt(50), r.nextInt(50));
+			assertEquals(plain.nextDouble(), r.nextDouble(), 0);
+			assertEquals(plain.nextGaussian(), r.nextGaussian(), 0);
+		}
+	}
+
+	@Test
+	public void testBind() throws InterruptedException {
+		final ThreadBoundRandom r = new ThreadBoundRandom(7);
+		Random previous = r.bind(new Random(3));
+		assertNull(previous);
+		Random expected = new Random(3);
+		assertEquals(expected.nextLong(), r.nextLong());
+		// Other threads still use the shared sequence
+		final long[] other = new long[1];
+		Thread t = new Thread() {
+			@Override
+			public void run() {
+				other[0] = r.nextLong();
+			}
+		};
+		t.start();
+		t.join();
+		assertEquals(new Random(7).nextLong(), other[0]);
+		// Restoring the previous binding returns to the shared sequence
+		r.bind(previous);
+		assertNull(r.boundGenerator());
+		Random shared = new Random(7);
+		shared.nextLong();
+		assertEquals(shared.nextLong(), r.nextLong());
+	}
+
+	@Test
+	public void testStreamSeed() {
+		assertEquals(RandomNumbers.streamSeed(1, 2, 3), RandomNumbers.streamSeed(1, 2, 3));
+		assertTrue(RandomNumbers.streamSeed(1, 2, 3) != RandomNumbers.streamSeed(1, 2, 4));
+		assertTrue(RandomNumbers.streamSeed(1, 2, 3) != RandomNumbers.streamSeed(1, 3, 2));
+	}
+}
@@ -17,16 +17,40 @@ public class Box2D {
 	 * @param points ILocated2D Array used to create an abstract box
 	 */
 	public Box2D(ILocated2D[] points) {
+		this();
+		for (ILocated2D p : points) { // Creates an abstract box using the points in the given Array
+			include(p);
+		}
+	}
+
+	/**
+	 * Creates an empty box, which contains no points until points are
+	 * included. An empty box can be reused by clearing it.
+	 */
+	public Box2D() {
+		clear();
+	}
+
+	/**
+	 * Empties the box so that it contains no points
+	 */
+	public final void clear() {
 		top = -Double.MAX_VALUE;
 		bottom = Double.MAX_VALUE;
 		left = Double.MAX_VALUE;
 		right = -Double.MAX_VALUE;
-		for (ILocated2D p : points) { // Creates an abstract box using the points in the given Array
-			top = Math.max(top, p.getY()); // Stores the maximum Y-Value as the top of the box
-			bottom = Math.min(bottom, p.getY()); // Stores the minimum Y-Value as the bottom of the box
-			right = Math.max(right, p.getX()); // Stores the maximum X-Value as the right edge of the box
-			left = Math.min(left, p.getX()); // Stores the minimum X-Value as the left edge of the box
-		}
+	}
+
+	/**
+	 * Grows the box just enough to contain a given point
+	 * 
+	 * @param p Point to include in the Box2D
+	 */
+	public final void include(ILocated2D p) {
+		top = Math.max(top, p.getY()); // Stores the maximum Y-Value as the top of the box
+		bottom = Math.min(bottom, p.getY()); // Stores the minimum Y-Value as the bottom of the box
+		right = Math.max(right, p.getX()); // Stores the maximum X-Value as the right edge of the box
+		left = Math.min(left, p.getX()); // Stores the minimum X-Value as the left edge of the box
 	}
 
 	/**
@@ -66,4 +66,24 @@ public class Box2DTest {
 		assertFalse(testBox2D2.insideBox(testPoint7, -10.0));
 	}
 
+	@Test
+	public void testInclude() {
+		Box2D box = new Box2D();
+		assertFalse(box.insideBox(testPoint1)); // Empty box contains nothing
+		for (ILocated2D p : testBox2) {
+			box.include(p);
+		}
+		// Same as the box created from the array
+		assertTrue(box.insideBox(testPoint4));
+		assertFalse(box.insideBox(testPoint7));
+		assertEquals(testBox2D2.toString(), box.toString());
+		
+		// Reusing the box
+		box.clear();
+		for (ILocated2D p : testBox1) {
+			box.include(p);
+		}
+		assertEquals(testBox2D1.toString(), box.toString());
+	}
+
 }
@@ -162,11 +162,47 @@ public class Tuple2D extends Point2D.Double implements ILocated2D {
 				(x * Math.sin(radians)) + (y * Math.cos(radians)));
 	}
 
+	/**
+	 * Changes this tuple in place so that it equals
+	 * origin.getPosition().add(offset.rotate(radians)), without creating the
+	 * intermediate tuples.
+	 * 
+	 * @param origin
+	 *            location the rotated offset is added to
+	 * @param offset
+	 *            offset to rotate around the origin
+	 * @param radians
+	 *            radians to rotate offset by
+	 * @return this tuple
+	 */
+	public Tuple2D setToRotatedOffset(ILocated2D origin, Tuple2D offset, double radians) {
+		double cos = Math.cos(radians);
+		double sin = Math.sin(radians);
+		setLocation(origin.getX() + ((offset.x * cos) - (offset.y * sin)),
+				origin.getY() + ((offset.x * sin) + (offset.y * cos)));
+		return this;
+	}
+
+	/**
+	 * Moves this tuple in place by the given amounts
+	 * 
+	 * @param dx
+	 *            change in x-coordinate
+	 * @param dy
+	 *            change in y-coordinate
+	 * @return this tuple
+	 */
+	public Tuple2D translate(double dx, double dy) {
+		x += dx;
+		y += dy;
+		return this;
+	}
+
 	/**
 	 * distance from one tuple to another
 	 */
 	public double distance(ILocated2D other) {
-		return distance(new Point2D.Double(other.getX(), other.getY()));
+		return Point2D.distance(other.getX(), other.getY(), x, y);
 	}
 
 	/**
@@ -120,6 +120,27 @@ public class Tuple2DTest {
 		assertEquals(test, otherTest);
 	}
 
+	@Test
+	public void testSetToRotatedOffset() {
+		Tuple2D origin = new Tuple2D(3, -2);
+		Tuple2D offset = new Tuple2D(10, 1);
+		Tuple2D test = new Tuple2D(0, 0);
+		for (double radians = -4; radians < 4; radians += 0.3) {
+			assertSame(test, test.setToRotatedOffset(origin, offset, radians));
+			// Exactly the same as the tuple created by add and rotate
+			assertEquals(origin.add(offset.rotate(radians)), test);
+		}
+	}
+
+	@Test
+	public void testTranslate() {
+		Tuple2D test = new Tuple2D(1, 2);
+		Tuple2D delta = new Tuple2D(0.1, -0.7);
+		Tuple2D sum = test.add(delta);
+		assertSame(test, test.translate(delta.x, delta.y));
+		assertEquals(sum, test);
+	}
+
 	@Test
 	public void testDistanceILocated2D() {
 		Tuple2D test = new Tuple2D(1, 1);
@@ -7,10 +7,10 @@ import java.util.Random;
 import gvgai.core.content.GameContent;
 import gvgai.core.logging.Logger;
 import gvgai.core.logging.Message;
+import gvgai.core.vgdl.VGDLCache;
 import gvgai.core.vgdl.VGDLFactory;
 import gvgai.core.vgdl.VGDLRegistry;
 import gvgai.core.vgdl.VGDLSprite;
-import gvgai.tools.IO;
 import gvgai.tools.Vector2d;
 import gvgai.tools.pathfinder.PathFinder;
 
@@ -67,7 +67,7 @@ public class BasicGame extends Game {
 	 *            file name containing the level.
 	 */
 	public void buildLevel(String gamelvl, int randomSeed) {
-		String[] lines = new IO().readFile(gamelvl);
+		String[] lines = VGDLCache.readFile(gamelvl);
 
 		// Pathfinder
 		obstacles = new ArrayList<>();
@@ -3,6 +3,7 @@ package gvgai.core.game;
 import java.awt.Dimension;
 import java.util.*;
 
+import edu.utexas.cs.nn.util.random.RandomNumbers;
 import gvgai.core.vgdl.SpriteGroup;
 import gvgai.core.vgdl.VGDLSprite;
 import gvgai.ontology.Types;
@@ -98,6 +99,18 @@ public class ForwardModel extends Game
      */
     private ArrayList<Observation>[][] observationGrid;
 
+    /**
+     * Observations and the grid are only built when the agent asks for them
+     * (null until then). Most copies made during lookahead are advanced and
+     * scored without ever being observed, so building an Observation for each
+     * sprite of each copy was wasted. Once built, they are kept up to date
+     * as before.
+     * True if this state was advanced since update() and before observations
+     * were built, in which case they also include hidden sprites, as they
+     * would if they had been kept up to date during advance.
+     */
+    private boolean advancedUnobserved;
+
     /**
      * Constructor for StateObservation. Initializes everything
      * @param a_gameState
@@ -134,7 +147,7 @@ public class ForwardModel extends Game
         for(int i = 0; i < spriteGroups.length; ++i)
         {
             bucketList[i] = new Bucket();
-            spriteGroups[i] = new SpriteGroup(i);
+            spriteGroups[i] = new SpriteGroup(i, a_gameState.spriteGroups[i].numSprites());
 
             /**
              * Index in the sprite group passed to the checkSpriteFeatures method to
@@ -149,17 +162,8 @@ public class ForwardModel extends Game
 
                 spriteGroups[i].addSprite(spCopy.spriteID, spCopy);
 
-                String hidden = "False";
-                if (spCopy.hidden != null) {
-                    String[] split = spCopy.hidden.split(",");
-                    if (playerID > split.length - 1)
-                        hidden = split[split.length - 1];
-                    else
-                        hidden = split[playerID];
-                }
-                if(!Boolean.parseBoolean(hidden)) {
+                if(!isHidden(spCopy)) {
                     checkSpriteFeatures(spCopy, i);
-                    updateObservation(spCopy);
                 }
             }
 
@@ -193,6 +197,66 @@ public class ForwardModel extends Game
         this.avatarLastAction = new Types.ACTIONS[no_players];
         System.arraycopy(a_gameState.avatarLastAction, 0, avatarLastAction, 0, no_players);
         this.nextSpriteID = a_gameState.nextSpriteID;
+
+        //observations are built from these sprites when first needed.
+        observations = null;
+        observationGrid = null;
+        advancedUnobserved = false;
+    }
+
+    /**
+     * Indicates if a sprite is hidden to the player of this forward model.
+     * @param sprite sprite to check.
+     * @return true if the sprite is hidden.
+     */
+    private boolean isHidden(VGDLSprite sprite)
+    {
+        String hidden = "False";
+        if (sprite.hidden != null) {
+            String[] split = sprite.hidden.split(",");
+            if (playerID > split.length - 1)
+                hidden = split[split.length - 1];
+            else
+                hidden = split[playerID];
+        }
+        return Boolean.parseBoolean(hidden);
+    }
+
+    /**
+     * Builds the observations and the observation grid of the current sprites,
+     * if they have not been built since the last update().
+     * A state that was advanced before being observed can have the observations
+     * of a grid cell in a different order than if they had been kept up to date
+     * during advance, but the cell contents are the same.
+     */
+    private void ensureObservations()
+    {
+        if(observations != null)
+            return;
+
+        observations = new HashMap<Integer, Observation>();
+        observationGrid = new ArrayList[screenSize.width/block_size][screenSize.height/block_size];
+        for(int i = 0; i < observationGrid.length; ++i)
+            for(int j = 0; j < observationGrid[i].length; ++j)
+                observationGrid[i][j] = new ArrayList<Observation>();
+
+        if(advancedUnobserved)
+        {
+            updateAllObservations();
+        }else
+        {
+            //Same sprites, in the same order, as update() used to observe.
+            for(int i = 0; i < spriteGroups.length; ++i)
+            {
+                Iterator<VGDLSprite> spriteIt = spriteGroups[i].getSpriteIterator();
+                if(spriteIt != null) while(spriteIt.hasNext())
+                {
+                    VGDLSprite sp = spriteIt.next();
+                    if(!isHidden(sp))
+                        updateObservation(sp);
+                }
+            }
+        }
     }
 
     /**
@@ -229,6 +293,9 @@ public class ForwardModel extends Game
      */
     public final void removeSpriteObservation(VGDLSprite sprite)
     {
+        if(observations == null)
+            return; //not observed yet, nothing to remove.
+
         int spriteId = sprite.spriteID;
 
         Observation obs = observations.get(spriteId);
@@ -316,6 +383,7 @@ public class ForwardModel extends Game
      */
     public void printObservationGrid()
     {
+        ensureObservations();
         System.out.println("#########################");
         for(int j = 0; j < observationGrid[0].length; ++j)
         {
@@ -445,7 +513,9 @@ public class ForwardModel extends Game
      */
     private void init()
     {
-        this.randomObs = new Random();
+        // Seeded from the generator of the current evaluation rather than the clock,
+        // so lookahead players behave the same whenever a game is replayed
+        this.randomObs = new Random(RandomNumbers.randomGenerator.nextLong());
         this.gameTick = 0;
         this.isEnded = false;
     }
@@ -477,6 +547,7 @@ public class ForwardModel extends Game
         this.MAX_SPRITES = a_gameState.MAX_SPRITES;
         this.no_players = a_gameState.no_players;
         this.no_counters = a_gameState.no_counters;
+        this.keyHandler = a_gameState.keyHandler;
         this.avatarLastAction = new Types.ACTIONS[no_players];
         System.arraycopy(a_gameState.avatarLastAction, 0, avatarLastAction, 0, no_players);
         this.avatars = new MovingAvatar[no_players];
@@ -500,12 +571,6 @@ public class ForwardModel extends Game
         visibleList = new boolean[no_players][a_gameState.spriteGroups.length];
         playerList  = new boolean[a_gameState.spriteGroups.length];
 
-        observations = new HashMap<Integer, Observation>();
-        observationGrid = new ArrayList[screenSize.width/block_size][screenSize.height/block_size];
-        for(int i = 0; i < observationGrid.length; ++i)
-            for(int j = 0; j < observationGrid[i].length; ++j)
-                observationGrid[i][j] = new ArrayList<Observation>();
-
         this.pathf = a_gameState.pathf;
     }
 
@@ -628,7 +693,10 @@ public class ForwardModel extends Game
         clearAll(this);
         terminationHandling();
         checkTimeOut();
-        updateAllObservations();
+        if(observations != null)
+            updateAllObservations();
+        else
+            advancedUnobserved = true;
         gameTick++;
     }
 
@@ -942,6 +1010,8 @@ public class ForwardModel extends Game
      */
     private ArrayList<Observation>[] getPositionsFrom(boolean[] groupArray, Vector2d refPosition)
     {
+        ensureObservations();
+
         //First, get how many types we have. Need to consider hidden sprites out.
         int numDiffTypes = 0;
         for(int i = 0; i < groupArray.length; ++i)
@@ -998,6 +1068,7 @@ public class ForwardModel extends Game
      */
     public ArrayList<Observation>[][] getObservationGrid()
     {
+        ensureObservations();
         return observationGrid;
     }
 
@@ -260,8 +260,17 @@ public abstract class Game {
 	public int no_counters = 0; // default no counters
 	public int[] counter;
 
+	/**
+	 * Key handler of the most recently parsed game, read by human players.
+	 */
 	public static KeyHandler ki;
 
+	/**
+	 * Key handler shared by the avatars of this game. Each game has its own,
+	 * so games played at the same time do not overwrite each other's actions.
+	 */
+	protected KeyHandler keyHandler;
+
 	/**
 	 * Default constructor.
 	 */
@@ -505,6 +514,15 @@ public abstract class Game {
 		return no_players;
 	}
 
+	/**
+	 * Method used to access the key handler of the avatars of this game.
+	 *
+	 * @return key handler of this game.
+	 */
+	public KeyHandler getKeyHandler() {
+		return keyHandler;
+	}
+
 	public int getNoCounters() {
 		return no_counters;
 	}
@@ -787,8 +805,9 @@ public abstract class Game {
 		if (key_handler != null && key_handler.equalsIgnoreCase("Pulse"))
 			CompetitionParameters.KEY_HANDLER = CompetitionParameters.KEY_PULSE;
 
-		ki = CompetitionParameters.KEY_HANDLER == CompetitionParameters.KEY_INPUT ? new KeyInput()
+		keyHandler = CompetitionParameters.KEY_HANDLER == CompetitionParameters.KEY_INPUT ? new KeyInput()
 				: new KeyPulse(no_players);
+		ki = keyHandler;
 	}
 
 	/**
@@ -905,7 +924,7 @@ public abstract class Game {
 		JEasyFrame frame;
 		frame = new JEasyFrame(view, "Java-VGDL");
 
-		frame.addKeyListener(ki);
+		frame.addKeyListener(keyHandler);
 		frame.addWindowListener(wi);
 		wi.windowClosed = false;
 
@@ -1223,7 +1242,7 @@ public abstract class Game {
 				if (numAvatarSprites > i) { // check if there's enough avatars
 					// just in case
 					avatars[i] = avSprites.get(i);
-					avatars[i].setKeyHandler(ki);
+					avatars[i].setKeyHandler(keyHandler);
 					avatars[i].setPlayerID(i);
 				}
 			}
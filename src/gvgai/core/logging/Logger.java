@@ -13,7 +13,8 @@ public class Logger {
     public boolean active;
 
     /**
-     * Private constructor to enforce singleton pattern
+     * Private constructor to enforce singleton pattern. Messages may be added
+     * by games played at the same time, so access to them is synchronized.
      */
     private Logger() {
         messages = new ArrayList<Message>();
@@ -43,7 +44,7 @@ public class Logger {
      * 
      * @return list of errors and warnings
      */
-    public ArrayList<Message> getMessages(int type){
+    public synchronized ArrayList<Message> getMessages(int type){
 	ArrayList<Message> result = new ArrayList<Message>();
 	for (int i=0; i<messages.size(); i++){
 	    if(messages.get(i).getType() == type){
@@ -57,7 +58,7 @@ public class Logger {
      * Sends all messages to the console in one batch Flushes the message log
      * after this is done to prepare for a new game
      */
-    public void printMessages() {
+    public synchronized void printMessages() {
         System.out.println("*** Logged Messages ***");
         for (Message msg : messages) {
             System.out.println(msg.toString());
@@ -69,7 +70,7 @@ public class Logger {
      * Get the number of error and warning messages combined
      * @return 	number of error and warning messages
      */
-    public int getMessageCount() {
+    public synchronized int getMessageCount() {
         return messages.size();
     }
 
@@ -78,7 +79,7 @@ public class Logger {
      * @param type 0 warnings, 1 errors
      * @return	number of errors or warnings
      */
-    public int getMessageCount(int type) {
+    public synchronized int getMessageCount(int type) {
         int result = 0;
         for (int i=0; i<messages.size(); i++){
             if(messages.get(i).getType() == type){
@@ -94,7 +95,7 @@ public class Logger {
      * @param m
      *            the message to be added to messages
      */
-    public void addMessage(Message m) {
+    public synchronized void addMessage(Message m) {
         if(active){
             messages.add(m);
         }
@@ -103,7 +104,7 @@ public class Logger {
     /**
      * Empties the messages list of all messages
      */
-    public void flushMessages() {
+    public synchronized void flushMessages() {
         messages.clear();
     }
 
@@ -0,0 +1,24 @@
+package gvgai.core.player;
+
+import gvgai.core.game.StateObservation;
+import gvgai.tools.ElapsedCpuTimer;
+
+/**
+ * Creates the controller of a single player game. Unlike a class name, a
+ * factory can hand state (such as an evolved network) to each player it
+ * creates, so several games can be played at once without sharing players.
+ * A factory that gives each player a network of its own (rather than one
+ * network shared by every player) makes games safe to play on different
+ * threads, since networks keep their activations between calls.
+ */
+public interface PlayerFactory {
+
+    /**
+     * Creates a player for a new game. Called in place of the
+     * (StateObservation, ElapsedCpuTimer) constructor of a player class.
+     * @param so Initial state of the game to be played by the agent.
+     * @param elapsedTimer Timer for the controller creation.
+     * @return the player.
+     */
+    public AbstractPlayer createPlayer(StateObservation so, ElapsedCpuTimer elapsedTimer);
+}
@@ -34,6 +34,19 @@ public class SpriteGroup
         sprites = new ArrayList<VGDLSprite>(100);
     }
 
+    /**
+     * Creates a new SpriteGroup, specifying the type of sprites this will hold
+     * and how many sprites it is expected to hold. Used by forward models, which
+     * copy groups whose size is known.
+     * @param itype type of sprite for the SpriteGroup.
+     * @param capacity initial capacity of the collection.
+     */
+    public SpriteGroup(int itype, int capacity)
+    {
+        this.itype = itype;
+        sprites = new ArrayList<VGDLSprite>(capacity);
+    }
+
     /**
      * Adds an sprite to the collection.
      * @param spriteId Unique ID of the sprite to add
@@ -0,0 +1,90 @@
+package gvgai.core.vgdl;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.ImageIO;
+
+import gvgai.tools.IO;
+
+/**
+ * Keeps the files that are read every time a game is built: game
+ * descriptions, level layouts and sprite images. Evolution plays the same
+ * game and level thousands of times, and every sprite created (including
+ * those spawned during play and in forward models) used to decode its image
+ * from disk again.
+ *
+ * The cache can be shared by games played on any number of threads. Lines
+ * are handed out as copies, since level building pads them in place, and
+ * images are only ever drawn, never modified.
+ *
+ * Parsed games themselves are not cached, since the parsed contents, effects
+ * and terminations keep state that belongs to a single game.
+ */
+public class VGDLCache
+{
+    /**
+     * Stands for an image file that does not exist.
+     */
+    private static final BufferedImage MISSING = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+
+    /**
+     * Lines of each file read so far.
+     */
+    private static final ConcurrentHashMap<String, String[]> files = new ConcurrentHashMap<String, String[]>();
+
+    /**
+     * Image decoded from each image file, or MISSING.
+     */
+    private static final ConcurrentHashMap<String, BufferedImage> images = new ConcurrentHashMap<String, BufferedImage>();
+
+    /**
+     * Returns the lines of a file, reading it only the first time.
+     * @param filename file to read
+     * @return copy of the file content, one line per element, or null if it cannot be read
+     */
+    public static String[] readFile(String filename)
+    {
+        String[] lines = files.get(filename);
+        if(lines == null)
+        {
+            lines = new IO().readFile(filename);
+            if(lines == null)
+                return null;
+            files.putIfAbsent(filename, lines);
+        }
+        return lines.clone();
+    }
+
+    /**
+     * Returns the image in a file, decoding it only the first time.
+     * @param filename image file
+     * @return the image, or null if there is no such file
+     * @throws IOException if the file exists but cannot be decoded
+     */
+    public static BufferedImage readImage(String filename) throws IOException
+    {
+        BufferedImage image = images.get(filename);
+        if(image == null)
+        {
+            File file = new File(filename);
+            image = file.exists() ? ImageIO.read(file) : MISSING;
+            if(image == null)
+                throw new IOException("No image could be decoded from " + filename);
+            images.putIfAbsent(filename, image);
+        }
+        return image == MISSING ? null : image;
+    }
+
+    /**
+     * Forgets all files, so they are read again. Needed if game, level or
+     * image files change on disk.
+     */
+    public static void clear()
+    {
+        files.clear();
+        images.clear();
+    }
+}
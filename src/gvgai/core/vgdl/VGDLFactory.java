@@ -124,22 +124,22 @@ public class VGDLFactory
     /**
      * Cache for registered games.
      */
-    public static HashMap<String, Class> registeredGames;
+    public static volatile HashMap<String, Class<?>> registeredGames;
 
     /**
      * Cache for registered sprites.
      */
-    public static HashMap<String, Class> registeredSprites;
+    public static volatile HashMap<String, Class<?>> registeredSprites;
 
     /**
      * Cache for registered effects.
      */
-    public static HashMap<String, Class> registeredEffects;
+    public static volatile HashMap<String, Class<?>> registeredEffects;
 
     /**
      * Cache for registered effects.
      */
-    public static HashMap<String, Class> registeredTerminations;
+    public static volatile HashMap<String, Class<?>> registeredTerminations;
 
     /**
      * Default private constructor of this singleton.
@@ -147,38 +147,44 @@ public class VGDLFactory
     private VGDLFactory(){}
 
     /**
-     * Initializes the maps for caching classes.
+     * Initializes the maps for caching classes. Each map is filled before it
+     * is published, since other threads may be reading the previous maps.
      */
     public void init()
     {
-        registeredGames = new HashMap<String, Class>();
-        registeredGames.put("BasicGame", BasicGame.class);
-        registeredGames.put("GameSpace", GameSpace.class);
+        HashMap<String, Class<?>> games = new HashMap<String, Class<?>>();
+        games.put("BasicGame", BasicGame.class);
+        games.put("GameSpace", GameSpace.class);
 
-        registeredSprites = new HashMap<String, Class>();
+        HashMap<String, Class<?>> sprites = new HashMap<String, Class<?>>();
         for(int i = 0;  i < spriteStrings.length; ++i)
         {
-            registeredSprites.put(spriteStrings[i], spriteClasses[i]);
+            sprites.put(spriteStrings[i], spriteClasses[i]);
         }
 
-        registeredEffects  = new HashMap<String, Class>();
+        HashMap<String, Class<?>> effects  = new HashMap<String, Class<?>>();
         for(int i = 0;  i < effectStrings.length; ++i)
         {
-            registeredEffects.put(effectStrings[i], effectClasses[i]);
+            effects.put(effectStrings[i], effectClasses[i]);
         }
 
-        registeredTerminations = new HashMap<String, Class>();
+        HashMap<String, Class<?>> terminations = new HashMap<String, Class<?>>();
         for(int i = 0;  i < terminationStrings.length; ++i)
         {
-            registeredTerminations.put(terminationStrings[i], terminationClasses[i]);
+            terminations.put(terminationStrings[i], terminationClasses[i]);
         }
+
+        registeredGames = games;
+        registeredSprites = sprites;
+        registeredEffects = effects;
+        registeredTerminations = terminations;
     }
 
     /**
      * Returns the unique instance of this class.
      * @return the factory that creates the game and the sprite objects.
      */
-    public static VGDLFactory GetInstance()
+    public static synchronized VGDLFactory GetInstance()
     {
         if(factory == null)
             factory = new VGDLFactory();
@@ -14,7 +14,6 @@ import gvgai.core.termination.Termination;
 import gvgai.ontology.Types;
 import gvgai.ontology.effects.Effect;
 import gvgai.ontology.effects.TimeEffect;
-import gvgai.tools.IO;
 import gvgai.tools.Pair;
 
 /**
@@ -77,7 +76,7 @@ public class VGDLParser {
 	 * @return the game created
 	 */
 	public Game parseGame(String gamedesc_file) {
-		String[] desc_lines = new IO().readFile(gamedesc_file);
+		String[] desc_lines = VGDLCache.readFile(gamedesc_file);
 		if (desc_lines != null) {
 			Node rootNode = indentTreeParser(desc_lines);
 
@@ -107,7 +106,7 @@ public class VGDLParser {
 	 * @return the game created
 	 */
 	public Game parseGameWithParameters(String gamedesc_file, HashMap<String, ParameterContent> parameters) {
-		String[] desc_lines = new IO().readFile(gamedesc_file);
+		String[] desc_lines = VGDLCache.readFile(gamedesc_file);
 		if (desc_lines != null) {
 			Node rootNode = indentTreeParser(desc_lines);
 
@@ -14,9 +14,11 @@ import java.util.TreeMap;
 public class VGDLRegistry
 {
     /**
-     * Singleton instance of this class.
+     * Instance of this class for each thread. A game is parsed and played by
+     * a single thread, so games on different threads can register their
+     * sprites at the same time.
      */
-    private static VGDLRegistry registry;
+    private static final ThreadLocal<VGDLRegistry> registry = new ThreadLocal<VGDLRegistry>();
 
     /**
      * Maps strings to int. Strings are VGDL identifiers for SPRITE TYPES,
@@ -38,17 +40,19 @@ public class VGDLRegistry
     }
 
     /**
-     * Returns the unique instance of this class.
-     * @return the unique instance of this class.
+     * Returns the instance of this class for the current thread.
+     * @return the instance of this class for the current thread.
      */
     public static VGDLRegistry GetInstance()
     {
-        if(registry == null)
+        VGDLRegistry instance = registry.get();
+        if(instance == null)
         {
-            registry = new VGDLRegistry();
-            registry.init();
+            instance = new VGDLRegistry();
+            instance.init();
+            registry.set(instance);
         }
-        return registry;
+        return instance;
     }
 
     /**
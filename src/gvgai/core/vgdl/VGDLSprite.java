@@ -7,7 +7,6 @@ import java.awt.Image;
 import java.awt.Polygon;
 import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -964,8 +963,9 @@ public abstract class VGDLSprite {
             		int i = 0;
             		do{
             			String currentFile = imagePath + i + ".png";
-            			if((new File(currentFile).exists())) {
-            				allImages.put(i, ImageIO.read(new File(currentFile)));
+            			Image tile = VGDLCache.readImage(currentFile);
+            			if(tile != null) {
+            				allImages.put(i, tile);
     	                }
     	                else {
     	                    //System.out.println(currentFile);
@@ -979,10 +979,8 @@ public abstract class VGDLSprite {
             	else{
 	                if (!(str.contains(".png"))) str = str + ".png";
 	                String image_file = CompetitionParameters.IMG_PATH + str;
-	                if((new File(image_file).exists())) {
-	                    image = ImageIO.read(new File(image_file));
-	                }
-	                else {
+	                image = VGDLCache.readImage(image_file);
+	                if(image == null) {
 	                    //System.out.println(image_file);
 	                    image = ImageIO.read(this.getClass().getResource("/" + image_file));
 	                }
@@ -1045,7 +1043,7 @@ public abstract class VGDLSprite {
         toSprite.physics = this.physics; //Object reference, but should be ok.
         toSprite.shrinkfactor = this.shrinkfactor;
         toSprite.is_oriented = this.is_oriented;
-        toSprite.orientation = new Direction(orientation.x(), orientation.y());
+        toSprite.orientation = orientation; //Directions are immutable, so they can be shared.
         toSprite.rect = new Rectangle(this.rect.x, this.rect.y, this.rect.width, this.rect.height);
         toSprite.lastrect =  new Rectangle(this.lastrect.x, this.lastrect.y, this.lastrect.width, this.lastrect.height);
         toSprite.lastmove = this.lastmove;
@@ -1082,9 +1080,7 @@ public abstract class VGDLSprite {
         toSprite.solid = this.solid;
         toSprite.max_speed = this.max_speed;
 
-        toSprite.itypes = new ArrayList<Integer>();
-        for(Integer it : this.itypes)
-            toSprite.itypes.add(it);
+        toSprite.itypes = new ArrayList<Integer>(this.itypes);
 
         toSprite.resources = new TreeMap<Integer, Integer>();
         Set<Map.Entry<Integer, Integer>> entries = this.resources.entrySet();
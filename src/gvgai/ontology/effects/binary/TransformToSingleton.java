@@ -15,6 +15,7 @@ import gvgai.ontology.Types;
 import gvgai.ontology.avatar.MovingAvatar;
 import gvgai.ontology.effects.Effect;
 import gvgai.tools.Direction;
+import gvgai.tools.KeyHandler;
 
 /**
  * Created with IntelliJ IDEA.
@@ -106,11 +107,12 @@ public class TransformToSingleton extends Effect {
             try {
                 int id = ((MovingAvatar)oldSprite).getPlayerID();
                 Player p = game.getAvatar(id).player;
+                KeyHandler ki = game.getAvatar(id).getKeyHandler();
                 double score = game.getAvatar(id).getScore();
                 Types.WINNER win = game.getAvatar(id).getWinState();
                 game.setAvatar((MovingAvatar) newSprite, id);
                 game.getAvatar(id).player = p;
-                game.getAvatar(id).setKeyHandler(Game.ki);
+                game.getAvatar(id).setKeyHandler(ki);
                 game.getAvatar(id).setScore(score);
                 game.getAvatar(id).setWinState(win);
                 game.getAvatar(id).setPlayerID(id);
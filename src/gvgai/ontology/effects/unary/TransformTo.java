@@ -13,6 +13,7 @@ import gvgai.core.vgdl.VGDLSprite;
 import gvgai.ontology.Types;
 import gvgai.ontology.avatar.MovingAvatar;
 import gvgai.ontology.effects.Effect;
+import gvgai.tools.KeyHandler;
 
 /**
  * Created with IntelliJ IDEA.
@@ -80,11 +81,12 @@ public class TransformTo extends Effect {
                 try{
                     int id = ((MovingAvatar)sprite1).getPlayerID();
                     Player p = game.getAvatar(id).player;
+                    KeyHandler ki = game.getAvatar(id).getKeyHandler();
                     double score = game.getAvatar(id).getScore();
                     Types.WINNER win = game.getAvatar(id).getWinState();
                     game.setAvatar((MovingAvatar) newSprite, id);
                     game.getAvatar(id).player = p;
-                    game.getAvatar(id).setKeyHandler(Game.ki);
+                    game.getAvatar(id).setKeyHandler(ki);
                     game.getAvatar(id).setScore(score);
                     game.getAvatar(id).setWinState(win);
                     game.getAvatar(id).setPlayerID(id);
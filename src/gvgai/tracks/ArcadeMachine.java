@@ -13,6 +13,7 @@ import gvgai.core.game.StateObservationMulti;
 import gvgai.core.player.AbstractMultiPlayer;
 import gvgai.core.player.AbstractPlayer;
 import gvgai.core.player.Player;
+import gvgai.core.player.PlayerFactory;
 import gvgai.core.vgdl.VGDLFactory;
 import gvgai.core.vgdl.VGDLParser;
 import gvgai.core.vgdl.VGDLRegistry;
@@ -83,6 +84,41 @@ public class ArcadeMachine {
      */
     public static double[] runOneGame(String game_file, String level_file, boolean visuals, String agentNames,
 	    String actionFile, int randomSeed, int playerID) {
+		return runOneGame(game_file, level_file, visuals, agentNames, null, actionFile, randomSeed, playerID);
+	}
+
+    /**
+     * Reads and launches a single player game for a bot created by a factory.
+     * Games played this way share no players, so several of them can be
+     * played at once by different threads.
+     * 
+     * @param game_file
+     *            game description file.
+     * @param level_file
+     *            file with the level to be played.
+     * @param visuals
+     *            true to show the graphics, false otherwise.
+     * @param factory
+     *            creates the player of this game.
+     * @param actionFile
+     *            filename of the file where the actions of the player, for
+     *            this game, should be recorded.
+     * @param randomSeed
+     *            sampleRandom seed for the sampleRandom generator.
+     * @param playerID
+     *            ID of the human player
+     */
+    public static double[] runOneGame(String game_file, String level_file, boolean visuals, PlayerFactory factory,
+	    String actionFile, int randomSeed, int playerID) {
+		return runOneGame(game_file, level_file, visuals, null, factory, actionFile, randomSeed, playerID);
+	}
+
+    /**
+     * Plays a game with players named by agentNames, or a single player
+     * created by factory if it is not null.
+     */
+    private static double[] runOneGame(String game_file, String level_file, boolean visuals, String agentNames,
+	    PlayerFactory factory, String actionFile, int randomSeed, int playerID) {
 		VGDLFactory.GetInstance().init(); // This always first thing to do.
 		VGDLRegistry.GetInstance().init();
 
@@ -102,8 +138,12 @@ public class ArcadeMachine {
 		ArcadeMachine.warmUp(toPlay, CompetitionParameters.WARMUP_TIME);
 
 		// Create the players.
-		String[] names = agentNames.split(" ");
 		int no_players = toPlay.no_players;
+		if (factory != null && no_players > 1) {
+			System.out.println("Player factories can only play single player games, not " + game_file);
+			System.exit(1);
+		}
+		String[] names = factory != null ? new String[] { factory.getClass().getName() } : agentNames.split(" ");
 		if (no_players > 1 && no_players != names.length) {
 			// We fill with more human players
 			String[] newNames = new String[no_players];
@@ -132,7 +172,10 @@ public class ArcadeMachine {
 			humans[i] = isHuman(names[i]);
 			anyHuman |= humans[i];
 
-			if (no_players > 1) {
+			if (factory != null) {
+			// single player from a factory
+			players[i] = ArcadeMachine.createPlayer(factory, actionFile, toPlay.getObservation(), randomSeed);
+			} else if (no_players > 1) {
 			// multi player
 			players[i] = ArcadeMachine.createMultiPlayer(names[i], actionFile, toPlay.getObservationMulti(i),
 				randomSeed, i, humans[i]);
@@ -559,6 +602,38 @@ public class ArcadeMachine {
         return player;
     }
 
+    /**
+     * Creates a player with a factory. Like createPlayer with a player name,
+     * the player is initialized for action recording and disqualified (null
+     * is returned) if its creation takes too long.
+     * 
+     * @param factory
+     *            creates the player.
+     * @param actionFile
+     *            filename of the file where the actions of this player, for
+     *            this game, should be recorded.
+     * @param so
+     *            Initial state of the game to be played by the agent.
+     * @param randomSeed
+     *            Seed for the sampleRandom generator of the game to be played.
+     * @return the player, created and initialized, ready to start playing the
+     *         game.
+     */
+    public static AbstractPlayer createPlayer(PlayerFactory factory, String actionFile, StateObservation so,
+	    int randomSeed) {
+        // Determine the time due for the controller creation.
+        ElapsedCpuTimer ect = new ElapsedCpuTimer();
+        ect.setMaxTimeMillis(CompetitionParameters.INITIALIZATION_TIME);
+
+        AbstractPlayer player = factory.createPlayer(so, ect.copy());
+        player.setPlayerID(0);
+        if (!initializedOnTime(ect)) {
+            return null;
+        }
+        player.setup(actionFile, randomSeed, false);
+        return player;
+    }
+
     /**
      * Creates a player given its name with package for multiplayer. This class
      * calls the constructor of the agent and initializes the action recording
@@ -650,15 +725,8 @@ public class ArcadeMachine {
             player.setPlayerID(playerID);
             }
             // Check if we returned on time, and act in consequence.
-            long timeTaken = ect.elapsedMillis();
-            if (ect.exceededMaxTime()) {
-            long exceeded = -ect.remainingTimeMillis();
-            System.out.println("Controller initialization time out (" + exceeded + ").");
-
+            if (!initializedOnTime(ect)) {
             return null;
-            } else {
-            if (VERBOSE)
-                System.out.println("Controller initialization time: " + timeTaken + " ms.");
             }
 
             // This code can throw many exceptions (no time related):
@@ -695,6 +763,26 @@ public class ArcadeMachine {
 
 
 
+    /**
+     * Checks whether a controller was created within its initialization time.
+     * 
+     * @param ect
+     *            timer started before creating the controller.
+     * @return true if the controller was created on time.
+     */
+    private static boolean initializedOnTime(ElapsedCpuTimer ect) {
+        long timeTaken = ect.elapsedMillis();
+        if (ect.exceededMaxTime()) {
+            long exceeded = -ect.remainingTimeMillis();
+            System.out.println("Controller initialization time out (" + exceeded + ").");
+            return false;
+        } else {
+            if (VERBOSE)
+                System.out.println("Controller initialization time: " + timeTaken + " ms.");
+            return true;
+        }
+    }
+
     /**
      * This methods takes the game and warms it up. This allows Java to finish
      * the runtime compilation process and optimize the code before the proper
@@ -808,7 +896,7 @@ public class ArcadeMachine {
         }
 
         // Reset input to delete warm-up effects.
-        Game.ki.resetAll();
+        toPlay.getKeyHandler().resetAll();
     }
 
     /**
@@ -24,6 +24,15 @@ public class Unit implements Serializable {
     UnitType type;
     
     public static long next_ID = 0;
+
+    // Units are created by games played on several threads at once
+    private static synchronized long nextID() {
+        return next_ID++;
+    }
+
+    private static synchronized void reserveID(long id) {
+        if (id>=next_ID) next_ID = id+1;
+    }
     
     long ID;
     int player;
@@ -38,7 +47,7 @@ public class Unit implements Serializable {
         y = a_y;
         resources = a_resources;
         hitpoints = a_type.hp;
-        ID = next_ID++;
+        ID = nextID();
     }
 
     public Unit(int a_player, UnitType a_type, int a_x, int a_y) {
@@ -48,7 +57,7 @@ public class Unit implements Serializable {
         y = a_y;
         resources = 0;
         hitpoints = a_type.hp;
-        ID = next_ID++;
+        ID = nextID();
     }
     
     
@@ -315,7 +324,7 @@ public class Unit implements Serializable {
         
         type = utt.getUnitType(typeName);
         ID = Integer.parseInt(IDStr);
-        if (ID>=next_ID) next_ID = ID+1;
+        reserveID(ID);
         player = Integer.parseInt(playerStr);
         x = Integer.parseInt(xStr);
         y = Integer.parseInt(yStr);
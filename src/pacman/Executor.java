@@ -11,10 +11,17 @@ import edu.utexas.cs.nn.util.MiscUtil;
 import edu.utexas.cs.nn.util.datastructures.ArrayUtil;
 import java.awt.Color;
 import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import pacman.controllers.Controller;
 import pacman.controllers.HumanController;
 import pacman.controllers.examples.Legacy;
@@ -39,6 +46,7 @@ public class Executor {
 	public static MMNEATLog watch;
 	public static MMNEATLog noWatch;
 	public static DeathLocationsLog deaths = null;
+	private static final ThreadMXBean CPU_TIMER = ManagementFactory.getThreadMXBean();
 
 	public Executor() {
 		hold = Parameters.parameters.booleanParameter("stepByStep");
@@ -157,8 +165,8 @@ public class Executor {
 			game = new Game(rnd.nextLong());
 
 			while (!game.gameOver()) {
-				game.advanceGame(pacManController.getMove(game.copy(), System.currentTimeMillis() + DELAY),
-						ghostController.getMove(game.copy(), System.currentTimeMillis() + DELAY));
+				game.advanceGame(getMove(pacManController, game, System.currentTimeMillis() + DELAY),
+						getMove(ghostController, game, System.currentTimeMillis() + DELAY));
 			}
 
 			avgScore += game.getScore();
@@ -168,20 +176,160 @@ public class Executor {
 		System.out.println(avgScore / trials);
 	}
 
-	// public static ArrayList<Double> actionTimes = new ArrayList<Double>();
+	/**
+	 * Plays the given game without visuals or time limits, which is how games
+	 * are played during evolution.
+	 *
+	 * @param pacManController
+	 *            The Pac-Man controller
+	 * @param ghostController
+	 *            The Ghosts controller
+	 * @param game
+	 *            instance of pacman game to use
+	 */
 	public void runExperiment(Controller<MOVE> pacManController, Controller<EnumMap<GHOST, MOVE>> ghostController,
 			Game game) {
-		// game._init();
+		runGameLockstep(pacManController, ghostController, game, 0);
+	}
+
+	/**
+	 * Run a game synchronously in lockstep: on every time step both controllers
+	 * are asked for their moves on the calling thread, and the game advances
+	 * as soon as both have answered. No threads are started and nothing
+	 * sleeps, so a machine can play as many games at once as it has cores (see
+	 * runGamesLockstep).
+	 *
+	 * Instead of the wall-clock time limit of the timed modes, each move may be
+	 * given a budget of CPU time, which is not affected by other games playing
+	 * at the same time. A move that used more than the budget arrives too late,
+	 * as it would in the timed modes, and is ignored: the characters of that
+	 * controller keep going in the direction of their last move.
+	 *
+	 * @param pacManController
+	 *            The Pac-Man controller
+	 * @param ghostController
+	 *            The Ghosts controller
+	 * @param game
+	 *            instance of pacman game to use
+	 * @param moveBudget
+	 *            CPU milliseconds allowed for each move, or 0 for no limit
+	 * @return Number of moves that were ignored for exceeding the budget
+	 */
+	public int runGameLockstep(Controller<MOVE> pacManController, Controller<EnumMap<GHOST, MOVE>> ghostController,
+			Game game, int moveBudget) {
+		long budget = moveBudget * 1000000L;
+		int lateMoves = 0;
 		while (!game.gameOver()) {
-			// long start = System.currentTimeMillis();
-			long due = System.currentTimeMillis() + DELAY;
-			game.advanceGame(pacManController.getMove(game.copy(), due), ghostController.getMove(game.copy(), due));
-			// long end = System.currentTimeMillis();
-			// actionTimes.add(new Double(end - start));
+			long due = System.currentTimeMillis() + (moveBudget > 0 ? moveBudget : DELAY);
+			long start = budget > 0 ? cpuTime() : 0;
+			MOVE pacManMove = getMove(pacManController, game, due);
+			if (budget > 0) {
+				long end = cpuTime();
+				if (end - start > budget) {
+					pacManMove = game.getPacmanLastMoveMade();
+					lateMoves++;
+				}
+				start = end;
+			}
+			EnumMap<GHOST, MOVE> ghostMoves = getMove(ghostController, game, due);
+			if (budget > 0 && cpuTime() - start > budget) {
+				ghostMoves = null; // ghosts repeat their last moves
+				lateMoves++;
+			}
+			game.advanceGame(pacManMove, ghostMoves);
 		}
+		return lateMoves;
+	}
+
+	/**
+	 * Plays several games at once, each one in lockstep (see runGameLockstep)
+	 * on a worker of a pool that only lives for this call, so the shared
+	 * evaluation pool keeps the size it was configured with. Controllers keep
+	 * state from one time step to the next, so each game needs its own pair of
+	 * controllers.
+	 *
+	 * @param pacManControllers
+	 *            Pac-Man controller for each game
+	 * @param ghostControllers
+	 *            Ghosts controller for each game
+	 * @param games
+	 *            Games to play
+	 * @param moveBudget
+	 *            CPU milliseconds allowed for each move, or 0 for no limit
+	 * @param threads
+	 *            Number of games to play at the same time
+	 * @return Number of moves ignored for exceeding the budget in each game
+	 */
+	public int[] runGamesLockstep(final List<Controller<MOVE>> pacManControllers,
+			final List<Controller<EnumMap<GHOST, MOVE>>> ghostControllers, final List<Game> games,
+			final int moveBudget, int threads) {
+		assert pacManControllers.size() == games.size() && ghostControllers.size() == games.size() : "Need controllers for every game";
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			List<Future<Integer>> futures = new ArrayList<Future<Integer>>(games.size());
+			for (int i = 0; i < games.size(); i++) {
+				final int index = i;
+				futures.add(pool.submit(new Callable<Integer>() {
+					@Override
+					public Integer call() {
+						return runGameLockstep(pacManControllers.get(index), ghostControllers.get(index),
+								games.get(index), moveBudget);
+					}
+				}));
+			}
+			int[] lateMoves = new int[games.size()];
+			for (int i = 0; i < lateMoves.length; i++) {
+				try {
+					lateMoves[i] = futures.get(i).get();
+				} catch (InterruptedException | ExecutionException ex) {
+					ex.printStackTrace();
+					System.exit(1);
+				}
+			}
+			return lateMoves;
+		} finally {
+			pool.shutdown();
+		}
+	}
 
-		// System.out.println("Average Action Time: " +
-		// StatisticsUtilities.average(ArrayUtil.doubleArrayFromArrayList(actionTimes)));
+	/**
+	 * CPU time used by the current thread, or elapsed time if the JVM cannot
+	 * measure CPU time
+	 */
+	private static long cpuTime() {
+		return CPU_TIMER.isCurrentThreadCpuTimeSupported() ? CPU_TIMER.getCurrentThreadCpuTime() : System.nanoTime();
+	}
+
+	/**
+	 * Asks a controller for its next move in the synchronous execution modes.
+	 * Unless the controller needs a copy of the game, it is lent the game
+	 * itself, which is read-only until the move is returned. The random number
+	 * generator of the game is restored afterwards, so that controllers drawing
+	 * from it affect the game exactly as they did when given copies.
+	 *
+	 * The timed modes still hand out copies, because there the controllers
+	 * run on their own threads while the game advances.
+	 *
+	 * @param controller
+	 *            Pac-Man or ghosts controller
+	 * @param game
+	 *            The current game
+	 * @param timeDue
+	 *            The time the next move is due
+	 * @return The move chosen by the controller
+	 */
+	private static <T> T getMove(Controller<T> controller, Game game, long timeDue) {
+		if (controller.needsGameCopy()) {
+			return controller.getMove(game.copy(), timeDue);
+		}
+		long seed = game.rnd.getSeed();
+		game.setReadOnly(true);
+		try {
+			return controller.getMove(game, timeDue);
+		} finally {
+			game.setReadOnly(false);
+			game.rnd.hardSetSeed(seed);
+		}
 	}
 
 	/**
@@ -210,7 +358,7 @@ public class Executor {
 		}
 
 		while (!game.gameOver()) {
-			game.advanceGame(pacManController.getMove(game.copy(), -1), ghostController.getMove(game.copy(), -1));
+			game.advanceGame(getMove(pacManController, game, -1), getMove(ghostController, game, -1));
 
 			try {
 				Thread.sleep(delay);
@@ -0,0 +1,122 @@
+package pacman;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+import edu.utexas.cs.nn.parameters.Parameters;
+import pacman.controllers.Controller;
+import pacman.controllers.examples.Legacy;
+import pacman.controllers.examples.StarterPacMan;
+import pacman.game.Constants.GHOST;
+import pacman.game.Constants.MOVE;
+import pacman.game.Game;
+
+/**
+ * Compares the number of time steps per second that the synchronous Executor
+ * plays when the controllers are given a copy of the game on every time step,
+ * and when they are lent the read-only game itself. The controllers are cheap,
+ * so copying is a large part of each time step. Both ways play the same games
+ * with the same seeds, so the scores must be equal, which is checked as well.
+ * Finally, the same games are played in lockstep on the shared evaluation pool,
+ * with as many games at once as the threads parameter allows.
+ *
+ * Usage: ExecutorBenchmark [parameters]
+ */
+public class ExecutorBenchmark {
+
+	public static final int GAMES = 20;
+	public static final int REPEATS = 5;
+
+	private static boolean copyGames;
+
+	public static void main(String[] args) {
+		Parameters.initializeParameterCollections(args);
+		Executor executor = new Executor();
+		Controller<MOVE> pacMan = new StarterPacMan() {
+			@Override
+			public boolean needsGameCopy() {
+				return copyGames;
+			}
+		};
+		Controller<EnumMap<GHOST, MOVE>> ghosts = new Legacy() {
+			@Override
+			public boolean needsGameCopy() {
+				return copyGames;
+			}
+		};
+
+		// warm up both ways
+		play(executor, pacMan, ghosts, true);
+		play(executor, pacMan, ghosts, false);
+
+		int threads = Parameters.parameters.integerParameter("threads");
+		playPooled(executor, threads);
+
+		System.out.println("repeat\tcopyTicksPerSecond\tviewTicksPerSecond\tpooledTicksPerSecond");
+		for (int i = 0; i < REPEATS; i++) {
+			long[] copied = play(executor, pacMan, ghosts, true);
+			long[] viewed = play(executor, pacMan, ghosts, false);
+			long[] pooled = playPooled(executor, threads);
+			if (copied[1] != viewed[1] || copied[2] != viewed[2] || copied[1] != pooled[1] || copied[2] != pooled[2]) {
+				System.out.println("Games differ: " + copied[1] + " points in " + copied[2] + " steps when copied, "
+						+ viewed[1] + " points in " + viewed[2] + " steps when viewed, " + pooled[1] + " points in "
+						+ pooled[2] + " steps when pooled");
+				System.exit(1);
+			}
+			System.out.println(i + "\t" + ticksPerSecond(copied) + "\t" + ticksPerSecond(viewed) + "\t" + ticksPerSecond(pooled));
+		}
+	}
+
+	/**
+	 * Plays GAMES games with fixed seeds
+	 *
+	 * @return {nanoseconds taken, total score, total time steps}
+	 */
+	private static long[] play(Executor executor, Controller<MOVE> pacMan, Controller<EnumMap<GHOST, MOVE>> ghosts,
+			boolean copy) {
+		copyGames = copy;
+		long score = 0;
+		long ticks = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < GAMES; i++) {
+			Game game = new Game(i);
+			executor.runExperiment(pacMan, ghosts, game);
+			score += game.getScore();
+			ticks += game.getTotalTime();
+		}
+		return new long[] { System.nanoTime() - start, score, ticks };
+	}
+
+	/**
+	 * Plays the same GAMES games at once on the evaluation pool, each with its
+	 * own controllers
+	 *
+	 * @return {nanoseconds taken, total score, total time steps}
+	 */
+	private static long[] playPooled(Executor executor, int threads) {
+		copyGames = false;
+		List<Controller<MOVE>> pacMen = new ArrayList<Controller<MOVE>>(GAMES);
+		List<Controller<EnumMap<GHOST, MOVE>>> ghosts = new ArrayList<Controller<EnumMap<GHOST, MOVE>>>(GAMES);
+		List<Game> games = new ArrayList<Game>(GAMES);
+		for (int i = 0; i < GAMES; i++) {
+			pacMen.add(new StarterPacMan());
+			ghosts.add(new Legacy());
+			games.add(new Game(i));
+		}
+		long start = System.nanoTime();
+		executor.runGamesLockstep(pacMen, ghosts, games, 0, threads);
+		long time = System.nanoTime() - start;
+		long score = 0;
+		long ticks = 0;
+		for (Game game : games) {
+			score += game.getScore();
+			ticks += game.getTotalTime();
+		}
+		return new long[] { time, score, ticks };
+	}
+
+	private static long ticksPerSecond(long[] result) {
+		return Math.round(result[2] / (result[0] / 1000000000.0));
+	}
+}
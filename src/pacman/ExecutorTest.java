@@ -0,0 +1,74 @@
+package pacman;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import edu.utexas.cs.nn.parameters.Parameters;
+import pacman.controllers.Controller;
+import pacman.controllers.examples.Legacy;
+import pacman.controllers.examples.StarterPacMan;
+import pacman.game.Constants.GHOST;
+import pacman.game.Constants.MOVE;
+import pacman.game.Game;
+
+public class ExecutorTest {
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		Parameters.initializeParameterCollections(new String[] { "io:false", "netio:false", "pacManLevelTimeLimit:100" });
+	}
+
+	@Test
+	public void testMoveBudget() {
+		Executor executor = new Executor();
+		final int[] calls = new int[1];
+		// Always takes longer than the budget
+		Controller<MOVE> slow = new StarterPacMan() {
+			@Override
+			public MOVE getMove(Game game, long timeDue) {
+				calls[0]++;
+				ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+				long start = threads.getCurrentThreadCpuTime();
+				while (threads.getCurrentThreadCpuTime() - start < 2000000) {
+					// busy waiting uses CPU time
+				}
+				return MOVE.UP;
+			}
+		};
+		int late = executor.runGameLockstep(slow, new Legacy(), new Game(0), 1);
+		assertTrue(calls[0] > 0);
+		assertEquals(calls[0], late);
+		// No move was late without a budget
+		assertEquals(0, executor.runGameLockstep(new StarterPacMan(), new Legacy(), new Game(0), 0));
+	}
+
+	@Test
+	public void testPooledGamesMatchSequentialGames() {
+		Executor executor = new Executor();
+		List<Controller<MOVE>> pacMen = new ArrayList<Controller<MOVE>>();
+		List<Controller<EnumMap<GHOST, MOVE>>> ghosts = new ArrayList<Controller<EnumMap<GHOST, MOVE>>>();
+		List<Game> games = new ArrayList<Game>();
+		for (int i = 0; i < 4; i++) {
+			pacMen.add(new StarterPacMan());
+			ghosts.add(new Legacy());
+			games.add(new Game(i));
+		}
+		executor.runGamesLockstep(pacMen, ghosts, games, 0, 2);
+		for (int i = 0; i < games.size(); i++) {
+			Game game = new Game(i);
+			executor.runExperiment(new StarterPacMan(), new Legacy(), game);
+			assertTrue(games.get(i).gameOver());
+			assertEquals(game.getScore(), games.get(i).getScore());
+			assertEquals(game.getTotalTime(), games.get(i).getTotalTime());
+		}
+	}
+}
@@ -126,7 +126,8 @@ public abstract class Controller<T> implements Runnable {
 	 * pacman.entries.ghosts.MyGhosts.java for ghosts controllers.
 	 *
 	 * @param game
-	 *            A copy of the current game
+	 *            A copy of the current game, or the read-only game itself when
+	 *            the game is run synchronously (see needsGameCopy)
 	 * @param timeDue
 	 *            The time the next move is due
 	 * @return The move to be played (i.e., the move calculated by your
@@ -134,6 +135,19 @@ public abstract class Controller<T> implements Runnable {
 	 */
 	public abstract T getMove(Game game, long timeDue);
 
+	/**
+	 * Whether getMove must be given a copy of the game that it may change,
+	 * for instance to simulate moves ahead on it. Otherwise, the synchronous
+	 * execution modes lend the controller the game itself, made read-only,
+	 * which saves copying the game on every time step. Controllers that look
+	 * ahead can also copy the read-only game themselves.
+	 *
+	 * @return true if the game has to be copied before each call to getMove
+	 */
+	public boolean needsGameCopy() {
+		return false;
+	}
+
 	/**
 	 * Added so that it is possible to view multiple evaluations by the same
 	 * controller
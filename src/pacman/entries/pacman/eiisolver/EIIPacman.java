@@ -22,16 +22,73 @@ public class EIIPacman extends Controller<MOVE> {
 	public static final boolean log = Search.log;
 	private int nodeToClosestPill;
 	private MOVE nextMoveInTrap;
+	private final Search search;
+	private final GhostTrap ghostTrap;
+	/**
+	 * Whether to report every move on the console
+	 */
+	public boolean verbose = true;
+	/**
+	 * Depth of the ghost paths in the junction graph, see JunctionGraph.walkDepth
+	 */
+	private int walkDepth = 0;
+	/**
+	 * Depth of the ghost paths when searching deterministically. About as deep
+	 * as a desktop machine gets in the time allowed otherwise.
+	 */
+	public static final int DETERMINISTIC_WALK_DEPTH = 10;
 
 	static {
 		if (log) {
 			Log.logFile = new File("pacman.log");
 		}
-		Search.pacmanEvaluation = true;
 	}
 
+	/**
+	 * Pacman that searches until shortly before each move is due
+	 */
 	public EIIPacman() {
-		board.initHash();
+		this(new Search());
+	}
+
+	/**
+	 * Pacman that always makes the same moves in the same games, whatever the
+	 * load of the machine, because the search for each move stops after a
+	 * fixed amount of work instead of on the clock. At least one limit must be
+	 * positive.
+	 *
+	 * @param seed
+	 *            seed of the random noise in the evaluation
+	 * @param nodeLimit
+	 *            maximum number of nodes searched per move, or 0 for no limit
+	 * @param budgetLimit
+	 *            maximum search budget per move (a move costs 10), or 0 for no
+	 *            limit
+	 */
+	public EIIPacman(long seed, int nodeLimit, int budgetLimit) {
+		this(new Search(seed));
+		assert nodeLimit > 0 || budgetLimit > 0 : "A deterministic search needs a node or budget limit";
+		search.nodeLimit = nodeLimit;
+		search.budgetLimit = budgetLimit;
+		walkDepth = DETERMINISTIC_WALK_DEPTH;
+		verbose = false;
+	}
+
+	private EIIPacman(Search search) {
+		this.search = search;
+		this.ghostTrap = new GhostTrap(search);
+		search.pacmanEvaluation = true;
+		board.initHash(search.rand);
+	}
+
+	/**
+	 * The search behind this pacman, which also holds statistics of the last
+	 * search such as the number of nodes searched
+	 *
+	 * @return search
+	 */
+	public Search getSearch() {
+		return search;
 	}
 
 	public MOVE getMove(Game game, long timeDue) {
@@ -42,39 +99,42 @@ public class EIIPacman extends Controller<MOVE> {
 			// for the rest of the game
 			ex.printStackTrace();
 			Log.println("" + ex);
-			TransposTable.clear();
+			search.transposTable.clear();
 			return myMove;
 		}
 	}
 
 	public MOVE getMove2(Game game, long timeDue) {
+		search.verbose = verbose;
 		// Place your game logic here to play the game as the ghosts
 		// update junction graph when necessary
 		if (game.getMazeIndex() != lastMazeIndex) {
-			Search.pacmanMovesFirst = true;
-			Search.evaluationExtra = new EvaluationExtra() {
+			search.pacmanMovesFirst = true;
+			search.evaluationExtra = new EvaluationExtra() {
 				@Override
 				public void evaluateExtra(PlyInfo p) {
-					if (Search.plyInfo[2].savedBoard.pacmanLocation == nodeToClosestPill) {
+					if (search.plyInfo[2].savedBoard.pacmanLocation == nodeToClosestPill) {
 						p.bestValue += 15;
 					}
-					if (Search.plyInfo[2].savedBoard.pacmanLastMove == nextMoveInTrap) {
+					if (search.plyInfo[2].savedBoard.pacmanLastMove == nextMoveInTrap) {
 						p.bestValue += 300;
 					}
 				}
 			};
-			System.out.println("Update junction graph");
+			print("Update junction graph");
 			Log.println("Update graph");
 			jgraph = new JunctionGraph();
+			jgraph.walkDepth = walkDepth;
+			jgraph.verbose = verbose;
 			jgraph.createFromMaze(game);
 			board = new Board();
-			board.initHash();
+			board.initHash(search.rand);
 			board.graph = jgraph;
-			Search.update(board, jgraph, game);
-			GhostTrap.updateLevel(game, board);
+			search.update(board, jgraph, game);
+			ghostTrap.updateLevel(game, board);
 		}
 		if (lastScore != game.getScore()) {
-			TransposTable.clear();
+			search.transposTable.clear();
 		}
 		lastScore = game.getScore();
 		lastMazeIndex = game.getMazeIndex();
@@ -85,13 +145,13 @@ public class EIIPacman extends Controller<MOVE> {
 			jgraph.print(game, board);
 		}
 		nodeToClosestPill = game.getNeighbour(game.getPacmanCurrentNodeIndex(), getNearestPillMove(game, timeDue));
-		nextMoveInTrap = GhostTrap.rigTrap(game, board);
+		nextMoveInTrap = ghostTrap.rigTrap(game, board);
 		if (nextMoveInTrap != null) {
-			System.out.println("Set up trap; move to " + nextMoveInTrap);
+			print("Set up trap; move to " + nextMoveInTrap);
 			Log.println("Set up trap; move to " + nextMoveInTrap);
-			Search.heuristics.updateForNewMove(game, board);
-			// if (Search.heuristics.isWeakOpponent()) {
-			System.out.println("Move: " + game.getCurrentLevelTime() + " L" + game.getCurrentLevel() + ", move to "
+			search.heuristics.updateForNewMove(game, board);
+			// if (search.heuristics.isWeakOpponent()) {
+			print("Move: " + game.getCurrentLevelTime() + " L" + game.getCurrentLevel() + ", move to "
 					+ nextMoveInTrap);
 			Log.println("Move: " + game.getCurrentLevelTime() + " L" + game.getCurrentLevel() + ", move to "
 					+ nextMoveInTrap);
@@ -100,40 +160,40 @@ public class EIIPacman extends Controller<MOVE> {
 		}
 		// System.out.println("closest pill calc: " +
 		// (System.currentTimeMillis() - startTime));
-		Search.searchIterationFinished = new Runnable() {
+		search.searchIterationFinished = new Runnable() {
 			@Override
 			public void run() {
 				Node n = jgraph.nodes[board.pacmanLocation];
-				lastMove = n.neighbourMoves[Search.plyInfo[0].bestPacmanMove];
+				lastMove = n.neighbourMoves[search.plyInfo[0].bestPacmanMove];
 				// System.out.println("Set lastMove to " + lastMove);
 			}
 		};
-		Search.searchMove(game, timeDue);
-		PlyInfo p = Search.plyInfo[0];
+		search.searchMove(game, timeDue);
+		PlyInfo p = search.plyInfo[0];
 		int bestMove = p.bestPacmanMove;
 		Node n = jgraph.nodes[board.pacmanLocation];
 		myMove = n.neighbourMoves[bestMove];
-		Log.println("Searched " + Search.nodesSearched + " nodes, budget: " + p.budget + ", max depth: "
-				+ Search.deepestSearchedPly() + ", value: " + p.bestValue);
-		System.out.println("Move: " + game.getCurrentLevelTime() + " L" + game.getCurrentLevel() + ", Pacman searched "
-				+ Search.nodesSearched + " nodes, budget: " + p.budget + ", max depth: " + Search.deepestSearchedPly()
+		Log.println("Searched " + search.nodesSearched + " nodes, budget: " + p.budget + ", max depth: "
+				+ search.deepestSearchedPly() + ", value: " + p.bestValue);
+		print("Move: " + game.getCurrentLevelTime() + " L" + game.getCurrentLevel() + ", Pacman searched "
+				+ search.nodesSearched + " nodes, budget: " + p.budget + ", max depth: " + search.deepestSearchedPly()
 				+ ", value: " + p.bestValue + ", move: " + myMove);
-		System.out.println("retrieved static: " + Search.nrRetrievedStatic);
+		print("retrieved static: " + search.nrRetrievedStatic);
 		if (p.bestValue < -20000) {
 			Log.println("I will loose");
-			System.out.println("I will loose");
+			print("I will loose");
 		} else if (p.bestValue > 20000) {
 			Log.println("I won");
 		} else if (p.nrSurvivingMoves == 1) {
 			Log.println("Only move");
-			System.out.println("Only move");
+			print("Only move");
 		}
 		long endTime = System.currentTimeMillis();
-		System.out.println("Time: " + (endTime - startTime) + " ms");
+		print("Time: " + (endTime - startTime) + " ms");
 //		if (false) {
 //			List<Integer> visitedList = new ArrayList<Integer>();
 //			for (int i = 0; i < jgraph.nodes.length; ++i) {
-//				if (Search.pacmanVisited[i]) {
+//				if (search.pacmanVisited[i]) {
 //					visitedList.add(i);
 //				}
 //			}
@@ -144,11 +204,17 @@ public class EIIPacman extends Controller<MOVE> {
 //			GameView.addPoints(game, Color.GREEN, nodeList);
 //		}
 		if (myMove != lastMove) {
-			System.out.println("lastMove != myMove, myMove = " + myMove + ", lastMove = " + lastMove);
+			print("lastMove != myMove, myMove = " + myMove + ", lastMove = " + lastMove);
 		}
 		return myMove;
 	}
 
+	private void print(String msg) {
+		if (verbose) {
+			System.out.println(msg);
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
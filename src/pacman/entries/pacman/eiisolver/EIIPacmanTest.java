@@ -0,0 +1,58 @@
+package pacman.entries.pacman.eiisolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumMap;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import edu.utexas.cs.nn.parameters.Parameters;
+import pacman.controllers.Controller;
+import pacman.controllers.examples.Legacy;
+import pacman.game.Constants.GHOST;
+import pacman.game.Constants.MOVE;
+import pacman.game.Game;
+
+public class EIIPacmanTest {
+
+	public static final int STEPS = 150;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		Parameters.initializeParameterCollections(new String[] { "io:false", "netio:false" });
+	}
+
+	/**
+	 * Two pacmen with the same seed and node limit make the same moves, even
+	 * when their searches are interleaved
+	 */
+	@Test
+	public void testDeterministicSearch() {
+		EIIPacman first = new EIIPacman(1, 500, 0);
+		EIIPacman second = new EIIPacman(1, 500, 0);
+		Controller<EnumMap<GHOST, MOVE>> ghosts = new Legacy();
+		Game game = new Game(1);
+		for (int i = 0; i < STEPS && !game.gameOver(); i++) {
+			MOVE move = first.getMove(game.copy(), -1);
+			assertEquals(move, second.getMove(game.copy(), -1));
+			assertTrue(first.getSearch().nodesSearched <= 500);
+			game.advanceGame(move, ghosts.getMove(game.copy(), -1));
+		}
+		assertEquals(first.getSearch().totalNodesSearched, second.getSearch().totalNodesSearched);
+	}
+
+	@Test
+	public void testTimedSearch() {
+		EIIPacman pacman = new EIIPacman();
+		pacman.verbose = false;
+		Game game = new Game(0);
+		for (int i = 0; i < 5; i++) {
+			assertNotNull(pacman.getMove(game.copy(), System.currentTimeMillis() + 40));
+			game.advanceGame(pacman.getMove(), new EnumMap<GHOST, MOVE>(GHOST.class));
+		}
+		assertTrue(pacman.getSearch().totalNodesSearched > 0);
+	}
+}
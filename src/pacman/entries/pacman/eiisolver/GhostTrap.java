@@ -6,12 +6,21 @@ import pacman.entries.pacman.eiisolver.graph.*;
 import pacman.game.Constants.MOVE;
 import pacman.game.Game;
 
+/**
+ * Leads pacman into a power pill when the ghosts follow it in a train, so
+ * that it can eat them all. Each pacman has its own traps.
+ */
 public class GhostTrap {
 
-	private static List<PathToPill> traps;
-	private static PathToPill lastPath = null;
+	private List<PathToPill> traps;
+	private PathToPill lastPath = null;
+	private final Search search;
 
-	public static void updateLevel(Game game, Board b) {
+	public GhostTrap(Search search) {
+		this.search = search;
+	}
+
+	public void updateLevel(Game game, Board b) {
 		traps = new ArrayList<PathToPill>();
 		int level = game.getCurrentLevel() % 4;
 		if (level == 0) {
@@ -26,10 +35,10 @@ public class GhostTrap {
 		lastPath = null;
 	}
 
-	public static MOVE rigTrap(Game game, Board b) {
-		int ghostDist = Search.distToFarthestGhostInTrain();
+	public MOVE rigTrap(Game game, Board b) {
+		int ghostDist = search.distToFarthestGhostInTrain();
 		if (ghostDist >= 0 && ghostDist < 40) {
-			System.out.println("In ghost train!");
+			print("In ghost train!");
 			Log.println("In ghost train!");
 			if (lastPath != null) {
 				// return lastPath.getMove(game, b);
@@ -43,9 +52,9 @@ public class GhostTrap {
 					int dist = game.getShortestPathDistance(b.pacmanLocation, path.powerPill.index);
 					int gDist = ghostDist(game, b, path.powerPill.index);
 					if (dist + 2 < gDist) {
-						System.out.println("To " + path.path[0] + ": pacmanDist " + dist + ", gDist: " + gDist);
+						print("To " + path.path[0] + ": pacmanDist " + dist + ", gDist: " + gDist);
 						if (dist < shortestDist) {
-							System.out.println("Better dist");
+							print("Better dist");
 							shortestDist = dist;
 							bestPath = path;
 							distToClosestGhost = gDist - dist;
@@ -55,7 +64,7 @@ public class GhostTrap {
 			}
 			lastPath = bestPath;
 			if (lastPath != null) {
-				System.out.println("Set up trap towards " + lastPath.powerPill);
+				print("Set up trap towards " + lastPath.powerPill);
 				Log.println("Set up trap towards " + lastPath.powerPill);
 				lastPath = bestPath;
 				shortestDist = 1000;
@@ -68,7 +77,7 @@ public class GhostTrap {
 						if (newDist < shortestDist) {
 							bestMove = pacmanNode.neighbourMoves[j];
 							shortestDist = newDist;
-							System.out.println("Best move: " + bestMove + ", dist: " + shortestDist);
+							print("Best move: " + bestMove + ", dist: " + shortestDist);
 						}
 					}
 				}
@@ -78,6 +87,13 @@ public class GhostTrap {
 		lastPath = null;
 		return null;
 	}
+
+	private void print(String msg) {
+		if (search.verbose) {
+			System.out.println(msg);
+		}
+	}
+
 	/*
 	 * public static MOVE rigTrapOld(Game game, Board b) { int ghostDist =
 	 * Search.distToFarthestGhostInTrain(); if (ghostDist >= 0 && ghostDist <
@@ -101,7 +117,7 @@ public class GhostTrap {
 	 * return bestMove; } } lastPath = null; return null; }
 	 */
 
-	private static void constructLevel0(Game game, Board b) {
+	private void constructLevel0(Game game, Board b) {
 		PathToPill p1 = constructPath(game, b, 8, 4, new int[] { 16, 12 }, 16, 11, MOVE.LEFT);
 		PathToPill p2 = constructPath(game, b, 8, 104, new int[] { 16, 96 }, 16, 97, MOVE.RIGHT);
 		PathToPill p3 = constructPath(game, b, 108, 4, new int[] { 92, 12 }, 92, 11, MOVE.LEFT);
@@ -112,7 +128,7 @@ public class GhostTrap {
 		traps.add(p4);
 	}
 
-	private static void constructLevel1(Game game, Board b) {
+	private void constructLevel1(Game game, Board b) {
 		PathToPill p1 = constructPath(game, b, 16, 4, new int[] { 40, 16 }, 40, 15, MOVE.LEFT);
 		PathToPill p2 = constructPath(game, b, 16, 104, new int[] { 40, 92 }, 40, 93, MOVE.RIGHT);
 		PathToPill p3 = constructPath(game, b, 104, 4, new int[] { 116, 48, 116, 24 }, 116, 47, MOVE.LEFT);
@@ -123,7 +139,7 @@ public class GhostTrap {
 		traps.add(p4);
 	}
 
-	private static void constructLevel2(Game game, Board b) {
+	private void constructLevel2(Game game, Board b) {
 		PathToPill p1 = constructPath(game, b, 12, 4, new int[] { 16, 36 }, 15, 36, MOVE.UP);
 		PathToPill p2 = constructPath(game, b, 12, 104, new int[] { 16, 72 }, 15, 72, MOVE.UP);
 		PathToPill p3 = constructPath(game, b, 92, 4, new int[] { 92, 36, 92, 24, 104, 24, 104, 4 }, 103, 4, MOVE.LEFT);
@@ -135,7 +151,7 @@ public class GhostTrap {
 		traps.add(p4);
 	}
 
-	private static void constructLevel3(Game game, Board b) {
+	private void constructLevel3(Game game, Board b) {
 		PathToPill p1 = constructPath(game, b, 12, 4, new int[] { 4, 16 }, 4, 15, MOVE.LEFT);
 		PathToPill p2 = constructPath(game, b, 12, 104, new int[] { 4, 92 }, 4, 93, MOVE.RIGHT);
 		PathToPill p3 = constructPath(game, b, 108, 4, new int[] { 116, 16 }, 116, 15, MOVE.LEFT);
@@ -146,7 +162,7 @@ public class GhostTrap {
 		traps.add(p4);
 	}
 
-	private static int ghostDist(Game game, Board b, int nodeIndex) {
+	private int ghostDist(Game game, Board b, int nodeIndex) {
 		int dist = 1000;
 		for (MyGhost ghost : b.ghosts) {
 			if (ghost.canKill()) {
@@ -159,7 +175,7 @@ public class GhostTrap {
 		return dist;
 	}
 
-	private static PathToPill constructPath(Game game, Board b, int pillY, int pillX, int[] edgeCoords, int lastY,
+	private PathToPill constructPath(Game game, Board b, int pillY, int pillX, int[] edgeCoords, int lastY,
 			int lastX, MOVE firstMoveIntoPath) {
 		PathToPill path = new PathToPill();
 		path.powerPill = b.graph.find(pillX, pillY);
@@ -0,0 +1,80 @@
+package pacman.entries.pacman.eiisolver;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+import edu.utexas.cs.nn.parameters.Parameters;
+import pacman.Executor;
+import pacman.controllers.Controller;
+import pacman.controllers.examples.Legacy;
+import pacman.entries.pacman.eiisolver.graph.Search;
+import pacman.game.Constants.GHOST;
+import pacman.game.Constants.MOVE;
+import pacman.game.Game;
+
+/**
+ * Measures how many nodes per second the pacman search visits, by playing
+ * games of EIIPacman against Legacy ghosts with a fixed number of nodes per
+ * move. Each game is played twice to check that the limited search always
+ * makes the same moves. Then all games are played at once on the evaluation
+ * pool, which is only possible because every pacman has its own search.
+ *
+ * Usage: SearchBenchmark [number of games] [nodes per move] [parameters]
+ */
+public class SearchBenchmark {
+
+	public static void main(String[] args) {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+		int nodeLimit = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+		String[] parameters = new String[Math.max(0, args.length - 2)];
+		System.arraycopy(args, args.length - parameters.length, parameters, 0, parameters.length);
+		Parameters.initializeParameterCollections(parameters);
+		Executor executor = new Executor();
+
+		List<Controller<MOVE>> pacMen = new ArrayList<Controller<MOVE>>(games);
+		List<Controller<EnumMap<GHOST, MOVE>>> ghosts = new ArrayList<Controller<EnumMap<GHOST, MOVE>>>(games);
+		List<Game> pooledGames = new ArrayList<Game>(games);
+		int[] scores = new int[games];
+		System.out.println("game\tscore\tsteps\tnodes\tnodesPerSecond");
+		for (int i = 0; i < games; i++) {
+			EIIPacman pacMan = new EIIPacman(i, nodeLimit, 0);
+			Game game = new Game(i);
+			executor.runExperiment(pacMan, new Legacy(), game);
+			Game again = new Game(i);
+			executor.runExperiment(new EIIPacman(i, nodeLimit, 0), new Legacy(), again);
+			if (game.getScore() != again.getScore() || game.getTotalTime() != again.getTotalTime()) {
+				System.out.println("Game " + i + " is not repeatable: " + game.getScore() + " and " + again.getScore()
+						+ " points");
+				System.exit(1);
+			}
+			scores[i] = game.getScore();
+			Search search = pacMan.getSearch();
+			System.out.println(i + "\t" + game.getScore() + "\t" + game.getTotalTime() + "\t"
+					+ search.totalNodesSearched + "\t" + nodesPerSecond(search.totalNodesSearched, search.totalSearchTime));
+
+			pacMen.add(new EIIPacman(i, nodeLimit, 0));
+			ghosts.add(new Legacy());
+			pooledGames.add(new Game(i));
+		}
+
+		int threads = Parameters.parameters.integerParameter("threads");
+		long start = System.nanoTime();
+		executor.runGamesLockstep(pacMen, ghosts, pooledGames, 0, threads);
+		long time = System.nanoTime() - start;
+		long nodes = 0;
+		for (int i = 0; i < games; i++) {
+			if (pooledGames.get(i).getScore() != scores[i]) {
+				System.out.println("Game " + i + " scored " + pooledGames.get(i).getScore() + " instead of " + scores[i]
+						+ " points in the pool");
+				System.exit(1);
+			}
+			nodes += ((EIIPacman) pacMen.get(i)).getSearch().totalNodesSearched;
+		}
+		System.out.println("pooled (" + threads + " threads)\t\t\t" + nodes + "\t" + nodesPerSecond(nodes, time));
+	}
+
+	private static long nodesPerSecond(long nodes, long nanos) {
+		return Math.round(nodes / (nanos / 1000000000.0));
+	}
+}
@@ -41,8 +41,9 @@ public class Board {
 	public int currentLairTime = 200;
 	public long currentPillHash;
 
+	// The same keys are used by all boards; they are never changed
 	static {
-		Random rnd = Search.rand;
+		Random rnd = new Random(0);
 		for (int i = 0; i < pacmanHash.length; ++i) {
 			pacmanHash[i] = rnd.nextLong();
 			pillHash[i] = rnd.nextLong();
@@ -57,9 +58,9 @@ public class Board {
 		}
 	}
 
-	public void initHash() {
+	public void initHash(Random rnd) {
 		for (MyGhost ghost : ghosts) {
-			ghost.initHash(Search.rand);
+			ghost.initHash(rnd);
 		}
 	}
 
@@ -14,6 +14,14 @@ public class Heuristics {
 	private int powerPillScore;
 	private int[] nodeScore;
 	private boolean weakOpponent;
+	/**
+	 * The search that uses these heuristics
+	 */
+	private final Search search;
+
+	public Heuristics(Search search) {
+		this.search = search;
+	}
 
 	/**
 	 * Update heuristic parameters at beginning of a new move.
@@ -55,7 +63,7 @@ public class Heuristics {
 	}
 
 	private void determineWeakOpponent() {
-		if (!Search.pacmanEvaluation) {
+		if (!search.pacmanEvaluation) {
 			weakOpponent = game
 					.getCurrentLevel() == 0 /*
 											 * && b.nrPowerPillsOnBoard >= 1 &&
@@ -91,7 +99,7 @@ public class Heuristics {
 
 	private void setPowerPillScore() {
 		if (isWeakOpponent()) {
-			if (!Search.pacmanEvaluation) {
+			if (!search.pacmanEvaluation) {
 				powerPillScore = Constants.GHOST_EAT_SCORE * POINT_FACTOR;
 				return;
 			}
@@ -112,7 +120,7 @@ public class Heuristics {
 			powerPillScore = -15000;// -8*Constants.GHOST_EAT_SCORE*POINT_FACTOR;
 		} else if (game.getCurrentLevelTime() < 2600 - factor * b.nrPowerPillsOnBoard) {
 			// discourage eating power pills in the beginning
-			if (Search.pacmanEvaluation) {
+			if (search.pacmanEvaluation) {
 				if (isWeakOpponent()) {
 					powerPillScore = weakScore;
 				} else {
@@ -126,8 +134,10 @@ public class Heuristics {
 		} else {
 			powerPillScore = isWeakOpponent() ? weakScore : -500;
 		}
-		System.out.println("power pill score: " + powerPillScore + ", exist: " + existNonKilling + ", time: "
-				+ game.getCurrentLevelTime() + ", powerpillsOnBoard: " + b.nrPowerPillsOnBoard);
+		if (search.verbose) {
+			System.out.println("power pill score: " + powerPillScore + ", exist: " + existNonKilling + ", time: "
+					+ game.getCurrentLevelTime() + ", powerpillsOnBoard: " + b.nrPowerPillsOnBoard);
+		}
 	}
 
 	private boolean existNonKillingGhosts() {
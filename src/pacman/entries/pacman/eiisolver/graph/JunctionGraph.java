@@ -29,14 +29,25 @@ public class JunctionGraph {
 	public List<BigEdge> edges = new ArrayList<BigEdge>();
 	private static int[] skipDistances = new int[] { 7// 1, 7, 18, 32, 48, 70
 	};
-	private static int[] currPath = new int[50];
-	private static int currPathLen;
+	private int[] currPath = new int[50];
+	private int currPathLen;
 	/**
 	 * Contains paths. The elements are junction indices, or -1 to denote the
 	 * end of a path. See ghostPath.
 	 */
-	public static byte[] paths = new byte[2000000];
-	private static int pathIndex;
+	public byte[] paths = new byte[2000000];
+	private int pathIndex;
+	/**
+	 * If positive, ghost paths are explored up to this many junctions deep,
+	 * instead of as deep as possible in 100 milliseconds, so that the graph
+	 * is the same whatever the speed of the machine
+	 */
+	public int walkDepth = 0;
+	/**
+	 * Whether to report the size of the graph and the progress of the ghost
+	 * path walk on the console
+	 */
+	public boolean verbose = true;
 	/**
 	 * Contains the ghost distance between any two junction nodes.
 	 * ghostDist[move1][index1][move2][index2] gives the distance between
@@ -189,8 +200,10 @@ public class JunctionGraph {
 		}
 		calcGhostDist();
 		long now = System.currentTimeMillis();
-		System.out.println("Junction graph: #junctions = " + junctionNodes.length + ", #edges = " + edges.size());
-		System.out.println("nr millis: " + (now - start));
+		if (verbose) {
+			System.out.println("Junction graph: #junctions = " + junctionNodes.length + ", #edges = " + edges.size());
+			System.out.println("nr millis: " + (now - start));
+		}
 	}
 
 	private void addEdge(Node n, MOVE move) {
@@ -293,8 +306,11 @@ public class JunctionGraph {
 		// calculate ghost distances that are other than shortest dist
 		boolean[] visited = new boolean[junctionNodes.length];
 		long startTime = System.currentTimeMillis();
-		for (int maxDepth = 1; maxDepth < 20 && System.currentTimeMillis() - startTime < 100; ++maxDepth) {
-			System.out.println("walk, maxDepth = " + maxDepth);
+		for (int maxDepth = 1; walkDepth > 0 ? maxDepth <= walkDepth
+				: maxDepth < 20 && System.currentTimeMillis() - startTime < 100; ++maxDepth) {
+			if (verbose) {
+				System.out.println("walk, maxDepth = " + maxDepth);
+			}
 			nrVisit = 0;
 			for (int i = 0; i < junctionNodes.length; ++i) {
 				Arrays.fill(visited, false);
@@ -310,7 +326,9 @@ public class JunctionGraph {
 					walk(visited, start, startMove, nextNode, nextLastMove, edge.length, maxDepth, 180);
 				}
 			}
-			System.out.println("visits = " + nrVisit + ", time: " + (System.currentTimeMillis() - startTime));
+			if (verbose) {
+				System.out.println("visits = " + nrVisit + ", time: " + (System.currentTimeMillis() - startTime));
+			}
 		}
 		check("after walk");
 		for (BigEdge edge : edges) {
@@ -384,7 +402,7 @@ public class JunctionGraph {
 		}
 	}
 
-	static long nrVisit = 0;
+	long nrVisit = 0;
 
 	private void walk(boolean[] visited, Node start, MOVE startMove, Node end, MOVE lastMove, int currDist, int depth,
 			int maxDist) {
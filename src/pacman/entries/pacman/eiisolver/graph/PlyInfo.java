@@ -108,7 +108,13 @@ public class PlyInfo {
 	 */
 	public int nrSurvivingMoves;
 
-	public PlyInfo() {
+	/**
+	 * The search this ply belongs to
+	 */
+	private final Search search;
+
+	public PlyInfo(Search search) {
+		this.search = search;
 		savedBoard = new Board();
 		ghostMoveIndex = new int[GHOST.values().length];
 		bestGhostMove = new int[GHOST.values().length];
@@ -122,15 +128,15 @@ public class PlyInfo {
 	public void initMove(boolean movePacman, boolean skipOpposite) {
 		currMoveNr = 0;
 		if (movePacman) {
-			Node n = Search.nodes[Search.b.pacmanLocation];
+			Node n = search.nodes[search.b.pacmanLocation];
 			nrPossibleMoves = 0;
 			moveTowardsGhostSkipped = false;
 			boolean checkSkipNeeded = true;
 			if (prev != null) {
 				PlyInfo prev2 = prev.prev;
 				if (prev2 != null) {
-					if (Search.nodes[prev2.savedBoard.pacmanLocation].edge == Search.nodes[Search.b.pacmanLocation].edge
-							&& Search.nodes[Search.b.pacmanLocation].edge != null) {
+					if (search.nodes[prev2.savedBoard.pacmanLocation].edge == search.nodes[search.b.pacmanLocation].edge
+							&& search.nodes[search.b.pacmanLocation].edge != null) {
 						// pacman on same edge as last move
 						if (prev2.moveTowardsGhostSkipped) {
 							// last move we skipped towards ghost, so situation
@@ -148,14 +154,14 @@ public class PlyInfo {
 					}
 				}
 			}
-			int[] killerMoves = Search.pacmanKillerMoves[Search.b.pacmanLocation];
+			int[] killerMoves = search.pacmanKillerMoves[search.b.pacmanLocation];
 			for (int e = 0; e < n.nrNeighbours; ++e) {
 				int index = killerMoves[e];
-				if (!checkSkipNeeded || !Search.skipMoveTowardsGhost(n.neighbours[index])) {
+				if (!checkSkipNeeded || !search.skipMoveTowardsGhost(n.neighbours[index])) {
 					pacmanMoves[nrPossibleMoves] = index;
 					++nrPossibleMoves;
 				} else if (Search.log) {
-					Search.log("Skip move towards ghost: " + n.neighbourMoves[index]);
+					search.log("Skip move towards ghost: " + n.neighbourMoves[index]);
 				}
 			}
 			if (nrPossibleMoves == 0) {
@@ -168,7 +174,7 @@ public class PlyInfo {
 				// generation once more; skip opposite move
 				for (int e = 0; e < n.nrNeighbours; ++e) {
 					int index = killerMoves[e];
-					if (n.neighbourMoves[index] != Search.b.pacmanLastMove.opposite()) {
+					if (n.neighbourMoves[index] != search.b.pacmanLastMove.opposite()) {
 						pacmanMoves[nrPossibleMoves] = index;
 						++nrPossibleMoves;
 					}
@@ -178,19 +184,19 @@ public class PlyInfo {
 		} else {
 			nrPossibleMoves = 1;
 			for (int i = 0; i < ghostMoveIndex.length; ++i) {
-				MyGhost ghost = Search.b.ghosts[i];
+				MyGhost ghost = search.b.ghosts[i];
 				if (ghost.lairTime > 0 || (ghost.edibleTime > 0 && (ghost.edibleTime & 1) == 0)) {
 					ghostMoveIndex[i] = -2;
 					nrGhostMoves[i] = 0;
 				} else {
-					Node n = Search.nodes[ghost.currentNodeIndex];
+					Node n = search.nodes[ghost.currentNodeIndex];
 					int move = n.onlyGhostMove[ghost.lastMoveMade.ordinal()];
 					if (move >= 0) {
 						ghostMoveIndex[i] = 0;
 						ghostMoves[i][0] = move;
 						nrGhostMoves[i] = 1;
 					} else {
-						int[] killerMoves = Search.ghostKillerMoves[ghost.currentNodeIndex][ghost.lastMoveMade
+						int[] killerMoves = search.ghostKillerMoves[ghost.currentNodeIndex][ghost.lastMoveMade
 								.ordinal()];
 						int moveIndex = 0;
 						for (int e = 0; e < n.nrNeighbours; ++e) {
@@ -220,8 +226,8 @@ public class PlyInfo {
 		// put in bestMove) first.
 		if (movePacman) {
 			if (Search.log) {
-				Search.log("Try transpos move first: "
-						+ Search.nodes[Search.b.pacmanLocation].neighbourMoves[bestPacmanMove]);
+				search.log("Try transpos move first: "
+						+ search.nodes[search.b.pacmanLocation].neighbourMoves[bestPacmanMove]);
 			}
 			int j;
 			for (j = 0; j < nrPossibleMoves && pacmanMoves[j] != bestPacmanMove; ++j) {
@@ -239,8 +245,8 @@ public class PlyInfo {
 					int[] moves = ghostMoves[i];
 					int bestMove = bestGhostMove[i];
 					if (Search.log) {
-						Node n = Search.nodes[Search.b.ghosts[i].currentNodeIndex];
-						Search.log("Try transpos move first: " + n + ", " + n.neighbourMoves[bestMove]);
+						Node n = search.nodes[search.b.ghosts[i].currentNodeIndex];
+						search.log("Try transpos move first: " + n + ", " + n.neighbourMoves[bestMove]);
 					}
 					for (j = 0; j < nrGhostMoves[i] && moves[j] != bestMove; ++j) {
 					}
@@ -263,20 +269,20 @@ public class PlyInfo {
 		nrBackedUpTargets = 0;
 		for (int i = 0; i < ghostMoveIndex.length; ++i) {
 			if (nrGhostMoves[i] > 1) {
-				MyGhost ghost = Search.b.ghosts[i];
+				MyGhost ghost = search.b.ghosts[i];
 				// update target information
 				boolean anyReached = false; // will be true if any of the
 											// targets has already been reached
 				Target reachedNowTarget = null; // not null if we just got to a
 												// new target
-				for (int t = 0; t < Search.nrGhostTargets[i]; ++t) {
-					Target target = Search.ghostTargets[i][t];
+				for (int t = 0; t < search.nrGhostTargets[i]; ++t) {
+					Target target = search.ghostTargets[i][t];
 					anyReached |= target.reached;
 					if (!target.reached && !target.abandoned) {
 						target.backup();
 						backedUpTargets[nrBackedUpTargets] = target;
 						++nrBackedUpTargets;
-						int currDist = Search.graph.getGhostDistToJunction(ghost.currentNodeIndex, ghost.lastMoveMade,
+						int currDist = search.graph.getGhostDistToJunction(ghost.currentNodeIndex, ghost.lastMoveMade,
 								target.ghostJunction.index, target.firstMoveFromGhost);
 						if (currDist == 0) {
 							// target reached!
@@ -292,18 +298,18 @@ public class PlyInfo {
 				// target or to pacman
 				int[] moves = ghostMoves[i];
 				for (int m = 0; m < nrGhostMoves[i]; ++m) {
-					int newIndex = Search.nodes[ghost.currentNodeIndex].neighbours[moves[m]];
-					MOVE newMove = Search.nodes[ghost.currentNodeIndex].neighbourMoves[moves[m]];
+					int newIndex = search.nodes[ghost.currentNodeIndex].neighbours[moves[m]];
+					MOVE newMove = search.nodes[ghost.currentNodeIndex].neighbourMoves[moves[m]];
 					boolean keepMove = false;
 					int nrOpen = 0;
 					// while there are still open targets left, ghost should go
 					// to one of these
 					// targets
-					for (int t = 0; t < Search.nrGhostTargets[i] && !keepMove; ++t) {
-						Target target = Search.ghostTargets[i][t];
+					for (int t = 0; t < search.nrGhostTargets[i] && !keepMove; ++t) {
+						Target target = search.ghostTargets[i][t];
 						if (!target.reached && !target.abandoned) {
 							++nrOpen;
-							int newDist = Search.graph.getGhostDistToJunction(newIndex, newMove,
+							int newDist = search.graph.getGhostDistToJunction(newIndex, newMove,
 									target.ghostJunction.index, target.firstMoveFromGhost);
 							if (newDist < target.currDist) {
 								keepMove = true;
@@ -316,17 +322,17 @@ public class PlyInfo {
 					}
 					if (nrOpen == 0 || anyReached) {
 						// no targets left, or we have already reached a target
-						int currDist = Search.game.getShortestPathDistance(ghost.currentNodeIndex,
-								Search.b.pacmanLocation);
-						int newDist = Search.game.getShortestPathDistance(newIndex, Search.b.pacmanLocation);
+						int currDist = search.game.getShortestPathDistance(ghost.currentNodeIndex,
+								search.b.pacmanLocation);
+						int newDist = search.game.getShortestPathDistance(newIndex, search.b.pacmanLocation);
 						if (newDist < currDist) {
 							keepMove = true;
 						}
 					}
 					if (!keepMove) {
 						if (Search.log) {
-							Search.log("skipped move " + Search.nodes[ghost.currentNodeIndex] + " "
-									+ Search.nodes[ghost.currentNodeIndex].neighbourMoves[moves[m]]);
+							search.log("skipped move " + search.nodes[ghost.currentNodeIndex] + " "
+									+ search.nodes[ghost.currentNodeIndex].neighbourMoves[moves[m]]);
 						}
 						for (int m2 = m + 1; m2 < nrGhostMoves[i]; ++m2) {
 							moves[m2 - 1] = moves[m2];
@@ -352,25 +358,25 @@ public class PlyInfo {
 	 * (border edges that will certainly be covered by ghosts)
 	 */
 	public void filterDeadEnds() {
-		if (Search.nrDeadEdges == 0) {
+		if (search.nrDeadEdges == 0) {
 			return;
 		}
-		Node n = Search.nodes[Search.b.pacmanLocation];
+		Node n = search.nodes[search.b.pacmanLocation];
 		if (n.isJunction()) {
 			for (int m = 0; m < nrPossibleMoves; ++m) {
 				int index = pacmanMoves[m];
-				Node nextNode = Search.nodes[n.neighbours[index]];
+				Node nextNode = search.nodes[n.neighbours[index]];
 				BigEdge edge = nextNode.edge;
 				boolean keepMove = true;
-				for (int i = 0; i < Search.nrDeadEdges; ++i) {
-					if (Search.deadEdges[i] == edge) {
+				for (int i = 0; i < search.nrDeadEdges; ++i) {
+					if (search.deadEdges[i] == edge) {
 						keepMove = false;
 						break;
 					}
 				}
 				if (!keepMove) {
 					if (Search.log) {
-						Search.log("skipped pacman move " + n + " " + n.neighbourMoves[index]);
+						search.log("skipped pacman move " + n + " " + n.neighbourMoves[index]);
 					}
 					for (int m2 = m + 1; m2 < nrPossibleMoves; ++m2) {
 						pacmanMoves[m2 - 1] = pacmanMoves[m2];
@@ -438,26 +444,26 @@ public class PlyInfo {
 
 	public void move(boolean movePacman) {
 		if (movePacman) {
-			movePacman(Search.b);
+			movePacman(search.b);
 		} else {
-			moveGhosts(Search.b);
+			moveGhosts(search.b);
 		}
 	}
 
 	public void unmove(boolean movePacman) {
 		if (movePacman) {
-			unmovePacman(Search.b);
+			unmovePacman(search.b);
 		} else {
-			unmoveGhosts(Search.b);
+			unmoveGhosts(search.b);
 		}
 	}
 
 	public String moveToString(boolean movePacman) {
 		if (movePacman) {
 			if (pacmanMoveIndex >= 0) {
-				Node n = Search.graph.nodes[Search.b.pacmanLocation];
+				Node n = search.graph.nodes[search.b.pacmanLocation];
 				return "(" + n.y + "," + n.x + ","
-						+ Search.b.graph.nodes[Search.b.pacmanLocation].neighbourMoves[pacmanMoves[pacmanMoveIndex]]
+						+ search.b.graph.nodes[search.b.pacmanLocation].neighbourMoves[pacmanMoves[pacmanMoveIndex]]
 								.toString()
 						+ ")";
 			} else {
@@ -466,9 +472,9 @@ public class PlyInfo {
 		} else {
 			StringBuilder buf = new StringBuilder();
 			for (int i = 0; i < ghostMoveIndex.length; ++i) {
-				int index = Search.b.ghosts[i].currentNodeIndex;
+				int index = search.b.ghosts[i].currentNodeIndex;
 				if (index >= 0) {
-					Node n = Search.b.graph.nodes[index];
+					Node n = search.b.graph.nodes[index];
 					buf.append("(" + n.y + "," + n.x + ",");
 					int moveIndex = ghostMoveIndex[i];
 					if (moveIndex >= 0) {
@@ -487,26 +493,26 @@ public class PlyInfo {
 		moveScore = 0;
 		savedBoard.copyFrom(b);
 		if (pacmanMoveIndex >= 0) {
-			moveScore -= Search.heuristics.getNodeScore(b.pacmanLocation);
+			moveScore -= search.heuristics.getNodeScore(b.pacmanLocation);
 			Node n = b.graph.nodes[b.pacmanLocation];
 			int index = pacmanMoves[pacmanMoveIndex];
 			b.pacmanLocation = n.neighbours[index];
 			b.pacmanLastMove = n.neighbourMoves[index];
-			moveScore += Search.heuristics.getNodeScore(b.pacmanLocation);
+			moveScore += search.heuristics.getNodeScore(b.pacmanLocation);
 			pillValue = b.containsPill[b.pacmanLocation];
 			if (pillValue) {
 				--b.nrPillsOnBoard;
-				moveScore += Search.heuristics.getPillScore(b.pacmanLocation);
+				moveScore += search.heuristics.getPillScore(b.pacmanLocation);
 				b.currentPillHash ^= Board.pillHash[b.pacmanLocation];
 				b.containsPill[b.pacmanLocation] = false;
 			}
 			powerPillValue = b.containsPowerPill[b.pacmanLocation];
 			if (powerPillValue) {
 				--b.nrPowerPillsOnBoard;
-				moveScore += Search.heuristics.getPowerPillScore();
+				moveScore += search.heuristics.getPowerPillScore();
 				for (int i = 0; i < ghostMoveIndex.length; ++i) {
 					MyGhost ghost = b.ghosts[i];
-					ghost.edibleTime = Search.b.currentEdibleTime;
+					ghost.edibleTime = search.b.currentEdibleTime;
 					ghost.lastMoveMade = ghost.lastMoveMade.opposite();
 				}
 				b.currentPillHash ^= Board.pillHash[b.pacmanLocation];
@@ -546,7 +552,7 @@ public class PlyInfo {
 			if (ghost.lairTime > 0) {
 				--ghost.lairTime;
 				if (ghost.lairTime == 0) {
-					ghost.currentNodeIndex = Search.game.getGhostInitialNodeIndex();
+					ghost.currentNodeIndex = search.game.getGhostInitialNodeIndex();
 					ghost.edibleTime = 0;
 					ghost.lastMoveMade = MOVE.NEUTRAL;
 				}
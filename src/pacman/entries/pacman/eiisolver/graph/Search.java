@@ -11,6 +11,16 @@ import pacman.game.Game;
 import pacman.game.Constants.GHOST;
 import pacman.game.Constants.MOVE;
 
+/**
+ * Alpha-beta search for the best pacman move. Each instance keeps its own
+ * transposition table and search state, so several searches can run on
+ * different threads, for instance as opponents in parallel evaluations.
+ *
+ * By default a search stops on the clock, as in the competition. Setting a
+ * node or budget limit makes it stop after a fixed amount of work instead, so
+ * that a search with a fixed seed always chooses the same move, whatever the
+ * load of the machine.
+ */
 public class Search {
 
 	public static final boolean log = false;
@@ -18,8 +28,8 @@ public class Search {
 	/**
 	 * If true, we use pacman evaluation function.
 	 */
-	public static boolean pacmanEvaluation = true;
-	public static EvaluationExtra evaluationExtra;
+	public boolean pacmanEvaluation = true;
+	public EvaluationExtra evaluationExtra;
 	/**
 	 * Absolute maximum value
 	 */
@@ -30,99 +40,140 @@ public class Search {
 	public static final int PACMAN_DIES_VALUE = MAX_VALUE / 2;
 	public static final int PACMAN_WILL_DIE = MAX_VALUE / 4;
 	public static final int MAX_PLY = 1000;
-	public static PlyInfo[] plyInfo = new PlyInfo[MAX_PLY];
+	public PlyInfo[] plyInfo = new PlyInfo[MAX_PLY];
 	/**
 	 * True if pacman moves at even plies (and ghosts at odd plies)
 	 */
-	public static boolean pacmanMovesFirst = false;
+	public boolean pacmanMovesFirst = false;
 	/**
 	 * current ply that is being searched
 	 */
-	private static int currDepth;
-	public static Board b;
-	public static JunctionGraph graph;
-	public static Game game;
-	public static Heuristics heuristics = new Heuristics();
+	private int currDepth;
+	public Board b;
+	public JunctionGraph graph;
+	public Game game;
+	public Heuristics heuristics = new Heuristics(this);
+	public TransposTable transposTable = new TransposTable(this);
 	/**
 	 * shortcut for graph.nodes
 	 */
-	public static Node[] nodes;
+	public Node[] nodes;
 	/**
 	 * total nr of nodes searched
 	 */
-	public static int nodesSearched = 0;
-	public static Random rand = new Random();
+	public int nodesSearched = 0;
+	/**
+	 * nodes searched and nanoseconds spent searching over all moves, for
+	 * measuring throughput
+	 */
+	public long totalNodesSearched = 0;
+	public long totalSearchTime = 0;
+	public Random rand;
+	/**
+	 * If positive, the search for a move stops after this many nodes instead
+	 * of on the clock
+	 */
+	public int nodeLimit = 0;
+	/**
+	 * If positive, the search for a move stops once the budget of the root
+	 * ply reaches this value (a move costs 10) instead of on the clock
+	 */
+	public int budgetLimit = 0;
+	/**
+	 * Whether the search and its helpers report on the console
+	 */
+	public boolean verbose = true;
+	/**
+	 * If we reach this node count, we must stop searching immediately
+	 */
+	private int emergencyStopNodes;
 	/**
 	 * If we reach this time, we must stop searching immediately
 	 */
-	private static long emergencyStopTime;
+	private long emergencyStopTime;
 	/**
 	 * true if the search stopped in the middle due to emergencyStopTime being
 	 * reached
 	 */
-	private static boolean emergencyStopped;
-	private static StaticEvaluator staticEvaluator = new StaticEvaluator();
+	private boolean emergencyStopped;
+	private StaticEvaluator staticEvaluator = new StaticEvaluator();
 	// helper variables used when calculating shortest path to all edible ghosts
-	private static int[] edibleGhosts = new int[4];
-	private static boolean[] edibleVisited = new boolean[4];
+	private int[] edibleGhosts = new int[4];
+	private boolean[] edibleVisited = new boolean[4];
 	/**
 	 * Helper variable, contains for every edible ghost the distance to the
 	 * closest non-edible ghost
 	 */
-	private static int[] ghostToNearestGhostDist = new int[4];
-	private static int[] pathLengths = new int[4];
-	private static int nrEdibleGhosts = 0;
+	private int[] ghostToNearestGhostDist = new int[4];
+	private int[] pathLengths = new int[4];
+	private int nrEdibleGhosts = 0;
 	/**
 	 * pacmanKillerMoves[node] contains indices into nodes[node].neighbours.
 	 */
-	public static int[][] pacmanKillerMoves;
+	public int[][] pacmanKillerMoves;
 	/**
 	 * ghostKillerMoves[node][move] contains indices into
 	 * nodes[node].neighbours.
 	 */
-	public static int[][][] ghostKillerMoves;
+	public int[][][] ghostKillerMoves;
 	/**
 	 * Used in debugging: see where pacman moved during a search
 	 */
-	public static boolean[] pacmanVisited;
+	public boolean[] pacmanVisited;
 	/**
 	 * helper variable
 	 */
-	private static boolean pacmanCanGetToPowerPill;
+	private boolean pacmanCanGetToPowerPill;
 	/**
 	 * Called after every search iteration
 	 */
-	public static Runnable searchIterationFinished;
-	private static PlyInfo backup = new PlyInfo();
+	public Runnable searchIterationFinished;
+	private PlyInfo backup = new PlyInfo(this);
 	/**
 	 * Targets assigned to ghosts during extended search
 	 */
-	public static Target[][] ghostTargets = new Target[4][7];
+	public Target[][] ghostTargets = new Target[4][7];
 	/**
 	 * Contains for every ghost the number of assigned targets during extended
 	 * search (0 means: follow pacman)
 	 */
-	public static int[] nrGhostTargets = new int[4];
+	public int[] nrGhostTargets = new int[4];
 	/**
 	 * Contains during extended search edges that are closed; pacman does not
 	 * need to walk into these edges
 	 */
-	public static BigEdge[] deadEdges = new BigEdge[10];
-	public static int nrDeadEdges;
-	public static int extendedSearchDepth = -1;
-	private static BorderEdge[] path1 = new BorderEdge[10];
-	private static int path1Length = 0;
-	private static BorderEdge[] path2 = new BorderEdge[10];
-	private static int path2Length = 0;
-	public static long nrRetrievedStatic = 0;
+	public BigEdge[] deadEdges = new BigEdge[10];
+	public int nrDeadEdges;
+	public int extendedSearchDepth = -1;
+	private BorderEdge[] path1 = new BorderEdge[10];
+	private int path1Length = 0;
+	private BorderEdge[] path2 = new BorderEdge[10];
+	private int path2Length = 0;
+	public long nrRetrievedStatic = 0;
 
-	static {
+	/**
+	 * Search with a randomly seeded evaluation
+	 */
+	public Search() {
+		this(new Random());
+	}
+
+	/**
+	 * @param seed
+	 *            seed of the random noise in the evaluation
+	 */
+	public Search(long seed) {
+		this(new Random(seed));
+	}
+
+	private Search(Random rand) {
+		this.rand = rand;
 		init();
 	}
 
-	private static void init() {
+	private void init() {
 		for (int i = 0; i < plyInfo.length; ++i) {
-			plyInfo[i] = new PlyInfo();
+			plyInfo[i] = new PlyInfo(this);
 			if (i > 0) {
 				plyInfo[i].prev = plyInfo[i - 1];
 			}
@@ -135,7 +186,7 @@ public class Search {
 		}
 	}
 
-	public static void update(Board board, JunctionGraph newGraph, Game newGame) {
+	public void update(Board board, JunctionGraph newGraph, Game newGame) {
 		b = board;
 		graph = newGraph;
 		nodes = graph.nodes;
@@ -156,11 +207,12 @@ public class Search {
 		}
 		pacmanVisited = new boolean[nodes.length];
 		staticEval2.update();
-		TransposTable.clear();
+		transposTable.clear();
 	}
 
 	@SuppressWarnings("unused")
-	public static void searchMove(Game newGame, long timeDue) {
+	public void searchMove(Game newGame, long timeDue) {
+		long startNanos = System.nanoTime();
 		game = newGame;
 		long startTime = System.currentTimeMillis();
 		if (timeDue < 0) {
@@ -171,21 +223,23 @@ public class Search {
 			plyInfo[i].alpha = plyInfo[i].beta = 0;
 		}
 		Arrays.fill(pacmanVisited, false);
-		Search.currDepth = 0;
-		Search.nodesSearched = 0;
+		currDepth = 0;
+		nodesSearched = 0;
 		nrRetrievedStatic = 0;
 		PlyInfo p = plyInfo[0];
 		p.alpha = -MAX_VALUE;
 		p.beta = MAX_VALUE;
 		p.score = 0;
 		long normalStopTime = (startTime + timeDue) / 2;
-		emergencyStopTime = startTime + 100000; // we want to search at least 1
+		boolean timed = nodeLimit <= 0 && budgetLimit <= 0;
+		emergencyStopTime = timed ? startTime + 100000 : Long.MAX_VALUE; // we want to search at least 1
 												// ply without emergency stops
+		emergencyStopNodes = Integer.MAX_VALUE;
 		emergencyStopped = false;
 		boolean stop = false;
 		p.budget = 20;
 		heuristics.updateForNewMove(game, b);
-		TransposTable.toggleMoveMask();
+		transposTable.toggleMoveMask();
 		boolean haveBackup = false;
 		while (!stop) {
 			p.budget += 10;
@@ -201,27 +255,42 @@ public class Search {
 				}
 				searchIterationFinished.run();
 			}
-			emergencyStopTime = timeDue - 7; // now set the real emergency stop
-												// time, with a little slack.
 			long timeSpent = System.currentTimeMillis() - startTime;
-			stop = Math.abs(p.bestValue) >= PACMAN_WILL_DIE || startTime + timeSpent >= normalStopTime
-					|| (log && stopSearchWhenLogging);
+			boolean outOfTime;
+			boolean halfTimeSpent;
+			if (timed) {
+				emergencyStopTime = timeDue - 7; // now set the real emergency stop
+													// time, with a little slack.
+				outOfTime = startTime + timeSpent >= normalStopTime;
+				halfTimeSpent = timeSpent > 10;
+			} else {
+				// same rules, with nodes taking the place of milliseconds
+				if (nodeLimit > 0) {
+					emergencyStopNodes = nodeLimit;
+				}
+				outOfTime = (nodeLimit > 0 && nodesSearched >= nodeLimit / 2)
+						|| (budgetLimit > 0 && p.budget >= budgetLimit);
+				halfTimeSpent = nodeLimit > 0 && nodesSearched > nodeLimit / 4;
+			}
+			stop = Math.abs(p.bestValue) >= PACMAN_WILL_DIE || outOfTime || (log && stopSearchWhenLogging);
 			// reduce max time if everything looks ok
 			if (!stop && pacmanEvaluation && game.getCurrentLevel() > 1) {
 				if (game.getPacmanNumberOfLivesRemaining() > 2) {
-					stop = timeSpent > 10 || p.nrSurvivingMoves <= 1;
+					stop = halfTimeSpent || p.nrSurvivingMoves <= 1;
 				} else if (pacmanEvaluation && game.getPacmanNumberOfLivesRemaining() == 2) {
 					stop = p.nrSurvivingMoves <= 1;
 				}
 			}
 		}
 		if (emergencyStopped) {
-			System.out.println("Search was emergency stopped");
+			if (verbose) {
+				System.out.println("Search was emergency stopped");
+			}
 			// search was stopped in the middle of a ply, cannot use search
 			// result
 			// that currently is present in p.
 			p.copySearchResult(backup);
-			if (System.currentTimeMillis() >= timeDue) {
+			if (timed && System.currentTimeMillis() >= timeDue) {
 				System.err.println("TIME EXCEEDED");
 			}
 		} else if (p.bestValue <= -PACMAN_WILL_DIE && haveBackup) {
@@ -231,8 +300,12 @@ public class Search {
 			// opponent,
 			// so we choose the best move from the backup
 			p.copySearchResult(backup);
-			System.out.println("I will loose, select best move from backup");
+			if (verbose) {
+				System.out.println("I will loose, select best move from backup");
+			}
 		}
+		totalNodesSearched += nodesSearched;
+		totalSearchTime += System.nanoTime() - startNanos;
 	}
 
 	/**
@@ -240,13 +313,17 @@ public class Search {
 	 * p.budget < 0.
 	 */
 	@SuppressWarnings("unused")
-	public static void search() {
+	public void search() {
 		if (emergencyStopped) {
 			if (log) {
 				log("Emergency stop");
 			}
 			return;
 		}
+		if (nodesSearched >= emergencyStopNodes) {
+			emergencyStopped = true;
+			return;
+		}
 		if ((nodesSearched & 0x7f) == 0) {
 			emergencyStopped = System.currentTimeMillis() >= emergencyStopTime;
 		}
@@ -276,7 +353,7 @@ public class Search {
 					// end of extended search reached; static check if pacman is
 					// in danger
 					value = checkPacmanHealth(p, movePacman);
-					TransposTable.storeStaticEval(p);
+					transposTable.storeStaticEval(p);
 					if (value >= PACMAN_WILL_DIE) {
 						p.bestValue = movePacman ? -value : value;
 						return;
@@ -290,7 +367,7 @@ public class Search {
 						|| plyInfo[currDepth - 1].nrPossibleMoves > 1) {
 					// static check if pacman is in danger
 					value = checkPacmanHealth(p, movePacman);
-					TransposTable.storeStaticEval(p);
+					transposTable.storeStaticEval(p);
 					if (value >= PACMAN_WILL_DIE && currDepth > 0) {
 						p.bestValue = movePacman ? -value : value;
 						return;
@@ -344,7 +421,7 @@ public class Search {
 		p.initMove(movePacman, skipOpposite);
 		// if we are lucky we can skip searching.
 		if (p.nrPossibleMoves > 1) {
-			if (TransposTable.retrieve(b, p, movePacman)) {
+			if (transposTable.retrieve(b, p, movePacman)) {
 				if (log) {
 					if (movePacman) {
 						log("From transpos: pacman move, " + nodes[b.pacmanLocation].neighbourMoves[p.bestPacmanMove]
@@ -429,7 +506,7 @@ public class Search {
 		if (!emergencyStopped) {
 			if (p.nrPossibleMoves > 1) {
 				updateKillerMoves(movePacman);
-				TransposTable.store(b, p, movePacman);
+				transposTable.store(b, p, movePacman);
 			}
 		}
 		if (!movePacman && extendedSearchDepth > 0) {
@@ -453,7 +530,7 @@ public class Search {
 	 *
 	 * @return
 	 */
-	public static int deepestSearchedPly() {
+	public int deepestSearchedPly() {
 		for (int i = 0; i < plyInfo.length; ++i) {
 			if (plyInfo[i].alpha == 0 && plyInfo[i].beta == 0) {
 				return i - 1;
@@ -471,7 +548,7 @@ public class Search {
 	 * @param dist
 	 * @return
 	 */
-	private static int ghostDist(MyGhost ghost, int dist) {
+	private int ghostDist(MyGhost ghost, int dist) {
 		if (ghost.edibleTime == 0) {
 			return dist;
 		}
@@ -490,7 +567,7 @@ public class Search {
 	 *         looks dangerous for pacman)
 	 */
 	@SuppressWarnings("unused")
-	private static boolean evaluate(PlyInfo p, boolean movePacman, boolean mustTakePowerPillToSurvive) {
+	private boolean evaluate(PlyInfo p, boolean movePacman, boolean mustTakePowerPillToSurvive) {
 		boolean extendSearch = false;
 		int graphBonus = 400;
 		if (!pacmanCanGetToPowerPill || !pacmanEvaluation || heuristics.getPowerPillScore() < 0) {
@@ -775,7 +852,7 @@ public class Search {
 	 * @return positive value is good for pacman
 	 */
 	@SuppressWarnings("unused")
-	private static int killingGhostEvaluation() {
+	private int killingGhostEvaluation() {
 		// calculate which pill is closest to pacman, and how far it is away
 		int closestPillDist = 10000;
 		int closestPillLocation = -1;
@@ -837,7 +914,7 @@ public class Search {
 		// return -800 +5*farAwayFee + 10*closestDist;
 	}
 
-	private static int calcNrJunctionsClosestToPacman() {
+	private int calcNrJunctionsClosestToPacman() {
 		// calculate how many junctions are closer to pacman than to any ghost
 		int nrJunctionsClosestToPacman = 0;
 		for (Node n : graph.junctionNodes) {
@@ -866,7 +943,7 @@ public class Search {
 	 *
 	 * @return
 	 */
-	public static int distToFarthestGhostInTrain() {
+	public int distToFarthestGhostInTrain() {
 		int dist = 0;
 		for (MyGhost ghost : b.ghosts) {
 			if (ghost.canKill()) {
@@ -886,8 +963,8 @@ public class Search {
 	 *
 	 * @return
 	 */
-	public static int checkPacmanHealth() {
-		PlyInfo p = new PlyInfo();
+	public int checkPacmanHealth() {
+		PlyInfo p = new PlyInfo(this);
 		p.hash = 0;// b.getHash(true);
 		return checkPacmanHealth(p, true);
 	}
@@ -901,7 +978,7 @@ public class Search {
 	 *         pill, or a high value if pacman will die (the higher value, the
 	 *         less time it will take for the ghosts to capture pacman)
 	 */
-	public static int checkPacmanHealth(PlyInfo p, boolean movePacman) {
+	public int checkPacmanHealth(PlyInfo p, boolean movePacman) {
 		pacmanCanGetToPowerPill = false;
 		calcBorderEdges(p, movePacman);
 		if (staticEval2.resultFromCache) {
@@ -986,7 +1063,7 @@ public class Search {
 		 */
 	}
 
-	private static boolean checkPacmanEdgeJunction(int junction) {
+	private boolean checkPacmanEdgeJunction(int junction) {
 		Node pacmanNode = graph.nodes[b.pacmanLocation];
 		BigEdge pacmanEdge = pacmanNode.edge;
 		Node junction2 = pacmanEdge.getOtherJunction(nodes[junction]);
@@ -1017,7 +1094,7 @@ public class Search {
 	 * @param movePacman
 	 * @return
 	 */
-	private static int _feast(boolean movePacman) {
+	private int _feast(boolean movePacman) {
 		int score = 0;
 		plyInfo[currDepth].ghostKilled = false;
 		for (MyGhost ghost : b.ghosts) {
@@ -1065,7 +1142,7 @@ public class Search {
 	 * @param destLocation
 	 * @return
 	 */
-	public static boolean skipMoveTowardsGhost(int destLocation) {
+	public boolean skipMoveTowardsGhost(int destLocation) {
 		if (currDepth == 0) {
 			return false;
 		}
@@ -1108,7 +1185,7 @@ public class Search {
 		return skip;
 	}
 
-	private static void updateKillerMoves(boolean movePacman) {
+	private void updateKillerMoves(boolean movePacman) {
 		PlyInfo p = plyInfo[currDepth];
 		if (p.nrPossibleMoves <= 1) {
 			return;
@@ -1148,7 +1225,7 @@ public class Search {
 	 *
 	 * @return
 	 */
-	private static boolean canGetToPowerPillQuickAndDirty() {
+	private boolean canGetToPowerPillQuickAndDirty() {
 		// check if pacman can get safely to a power pill
 		boolean canReachPowerPill = false;
 		for (int i = 0; i < b.nrPowerPills; ++i) {
@@ -1182,7 +1259,7 @@ public class Search {
 	/**
 	 * Returns pacman's distance to the closest power pill
 	 */
-	private static int distToClosestPowerPill() {
+	private int distToClosestPowerPill() {
 		int dist = 1000;
 		for (int i = 0; i < b.nrPowerPills; ++i) {
 			int powerPill = b.powerPillLocation[i];
@@ -1196,7 +1273,7 @@ public class Search {
 		return dist;
 	}
 
-	public static void log(String msg) {
+	public void log(String msg) {
 		if (!log) {
 			System.err.println("Should not be called: log " + msg);
 		}
@@ -1217,7 +1294,7 @@ public class Search {
 	 * @author louis
 	 *
 	 */
-	private static class StaticEvaluator {
+	private class StaticEvaluator {
 
 		/**
 		 * junctions of interest
@@ -1349,20 +1426,20 @@ public class Search {
 		}
 	}
 
-	public static StaticEvaluator2 staticEval2 = new StaticEvaluator2();
+	public StaticEvaluator2 staticEval2 = new StaticEvaluator2();
 
-	public static void calcBorderEdges(PlyInfo p, boolean movePacman) {
+	public void calcBorderEdges(PlyInfo p, boolean movePacman) {
 		if (staticEval2.expandCalled) {
 			return;
 		}
-		if (!TransposTable.retrieveStaticEval(p, movePacman)) {
+		if (!transposTable.retrieveStaticEval(p, movePacman)) {
 			staticEval2.expand();
 		} else {
 			nrRetrievedStatic++;
 		}
 	}
 
-	private static void setExtendedSearchTargets() {
+	private void setExtendedSearchTargets() {
 		int assignedMask = 0; // which borders are assigned
 		for (int i = 0; i < ghostTargets.length; ++i) {
 			nrGhostTargets[i] = 0;
@@ -1453,15 +1530,15 @@ public class Search {
 	 *
 	 * @return
 	 */
-	public static boolean canReachPowerPill() {
+	public boolean canReachPowerPill() {
 		return pacmanCanGetToPowerPill;
 	}
 
-	public static void clearStaticEval() {
+	public void clearStaticEval() {
 		staticEval2.clear();
 	}
 
-	public static class StaticEvaluator2 {
+	public class StaticEvaluator2 {
 
 		@SuppressWarnings("unused")
 		private static final boolean statLog = log && false;
@@ -1759,7 +1836,7 @@ public class Search {
 					}
 				} else {
 					int ghostDist = ghost.lairTime
-							+ graph.getGhostDistToJunction(Search.game.getGhostInitialNodeIndex(), MOVE.NEUTRAL,
+							+ graph.getGhostDistToJunction(game.getGhostInitialNodeIndex(), MOVE.NEUTRAL,
 									otherJunction.index, borderEdge.firstMoveFromGhost);
 					borderEdge.ghostDist[g] = ghostDist;
 					if (ghostDist - EAT_DISTANCE <= pacmanDist) {
@@ -2039,17 +2116,17 @@ public class Search {
 				Node currNode = firstNode;
 				if (statLog) {
 					log("path1 to " + edge1.ghostJunction);
-					for (int i = 0; JunctionGraph.paths[path1 + i] >= 0; ++i) {
-						log(i + ": " + graph.junctionNodes[JunctionGraph.paths[path1 + i]]);
+					for (int i = 0; graph.paths[path1 + i] >= 0; ++i) {
+						log(i + ": " + graph.junctionNodes[graph.paths[path1 + i]]);
 					}
 					log("path2 to " + edge2.ghostJunction);
-					for (int i = 0; JunctionGraph.paths[path2 + i] >= 0; ++i) {
-						log(i + ": " + graph.junctionNodes[JunctionGraph.paths[path2 + i]]);
+					for (int i = 0; graph.paths[path2 + i] >= 0; ++i) {
+						log(i + ": " + graph.junctionNodes[graph.paths[path2 + i]]);
 					}
 				}
-				for (int i = 0; JunctionGraph.paths[path1 + i] >= 0
-						&& JunctionGraph.paths[path2 + i] == JunctionGraph.paths[path1 + i]; ++i) {
-					Node newNode = graph.junctionNodes[JunctionGraph.paths[path1 + i]];
+				for (int i = 0; graph.paths[path1 + i] >= 0
+						&& graph.paths[path2 + i] == graph.paths[path1 + i]; ++i) {
+					Node newNode = graph.junctionNodes[graph.paths[path1 + i]];
 					timeUntilGhostChoice += game.getShortestPathDistance(currNode.index, newNode.index);
 					if (log) {
 						log("On common path: " + newNode + ", dist: " + timeUntilGhostChoice);
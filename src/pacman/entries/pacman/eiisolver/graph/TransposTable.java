@@ -1,7 +1,8 @@
 package pacman.entries.pacman.eiisolver.graph;
 
 /**
- * Transposition table, contains search results of many positions.
+ * Transposition table, contains search results of many positions. Every
+ * search has its own table.
  *
  * @author louis
  *
@@ -26,23 +27,29 @@ public class TransposTable {
 	/**
 	 * The transposition table.
 	 */
-	private static final TransposInfo[] table = new TransposInfo[NR_ENTRIES];
+	private final TransposInfo[] table = new TransposInfo[NR_ENTRIES];
 	/**
 	 * Cached static evaluation results
 	 */
-	private static final CachedStaticInfo[] cachedStaticInfo = new CachedStaticInfo[NR_ENTRIES];
+	private final CachedStaticInfo[] cachedStaticInfo = new CachedStaticInfo[NR_ENTRIES];
 	/**
 	 * Holds a mask that is changed every move to avoid retaining old hash
 	 * entries
 	 */
-	private static int currentToggleMask = 0;
+	private int currentToggleMask = 0;
 	/**
 	 * Every hash entry contains a version number that must match
 	 * currentVersion, otherwise the entry is invalid.
 	 */
-	private static short currentVersion = 0;
+	private short currentVersion = 0;
 
-	static {
+	/**
+	 * The search that uses this table
+	 */
+	private final Search search;
+
+	public TransposTable(Search search) {
+		this.search = search;
 		for (int i = 0; i < table.length; ++i) {
 			table[i] = new TransposInfo();
 		}
@@ -51,7 +58,7 @@ public class TransposTable {
 		}
 	}
 
-	public static void clear() {
+	public void clear() {
 		// invalidate all hash entries by increasing the version number
 		++currentVersion;
 		/*
@@ -61,7 +68,7 @@ public class TransposTable {
 		 */
 	}
 
-	public static void toggleMoveMask() {
+	public void toggleMoveMask() {
 		++currentToggleMask;
 		if (currentToggleMask >= 32) {
 			currentToggleMask = 0;
@@ -72,7 +79,7 @@ public class TransposTable {
 	 * Stores (maybe, if priority high enough) the current position in the hash
 	 * table
 	 */
-	public static void store(Board b, PlyInfo p, boolean movePacman) {
+	public void store(Board b, PlyInfo p, boolean movePacman) {
 		long hash = p.hash;
 		int index = (int) (hash & (NR_ENTRIES - 1));
 		TransposInfo t = table[index];
@@ -127,7 +134,7 @@ public class TransposTable {
 		t.pacmanLocation = (short) b.pacmanLocation;
 		t.version = currentVersion;
 		if (Search.log) {
-			Search.log("store trans " + t.hash + ", value " + t.value);
+			search.log("store trans " + t.hash + ", value " + t.value);
 		}
 	}
 
@@ -137,7 +144,7 @@ public class TransposTable {
 	 *
 	 * @return true if no further search is necessary
 	 */
-	public static boolean retrieve(Board b, PlyInfo p, boolean movePacman) {
+	public boolean retrieve(Board b, PlyInfo p, boolean movePacman) {
 		long hash = p.hash;
 		if (hash == 0) {
 			hash = b.getHash(movePacman);
@@ -177,7 +184,7 @@ public class TransposTable {
 					// transpos with useful value; no search needed
 					p.bestValue = t.value;
 					if (Search.log) {
-						Search.log("retrieve trans " + t.hash + ", value " + t.value);
+						search.log("retrieve trans " + t.hash + ", value " + t.value);
 					}
 					return true;
 				}
@@ -186,8 +193,8 @@ public class TransposTable {
 		return false;
 	}
 
-	public static void storeStaticEval(PlyInfo p) {
-		Search.StaticEvaluator2 eval = Search.staticEval2;
+	public void storeStaticEval(PlyInfo p) {
+		Search.StaticEvaluator2 eval = search.staticEval2;
 		if (eval.resultFromCache || !eval.expandCalled) {
 			return;
 		}
@@ -204,26 +211,26 @@ public class TransposTable {
 		cached.bestNrAssignedGhosts = eval.ghostAssignment.bestNrAssignedGhosts;
 		cached.nrInvolvedGhosts = eval.nrInvolvedGhosts;
 		cached.pacmanHealth = eval.pacmanHealth;
-		cached.pacmanLocation = Search.b.pacmanLocation;
+		cached.pacmanLocation = search.b.pacmanLocation;
 		cached.version = currentVersion;
 		if (Search.log) {
-			Search.log("storeStatic " + cached);
+			search.log("storeStatic " + cached);
 		}
 	}
 
-	public static boolean retrieveStaticEval(PlyInfo p, boolean movePacman) {
+	public boolean retrieveStaticEval(PlyInfo p, boolean movePacman) {
 		long hash = p.hash;
 		if (hash == 0) {
-			hash = Search.b.getHash(movePacman);
+			hash = search.b.getHash(movePacman);
 			p.hash = hash;
 			int index = (int) (hash & (NR_ENTRIES - 1));
 			CachedStaticInfo cached = cachedStaticInfo[index];
-			if (cached.hash == hash && cached.pacmanLocation == Search.b.pacmanLocation
+			if (cached.hash == hash && cached.pacmanLocation == search.b.pacmanLocation
 					&& cached.version == currentVersion) {
 				if (Search.log) {
-					Search.log("Retrieved static, " + cached);
+					search.log("Retrieved static, " + cached);
 				}
-				Search.StaticEvaluator2 eval = Search.staticEval2;
+				Search.StaticEvaluator2 eval = search.staticEval2;
 				eval.nrBorders = cached.nrBorders;
 				eval.nrPacmanNodes = cached.nrPacmanNodes;
 				eval.hasCircles = cached.hasCircles;
@@ -59,6 +59,8 @@ public final class Game {
 			timeOfLastGlobalReversal = -1;
 	private int levelCount2; // used with justMaze so difficulty is correct
 	private boolean gameOver, pacmanWasEaten, pillWasEaten, powerPillWasEaten;
+	// set while controllers are given the game itself instead of a copy
+	private boolean readOnly = false;
 	private EnumMap<GHOST, Boolean> ghostsEaten;
 	// Jacob's parameters
 	public LinkedList<Integer> pillEatTimes;
@@ -172,61 +174,104 @@ public final class Game {
 	private Game() {
 	}
 
+	/**
+	 * Makes the game read-only, or writable again. A read-only game can be
+	 * handed to controllers that only look at it, instead of a copy: any
+	 * attempt to change it throws an IllegalStateException. Copies of a
+	 * read-only game are writable, so controllers that look ahead can still
+	 * simulate on a copy.
+	 *
+	 * @param readOnly
+	 *            Whether changes are forbidden
+	 */
+	public void setReadOnly(boolean readOnly) {
+		this.readOnly = readOnly;
+	}
+
+	/**
+	 * Whether the game is currently read-only (see setReadOnly).
+	 *
+	 * @return true if changes are forbidden
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	private void checkWritable() {
+		if (readOnly) {
+			throw new IllegalStateException("The game is read-only while controllers decide on their moves: change a copy instead");
+		}
+	}
+
 	public void setSimultaneousLairExit(boolean b) {
+		checkWritable();
 		simultaneousLairExit = b;
 	}
 
 	public void setRandomLairExit(boolean b) {
+		checkWritable();
 		randomLairExit = b;
 	}
 
 	public void setExitLairEdible(boolean b) {
+		checkWritable();
 		exitLairEdible = b;
 	}
 
 	public void playWithoutPowerPills() {
+		checkWritable();
 		noPowerPills = true;
 		powerPills.clear();
 	}
 
 	public void playWithPowerPills() {
+		checkWritable();
 		noPowerPills = false;
 	}
 
 	public void setEndAfterPowerPillsEaten(boolean b) {
+		checkWritable();
 		endAfterPowerPillsEaten = b;
 	}
 
 	public void setEndAfterGhostEatingChances(boolean b) {
+		checkWritable();
 		endAfterGhostEatingChances = b;
 	}
 
 	public void playWithoutPills() {
+		checkWritable();
 		playWithoutPillsUntilGhostsThreaten = true;
 		pills.clear();
 	}
 
 	public void playWithPills() {
+		checkWritable();
 		playWithoutPillsUntilGhostsThreaten = false;
 	}
 
 	public void setEndOnlyOnTimeLimit(boolean b) {
+		checkWritable();
 		endOnlyOnTimeLimit = b;
 	}
 
 	public void setGhostsStartOutsideLair(boolean b) {
+		checkWritable();
 		ghostsStartOutsideLair = b;
 	}
 
 	public void setOnlyOneLairExitAllowed(boolean b) {
+		checkWritable();
 		onlyOneLairExitAllowed = b;
 	}
 
 	public void setLairExitDatabase(boolean b) {
+		checkWritable();
 		lairExitDatabase = b;
 	}
 
 	public void setRemovePillsNearPowerPills(boolean b) {
+		checkWritable();
 		removePillsNearPowerPills = b;
 		if (b)
 			removePillsNearPowerPills();
@@ -571,6 +616,7 @@ public final class Game {
 	 *            The game state represented as a string
 	 */
 	public void setGameState(String gameState) {
+		checkWritable();
 		// System.out.println("setGameState()");
 		String[] values = gameState.split(",");
 
@@ -663,8 +709,7 @@ public final class Game {
 
 		// copy.scores = (ArrayList<Integer>) this.scores.clone();
 
-		copy.rnd = new ResumableRandom();
-		copy.rnd.hardSetSeed(rnd.getSeed());
+		copy.rnd = rnd.copy();
 
 		copy.currentMaze = currentMaze;
 		copy.pills = (BitSet) pills.clone();
@@ -678,6 +723,9 @@ public final class Game {
 		copy.ghostEatMultiplier = ghostEatMultiplier;
 		copy.timeOfLastGlobalReversal = timeOfLastGlobalReversal;
 		copy.gameOver = gameOver;
+		copy.pacmanWasEaten = pacmanWasEaten;
+		copy.pillWasEaten = pillWasEaten;
+		copy.powerPillWasEaten = powerPillWasEaten;
 
 		copy.lureDistanceFitness = lureDistanceFitness;
 		copy.timeInDeadSpace = timeInDeadSpace;
@@ -726,6 +774,7 @@ public final class Game {
 	 *            The moves supplied by the ghosts controller
 	 */
 	public void advanceGame(MOVE pacManMove, EnumMap<GHOST, MOVE> ghostMoves) {
+		checkWritable();
 		// System.out.println("Seed: " + rnd.getSeed());
 		// System.out.println(this.getGameState());
 		// System.out.println(this.getCurrentLevelTime() +
@@ -755,18 +804,21 @@ public final class Game {
 	}
 
 	public void advanceGameWithoutReverse(MOVE pacManMove, EnumMap<GHOST, MOVE> ghostMoves) {
+		checkWritable();
 		updatePacMan(pacManMove);
 		updateGhostsWithoutReverse(ghostMoves);
 		updateGame();
 	}
 
 	public void advanceGameWithForcedReverse(MOVE pacManMove, EnumMap<GHOST, MOVE> ghostMoves) {
+		checkWritable();
 		updatePacMan(pacManMove);
 		updateGhostsWithForcedReverse(ghostMoves);
 		updateGame();
 	}
 
 	public void advanceGameWithPowerPillReverseOnly(MOVE pacManMove, EnumMap<GHOST, MOVE> ghostMoves) {
+		checkWritable();
 		updatePacMan(pacManMove);
 
 		if (powerPillWasEaten) {
@@ -786,6 +838,7 @@ public final class Game {
 	 *            The move supplied by the Ms Pac-Man controller
 	 */
 	public void updatePacMan(MOVE pacManMove) {
+		checkWritable();
 		_updatePacMan(pacManMove); // move pac-man
 		_eatPill(); // eat a pill
 		_eatPowerPill(); // eat a power pill
@@ -802,6 +855,7 @@ public final class Game {
 	 *            The moves supplied by the ghosts controller
 	 */
 	public void updateGhosts(EnumMap<GHOST, MOVE> ghostMoves) {
+		checkWritable();
 		ghostMoves = _completeGhostMoves(ghostMoves);
 
 		if (!_reverseGhosts(ghostMoves, false)) {
@@ -810,11 +864,13 @@ public final class Game {
 	}
 
 	public void updateGhostsWithoutReverse(EnumMap<GHOST, MOVE> ghostMoves) {
+		checkWritable();
 		ghostMoves = _completeGhostMoves(ghostMoves);
 		_updateGhosts(ghostMoves);
 	}
 
 	public void updateGhostsWithForcedReverse(EnumMap<GHOST, MOVE> ghostMoves) {
+		checkWritable();
 		ghostMoves = _completeGhostMoves(ghostMoves);
 		_reverseGhosts(ghostMoves, true);
 	}
@@ -826,6 +882,7 @@ public final class Game {
 	 * the level or game is over.
 	 */
 	public void updateGame() {
+		checkWritable();
 		_feast(); // ghosts eat pac-man or vice versa
 		_updateLairTimes();
 		_updatePacManExtraLife();
@@ -854,6 +911,7 @@ public final class Game {
 	 */
 	public void updateGame(boolean feast, boolean updateLairTimes, boolean updateExtraLife, boolean updateTotalTime,
 			boolean updateLevelTime) {
+		checkWritable();
 		if (feast) {
 			_feast(); // ghosts eat pac-man or vice versa
 		}
@@ -2018,9 +2076,9 @@ public final class Game {
 		if (fromNodeIndex == toNodeIndex) {
 			return 0;
 		} else if (fromNodeIndex < toNodeIndex) {
-			return currentMaze.shortestPathDistances[((toNodeIndex * (toNodeIndex + 1)) / 2) + fromNodeIndex];
+			return currentMaze.shortestPathDistances.get(((toNodeIndex * (toNodeIndex + 1)) / 2) + fromNodeIndex);
 		} else {
-			return currentMaze.shortestPathDistances[((fromNodeIndex * (fromNodeIndex + 1)) / 2) + toNodeIndex];
+			return currentMaze.shortestPathDistances.get(((fromNodeIndex * (fromNodeIndex + 1)) / 2) + toNodeIndex);
 		}
 	}
 
@@ -2413,9 +2471,8 @@ public final class Game {
 
 	/**
 	 * Gets the shortest path taking into account the last move made (i.e., no
-	 * reversals). This is approximate only as the path is computed greedily. A
-	 * more accurate path can be obtained using A* which is slightly more
-	 * costly.
+	 * reversals). The path is read off the pre-computed directional distances
+	 * of the maze.
 	 *
 	 * @param fromNodeIndex
 	 *            The node index from where to start (i.e., current position)
@@ -2432,7 +2489,9 @@ public final class Game {
 		}
 		assert currentMaze.graph.length > fromNodeIndex : "From node " + fromNodeIndex + " not in graph";
 		assert currentMaze.graph.length > toNodeIndex : "To node " + toNodeIndex + " not in graph";
-		return caches[mazeIndex].getPathFromA2B(fromNodeIndex, toNodeIndex, lastMoveMade);
+		int[] path = currentMaze.getDirectionalDistances().getPath(fromNodeIndex, toNodeIndex, lastMoveMade);
+		// Only targets that can never be reached, like the lair, are not in the tables
+		return path != null ? path : caches[mazeIndex].getPathFromA2B(fromNodeIndex, toNodeIndex, lastMoveMade);
 	}
 
 	/**
@@ -2474,7 +2533,9 @@ public final class Game {
 			return 0;
 		}
 
-		return caches[mazeIndex].getPathDistanceFromA2B(fromNodeIndex, toNodeIndex, lastMoveMade);
+		int distance = currentMaze.getDirectionalDistances().getDistance(fromNodeIndex, toNodeIndex, lastMoveMade);
+		// Only targets that can never be reached, like the lair, are not in the tables
+		return distance != -1 ? distance : caches[mazeIndex].getPathDistanceFromA2B(fromNodeIndex, toNodeIndex, lastMoveMade);
 	}
 
 	public double getScore(int level) {
@@ -0,0 +1,52 @@
+package pacman.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.util.EnumMap;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import edu.utexas.cs.nn.parameters.Parameters;
+import pacman.game.Constants.GHOST;
+import pacman.game.Constants.MOVE;
+
+public class GameTest {
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		Parameters.initializeParameterCollections(new String[] { "io:false", "netio:false" });
+	}
+
+	@Test
+	public void testReadOnly() {
+		Game game = new Game(0);
+		game.setReadOnly(true);
+		int time = game.getTotalTime();
+		try {
+			game.advanceGame(MOVE.LEFT, new EnumMap<GHOST, MOVE>(GHOST.class));
+			fail("Read-only game advanced");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		try {
+			game.playWithoutPills();
+			fail("Read-only game changed");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertEquals(time, game.getTotalTime());
+
+		// Copies can be used to look ahead
+		Game copy = game.copy();
+		assertFalse(copy.isReadOnly());
+		copy.advanceGame(MOVE.LEFT, new EnumMap<GHOST, MOVE>(GHOST.class));
+		assertEquals(time + 1, copy.getTotalTime());
+
+		game.setReadOnly(false);
+		game.advanceGame(MOVE.LEFT, new EnumMap<GHOST, MOVE>(GHOST.class));
+		assertEquals(time + 1, game.getTotalTime());
+	}
+}
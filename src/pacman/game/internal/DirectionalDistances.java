@@ -0,0 +1,226 @@
+package pacman.game.internal;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map.Entry;
+
+import pacman.game.Constants.MOVE;
+
+/*
+ * Pre-computed shortest path distances for agents that may not reverse, such as the ghosts. Where such an agent
+ * can go depends on the last move it made, so the tables are indexed by state: a node together with the move
+ * that was made to reach it. For every target node, a breadth-first search backwards from the target gives the
+ * exact distance from every state. The next move and the path itself are read off the distances, so all queries
+ * are lookups in arrays that never change, and any number of threads can make them at once.
+ *
+ * Distances are stored as shorts: there are a few thousand states per maze, and no distance is longer than a
+ * few hundred steps.
+ */
+public final class DirectionalDistances {
+
+	private static final MOVE[] MOVES = MOVE.values();
+	private static final short UNREACHABLE = -1;
+
+	private final int numNodes;
+	private final int numStates;
+	// state of node n reached by move m is stateIndex[n * MOVES.length + m.ordinal()], or -1 if m cannot reach n
+	private final int[] stateIndex;
+	// node of state s is stateNode[s]
+	private final int[] stateNode;
+	// states that can follow state s are successors[firstSuccessor[s]] to successors[firstSuccessor[s + 1] - 1],
+	// reached by the moves in successorMoves, in the order of the moves
+	private final int[] firstSuccessor;
+	private final int[] successors;
+	private final MOVE[] successorMoves;
+	// a state with only one successor is in a corridor, where every move is forced up to the next state with a
+	// choice of moves. Those states are runStates[firstRun[s]] to runStates[firstRun[s + 1] - 1], at the nodes
+	// in runNodes. Other states have no run.
+	private final int[] firstRun;
+	private final int[] runStates;
+	private final int[] runNodes;
+	// distance from state s to target node t is distances[t * numStates + s]
+	private final short[] distances;
+
+	public DirectionalDistances(Node[] graph) {
+		this.numNodes = graph.length;
+
+		// States are the moves that a node can be reached by, plus NEUTRAL
+		stateIndex = new int[numNodes * MOVES.length];
+		int states = 0;
+		for (int n = 0; n < numNodes; n++) {
+			for (int m = 0; m < MOVES.length; m++) {
+				stateIndex[n * MOVES.length + m] = graph[n].allNeighbourhoods.containsKey(MOVES[m]) ? states++ : -1;
+			}
+		}
+		numStates = states;
+
+		// Edges between states. Their order follows the maps of the nodes, which are ordered by move.
+		stateNode = new int[numStates];
+		firstSuccessor = new int[numStates + 1];
+		int edges = 0;
+		for (int n = 0; n < numNodes; n++) {
+			for (Entry<MOVE, EnumMap<MOVE, Integer>> state : graph[n].allNeighbourhoods.entrySet()) {
+				int from = state(n, state.getKey());
+				stateNode[from] = n;
+				firstSuccessor[from + 1] = state.getValue().size();
+				edges += state.getValue().size();
+			}
+		}
+		for (int s = 0; s < numStates; s++) {
+			firstSuccessor[s + 1] += firstSuccessor[s];
+		}
+		successors = new int[edges];
+		successorMoves = new MOVE[edges];
+		for (int n = 0; n < numNodes; n++) {
+			for (Entry<MOVE, EnumMap<MOVE, Integer>> state : graph[n].allNeighbourhoods.entrySet()) {
+				int e = firstSuccessor[state(n, state.getKey())];
+				for (Entry<MOVE, Integer> next : state.getValue().entrySet()) {
+					successors[e] = state(next.getValue(), next.getKey());
+					successorMoves[e++] = next.getKey();
+				}
+			}
+		}
+
+		// Forced moves through corridors, so paths can be copied a corridor at a time
+		firstRun = new int[numStates + 1];
+		for (int s = 0; s < numStates; s++) {
+			firstRun[s + 1] = firstRun[s] + runLength(s);
+		}
+		runStates = new int[firstRun[numStates]];
+		runNodes = new int[runStates.length];
+		for (int s = 0; s < numStates; s++) {
+			int next = s;
+			for (int r = firstRun[s]; r < firstRun[s + 1]; r++) {
+				next = successors[firstSuccessor[next]];
+				runStates[r] = next;
+				runNodes[r] = stateNode[next];
+			}
+		}
+
+		// The same edges reversed, for searching backwards from the target
+		int[] numPredecessors = new int[numStates + 1];
+		for (int e = 0; e < edges; e++) {
+			numPredecessors[successors[e] + 1]++;
+		}
+		for (int s = 0; s < numStates; s++) {
+			numPredecessors[s + 1] += numPredecessors[s];
+		}
+		int[] predecessors = new int[edges];
+		int[] filled = new int[numStates];
+		for (int from = 0; from < numStates; from++) {
+			for (int e = firstSuccessor[from]; e < firstSuccessor[from + 1]; e++) {
+				int to = successors[e];
+				predecessors[numPredecessors[to] + filled[to]++] = from;
+			}
+		}
+
+		distances = new short[numNodes * numStates];
+		int[] queue = new int[numStates];
+		for (int t = 0; t < numNodes; t++) {
+			int offset = t * numStates;
+			Arrays.fill(distances, offset, offset + numStates, UNREACHABLE);
+			int head = 0, tail = 0;
+			// Arriving at the target in any way ends the path
+			for (int m = 0; m < MOVES.length; m++) {
+				int s = stateIndex[t * MOVES.length + m];
+				if (s != -1) {
+					distances[offset + s] = 0;
+					queue[tail++] = s;
+				}
+			}
+			while (head < tail) {
+				int s = queue[head++];
+				short d = (short) (distances[offset + s] + 1);
+				for (int p = numPredecessors[s]; p < numPredecessors[s + 1]; p++) {
+					int before = predecessors[p];
+					if (distances[offset + before] == UNREACHABLE) {
+						distances[offset + before] = d;
+						queue[tail++] = before;
+					}
+				}
+			}
+		}
+	}
+
+	/*
+	 * Number of forced moves from state s before there is a choice of moves. Corridors always end, but the
+	 * length is bounded in case a maze has a loop without junctions.
+	 */
+	private int runLength(int s) {
+		int length = 0;
+		while (firstSuccessor[s + 1] - firstSuccessor[s] == 1 && length < numStates) {
+			s = successors[firstSuccessor[s]];
+			length++;
+		}
+		return length;
+	}
+
+	/*
+	 * The state of being at a node after the last move made. A move that could not have reached the node
+	 * does not rule out any move, just like NEUTRAL.
+	 */
+	private int state(int nodeIndex, MOVE lastMoveMade) {
+		int s = stateIndex[nodeIndex * MOVES.length + lastMoveMade.ordinal()];
+		return s != -1 ? s : stateIndex[nodeIndex * MOVES.length + MOVE.NEUTRAL.ordinal()];
+	}
+
+	/*
+	 * Length of the shortest path from one node to another without reversing, or -1 if there is no such path.
+	 */
+	public int getDistance(int fromNodeIndex, int toNodeIndex, MOVE lastMoveMade) {
+		return distances[toNodeIndex * numStates + state(fromNodeIndex, lastMoveMade)];
+	}
+
+	/*
+	 * The first move of a shortest path from one node to another without reversing. NEUTRAL if already at the
+	 * target, or if it cannot be reached.
+	 */
+	public MOVE getNextMove(int fromNodeIndex, int toNodeIndex, MOVE lastMoveMade) {
+		int offset = toNodeIndex * numStates;
+		int s = state(fromNodeIndex, lastMoveMade);
+		if (distances[offset + s] <= 0) {
+			return MOVE.NEUTRAL;
+		}
+		return successorMoves[nextEdge(offset, s)];
+	}
+
+	/*
+	 * The first edge from state s that is one step closer to the target, whose distances start at offset
+	 */
+	private int nextEdge(int offset, int s) {
+		int closer = distances[offset + s] - 1;
+		int e = firstSuccessor[s];
+		while (distances[offset + successors[e]] != closer) {
+			e++; // some successor is one step closer, so this stops before the next state's edges
+		}
+		return e;
+	}
+
+	/*
+	 * Shortest path from one node to another without reversing. As with the other paths, the start node is
+	 * not included but the target is. Null if the target cannot be reached.
+	 */
+	public int[] getPath(int fromNodeIndex, int toNodeIndex, MOVE lastMoveMade) {
+		int distance = getDistance(fromNodeIndex, toNodeIndex, lastMoveMade);
+		if (distance == UNREACHABLE) {
+			return null;
+		}
+		int[] path = new int[distance];
+		int offset = toNodeIndex * numStates;
+		int s = state(fromNodeIndex, lastMoveMade);
+		int i = 0;
+		while (i < distance) {
+			int run = Math.min(firstRun[s + 1] - firstRun[s], distance - i);
+			if (run > 0) {
+				// The moves are forced up to the end of the corridor, or the target if it comes first
+				System.arraycopy(runNodes, firstRun[s], path, i, run);
+				s = runStates[firstRun[s] + run - 1];
+				i += run;
+			} else {
+				s = successors[nextEdge(offset, s)];
+				path[i++] = stateNode[s];
+			}
+		}
+		return path;
+	}
+}
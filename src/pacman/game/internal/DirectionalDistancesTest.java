@@ -0,0 +1,98 @@
+package pacman.game.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import edu.utexas.cs.nn.parameters.Parameters;
+import pacman.game.Constants.MOVE;
+import pacman.game.Game;
+
+/**
+ * Checks the directional distance tables against A*, which searches
+ * for each path separately.
+ */
+public class DirectionalDistancesTest {
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		Parameters.initializeParameterCollections(new String[] { "io:false", "netio:false" });
+	}
+
+	@Test
+	public void testAgainstAStar() {
+		for (int mazeIndex = 0; mazeIndex < 4; mazeIndex++) {
+			Game game = new Game(0, mazeIndex);
+			Maze maze = game.getCurrentMaze();
+			DirectionalDistances tables = maze.getDirectionalDistances();
+			int compared = 0;
+			int equal = 0;
+			// Every start state paired with a spread of targets
+			for (int from = 0; from < maze.graph.length; from++) {
+				if (maze.graph[from].neighbourhood.isEmpty()) {
+					continue; // lair
+				}
+				for (MOVE lastMove : maze.graph[from].allNeighbourhoods.keySet()) {
+					for (int to = (from * 7) % 127; to < maze.graph.length; to += 127) {
+						if (to == from || maze.graph[to].neighbourhood.isEmpty()) {
+							continue;
+						}
+						int[] aStarPath = maze.astar.computePathsAStar(from, to, lastMove, game);
+						maze.astar.resetGraph();
+						int aStarDistance = aStarPath.length - 1; // includes the start
+						int distance = tables.getDistance(from, to, lastMove);
+						// A* closes nodes rather than states, so it can miss the shortest path, but never beats it
+						assertTrue(distance > 0);
+						assertTrue(distance <= aStarDistance);
+						compared++;
+						if (distance == aStarDistance) {
+							equal++;
+						}
+						checkPath(maze, from, to, lastMove, tables.getPath(from, to, lastMove), distance);
+					}
+				}
+			}
+			assertTrue("Maze " + mazeIndex + ": " + equal + " of " + compared, equal > compared * 0.99);
+		}
+	}
+
+	@Test
+	public void testGameUsesTables() {
+		Game game = new Game(0, 0);
+		DirectionalDistances tables = game.getCurrentMaze().getDirectionalDistances();
+		int from = game.getPacmanCurrentNodeIndex();
+		int to = game.getPowerPillIndices()[0];
+		for (MOVE lastMove : game.getCurrentMaze().graph[from].allNeighbourhoods.keySet()) {
+			assertEquals(tables.getDistance(from, to, lastMove), game.getShortestPathDistance(from, to, lastMove));
+			assertEquals(tables.getDistance(from, to, lastMove), game.getShortestPath(from, to, lastMove).length);
+		}
+		assertEquals(0, game.getShortestPathDistance(from, from, MOVE.LEFT));
+		assertEquals(MOVE.NEUTRAL, tables.getNextMove(from, from, MOVE.LEFT));
+	}
+
+	/**
+	 * Path must move between neighbours without reversing, and end at the target
+	 */
+	private void checkPath(Maze maze, int from, int to, MOVE lastMove, int[] path, int distance) {
+		assertNotNull(path);
+		assertEquals(distance, path.length);
+		int node = from;
+		for (int i = 0; i < path.length; i++) {
+			MOVE move = null;
+			for (MOVE m : maze.graph[node].neighbourhood.keySet()) {
+				if (maze.graph[node].neighbourhood.get(m) == path[i]) {
+					move = m;
+				}
+			}
+			assertNotNull(move);
+			assertFalse(move == lastMove.opposite());
+			lastMove = move;
+			node = path[i];
+		}
+		assertEquals(to, node);
+	}
+}
@@ -0,0 +1,162 @@
+package pacman.game.internal;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import static pacman.game.Constants.*;
+
+/*
+ * Binary copies of the pre-computed shortest path distances. The text files hold one distance per line, and
+ * parsing them takes a noticeable part of the start up of every JVM that plays Ms. Pac-Man. The binary file
+ * next to each text file holds the same distances as 16 bit values (none is longer than a few hundred steps),
+ * and is memory-mapped rather than read. The operating system then shares the pages between all JVMs that
+ * map the same file, and only reads them from disk once.
+ *
+ * The binary files are generated from the text files the first time they are needed, or by running main
+ * beforehand. A binary file that is missing, older than its text file, or of the wrong size is ignored, and the
+ * text file is parsed instead. If the binary file cannot be written, the parsed distances are used directly.
+ */
+public final class DistanceFile {
+
+	public static final String EXTENSION = ".bin";
+
+	private static final int MAGIC = 0x504D4431; // "PMD1"
+	private static final int HEADER_BYTES = 8; // magic and number of distances
+	private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	private DistanceFile() {
+	}
+
+	/*
+	 * Distances stored in the given text file, from its binary copy if possible. The result is read-only, and
+	 * absolute gets from it may be made by any number of threads.
+	 */
+	public static ShortBuffer load(String textFileName, int numDistances) {
+		File text = new File(textFileName);
+		File binary = new File(textFileName + EXTENSION);
+		if (isCurrent(binary, text)) {
+			ShortBuffer distances = map(binary, numDistances);
+			if (distances != null) {
+				return distances;
+			}
+		}
+
+		short[] parsed = parse(text);
+		if (parsed.length != numDistances) {
+			System.out.println(textFileName + " has " + parsed.length + " distances instead of " + numDistances);
+			System.exit(1);
+		}
+		if (write(parsed, binary)) {
+			ShortBuffer distances = map(binary, numDistances);
+			if (distances != null) {
+				return distances;
+			}
+		}
+		return ShortBuffer.wrap(parsed).asReadOnlyBuffer();
+	}
+
+	private static boolean isCurrent(File binary, File text) {
+		return binary.isFile() && (!text.exists() || binary.lastModified() >= text.lastModified());
+	}
+
+	/*
+	 * Maps a binary distance file, or returns null if it does not hold the expected number of distances
+	 */
+	private static ShortBuffer map(File binary, int numDistances) {
+		try (RandomAccessFile file = new RandomAccessFile(binary, "r"); FileChannel channel = file.getChannel()) {
+			long size = HEADER_BYTES + 2L * numDistances;
+			if (channel.size() != size) {
+				return null;
+			}
+			ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ORDER);
+			if (bytes.getInt(0) != MAGIC || bytes.getInt(4) != numDistances) {
+				return null;
+			}
+			bytes.position(HEADER_BYTES);
+			// The mapping stays valid after the channel is closed
+			return bytes.slice().order(ORDER).asShortBuffer();
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+			return null;
+		}
+	}
+
+	/*
+	 * Reads a text distance file, which has one distance per line
+	 */
+	private static short[] parse(File text) {
+		short[] distances = new short[1 << 20];
+		int count = 0;
+		try {
+			BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(text)));
+			String input = br.readLine();
+			while (input != null) {
+				if (count == distances.length) {
+					short[] larger = new short[distances.length * 2];
+					System.arraycopy(distances, 0, larger, 0, count);
+					distances = larger;
+				}
+				distances[count++] = (short) Integer.parseInt(input);
+				input = br.readLine();
+			}
+			br.close();
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+		}
+		short[] result = new short[count];
+		System.arraycopy(distances, 0, result, 0, count);
+		return result;
+	}
+
+	/*
+	 * Writes a binary distance file. Several JVMs may start at once, so the file is written under a temporary
+	 * name and then moved into place: other JVMs either see the complete file or none. Returns false if the file
+	 * could not be written, for instance because the directory is read-only.
+	 */
+	private static boolean write(short[] distances, File binary) {
+		File temporary = null;
+		try {
+			temporary = File.createTempFile(binary.getName(), ".tmp", binary.getAbsoluteFile().getParentFile());
+			ByteBuffer bytes = ByteBuffer.allocate(HEADER_BYTES + 2 * distances.length).order(ORDER);
+			bytes.putInt(MAGIC).putInt(distances.length);
+			bytes.asShortBuffer().put(distances);
+			FileOutputStream out = new FileOutputStream(temporary);
+			out.write(bytes.array());
+			out.close();
+			Files.move(temporary.toPath(), binary.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return true;
+		} catch (IOException ioe) {
+			if (temporary != null) {
+				temporary.delete();
+			}
+			return false;
+		}
+	}
+
+	/*
+	 * Generates the binary copies of the distances of all mazes from the text files. Useful before starting many
+	 * JVMs at once, so that none of them has to parse the text files.
+	 */
+	public static void main(String[] args) {
+		for (String distName : distNames) {
+			String textFileName = pathDistances + System.getProperty("file.separator") + distName;
+			short[] distances = parse(new File(textFileName));
+			if (!write(distances, new File(textFileName + EXTENSION))) {
+				System.out.println("Could not write " + textFileName + EXTENSION);
+				System.exit(1);
+			}
+			System.out.println("Wrote " + distances.length + " distances to " + textFileName + EXTENSION);
+		}
+	}
+}
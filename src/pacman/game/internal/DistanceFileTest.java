@@ -0,0 +1,83 @@
+package pacman.game.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ShortBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that binary distance files are generated, mapped, and ignored when they
+ * do not match the text file.
+ */
+public class DistanceFileTest {
+
+	private static final int[] DISTANCES = { 0, 1, 0, 2, 1, 0, -1, 196, 300, 0 };
+
+	private File directory;
+	private File text;
+	private File binary;
+
+	@Before
+	public void setUp() throws IOException {
+		directory = File.createTempFile("distances", "");
+		directory.delete();
+		directory.mkdir();
+		text = new File(directory, "dx");
+		binary = new File(directory, "dx" + DistanceFile.EXTENSION);
+		FileWriter out = new FileWriter(text);
+		for (int d : DISTANCES) {
+			out.write(d + "\n");
+		}
+		out.close();
+	}
+
+	@After
+	public void tearDown() {
+		for (File f : directory.listFiles()) {
+			f.delete();
+		}
+		directory.delete();
+	}
+
+	@Test
+	public void testGeneratedAndMapped() throws IOException {
+		checkDistances(DistanceFile.load(text.getPath(), DISTANCES.length));
+		assertTrue(binary.isFile());
+		// The text file is not needed once the binary file exists
+		text.delete();
+		ShortBuffer mapped = DistanceFile.load(text.getPath(), DISTANCES.length);
+		assertTrue(mapped.isDirect());
+		checkDistances(mapped);
+	}
+
+	@Test
+	public void testMismatchedBinaryIgnored() throws IOException {
+		DistanceFile.load(text.getPath(), DISTANCES.length);
+		// Corrupt the magic number: the text file is parsed and the binary file written again
+		RandomAccessFile file = new RandomAccessFile(binary, "rw");
+		file.writeInt(0);
+		file.close();
+		checkDistances(DistanceFile.load(text.getPath(), DISTANCES.length));
+		// Truncate the binary file
+		file = new RandomAccessFile(binary, "rw");
+		file.setLength(file.length() - 2);
+		file.close();
+		checkDistances(DistanceFile.load(text.getPath(), DISTANCES.length));
+		assertEquals(8 + 2 * DISTANCES.length, binary.length());
+	}
+
+	private void checkDistances(ShortBuffer distances) {
+		assertEquals(DISTANCES.length, distances.limit());
+		for (int i = 0; i < DISTANCES.length; i++) {
+			assertEquals(DISTANCES[i], distances.get(i));
+		}
+	}
+}
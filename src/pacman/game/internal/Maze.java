@@ -4,6 +4,7 @@ import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.ShortBuffer;
 //import java.util.EnumMap;
 //import pacman.game.Constants.MOVE;
 
@@ -19,11 +20,13 @@ public final class Maze {
 
 	public AStar astar;
 	// Information for the controllers
-	public int[] shortestPathDistances, pillIndices, powerPillIndices, junctionIndices; 
+	public ShortBuffer shortestPathDistances; // read-only
+	public int[] pillIndices, powerPillIndices, junctionIndices; 
 	public int initialPacManNodeIndex, lairNodeIndex, initialGhostNodeIndex; // Maze-specific
 																				// information
 	public Node[] graph; // The actual maze, stored as a graph (set of nodes)
 	public String name; // Name of the Maze
+	private volatile DirectionalDistances directionalDistances = null; // Built when first needed
 
 	/*
 	 * Each maze is stored as a (connected) graph: all nodes have neighbours,
@@ -43,6 +46,24 @@ public final class Maze {
 		astar.createGraph(graph);
 	}
 
+	/*
+	 * Shortest path distances without reversals. They take a moment to compute and several MB to store, so
+	 * they are only computed for mazes that need them, the first time they are needed.
+	 */
+	public DirectionalDistances getDirectionalDistances() {
+		DirectionalDistances result = directionalDistances;
+		if (result == null) {
+			synchronized (this) {
+				result = directionalDistances;
+				if (result == null) {
+					result = new DirectionalDistances(graph);
+					directionalDistances = result;
+				}
+			}
+		}
+		return result;
+	}
+
 	// Loads all the nodes from files and initialises all maze-specific
 	// information.
 	private void loadNodes(String fileName) {
@@ -102,25 +123,11 @@ public final class Maze {
 	 * contains the shortest distance from any node in the maze to any other
 	 * node. Since the graph is symmetric, the symmetries have been removed to
 	 * preserve memory and all distances are stored in a 1D array; they are
-	 * looked-up using getDistance(-).
+	 * looked-up using getDistance(-). The array is a memory-mapped binary copy
+	 * of the text file where possible (see DistanceFile).
 	 */
 	private void loadDistances(String fileName) {
-		this.shortestPathDistances = new int[((graph.length * (graph.length - 1)) / 2) + graph.length];
-
-		try {
-			BufferedReader br = new BufferedReader(new InputStreamReader(
-					new FileInputStream(pathDistances + System.getProperty("file.separator") + fileName)));
-			String input = br.readLine();
-
-			int index = 0;
-
-			while (input != null) {
-				shortestPathDistances[index++] = Integer.parseInt(input);
-				input = br.readLine();
-			}
-			br.close();
-		} catch (IOException ioe) {
-			ioe.printStackTrace();
-		}
+		this.shortestPathDistances = DistanceFile.load(pathDistances + System.getProperty("file.separator") + fileName,
+				((graph.length * (graph.length - 1)) / 2) + graph.length);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package pinball;
+
+/**
+ * The result of a collision query between the ball and an obstacle.
+ * Collisions are never changed after they are created, so obstacles do not
+ * need to remember anything between <code>collision</code> and
+ * <code>collisionEffect</code>, and can be shared between domains that run
+ * at the same time.
+ */
+public class Collision
+{
+	/**
+	 * Constructor.
+	 *
+	 * @param edge			number of the edge that was hit, or -1 if the obstacle has no edges
+	 * @param corner		<code>true</code> if the ball hit more than one edge at once
+	 * @param intercept		point of collision, or <code>null</code> if there is none
+	 */
+	public Collision(int edge, boolean corner, Point intercept)
+	{
+		this.edge = edge;
+		this.corner = corner;
+		this.intercept = intercept;
+	}
+
+	/**
+	 * Get the number of the edge that was hit. If a corner was hit,
+	 * this is the edge that the ball was heading into most directly.
+	 *
+	 * @return		the edge number
+	 */
+	public int getEdge()
+	{
+		return edge;
+	}
+
+	/**
+	 * Determine whether the ball hit more than one edge at once.
+	 *
+	 * @return		<code>true</code> if a corner was hit, <code>false</code> otherwise
+	 */
+	public boolean isCorner()
+	{
+		return corner;
+	}
+
+	/**
+	 * Get the point of collision: the closest point to the ball
+	 * on the edge that was hit first.
+	 *
+	 * @return		the intercept point
+	 */
+	public Point getIntercept()
+	{
+		return intercept;
+	}
+
+	protected final int edge;
+	protected final boolean corner;
+	protected final Point intercept;
+}
@@ -31,9 +31,10 @@ public interface Obstacle
 	 * Return the effect of a collision with the ball.
 	 * 
 	 * @param b		the ball
+	 * @param c		the collision, as returned by <code>collide</code>
 	 * @return		changes to the ball's X and Y velocities
 	 */
-	public double[] collisionEffect(Ball b);
+	public double[] collisionEffect(Ball b, Collision c);
 	
 	/**
 	 * Determine whether a collision with the ball has occurred. 
@@ -44,12 +45,22 @@ public interface Obstacle
 	public boolean collision(Ball b);
 	
 	/**
-	 * Get the intercept position with the ball.
-	 * This should be called <I>after</I> <code>collision</code> and <code>collisionEffect</code>.
+	 * Determine whether a collision with the ball has occurred, and where. 
+	 * Nothing is stored in the obstacle, so it may be queried by several
+	 * threads at once.
 	 * 
-	 * @return		the point of collision
+	 * @param b		the ball
+	 * @return		the collision, or <code>null</code> if there is none
+	 */
+	public Collision collide(Ball b);
+	
+	/**
+	 * Get a bounding box of the obstacle. The ball cannot collide with 
+	 * the obstacle unless it overlaps this box.
+	 * 
+	 * @return		array of minimum X, minimum Y, maximum X and maximum Y
 	 */
-	public Point getIntercept();
+	public double[] getBounds();
 	
 	/**
 	 * Determine whether a point is inside an obstacle.
@@ -0,0 +1,100 @@
+package pinball;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uniform grid over the unit square that lists, for every cell, the obstacles
+ * that a ball centered in that cell could collide with. Only those obstacles
+ * need to be checked on each step, instead of all of them. The grid is built
+ * once for a list of obstacles and a ball radius and is never changed, so
+ * domains created from the same configuration can share it.
+ */
+public class ObstacleGrid
+{
+	/**
+	 * Constructor: sort the obstacles into cells.
+	 *
+	 * @param obstacles		the obstacles, in the order they should be checked
+	 * @param radius		radius of the ball
+	 */
+	public ObstacleGrid(List<Obstacle> obstacles, double radius)
+	{
+		this.radius = radius;
+
+		ArrayList<ArrayList<Obstacle>> lists = new ArrayList<ArrayList<Obstacle>>(CELLS * CELLS);
+		for(int j = 0; j < CELLS * CELLS; j++)
+		{
+			lists.add(new ArrayList<Obstacle>());
+		}
+
+		// A ball collides with nothing beyond this distance from the bounds
+		double margin = radius + EPSILON;
+		for(Obstacle o : obstacles)
+		{
+			double [] bounds = o.getBounds();
+			int lowx = cell(bounds[0] - margin);
+			int lowy = cell(bounds[1] - margin);
+			int highx = cell(bounds[2] + margin);
+			int highy = cell(bounds[3] + margin);
+
+			for(int cx = lowx; cx <= highx; cx++)
+			{
+				for(int cy = lowy; cy <= highy; cy++)
+				{
+					lists.get(cx * CELLS + cy).add(o);
+				}
+			}
+		}
+
+		cells = new Obstacle[CELLS * CELLS][];
+		for(int j = 0; j < cells.length; j++)
+		{
+			cells[j] = lists.get(j).toArray(new Obstacle[lists.get(j).size()]);
+		}
+	}
+
+	/**
+	 * Get the obstacles the ball could collide with where it is now, in the
+	 * same order as in the list the grid was built from. The returned array
+	 * belongs to the grid and must not be changed.
+	 *
+	 * @param b		the ball
+	 * @return		the obstacles near the ball
+	 */
+	public Obstacle[] getCandidates(Ball b)
+	{
+		return cells[cell(b.getX()) * CELLS + cell(b.getY())];
+	}
+
+	/**
+	 * Get the ball radius the grid was built for.
+	 *
+	 * @return		the radius
+	 */
+	public double getRadius()
+	{
+		return radius;
+	}
+
+	/**
+	 * Find the row or column of the grid containing a coordinate. Coordinates
+	 * outside of the unit square belong to the nearest border cell.
+	 *
+	 * @param d		the coordinate
+	 * @return		the cell index
+	 */
+	protected static int cell(double d)
+	{
+		int c = (int) Math.floor(d * CELLS);
+		if(c < 0) c = 0;
+		if(c >= CELLS) c = CELLS - 1;
+		return c;
+	}
+
+	public static final int CELLS = 16;
+	protected static final double EPSILON = 1e-9;
+
+	protected final Obstacle[][] cells;
+	protected final double radius;
+}
@@ -43,6 +43,7 @@ public class PinBall
 	public static void main(String args[])
 	{
 		PinBall p = new PinBall("data/pinball/pinball_simple_single.cfg");
+		Random rand = new Random();
 
 		// Randomly pick actions until the episode ends.
 		do
@@ -71,6 +72,7 @@ public class PinBall
 	 */
 	public PinBall(String configfile)
 	{
+		rand = new Random();
 		start_states = new ArrayList<PinBallState>();
 		
 		obstacles = new ArrayList<Obstacle>();
@@ -86,6 +88,7 @@ public class PinBall
 	 */
 	public PinBall(String configfile, Ball b)
 	{
+		rand = new Random();
 		start_states = new ArrayList<PinBallState>();
 		
 		obstacles = new ArrayList<Obstacle>();
@@ -94,12 +97,36 @@ public class PinBall
 		ball = b;
 	}
 	
+	/**
+	 * Constructor: create a new domain with the same configuration as an
+	 * existing one, without reading the configuration file again. The
+	 * obstacles and their collision grid are shared with the existing domain,
+	 * so this is cheap, and several domains created from the same one can be
+	 * run at the same time. The ball is placed at a start state picked by
+	 * a random generator with the given seed.
+	 * 
+	 * @param table		the domain to copy the configuration of
+	 * @param seed		seed for the random choices of this domain
+	 */
+	public PinBall(PinBall table, long seed)
+	{
+		rand = new Random(seed);
+		ball = new Ball(new Point(0, 0), table.ball.getRadius());
+		target = table.target;
+		obstacles = new ArrayList<Obstacle>(table.obstacles);
+		grid = table.getGrid();
+		start_states = new ArrayList<PinBallState>(table.start_states);
+		
+		resetBall();
+	}
+	
 	/**
 	 * Constructor: create an empty PinBall domain.
 	 * 
 	 */
 	public PinBall()
 	{
+		rand = new Random();
 		// Create an empty table
 		ball = new Ball(new Point(0.1, 0.1), 0.1);
 		target = new Target(new Point(0.9, 0.9), 0.1);
@@ -192,6 +219,7 @@ public class PinBall
 			}
 			
 			resetBall();
+			getGrid();
 			inputStream.close();
 		}
 		catch(java.io.IOException e)
@@ -226,6 +254,21 @@ public class PinBall
 		return obstacles;
 	}
 	
+	/**
+	 * Get the grid of obstacles near each position, building it if the 
+	 * obstacles or the ball have changed since it was last built.
+	 * 
+	 * @return	the obstacle grid
+	 */
+	protected ObstacleGrid getGrid()
+	{
+		if(grid == null || grid.getRadius() != ball.getRadius())
+		{
+			grid = new ObstacleGrid(obstacles, ball.getRadius());
+		}
+		return grid;
+	}
+	
 	/**
 	 * Get the ball object.
 	 * 
@@ -265,6 +308,7 @@ public class PinBall
 	public double step(int act)
 	{	
 		intercept = null;
+		ObstacleGrid nearby = getGrid();
 		
 		for(int j = 0; j < 20; j++)
 		{
@@ -287,15 +331,17 @@ public class PinBall
 			double dx = 0;
 			double dy = 0;
 		
-			for(Obstacle o : obstacles)
+			// Only obstacles near the ball can be hit
+			for(Obstacle o : nearby.getCandidates(ball))
 			{
-				if(o.collision(ball))
+				Collision c = o.collide(ball);
+				if(c != null)
 				{
-					double [] d = o.collisionEffect(ball);
+					double [] d = o.collisionEffect(ball, c);
 					dx += d[0];
 					dy += d[1];
 					collisions++;
-					intercept = o.getIntercept();
+					intercept = c.getIntercept();
 				}
 			}
 		
@@ -393,6 +439,7 @@ public class PinBall
 	public void addObstacle(Obstacle o)
 	{
 		obstacles.add(o);
+		grid = null;
 	}
 
 	/**
@@ -403,6 +450,7 @@ public class PinBall
 	public void deleteObstacle(int pos)
 	{
 		obstacles.remove(pos);
+		grid = null;
 	}
 	
 	/**
@@ -426,6 +474,8 @@ public class PinBall
 	}
 	
 	ArrayList<Obstacle> obstacles;
+	// Obstacles near each position; shared by domains with the same configuration
+	ObstacleGrid grid;
 	Ball ball;
 	Target target;
 
@@ -438,5 +488,5 @@ public class PinBall
 	
 	protected Point intercept;
 	
-	protected static Random rand = new Random();
+	protected Random rand;
 }
@@ -0,0 +1,62 @@
+package pinball;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PinBallTest {
+
+	public static final String HARD = "data/pinball/pinball_hard_single.cfg";
+
+	/**
+	 * Every obstacle the ball collides with is among the candidates of the grid
+	 */
+	@Test
+	public void testGridCandidates() {
+		PinBall table = new PinBall(HARD);
+		ObstacleGrid grid = table.getGrid();
+		Ball ball = table.getBall();
+		Random random = new Random(0);
+		int collisions = 0;
+		for (int i = 0; i < 100000; i++) {
+			ball.setPosition(random.nextDouble() * 1.2 - 0.1, random.nextDouble() * 1.2 - 0.1);
+			ball.setVelocities(random.nextDouble() * 2 - 1, random.nextDouble() * 2 - 1);
+			List<Obstacle> candidates = Arrays.asList(grid.getCandidates(ball));
+			for (Obstacle o : table.getObstacles()) {
+				if (o.collision(ball)) {
+					assertTrue(candidates.contains(o));
+					collisions++;
+				}
+			}
+		}
+		assertTrue(collisions > 0);
+	}
+
+	/**
+	 * Copies with the same seed play the same episode, even when they take
+	 * turns, because no collision state is kept in the shared obstacles
+	 */
+	@Test
+	public void testCopiesShareObstacles() {
+		PinBall table = new PinBall(HARD);
+		PinBall first = new PinBall(table, 1);
+		PinBall second = new PinBall(table, 1);
+		assertSame(table.getGrid(), first.getGrid());
+		assertSame(table.getObstacles().get(0), second.getObstacles().get(0));
+		Random actions = new Random(0);
+		for (int i = 0; i < 1000 && !first.episodeEnd(); i++) {
+			int action = actions.nextInt(first.getNumActions());
+			assertEquals(first.step(action), second.step(action), 0);
+			assertArrayEquals(first.getState().getDescriptor(), second.getState().getDescriptor(), 0);
+			// Stepping another copy in between changes nothing
+			new PinBall(table, i).step(action);
+		}
+	}
+}
@@ -82,22 +82,35 @@ public class PolygonObstacle implements Obstacle
 	 */
 	public boolean collision(Ball b) 
 	{
-		boolean found = false;
-		double_collision = false;
+		return collide(b) != null;
+	}
+	
+	/**
+	 * Determine whether or not there has been a collision, and with which edge.
+	 * 
+	 * @param  b		the ball
+	 * @return 	the collision, or <code>null</code> if there wasn't one.
+	 */
+	public Collision collide(Ball b) 
+	{
+		int intercept_edge = -1;
+		boolean double_collision = false;
+		Point intercept = null;
 		
-		if(b.getX() - b.getRadius() > max_x) return false;
-		if(b.getY() - b.getRadius() > max_y) return false;
-		if(b.getX() + b.getRadius() < min_x) return false;
-		if(b.getY() + b.getRadius() < min_y) return false;
+		if(b.getX() - b.getRadius() > max_x) return null;
+		if(b.getY() - b.getRadius() > max_y) return null;
+		if(b.getX() + b.getRadius() < min_x) return null;
+		if(b.getY() + b.getRadius() < min_y) return null;
 		
 		for(int j = 0; j < Points.size(); j++)
 		{
 			int next = j + 1;
 			if(next == Points.size()) next = 0;
 			
-			if(lineIntersect(b, Points.get(j), Points.get(next)))
+			Point closest = lineIntersect(b, Points.get(j), Points.get(next));
+			if(closest != null)
 				{
-					if(found)
+					if(intercept_edge != -1)
 					{
 						intercept_edge = selectIntercept(intercept_edge, j, b);
 						double_collision = true;
@@ -105,12 +118,13 @@ public class PolygonObstacle implements Obstacle
 					else
 					{
 						intercept_edge = j;
-						found = true;
+						intercept = closest;
 					}
 				}
 		}
 		
-		return found;
+		if(intercept_edge == -1) return null;
+		return new Collision(intercept_edge, double_collision, intercept);
 	}
 	
 	/**
@@ -119,9 +133,9 @@ public class PolygonObstacle implements Obstacle
 	 * @param ball	the ball
 	 * @param p1	point 1
 	 * @param p2	point 2
-	 * @return		<code>true</code> if there is a line intersection, <code>false</code> if not.
+	 * @return		the closest point on the line to the ball if there is an intersection, <code>null</code> if not.
 	 */
-	protected boolean lineIntersect(Ball ball, Point p1, Point p2)
+	protected Point lineIntersect(Ball ball, Point p1, Point p2)
 	{
 				Point dir = p2.minus(p1);
 				Point diff = ball.getCenter().minus(p1);
@@ -134,12 +148,6 @@ public class PolygonObstacle implements Obstacle
 				Point closest = p1.add(dir.times(t));
 				Point d = ball.getCenter().minus(closest);
 				
-				intercept = closest;
-				
-				Point rev = ball.getCenter().minus(intercept);
-				rev = rev.normalize();
-				rev = rev.times(ball.getVelocity());
-				
 				double distsqrt = d.dot(d);
 				
 				if(distsqrt <= ball.getRadius() * ball.getRadius())
@@ -154,26 +162,25 @@ public class PolygonObstacle implements Obstacle
 					// Make sure the ball is not already heading away
 					// from the obstacle
 					if(thet > Math.PI/1.99)
-						return false;
+						return null;
 					else
-						return true;
+						return closest;
 				}
 				else
-					return false;
+					return null;
 	}
 
 	/**
 	 * Determine the effect of the ball's collision with the obstacle.
 	 * 
-	 * NOTE: must call LineIntersect (probably via collision) first
-	 * 
 	 * @param b	the ball
+	 * @param c	the collision, as returned by <code>collide</code>
 	 * @return 	the collision effect (array of 2 doubles)
 	 */
-	public double[] collisionEffect(Ball b) 
+	public double[] collisionEffect(Ball b, Collision c) 
 	{
 		// Corners are difficult, just bounce directly off.
-		if(double_collision)
+		if(c.isCorner())
 		{
 			double [] d = new double[2];
 			d[0] = -b.getXDot();
@@ -181,7 +188,7 @@ public class PolygonObstacle implements Obstacle
 			return d;
 		}
 		
-		
+		int intercept_edge = c.getEdge();
 		int edge2 = intercept_edge + 1;
 		if(edge2 == Points.size()) edge2 = 0;
 		
@@ -202,13 +209,9 @@ public class PolygonObstacle implements Obstacle
 		theta += edge_theta;
 		if(theta > Math.PI * 2.0) theta -= Math.PI * 2.0;
 		
-		Point out_vel = new Point(b.getVelocity()*Math.cos(theta), b.getVelocity()*Math.sin(theta));
-		
 		double [] d = new double[2];
-		d[0] = out_vel.getX();
-		d[1] = out_vel.getY();
-		
-		intercept = out_vel.add(b.getCenter());
+		d[0] = b.getVelocity()*Math.cos(theta);
+		d[1] = b.getVelocity()*Math.sin(theta);
 		
 		return d;
 	}
@@ -276,13 +279,13 @@ public class PolygonObstacle implements Obstacle
 	}
 	
 	/**
-	 * Get the last intercept point.
+	 * Get the bounding box computed when the obstacle was created.
 	 * 
-	 * @return the intercept point
+	 * @return	array of minimum X, minimum Y, maximum X and maximum Y
 	 */
-	public Point getIntercept()
+	public double[] getBounds()
 	{
-		return intercept;
+		return new double[] {min_x, min_y, max_x, max_y};
 	}
 	
 	/**
@@ -331,10 +334,7 @@ public class PolygonObstacle implements Obstacle
 		}
 	}
 	
-	protected boolean double_collision = false;
 	protected double max_x, max_y, min_x, min_y;
 	
-	protected Point intercept;
-	int intercept_edge;
 	ArrayList<Point> Points;
 }
@@ -45,9 +45,10 @@ public class Target implements Obstacle
 	 *	Compute collision effect with the ball. 
 	 *
 	 * @param b		the ball
+	 * @param c		the collision
 	 * @return		the effect: (0, 0) since the target is absorbing
 	 */
-	public double[] collisionEffect(Ball b)
+	public double[] collisionEffect(Ball b, Collision c)
 	{
 		double [] d = {0, 0};
 		return d;
@@ -76,6 +77,28 @@ public class Target implements Obstacle
 		return false;
 	}
 	
+	/**
+	 *  Determine whether a collision takes place with the ball.
+	 *  
+	 *  @param b	the ball
+	 *  @return		the collision, which has no edge or intercept, or <code>null</code> if there is none
+	 */
+	public Collision collide(Ball b)
+	{
+		if(collision(b)) return new Collision(-1, false, null);
+		return null;
+	}
+	
+	/**
+	 * Get the square around the target.
+	 * 
+	 * @return	array of minimum X, minimum Y, maximum X and maximum Y
+	 */
+	public double[] getBounds()
+	{
+		return new double[] {x - radius, y - radius, x + radius, y + radius};
+	}
+	
 	/**
 	 * Determine whether a point is inside the target.
 	 * 
@@ -128,16 +151,6 @@ public class Target implements Obstacle
 		f.write("target " + x + " " + y + " " + radius + "\n");
 	}
 	
-	/**
-	 * Get a point of intersection.
-	 * 
-	 * @return		<code>null</code>, always
-	 */
-	public Point getIntercept()
-	{
-		return null;
-	}
-	
 	/**
 	 * Get the target's X coordinate.
 	 * 